@@ -28,7 +28,7 @@ import org.krysalis.barcode4j.BarcodeUtil;
 import org.krysalis.barcode4j.output.BarcodeCanvasSetupException;
 import org.krysalis.barcode4j.output.bitmap.BitmapCanvasProvider;
 import org.krysalis.barcode4j.output.eps.EPSCanvasProvider;
-import org.krysalis.barcode4j.output.java2d.Java2DCanvasProvider;
+import org.krysalis.barcode4j.output.java2d.Java2DShapeCache;
 import org.krysalis.barcode4j.output.svg.SVGCanvasProvider;
 import org.krysalis.barcode4j.tools.ConfigurationUtil;
 import org.krysalis.barcode4j.tools.UnitConv;
@@ -155,11 +155,9 @@ public class BarcodeXMLHandler implements XMLHandler, RendererContextConstants {
             Graphics2DImagePainter painter = new Graphics2DImagePainter() {
 
                 public void paint(Graphics2D g2d, Rectangle2D area) {
-                    Java2DCanvasProvider canvas = new Java2DCanvasProvider(null, orientation);
-                    canvas.setGraphics2D(g2d);
                     g2d.scale(area.getWidth() / barDim.getWidthPlusQuiet(),
                             area.getHeight() / barDim.getHeightPlusQuiet());
-                    bargen.generateBarcode(canvas, msg);
+                    Java2DShapeCache.getInstance().paint(g2d, bargen, msg, orientation);
                 }
 
                 public Dimension getImageSize() {
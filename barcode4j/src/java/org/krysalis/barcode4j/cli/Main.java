@@ -36,6 +36,7 @@ import org.krysalis.barcode4j.BarcodeUtil;
 import org.krysalis.barcode4j.output.bitmap.BitmapCanvasProvider;
 import org.krysalis.barcode4j.output.bitmap.BitmapEncoderRegistry;
 import org.krysalis.barcode4j.output.eps.EPSCanvasProvider;
+import org.krysalis.barcode4j.output.pdf.PDFCanvasProvider;
 import org.krysalis.barcode4j.output.svg.SVGCanvasProvider;
 import org.krysalis.barcode4j.tools.MimeTypes;
 
@@ -178,6 +179,10 @@ public class Main {
                 EPSCanvasProvider eps = new EPSCanvasProvider(out, orientation);
                 gen.generateBarcode(eps, msg[0]);
                 eps.finish();
+            } else if (MimeTypes.MIME_PDF.equals(format)) {
+                PDFCanvasProvider pdf = new PDFCanvasProvider(out, orientation);
+                gen.generateBarcode(pdf, msg[0]);
+                pdf.finish();
             } else {
                 int dpi = Integer.parseInt(cl.getOptionValue('d', "300"));
                 log.debug("Resolution: " + dpi + "dpi");
@@ -362,6 +367,7 @@ public class Main {
             "\nValid output formats:"
                 + "\nSVG: " + MimeTypes.MIME_SVG + ", svg"
                 + "\nEPS: " + MimeTypes.MIME_EPS + ", eps"
+                + "\nPDF: " + MimeTypes.MIME_PDF + ", pdf"
                 + "\nPNG: " + MimeTypes.MIME_PNG + ", png"
                     + (BitmapEncoderRegistry.supports(MimeTypes.MIME_PNG)
                         ? "" : unavailable)
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.fonts;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineMetrics;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Font metrics taken from the AWT fonts of the platform. This gives the best results for
+ * the Java2D and bitmap output but initializes the platform's font system. The font size
+ * is rounded to an integer like in the Java2D output. The bundled outline fonts are
+ * measured without AWT.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author agent
+ */
+public class AWTFontMetrics implements FontMetricsProvider {
+
+    private static final AWTFontMetrics INSTANCE = new AWTFontMetrics();
+
+    private FontRenderContext frc = new FontRenderContext(null, true, true);
+    private Map fonts = new HashMap();
+
+    /**
+     * Returns the shared instance.
+     * @return the instance
+     */
+    public static AWTFontMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    private Font getFont(String fontName, double fontSize) {
+        String key = fontName + "/" + Math.round(fontSize);
+        synchronized (fonts) {
+            Font font = (Font)fonts.get(key);
+            if (font == null) {
+                font = new Font(fontName, Font.PLAIN, (int)Math.round(fontSize));
+                fonts.put(key, font);
+            }
+            return font;
+        }
+    }
+
+    private LineMetrics getLineMetrics(String fontName, double fontSize) {
+        return getFont(fontName, fontSize).getLineMetrics("0", frc);
+    }
+
+    /** {@inheritDoc} */
+    public double getTextWidth(String text, String fontName, double fontSize) {
+        if (OutlineFont.getInstance(fontName) != null) {
+            return StandardFontMetrics.getInstance().getTextWidth(text, fontName, fontSize);
+        }
+        return getFont(fontName, fontSize).getStringBounds(text, frc).getWidth();
+    }
+
+    /** {@inheritDoc} */
+    public double getAscent(String fontName, double fontSize) {
+        if (OutlineFont.getInstance(fontName) != null) {
+            return StandardFontMetrics.getInstance().getAscent(fontName, fontSize);
+        }
+        return getLineMetrics(fontName, fontSize).getAscent();
+    }
+
+    /** {@inheritDoc} */
+    public double getDescent(String fontName, double fontSize) {
+        if (OutlineFont.getInstance(fontName) != null) {
+            return StandardFontMetrics.getInstance().getDescent(fontName, fontSize);
+        }
+        return getLineMetrics(fontName, fontSize).getDescent();
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.fonts;
+
+/**
+ * Provides the text metrics needed to lay out the human-readable part of a barcode
+ * without rendering it. All values are in the units of the font size (usually mm).
+ *
+ * @author agent
+ */
+public interface FontMetricsProvider {
+
+    /**
+     * Returns the width of a text.
+     * @param text the text
+     * @param fontName the font name
+     * @param fontSize the font size
+     * @return the width of the text
+     */
+    double getTextWidth(String text, String fontName, double fontSize);
+
+    /**
+     * Returns the ascent of a font (the height of the glyphs above the baseline).
+     * @param fontName the font name
+     * @param fontSize the font size
+     * @return the ascent
+     */
+    double getAscent(String fontName, double fontSize);
+
+    /**
+     * Returns the descent of a font (the depth of the glyphs below the baseline, as a
+     * positive value).
+     * @param fontName the font name
+     * @param fontSize the font size
+     * @return the descent
+     */
+    double getDescent(String fontName, double fontSize);
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.fonts;
+
+import java.awt.geom.Arc2D;
+import java.awt.geom.GeneralPath;
+import java.util.StringTokenizer;
+
+/**
+ * Center lines ("skeletons") of the glyphs of the outline fonts. The coordinates are in
+ * a grid where the baseline is at y=0 and the cap height is at y=10, the y axis pointing
+ * upwards. The skeletons are written in a small path language:
+ * <ul>
+ *   <li><code>M x y</code>: move to</li>
+ *   <li><code>L x y</code>: line to</li>
+ *   <li><code>A cx cy rx ry start extent</code>: elliptical arc (angles in degrees,
+ *       counter-clockwise), connected to the current point</li>
+ *   <li><code>a cx cy rx ry start extent</code>: elliptical arc starting a new
+ *       sub-path</li>
+ *   <li><code>Z</code>: close path</li>
+ * </ul>
+ *
+ * @author agent
+ */
+class GlyphSkeletons {
+
+    /** Skeleton for characters without a glyph (an empty box) */
+    public static final String NOTDEF = "M 0 0 L 0 10 L 5 10 L 5 0 Z";
+
+    /** Sans-serif capital I for the proportional font */
+    private static final String SANS_SERIF_I = "M 0 0 L 0 10";
+
+    private static final String DOT = "a 3 0.5 0.2 0.2 0 360";
+
+    private static final String[] GLYPHS = {
+        " ", "",
+        "!", "M 3 10 L 3 3.2 " + DOT,
+        "\"", "M 2 10 L 2 7 M 4 10 L 4 7",
+        "#", "M 2 0 L 2.8 10 M 4.2 0 L 5 10 M 0.6 3.3 L 6.4 3.3 M 0.4 6.7 L 6.2 6.7",
+        "$", "a 3 7 2.6 2 30 240 A 3 3 2.8 2 90 -240 M 3 10.5 L 3 -0.5",
+        "%", "a 1.2 8.4 1.2 1.6 0 360 a 4.8 1.6 1.2 1.6 0 360 M 0 0 L 6 10",
+        "'", "M 3 10 L 3 7",
+        "(", "a 5 5 3 6 125 110",
+        ")", "a 1 5 3 6 55 -110",
+        "*", "M 3 10 L 3 4 M 0.4 8.5 L 5.6 5.5 M 0.4 5.5 L 5.6 8.5",
+        "+", "M 3 1.8 L 3 7.8 M 0 4.8 L 6 4.8",
+        ",", "M 3.2 0.8 L 2.4 -1.6",
+        "-", "M 1 4.5 L 5 4.5",
+        ".", DOT,
+        "/", "M 0 0 L 6 10",
+        "0", "a 3 5 2.7 5 0 360",
+        "1", "M 1 8 L 4 10 L 4 0",
+        "2", "a 3 7.2 2.9 2.8 160 -200 L 0 0 L 6 0",
+        "3", "a 3 7.6 2.8 2.4 150 -240 A 3 2.6 3 2.6 90 -240",
+        "4", "M 4.5 0 L 4.5 10 L 0 3 L 6 3",
+        "5", "M 5.6 10 L 1 10 L 0.7 5.6 A 3 3.2 3 3.2 125 -265",
+        "6", "a 3 3.1 3 3.1 0 360 M 4.8 10 L 0.35 4.6",
+        "7", "M 0 10 L 6 10 L 2 0",
+        "8", "a 3 7.6 2.6 2.4 0 360 a 3 2.6 3 2.6 0 360",
+        "9", "a 3 6.9 3 3.1 0 360 M 5.65 5.4 L 1.2 0",
+        ":", DOT + " a 3 6 0.2 0.2 0 360",
+        ";", "a 3 6 0.2 0.2 0 360 M 3.2 0.8 L 2.4 -1.6",
+        "<", "M 6 9 L 0 4.8 L 6 0.6",
+        "=", "M 0.5 3.3 L 5.5 3.3 M 0.5 6.3 L 5.5 6.3",
+        ">", "M 0 9 L 6 4.8 L 0 0.6",
+        "?", "a 3 7.4 2.8 2.6 160 -230 L 3 3.2 " + DOT,
+        "A", "M 0 0 L 3 10 L 6 0 M 1.02 3.4 L 4.98 3.4",
+        "B", "M 0 0 L 0 10 L 3.4 10 A 3.4 7.6 2.4 2.4 90 -180 L 0 5.2"
+            + " M 3.4 5.2 A 3.4 2.6 2.6 2.6 90 -180 L 0 0",
+        "C", "a 3.2 5 3.2 5 45 270",
+        "D", "M 0 0 L 0 10 L 2 10 A 2 5 4 5 90 -180 L 0 0",
+        "E", "M 6 10 L 0 10 L 0 0 L 6 0 M 0 5.2 L 4.8 5.2",
+        "F", "M 6 10 L 0 10 L 0 0 M 0 5.2 L 4.8 5.2",
+        "G", "a 3.2 5 3.2 5 45 285 L 6 4.6 L 3.6 4.6",
+        "H", "M 0 0 L 0 10 M 6 0 L 6 10 M 0 5.2 L 6 5.2",
+        "I", "M 1 10 L 5 10 M 3 10 L 3 0 M 1 0 L 5 0",
+        "J", "M 6 10 L 6 3 A 3 3 3 3 0 -160",
+        "K", "M 0 0 L 0 10 M 6 10 L 0 3.6 M 2 5.73 L 6 0",
+        "L", "M 0 10 L 0 0 L 6 0",
+        "M", "M 0 0 L 0 10 L 3.3 3 L 6.6 10 L 6.6 0",
+        "N", "M 0 0 L 0 10 L 6 0 L 6 10",
+        "O", "a 3.2 5 3.2 5 0 360",
+        "P", "M 0 0 L 0 10 L 3.4 10 A 3.4 7.4 2.6 2.6 90 -180 L 0 4.8",
+        "Q", "a 3.2 5 3.2 5 0 360 M 3.8 2.4 L 6.4 -0.6",
+        "R", "M 0 0 L 0 10 L 3.4 10 A 3.4 7.4 2.6 2.6 90 -180 L 0 4.8 M 3.2 4.8 L 6 0",
+        "S", "a 3 7.5 2.8 2.5 30 240 A 3 2.5 3 2.5 90 -240",
+        "T", "M 0 10 L 6 10 M 3 10 L 3 0",
+        "U", "M 0 10 L 0 3 A 3 3 3 3 180 180 L 6 10",
+        "V", "M 0 10 L 3 0 L 6 10",
+        "W", "M 0 10 L 1.8 0 L 3.6 7 L 5.4 0 L 7.2 10",
+        "X", "M 0 0 L 6 10 M 0 10 L 6 0",
+        "Y", "M 0 10 L 3 5 L 6 10 M 3 5 L 3 0",
+        "Z", "M 0 10 L 6 10 L 0 0 L 6 0",
+        "[", "M 4 11 L 1.6 11 L 1.6 -1 L 4 -1",
+        "]", "M 2 11 L 4.4 11 L 4.4 -1 L 2 -1",
+        "_", "M 0 -1.5 L 6 -1.5"};
+
+    private static final String[] TABLE = new String[128];
+
+    static {
+        for (int i = 0; i < GLYPHS.length; i += 2) {
+            TABLE[GLYPHS[i].charAt(0)] = GLYPHS[i + 1];
+        }
+    }
+
+    /**
+     * Utility class: Constructor prevents instantiating when subclassed.
+     */
+    protected GlyphSkeletons() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the skeleton for a character.
+     * @param ch the character
+     * @param proportional true for the proportional (sans-serif) font
+     * @return the skeleton or null if there's no glyph for the character
+     */
+    public static String getSkeleton(char ch, boolean proportional) {
+        if (proportional && ch == 'I') {
+            return SANS_SERIF_I;
+        } else if (ch < TABLE.length) {
+            return TABLE[ch];
+        }
+        return null;
+    }
+
+    /**
+     * Parses a skeleton.
+     * @param skeleton the skeleton
+     * @return the path (in grid units, y axis pointing upwards)
+     */
+    public static GeneralPath parse(String skeleton) {
+        GeneralPath path = new GeneralPath();
+        StringTokenizer st = new StringTokenizer(skeleton);
+        while (st.hasMoreTokens()) {
+            String cmd = st.nextToken();
+            if ("M".equals(cmd)) {
+                path.moveTo(nextFloat(st), nextFloat(st));
+            } else if ("L".equals(cmd)) {
+                path.lineTo(nextFloat(st), nextFloat(st));
+            } else if ("A".equals(cmd) || "a".equals(cmd)) {
+                float cx = nextFloat(st);
+                float cy = nextFloat(st);
+                float rx = nextFloat(st);
+                float ry = nextFloat(st);
+                float start = nextFloat(st);
+                float extent = nextFloat(st);
+                //Arc2D measures the angles in a coordinate system whose y axis points
+                //downwards, so the angles are negated
+                Arc2D arc = new Arc2D.Float(cx - rx, cy - ry, 2 * rx, 2 * ry,
+                        -start, -extent, Arc2D.OPEN);
+                path.append(arc, "A".equals(cmd));
+            } else if ("Z".equals(cmd)) {
+                path.closePath();
+            } else {
+                throw new IllegalArgumentException("Invalid skeleton command: " + cmd);
+            }
+        }
+        return path;
+    }
+
+    private static float nextFloat(StringTokenizer st) {
+        return Float.parseFloat(st.nextToken());
+    }
+
+}
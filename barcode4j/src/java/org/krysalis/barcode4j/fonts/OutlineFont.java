@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.fonts;
+
+import java.awt.BasicStroke;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Area;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Rectangle2D;
+
+import org.krysalis.barcode4j.TextAlignment;
+
+/**
+ * Bundled font whose glyphs are vector outlines built from stroked center lines. Using
+ * these fonts for the human-readable part avoids the platform's font system altogether,
+ * so the output is identical on every host and no time is spent initializing AWT
+ * fonts. The glyph set covers the digits, the letters A to Z and common punctuation.
+ * Lower-case letters are painted as small capitals.
+ * <p>
+ * The fonts are selected by setting the font name of the barcode to
+ * {@link #OCR_B_NAME} or {@link #HELVETICA_NAME}.
+ *
+ * @author agent
+ */
+public class OutlineFont {
+
+    /** Font name of the OCR-B-like outline font (monospaced) */
+    public static final String OCR_B_NAME = "OCRB-Outline";
+    /** Font name of the Helvetica-like outline font (proportional) */
+    public static final String HELVETICA_NAME = "Helvetica-Outline";
+
+    /** The OCR-B-like outline font */
+    public static final OutlineFont OCR_B = new OutlineFont(OCR_B_NAME, false, 1.4);
+    /** The Helvetica-like outline font */
+    public static final OutlineFont HELVETICA = new OutlineFont(HELVETICA_NAME, true, 1.25);
+
+    /** Cap height in em */
+    private static final double CAP_HEIGHT = 0.7;
+    /** Size of a grid unit of the glyph skeletons in em */
+    private static final double UNIT = CAP_HEIGHT / 10;
+    /** Side bearing of the proportional font in em */
+    private static final double SIDE_BEARING = 0.07;
+    /** Height of the small capitals relative to the capitals */
+    private static final double SMALL_CAPS_FACTOR = 0.73;
+
+    private String name;
+    private boolean proportional;
+    private double strokeWidth;
+    private Shape[] glyphs = new Shape[128];
+    private Shape notdef;
+
+    private OutlineFont(String name, boolean proportional, double strokeWidth) {
+        this.name = name;
+        this.proportional = proportional;
+        this.strokeWidth = strokeWidth * UNIT;
+    }
+
+    /**
+     * Returns the outline font for a font name.
+     * @param fontName the font name
+     * @return the outline font or null if the font name doesn't denote an outline font
+     */
+    public static OutlineFont getInstance(String fontName) {
+        if (OCR_B_NAME.equalsIgnoreCase(fontName)) {
+            return OCR_B;
+        } else if (HELVETICA_NAME.equalsIgnoreCase(fontName)) {
+            return HELVETICA;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the font name.
+     * @return the font name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the advance width of a character.
+     * @param ch the character
+     * @return the advance width in em
+     */
+    public double getAdvance(char ch) {
+        if (proportional) {
+            if (ch < 128 && Character.isLowerCase(ch)) {
+                //Small capitals
+                return StandardFontWidths.getHelveticaWidth(Character.toUpperCase(ch))
+                        * SMALL_CAPS_FACTOR / 1000.0;
+            }
+            return StandardFontWidths.getHelveticaWidth(ch) / 1000.0;
+        } else {
+            return StandardFontWidths.MONOSPACED_WIDTH / 1000.0;
+        }
+    }
+
+    /**
+     * Returns the width of a text.
+     * @param text the text
+     * @param fontSize the font size
+     * @return the width of the text (in the units of the font size)
+     */
+    public double getTextWidth(String text, double fontSize) {
+        double width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += getAdvance(text.charAt(i));
+        }
+        return width * fontSize;
+    }
+
+    /**
+     * Returns the outline of a glyph for a font size of 1. The origin is on the
+     * baseline at the left of the glyph's advance, the y axis pointing downwards.
+     * @param ch the character
+     * @return the glyph outline (must not be modified)
+     */
+    public Shape getGlyph(char ch) {
+        if (ch >= glyphs.length) {
+            return getNotdef(ch);
+        }
+        synchronized (glyphs) {
+            if (glyphs[ch] == null) {
+                String skeleton = GlyphSkeletons.getSkeleton(ch, proportional);
+                double heightFactor = 1.0;
+                if (skeleton == null && Character.isLowerCase(ch)) {
+                    skeleton = GlyphSkeletons.getSkeleton(
+                            Character.toUpperCase(ch), proportional);
+                    heightFactor = SMALL_CAPS_FACTOR;
+                }
+                if (skeleton == null) {
+                    return getNotdef(ch);
+                }
+                glyphs[ch] = buildGlyph(skeleton, getAdvance(ch), heightFactor);
+            }
+            return glyphs[ch];
+        }
+    }
+
+    private Shape getNotdef(char ch) {
+        synchronized (glyphs) {
+            if (notdef == null) {
+                notdef = buildGlyph(GlyphSkeletons.NOTDEF, getAdvance(ch), 1.0);
+            }
+            return notdef;
+        }
+    }
+
+    private Shape buildGlyph(String skeleton, double advance, double heightFactor) {
+        GeneralPath path = GlyphSkeletons.parse(skeleton);
+        Rectangle2D bounds = path.getBounds2D();
+        double scaleX = UNIT * heightFactor;
+        if (proportional && bounds.getWidth() > 0) {
+            //Fit the glyph into the advance width
+            double available = advance - 2 * SIDE_BEARING - strokeWidth;
+            scaleX = Math.max(0.5 * UNIT, Math.min(1.25 * UNIT, available / bounds.getWidth()));
+        } else if (bounds.getWidth() * scaleX > advance - strokeWidth) {
+            //Keep wide glyphs inside the cell of the monospaced font
+            scaleX = (advance - strokeWidth) / bounds.getWidth();
+        }
+        double offset = (advance - bounds.getWidth() * scaleX) / 2;
+        AffineTransform at = new AffineTransform();
+        at.translate(offset, 0);
+        at.scale(scaleX, -UNIT * heightFactor);
+        at.translate(-bounds.getX(), 0);
+        path.transform(at);
+        BasicStroke stroke = new BasicStroke((float)(strokeWidth * heightFactor),
+                BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+        //The Area removes the overlaps so the glyphs can be filled with any winding rule
+        return new Area(stroke.createStrokedShape(path));
+    }
+
+    /**
+     * Creates the outline of a text line between x1 and x2, applying the same alignment
+     * rules as the other canvas providers. The y axis points downwards.
+     * @param text the text
+     * @param x1 the left boundary
+     * @param x2 the right boundary
+     * @param y1 the baseline
+     * @param fontSize the font size
+     * @param textAlign the text alignment
+     * @return the outline of the text
+     */
+    public GeneralPath createTextOutline(String text, double x1, double x2, double y1,
+                double fontSize, TextAlignment textAlign) {
+        int len = text.length();
+        double distributableSpace = (x2 - x1) - getTextWidth(text, fontSize);
+        double indent;
+        double intercharSpace = 0;
+        if (textAlign == TextAlignment.TA_JUSTIFY) {
+            if (len > 1) {
+                indent = 0;
+                intercharSpace = distributableSpace / (len - 1);
+            } else {
+                indent = distributableSpace / 2; //Center if only one character
+            }
+        } else if (textAlign == TextAlignment.TA_CENTER) {
+            indent = distributableSpace / 2;
+        } else if (textAlign == TextAlignment.TA_RIGHT) {
+            indent = distributableSpace;
+        } else {
+            indent = 0;
+        }
+        GeneralPath path = new GeneralPath(GeneralPath.WIND_NON_ZERO);
+        AffineTransform at = new AffineTransform();
+        double x = x1 + indent;
+        for (int i = 0; i < len; i++) {
+            char ch = text.charAt(i);
+            at.setToTranslation(x, y1);
+            at.scale(fontSize, fontSize);
+            path.append(getGlyph(ch).getPathIterator(at), false);
+            x += getAdvance(ch) * fontSize + intercharSpace;
+        }
+        return path;
+    }
+
+}
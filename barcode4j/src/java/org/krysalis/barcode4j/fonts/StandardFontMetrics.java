@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.fonts;
+
+/**
+ * Font metrics based on the Adobe font metrics (AFM) of the standard fonts. Font names
+ * are mapped to Helvetica, Courier (also used for OCR fonts) or Times like for the PDF
+ * output. Times is measured with the Helvetica glyph widths. The bundled outline fonts
+ * are measured exactly. This class doesn't use the platform's font system.
+ *
+ * @author agent
+ */
+public class StandardFontMetrics implements FontMetricsProvider {
+
+    private static final StandardFontMetrics INSTANCE = new StandardFontMetrics();
+
+    //Ascender and descender values from the AFM files (1/1000 em)
+    private static final int HELVETICA_ASCENT = 718;
+    private static final int HELVETICA_DESCENT = 207;
+    private static final int COURIER_ASCENT = 629;
+    private static final int COURIER_DESCENT = 157;
+    private static final int TIMES_ASCENT = 683;
+    private static final int TIMES_DESCENT = 217;
+    private static final int OUTLINE_ASCENT = 750;
+    private static final int OUTLINE_DESCENT = 160;
+
+    /**
+     * Creates a new instance. Use {@link #getInstance()} as the class is stateless.
+     */
+    protected StandardFontMetrics() {
+        //nop
+    }
+
+    /**
+     * Returns the shared instance.
+     * @return the instance
+     */
+    public static StandardFontMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    private static boolean isMonospaced(String fontName) {
+        if (fontName == null) {
+            return false;
+        }
+        String lc = fontName.toLowerCase();
+        return lc.startsWith("courier") || lc.startsWith("ocr");
+    }
+
+    private static boolean isTimes(String fontName) {
+        return fontName != null && fontName.toLowerCase().startsWith("times");
+    }
+
+    /** {@inheritDoc} */
+    public double getTextWidth(String text, String fontName, double fontSize) {
+        OutlineFont outlineFont = OutlineFont.getInstance(fontName);
+        if (outlineFont != null) {
+            return outlineFont.getTextWidth(text, fontSize);
+        }
+        int len = text.length();
+        int width;
+        if (isMonospaced(fontName)) {
+            width = len * StandardFontWidths.MONOSPACED_WIDTH;
+        } else {
+            width = 0;
+            for (int i = 0; i < len; i++) {
+                width += StandardFontWidths.getHelveticaWidth(text.charAt(i));
+            }
+        }
+        return width * fontSize / 1000;
+    }
+
+    /** {@inheritDoc} */
+    public double getAscent(String fontName, double fontSize) {
+        int ascent;
+        if (OutlineFont.getInstance(fontName) != null) {
+            ascent = OUTLINE_ASCENT;
+        } else if (isMonospaced(fontName)) {
+            ascent = COURIER_ASCENT;
+        } else if (isTimes(fontName)) {
+            ascent = TIMES_ASCENT;
+        } else {
+            ascent = HELVETICA_ASCENT;
+        }
+        return ascent * fontSize / 1000;
+    }
+
+    /** {@inheritDoc} */
+    public double getDescent(String fontName, double fontSize) {
+        int descent;
+        if (OutlineFont.getInstance(fontName) != null) {
+            descent = OUTLINE_DESCENT;
+        } else if (isMonospaced(fontName)) {
+            descent = COURIER_DESCENT;
+        } else if (isTimes(fontName)) {
+            descent = TIMES_DESCENT;
+        } else {
+            descent = HELVETICA_DESCENT;
+        }
+        return descent * fontSize / 1000;
+    }
+
+}
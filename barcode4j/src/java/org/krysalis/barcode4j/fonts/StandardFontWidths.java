@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.fonts;
+
+/**
+ * Glyph widths (from the Adobe font metrics) of the standard fonts used for the
+ * human-readable part.
+ *
+ * @author agent
+ */
+public class StandardFontWidths {
+
+    /** Width of the glyphs of a monospaced font like Courier (1/1000 em) */
+    public static final int MONOSPACED_WIDTH = 600;
+
+    /** Helvetica glyph widths (1/1000 em) for the characters 32 to 126 */
+    private static final short[] HELVETICA_WIDTHS = {
+        278, 278, 355, 556, 556, 889, 667, 191, 333, 333, 389, 584, 278, 333, 278, 278,
+        556, 556, 556, 556, 556, 556, 556, 556, 556, 556, 278, 278, 584, 584, 584, 556,
+        1015, 667, 667, 722, 722, 667, 611, 778, 722, 278, 500, 667, 556, 833, 722, 778,
+        667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 278, 278, 278, 469, 556,
+        333, 556, 556, 500, 556, 556, 278, 556, 556, 222, 222, 500, 222, 833, 556, 556,
+        556, 556, 333, 500, 278, 556, 500, 722, 500, 500, 500, 334, 260, 334, 584};
+
+    private static final int DEFAULT_WIDTH = 556;
+
+    /**
+     * Utility class: Constructor prevents instantiating when subclassed.
+     */
+    protected StandardFontWidths() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the width of a Helvetica glyph. Characters outside the ASCII range get the
+     * width of a digit.
+     * @param ch the character
+     * @return the width (1/1000 em)
+     */
+    public static int getHelveticaWidth(char ch) {
+        if (ch >= 32 && ch <= 126) {
+            return HELVETICA_WIDTHS[ch - 32];
+        } else {
+            return DEFAULT_WIDTH;
+        }
+    }
+
+}
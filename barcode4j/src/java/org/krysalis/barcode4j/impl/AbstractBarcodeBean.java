@@ -17,7 +17,12 @@ package org.krysalis.barcode4j.impl;
 
 import org.krysalis.barcode4j.BarcodeDimension;
 import org.krysalis.barcode4j.BarcodeGenerator;
+import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
 import org.krysalis.barcode4j.HumanReadablePlacement;
+import org.krysalis.barcode4j.TwoDimBarcodeLogicHandler;
+import org.krysalis.barcode4j.fonts.FontMetricsProvider;
+import org.krysalis.barcode4j.fonts.StandardFontMetrics;
+import org.krysalis.barcode4j.output.Canvas;
 import org.krysalis.barcode4j.output.CanvasProvider;
 import org.krysalis.barcode4j.tools.UnitConv;
 
@@ -51,6 +56,8 @@ public abstract class AbstractBarcodeBean
     protected double inkspreadh;
     /** inkspread reduce the bar width vertically */
     protected double inkspreadv;
+    /** Font metrics used to lay out the human-readable part */
+    protected FontMetricsProvider fontMetrics = StandardFontMetrics.getInstance();
 
     /**
      * returns the pattern to be applied over the human readable message
@@ -84,19 +91,61 @@ public abstract class AbstractBarcodeBean
      */
     public double getHumanReadableHeight() {
         if (getMsgPosition() != HumanReadablePlacement.HRP_NONE) {
-            double textHeight = this.fontSize;
-            if (hasFontDescender()) {
-                return 1.3 * textHeight;
-                //1.3 is the factor for the font descender
-                //(just an approximation due to the lack of a font engine)
-            } else {
-                return textHeight;
-            }
+            return this.fontSize + getHumanReadableDescent();
         } else {
             return 0.0;
         }
     }
 
+    /**
+     * Returns the space reserved for the font descender below the baseline of the
+     * human-readable part.
+     * @return the descent (in mm), 0 if the implementation doesn't have to take font
+     *          descenders into account
+     * @see #hasFontDescender()
+     */
+    public double getHumanReadableDescent() {
+        if (hasFontDescender()) {
+            return getFontMetricsProvider().getDescent(getFontName(), getFontSize());
+        } else {
+            return 0.0;
+        }
+    }
+
+    /**
+     * Returns the width of a text in the font of the human-readable part.
+     * @param text the text
+     * @return the width of the text (in mm)
+     */
+    public double getHumanReadableWidth(String text) {
+        return getFontMetricsProvider().getTextWidth(text, getFontName(), getFontSize());
+    }
+
+    /**
+     * Returns how far the centered human-readable part extends beyond the bars on either
+     * side. Implementations whose {@link #calcDimensions(String)} reserve room for text
+     * wider than the bars override this method. The default implementation returns 0.
+     * @param text the (formatted) human-readable text
+     * @param barcodeWidth the width of the bars (without quiet zone)
+     * @return the overflow on each side (in mm)
+     */
+    public double getHumanReadableOverflow(String text, double barcodeWidth) {
+        return 0.0;
+    }
+
+    /**
+     * Calculates how far a centered text extends beyond the bars on either side.
+     * @param text the (formatted) human-readable text
+     * @param barcodeWidth the width of the bars (without quiet zone)
+     * @return the overflow on each side (in mm), 0 if the text fits
+     */
+    protected double calcHumanReadableOverflow(String text, double barcodeWidth) {
+        if (getMsgPosition() == HumanReadablePlacement.HRP_NONE || text == null) {
+            return 0.0;
+        }
+        return Math.max(0.0, (getHumanReadableWidth(text) - barcodeWidth) / 2);
+    }
+
     /**
      * Returns the height of the bars.
      * @return the height of the bars (in mm)
@@ -251,6 +300,25 @@ public abstract class AbstractBarcodeBean
         this.fontName = name;
     }
 
+    /**
+     * Returns the font metrics used to lay out the human-readable part.
+     * @return the font metrics provider
+     */
+    public FontMetricsProvider getFontMetricsProvider() {
+        return this.fontMetrics;
+    }
+
+    /**
+     * Sets the font metrics used to lay out the human-readable part. The default
+     * uses the metrics of the standard fonts ({@link StandardFontMetrics}). Use
+     * {@link org.krysalis.barcode4j.fonts.AWTFontMetrics} for the exact metrics of
+     * the platform's fonts.
+     * @param provider the font metrics provider
+     */
+    public void setFontMetricsProvider(FontMetricsProvider provider) {
+        this.fontMetrics = provider;
+    }
+
     /**
      * Sets h & v inkspread
      * @param inkspread
@@ -293,11 +361,110 @@ public abstract class AbstractBarcodeBean
     }
 
     /** {@inheritDoc} */
-    public abstract void generateBarcode(CanvasProvider canvas, String msg);
+    public void generateBarcode(CanvasProvider canvas, String msg) {
+        Canvas c = new Canvas(canvas, true);
+        generateBarcodeLogic(createCanvasLogicHandler(c), msg);
+        c.flush();
+    }
+
+    /**
+     * Generates a barcode for binary data (for example a signed token or compressed
+     * data). The data is encoded as is, without any character encoding. Only
+     * two-dimensional symbologies with a binary mode support this.
+     * @param canvas the canvas to paint on
+     * @param data the binary message
+     */
+    public void generateBarcode(CanvasProvider canvas, byte[] data) {
+        BarcodeDimension dim = calcDimensions(data);
+        Canvas c = new Canvas(canvas, true);
+        generateBarcodeLogic(createCanvasLogicHandler(c, dim), data);
+        c.flush();
+    }
+
+    /**
+     * Creates the logic handler that paints this barcode on a canvas. Subclasses
+     * override this method if their symbology needs a specialized logic handler.
+     * @param canvas the canvas to paint on
+     * @return the logic handler
+     */
+    public ClassicBarcodeLogicHandler createCanvasLogicHandler(Canvas canvas) {
+        return new DefaultCanvasLogicHandler(this, canvas);
+    }
+
+    /**
+     * Creates the logic handler that paints this barcode on a canvas using
+     * precalculated dimensions, for messages which aren't passed on to the handler
+     * as a String or whose dimensions are already known (see
+     * {@link DefaultTwoDimCanvasLogicHandler#setDimensions(BarcodeDimension)} and
+     * {@link DefaultCanvasLogicHandler#setDimensions(BarcodeDimension)}). Other logic
+     * handlers calculate the dimensions themselves.
+     * @param canvas the canvas to paint on
+     * @param dim the barcode dimensions or null to calculate them from the message
+     * @return the logic handler
+     */
+    protected ClassicBarcodeLogicHandler createCanvasLogicHandler(Canvas canvas,
+                BarcodeDimension dim) {
+        ClassicBarcodeLogicHandler handler = createCanvasLogicHandler(canvas);
+        if (handler instanceof DefaultTwoDimCanvasLogicHandler) {
+            ((DefaultTwoDimCanvasLogicHandler)handler).setDimensions(dim);
+        } else if (handler instanceof DefaultCanvasLogicHandler) {
+            ((DefaultCanvasLogicHandler)handler).setDimensions(dim);
+        }
+        return handler;
+    }
+
+    /**
+     * Generates the barcode logic for a message and passes it to a logic handler
+     * instead of painting the barcode on a canvas. Two-dimensional symbologies
+     * require a {@link TwoDimBarcodeLogicHandler}.
+     * @param handler the logic handler receiving the barcode logic
+     * @param msg the message to encode
+     */
+    public void generateBarcodeLogic(ClassicBarcodeLogicHandler handler, String msg) {
+        throw new UnsupportedOperationException("NYI");
+    }
+
+    /**
+     * Generates the barcode logic for binary data and passes it to a logic handler.
+     * The message passed to {@link ClassicBarcodeLogicHandler#startBarcode(String, String)}
+     * is null in this case.
+     * @param handler the logic handler receiving the barcode logic
+     * @param data the binary message
+     */
+    public void generateBarcodeLogic(ClassicBarcodeLogicHandler handler, byte[] data) {
+        throw new UnsupportedOperationException(
+                "Binary messages are not supported by this symbology");
+    }
+
+    /**
+     * Casts a logic handler to a {@link TwoDimBarcodeLogicHandler}.
+     * @param handler the logic handler
+     * @return the two-dimensional logic handler
+     * @throws IllegalArgumentException if the handler doesn't support two-dimensional
+     *          symbologies
+     */
+    protected static TwoDimBarcodeLogicHandler toTwoDimLogicHandler(
+                ClassicBarcodeLogicHandler handler) {
+        if (!(handler instanceof TwoDimBarcodeLogicHandler)) {
+            throw new IllegalArgumentException(
+                    "Two-dimensional symbologies require a TwoDimBarcodeLogicHandler");
+        }
+        return (TwoDimBarcodeLogicHandler)handler;
+    }
 
     /** {@inheritDoc} */
     public BarcodeDimension calcDimensions(String msg) {
         throw new UnsupportedOperationException("NYI");
     }
 
+    /**
+     * Calculates the dimensions of a barcode for binary data.
+     * @param data the binary message
+     * @return the barcode dimensions
+     */
+    public BarcodeDimension calcDimensions(byte[] data) {
+        throw new UnsupportedOperationException(
+                "Binary messages are not supported by this symbology");
+    }
+
 }
@@ -39,6 +39,8 @@ public class DefaultCanvasLogicHandler implements ClassicBarcodeLogicHandler {
     private double x = 0.0;
     private double y;
     private String formattedMsg;
+    private double textOverflow;
+    private BarcodeDimension presetDimensions;
 
     /**
      * Main constructor.
@@ -50,16 +52,24 @@ public class DefaultCanvasLogicHandler implements ClassicBarcodeLogicHandler {
         this.canvas = canvas;
     }
 
+    /**
+     * Sets the barcode dimensions to use. By default, the dimensions are calculated from
+     * the message passed to {@link #startBarcode(String, String)}, which runs the encoder
+     * again. Callers which already know the dimensions can set them in advance.
+     * @param dim the barcode dimensions or null to calculate them from the message
+     */
+    public void setDimensions(BarcodeDimension dim) {
+        this.presetDimensions = dim;
+    }
+
     /**
      * Returns the start X position of the bars.
      * @return the start X position of the bars.
      */
     protected double getStartX() {
-        if (bcBean.hasQuietZone()) {
-            return bcBean.getQuietZone();
-        } else {
-            return 0.0;
-        }
+        double qz = (bcBean.hasQuietZone() ? bcBean.getQuietZone() : 0.0);
+        //Make room for human-readable text which is wider than the bars
+        return Math.max(qz, this.textOverflow);
     }
 
     /**
@@ -83,7 +93,13 @@ public class DefaultCanvasLogicHandler implements ClassicBarcodeLogicHandler {
                 formattedMsg, bcBean.getPattern());
 
         //Calculate extents
-        this.dimensions = bcBean.calcDimensions(msg);
+        if (this.presetDimensions != null) {
+            this.dimensions = this.presetDimensions;
+        } else {
+            this.dimensions = bcBean.calcDimensions(msg);
+        }
+        this.textOverflow = bcBean.getHumanReadableOverflow(
+                this.formattedMsg, this.dimensions.getWidth());
 
         canvas.establishDimensions(dimensions);
         x = getStartX();
@@ -126,17 +142,9 @@ public class DefaultCanvasLogicHandler implements ClassicBarcodeLogicHandler {
      */
     protected double getTextBaselinePosition() {
         if (bcBean.getMsgPosition() == HumanReadablePlacement.HRP_TOP) {
-            double ty = bcBean.getHumanReadableHeight();
-            if (bcBean.hasFontDescender()) {
-                ty -= bcBean.getHumanReadableHeight() / 13 * 3;
-            }
-            return ty;
+            return bcBean.getHumanReadableHeight() - bcBean.getHumanReadableDescent();
         } else if (bcBean.getMsgPosition() == HumanReadablePlacement.HRP_BOTTOM) {
-            double ty = bcBean.getHeight();
-            if (bcBean.hasFontDescender()) {
-                ty -= bcBean.getHumanReadableHeight() / 13 * 3;
-            }
-            return ty;
+            return bcBean.getHeight() - bcBean.getHumanReadableDescent();
         } else {
             throw new IllegalStateException("not applicable");
         }
@@ -22,16 +22,29 @@ import org.krysalis.barcode4j.output.Canvas;
 
 /**
  * Default 2D Logic Handler implementation for painting on a Canvas.
+ * <p>
+ * Horizontally adjacent dark modules are painted as a single rectangle. Optionally,
+ * identical runs in consecutive rows can be merged into taller rectangles, too
+ * (see {@link #setMergeRows(boolean)}).
  * 
  * @author Jeremias Maerki
  * @version $Id: DefaultTwoDimCanvasLogicHandler.java,v 1.1 2006-06-22 09:01:19 jmaerki Exp $
  */
 public class DefaultTwoDimCanvasLogicHandler implements TwoDimBarcodeLogicHandler {
     
+    private static final double EPSILON = 0.000001;
+
     private AbstractBarcodeBean bcBean;
     private Canvas canvas;
     private double x = 0.0;
     private double y = 0.0;
+    private double runStart = -1;
+    private boolean mergeRows;
+    private BarcodeDimension dimensions;
+
+    //Runs of the current row and the rectangles still open from the previous rows
+    private RunList rowRuns;
+    private RunList openRects;
     
     /**
      * Main constructor.
@@ -43,6 +56,34 @@ public class DefaultTwoDimCanvasLogicHandler implements TwoDimBarcodeLogicHandle
         this.canvas = canvas;
     }
     
+    /**
+     * Enables or disables merging of identical runs of dark modules in consecutive
+     * rows. This reduces the number of painted rectangles further but holds back
+     * painting until a run ends.
+     * @param merge true to merge runs across rows
+     */
+    public void setMergeRows(boolean merge) {
+        this.mergeRows = merge;
+    }
+
+    /**
+     * Indicates whether identical runs of dark modules are merged across rows.
+     * @return true if runs are merged across rows
+     */
+    public boolean isMergeRows() {
+        return this.mergeRows;
+    }
+
+    /**
+     * Sets the barcode dimensions to use. By default, the dimensions are calculated from
+     * the message passed to {@link #startBarcode(String, String)}. Binary messages
+     * (which aren't passed on as a String) need the dimensions set in advance.
+     * @param dim the barcode dimensions or null to calculate them from the message
+     */
+    public void setDimensions(BarcodeDimension dim) {
+        this.dimensions = dim;
+    }
+
     private double getStartX() {
         if (bcBean.hasQuietZone()) {
             return bcBean.getQuietZone();
@@ -62,15 +103,23 @@ public class DefaultTwoDimCanvasLogicHandler implements TwoDimBarcodeLogicHandle
     /** @see org.krysalis.barcode4j.ClassicBarcodeLogicHandler */
     public void startBarcode(String msg, String formattedMsg) {
         //Calculate extents
-        BarcodeDimension dim = bcBean.calcDimensions(msg);
+        BarcodeDimension dim = this.dimensions;
+        if (dim == null) {
+            dim = bcBean.calcDimensions(msg);
+        }
         
         canvas.establishDimensions(dim);
         y = getStartY();
+        if (mergeRows) {
+            rowRuns = new RunList();
+            openRects = new RunList();
+        }
     }
 
     /** @see org.krysalis.barcode4j.TwoDimBarcodeLogicHandler#startRow() */
     public void startRow() {
         x = getStartX();
+        runStart = -1;
     }
 
     /** @see org.krysalis.barcode4j.ClassicBarcodeLogicHandler */
@@ -81,14 +130,33 @@ public class DefaultTwoDimCanvasLogicHandler implements TwoDimBarcodeLogicHandle
     /** @see org.krysalis.barcode4j.ClassicBarcodeLogicHandler */
     public void addBar(boolean black, int width) {
         final double w = bcBean.getBarWidth(width);
-        final double rh = bcBean.getInkspreadh();
-        final double rv = bcBean.getInkspreadv();
         if (black) {
-            canvas.drawRectWH(x+(rh/2.0), y+(rv/2.0), w-rh, bcBean.getBarHeight()-rv);
+            if (runStart < 0) {
+                runStart = x;
+            }
+        } else {
+            endRun();
         }
         x += w;
     }
 
+    private void endRun() {
+        if (runStart >= 0) {
+            if (mergeRows) {
+                rowRuns.add(runStart, x - runStart, y);
+            } else {
+                paintRect(runStart, y, x - runStart, bcBean.getBarHeight());
+            }
+            runStart = -1;
+        }
+    }
+
+    private void paintRect(double rx, double ry, double rw, double rh) {
+        final double sh = bcBean.getInkspreadh();
+        final double sv = bcBean.getInkspreadv();
+        canvas.drawRectWH(rx + (sh / 2.0), ry + (sv / 2.0), rw - sh, rh - sv);
+    }
+
     /** @see org.krysalis.barcode4j.ClassicBarcodeLogicHandler */
     public void endBarGroup() {
         //nop
@@ -96,13 +164,86 @@ public class DefaultTwoDimCanvasLogicHandler implements TwoDimBarcodeLogicHandle
 
     /** @see org.krysalis.barcode4j.TwoDimBarcodeLogicHandler#endRow() */
     public void endRow() {
+        endRun();
         y += bcBean.getBarHeight(); //=row height
+        if (mergeRows) {
+            mergeRuns();
+        }
+    }
+
+    /**
+     * Continues open rectangles which have an identical run in the current row, paints
+     * the others and opens new rectangles for the remaining runs. Both lists are
+     * sorted by x coordinate.
+     */
+    private void mergeRuns() {
+        final double rowStart = y - bcBean.getBarHeight();
+        RunList next = new RunList();
+        int i = 0;
+        int j = 0;
+        while (i < openRects.count || j < rowRuns.count) {
+            if (j >= rowRuns.count
+                    || (i < openRects.count && openRects.x[i] < rowRuns.x[j] - EPSILON)) {
+                paintOpenRect(i, rowStart);
+                i++;
+            } else if (i >= openRects.count || rowRuns.x[j] < openRects.x[i] - EPSILON) {
+                next.add(rowRuns.x[j], rowRuns.w[j], rowRuns.y[j]);
+                j++;
+            } else if (Math.abs(openRects.w[i] - rowRuns.w[j]) < EPSILON) {
+                next.add(openRects.x[i], openRects.w[i], openRects.y[i]);
+                i++;
+                j++;
+            } else {
+                paintOpenRect(i, rowStart);
+                next.add(rowRuns.x[j], rowRuns.w[j], rowRuns.y[j]);
+                i++;
+                j++;
+            }
+        }
+        openRects = next;
+        rowRuns.count = 0;
+    }
+
+    private void paintOpenRect(int index, double endY) {
+        paintRect(openRects.x[index], openRects.y[index],
+                openRects.w[index], endY - openRects.y[index]);
     }
 
     /** @see org.krysalis.barcode4j.ClassicBarcodeLogicHandler */
     public void endBarcode() {
-        //nop
+        if (mergeRows) {
+            for (int i = 0; i < openRects.count; i++) {
+                paintOpenRect(i, y);
+            }
+            openRects.count = 0;
+        }
     }
 
-}
+    /** Simple growable list of runs (x, width and start y). */
+    private static class RunList {
+
+        private double[] x = new double[16];
+        private double[] w = new double[16];
+        private double[] y = new double[16];
+        private int count;
+
+        public void add(double rx, double rw, double ry) {
+            if (count == x.length) {
+                x = grow(x);
+                w = grow(w);
+                y = grow(y);
+            }
+            x[count] = rx;
+            w[count] = rw;
+            y[count] = ry;
+            count++;
+        }
 
+        private double[] grow(double[] values) {
+            double[] newValues = new double[values.length * 2];
+            System.arraycopy(values, 0, newValues, 0, values.length);
+            return newValues;
+        }
+    }
+
+}
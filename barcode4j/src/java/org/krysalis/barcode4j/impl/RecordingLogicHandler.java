@@ -0,0 +1,217 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.krysalis.barcode4j.BarGroup;
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.TwoDimBarcodeLogicHandler;
+import org.krysalis.barcode4j.output.Canvas;
+import org.krysalis.barcode4j.output.CanvasProvider;
+
+/**
+ * Logic handler which records the barcode logic so it can be replayed to other logic
+ * handlers later, for example to paint the same barcode on several canvases without
+ * running the encoder again. Each event is stored as a single int (the event type in
+ * the lower 3 bits, the argument in the upper bits); strings and bar groups are kept
+ * in a separate table.
+ * <p>
+ * Recordings made with {@link #record(AbstractBarcodeBean, String)} or
+ * {@link #record(AbstractBarcodeBean, byte[])} also keep the barcode dimensions, so
+ * replaying them to a canvas doesn't run the encoder either. Binary recordings
+ * don't carry a message and can only be replayed to a canvas that way.
+ *
+ * @author agent
+ */
+public class RecordingLogicHandler implements TwoDimBarcodeLogicHandler {
+
+    private static final int START_BARCODE = 0;
+    private static final int END_BARCODE = 1;
+    private static final int START_ROW = 2;
+    private static final int END_ROW = 3;
+    private static final int START_BAR_GROUP = 4;
+    private static final int END_BAR_GROUP = 5;
+    private static final int ADD_BLACK_BAR = 6;
+    private static final int ADD_WHITE_BAR = 7;
+
+    private int[] events = new int[256];
+    private int count;
+    private List objects = new ArrayList();
+    private boolean twoDim;
+    private BarcodeDimension dimensions;
+
+    /**
+     * Records the logic and the dimensions of a barcode.
+     * @param bean the barcode bean
+     * @param msg the message to encode
+     * @return the recording
+     */
+    public static RecordingLogicHandler record(AbstractBarcodeBean bean, String msg) {
+        RecordingLogicHandler recorder = new RecordingLogicHandler();
+        recorder.dimensions = bean.calcDimensions(msg);
+        bean.generateBarcodeLogic(recorder, msg);
+        return recorder;
+    }
+
+    /**
+     * Records the logic and the dimensions of a barcode for binary data. Only
+     * two-dimensional symbologies with a binary mode support this.
+     * @param bean the barcode bean
+     * @param data the binary message
+     * @return the recording
+     */
+    public static RecordingLogicHandler record(AbstractBarcodeBean bean, byte[] data) {
+        RecordingLogicHandler recorder = new RecordingLogicHandler();
+        recorder.dimensions = bean.calcDimensions(data);
+        bean.generateBarcodeLogic(recorder, data);
+        return recorder;
+    }
+
+    private void add(int type, int arg) {
+        if (count == events.length) {
+            int[] newEvents = new int[count * 2];
+            System.arraycopy(events, 0, newEvents, 0, count);
+            events = newEvents;
+        }
+        events[count++] = (arg << 3) | type;
+    }
+
+    /** {@inheritDoc} */
+    public void startBarcode(String msg, String formattedMsg) {
+        add(START_BARCODE, objects.size());
+        objects.add(msg);
+        objects.add(formattedMsg);
+    }
+
+    /** {@inheritDoc} */
+    public void startRow() {
+        twoDim = true;
+        add(START_ROW, 0);
+    }
+
+    /** {@inheritDoc} */
+    public void startBarGroup(BarGroup type, String submsg) {
+        add(START_BAR_GROUP, objects.size());
+        objects.add(type);
+        objects.add(submsg);
+    }
+
+    /** {@inheritDoc} */
+    public void addBar(boolean black, int weight) {
+        add(black ? ADD_BLACK_BAR : ADD_WHITE_BAR, weight);
+    }
+
+    /** {@inheritDoc} */
+    public void endBarGroup() {
+        add(END_BAR_GROUP, 0);
+    }
+
+    /** {@inheritDoc} */
+    public void endRow() {
+        add(END_ROW, 0);
+    }
+
+    /** {@inheritDoc} */
+    public void endBarcode() {
+        add(END_BARCODE, 0);
+    }
+
+    /**
+     * Indicates whether the recording contains rows, i.e. whether it has to be
+     * replayed to a {@link TwoDimBarcodeLogicHandler}.
+     * @return true for two-dimensional barcodes
+     */
+    public boolean isTwoDimensional() {
+        return this.twoDim;
+    }
+
+    /**
+     * Returns the barcode dimensions stored with the recording.
+     * @return the barcode dimensions or null if the recording was made without them
+     */
+    public BarcodeDimension getDimensions() {
+        return this.dimensions;
+    }
+
+    /**
+     * Returns the number of recorded events.
+     * @return the number of events
+     */
+    public int getEventCount() {
+        return this.count;
+    }
+
+    /**
+     * Replays the recorded barcode logic to a logic handler.
+     * @param handler the logic handler
+     */
+    public void replay(ClassicBarcodeLogicHandler handler) {
+        TwoDimBarcodeLogicHandler twoDimHandler = null;
+        if (twoDim) {
+            twoDimHandler = AbstractBarcodeBean.toTwoDimLogicHandler(handler);
+        }
+        for (int i = 0; i < count; i++) {
+            int event = events[i];
+            int arg = event >> 3;
+            switch (event & 7) {
+            case START_BARCODE:
+                handler.startBarcode((String)objects.get(arg), (String)objects.get(arg + 1));
+                break;
+            case END_BARCODE:
+                handler.endBarcode();
+                break;
+            case START_ROW:
+                twoDimHandler.startRow();
+                break;
+            case END_ROW:
+                twoDimHandler.endRow();
+                break;
+            case START_BAR_GROUP:
+                handler.startBarGroup((BarGroup)objects.get(arg), (String)objects.get(arg + 1));
+                break;
+            case END_BAR_GROUP:
+                handler.endBarGroup();
+                break;
+            case ADD_BLACK_BAR:
+                handler.addBar(true, arg);
+                break;
+            case ADD_WHITE_BAR:
+                handler.addBar(false, arg);
+                break;
+            default:
+                throw new IllegalStateException("Invalid event: " + event);
+            }
+        }
+    }
+
+    /**
+     * Replays the recorded barcode logic to a canvas using the barcode bean's canvas
+     * logic handler. The dimensions stored with the recording are passed on to the
+     * logic handler, so the barcode isn't encoded again. The bean's settings must not
+     * have been changed since the recording was made.
+     * @param bean the barcode bean the recording was made with
+     * @param canvas the canvas to paint on
+     */
+    public void replay(AbstractBarcodeBean bean, CanvasProvider canvas) {
+        Canvas c = new Canvas(canvas, true);
+        replay(bean.createCanvasLogicHandler(c, this.dimensions));
+        c.flush();
+    }
+
+}
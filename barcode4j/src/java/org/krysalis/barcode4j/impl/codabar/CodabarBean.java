@@ -19,9 +19,6 @@ import org.krysalis.barcode4j.BarcodeDimension;
 import org.krysalis.barcode4j.ChecksumMode;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
 import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
-import org.krysalis.barcode4j.impl.DefaultCanvasLogicHandler;
-import org.krysalis.barcode4j.output.Canvas;
-import org.krysalis.barcode4j.output.CanvasProvider;
 
 /**
  * This class is an implementation of the Codabar barcode.
@@ -116,15 +113,11 @@ public class CodabarBean extends AbstractBarcodeBean {
     }
 
     /** {@inheritDoc} */
-    public void generateBarcode(CanvasProvider canvas, String msg) {
-        if ((msg == null)
-                || (msg.length() == 0)) {
+    public void generateBarcodeLogic(ClassicBarcodeLogicHandler handler, String msg) {
+        if ((msg == null) || (msg.length() == 0)) {
             throw new NullPointerException("Parameter msg must not be empty");
         }
 
-        ClassicBarcodeLogicHandler handler =
-                new DefaultCanvasLogicHandler(this, new Canvas(canvas));
-
         CodabarLogicImpl impl = new CodabarLogicImpl(getChecksumMode(), isDisplayStartStop());
         impl.generateBarcodeLogic(handler, msg);
     }
@@ -19,9 +19,8 @@ package org.krysalis.barcode4j.impl.code128;
 import org.krysalis.barcode4j.BarcodeDimension;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
 import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
-import org.krysalis.barcode4j.impl.DefaultCanvasLogicHandler;
-import org.krysalis.barcode4j.output.Canvas;
-import org.krysalis.barcode4j.output.CanvasProvider;
+import org.krysalis.barcode4j.tools.MessagePatternUtil;
+import org.krysalis.barcode4j.tools.MessageUtil;
 
 /**
  * This class is an implementation of the Code 128 barcode.
@@ -90,10 +89,31 @@ public class Code128Bean extends AbstractBarcodeBean {
         final double width = ((msgLen * 11) + 13) * getModuleWidth();
         final double qz = (hasQuietZone() ? quietZone : 0);
         final double vqz = (hasQuietZone() ? quietZoneVertical.doubleValue() : 0);
+        final double side = Math.max(qz,
+                getHumanReadableOverflow(getHumanReadableMsg(msg), width));
 
         return new BarcodeDimension(width, getHeight(),
-                width + (2 * qz), getHeight() + (2 * vqz),
-                qz, vqz);
+                width + (2 * side), getHeight() + (2 * vqz),
+                side, vqz);
+    }
+
+    /**
+     * Returns the human-readable message as it is painted below or above the bars.
+     * @param msg the message to encode
+     * @return the human-readable message
+     */
+    protected String getHumanReadableMsg(String msg) {
+        return MessagePatternUtil.applyCustomMessagePattern(
+                MessageUtil.filterNonPrintableCharacters(msg), getPattern());
+    }
+
+    /**
+     * Code 128 messages can be long and are painted with a proportional font, so the
+     * human-readable part can be wider than the bars. The barcode is then enlarged.
+     * {@inheritDoc}
+     */
+    public double getHumanReadableOverflow(String text, double barcodeWidth) {
+        return calcHumanReadableOverflow(text, barcodeWidth);
     }
 
     private Code128LogicImpl createLogicImpl() {
@@ -101,15 +121,11 @@ public class Code128Bean extends AbstractBarcodeBean {
     }
 
     /** {@inheritDoc} */
-    public void generateBarcode(CanvasProvider canvas, String msg) {
+    public void generateBarcodeLogic(ClassicBarcodeLogicHandler handler, String msg) {
         if ((msg == null) || (msg.length() == 0)) {
             throw new NullPointerException("Parameter msg must not be empty");
         }
 
-        ClassicBarcodeLogicHandler handler =
-                new DefaultCanvasLogicHandler(this, new Canvas(canvas));
-        //handler = new LoggingLogicHandlerProxy(handler);
-
         Code128LogicImpl impl = createLogicImpl();
         impl.generateBarcodeLogic(handler, msg);
     }
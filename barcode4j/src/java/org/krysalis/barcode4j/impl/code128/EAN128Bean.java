@@ -19,9 +19,7 @@ package org.krysalis.barcode4j.impl.code128;
 import org.krysalis.barcode4j.BarcodeDimension;
 import org.krysalis.barcode4j.ChecksumMode;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
-import org.krysalis.barcode4j.impl.DefaultCanvasLogicHandler;
-import org.krysalis.barcode4j.output.Canvas;
-import org.krysalis.barcode4j.output.CanvasProvider;
+import org.krysalis.barcode4j.tools.MessagePatternUtil;
 
 /**
  * This class is an implementation of the Code 128 barcode.
@@ -53,29 +51,35 @@ public class EAN128Bean extends Code128Bean {
      * @see org.krysalis.barcode4j.BarcodeGenerator#calcDimensions(String)
      */
     public BarcodeDimension calcDimensions(String msg) {
-        int msgLen = impl.getEncodedMessage(msg).length + 1; 
-        //TODO If the output is able to calculate text lenghts (e.g. awt, fop), and 
-        //the human readable part is longer then barcode the size should be enlarged!
+        EAN128LogicImpl encoded = impl.encode(msg);
+        int msgLen = encoded.getEncodedMessage(msg).length + 1; 
         final double width = ((msgLen * 11) + 13) * getModuleWidth();
         final double qz = (hasQuietZone() ? quietZone : 0);
+        //Make room if the human readable part is longer than the barcode
+        final double side = Math.max(qz,
+                getHumanReadableOverflow(getHumanReadableMsg(encoded), width));
         return new BarcodeDimension(width, getHeight(), 
-                width + (2 * qz), getHeight(), 
-                quietZone, 0.0);
+                width + (2 * side), getHeight(), 
+                side, 0.0);
     }
 
-    /**
-     * @see org.krysalis.barcode4j.BarcodeGenerator#generateBarcode(CanvasProvider, String)
-     */
-    public void generateBarcode(CanvasProvider canvas, String msg) {
+    /** {@inheritDoc} */
+    protected String getHumanReadableMsg(String msg) {
+        return getHumanReadableMsg(impl.encode(msg));
+    }
+
+    private String getHumanReadableMsg(EAN128LogicImpl encoded) {
+        return MessagePatternUtil.applyCustomMessagePattern(
+                encoded.getHumanReadableMsg(), getPattern());
+    }
+
+    /** {@inheritDoc} */
+    public void generateBarcodeLogic(ClassicBarcodeLogicHandler handler, String msg) {
         if ((msg == null) || (msg.length() == 0)) {
             throw new NullPointerException("Parameter msg must not be empty");
         }
 
-        ClassicBarcodeLogicHandler handler = 
-                new DefaultCanvasLogicHandler(this, new Canvas(canvas));
-        //handler = new LoggingLogicHandlerProxy(handler);
-        
-        impl.generateBarcodeLogic(handler, msg);
+        impl.encode(msg).generateBarcodeLogic(handler, msg);
     }
     
     /**
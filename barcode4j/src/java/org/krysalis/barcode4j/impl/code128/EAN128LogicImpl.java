@@ -63,6 +63,33 @@ public class EAN128LogicImpl { //extends Code128LogicImpl{
         setTemplate(template);
     }
 
+    /**
+     * Creates a new instance with the same settings as the given one but without
+     * any message.
+     * @param settings the instance to copy the settings from
+     */
+    private EAN128LogicImpl(EAN128LogicImpl settings) {
+        this.ais = settings.ais;
+        this.groupSeparator = settings.groupSeparator;
+        this.checkDigitMarker = settings.checkDigitMarker;
+        this.omitBrackets = settings.omitBrackets;
+        this.checksumADD = settings.checksumADD;
+        this.checksumCHECK = settings.checksumCHECK;
+    }
+
+    /**
+     * Encodes a message without changing the state of this instance, so a single
+     * instance can be shared by several threads.
+     * @param msg the message to encode
+     * @return a new instance with the same settings holding the encoded message, the
+     *          Code 128 message and the human-readable message
+     */
+    public EAN128LogicImpl encode(String msg) {
+        EAN128LogicImpl encoded = new EAN128LogicImpl(this);
+        encoded.setMessage(msg);
+        return encoded;
+    }
+
     protected void setMessage(String msg) {
         if (msg == null || !msg.equals(msgCache)) {
             code128Msg.setLength(0);
@@ -19,7 +19,7 @@ import java.awt.Dimension;
 import java.io.IOException;
 
 import org.krysalis.barcode4j.BarcodeDimension;
-import org.krysalis.barcode4j.TwoDimBarcodeLogicHandler;
+import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
 import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
 import org.krysalis.barcode4j.impl.DefaultTwoDimCanvasLogicHandler;
 import org.krysalis.barcode4j.output.Canvas;
@@ -46,6 +46,8 @@ public class DataMatrixBean extends AbstractBarcodeBean {
     private Dimension minSize;
     /** Optional: the maximum size of the symbol. */
     private Dimension maxSize;
+    /** Symbol size from which on the error correction is calculated in parallel. */
+    private int parallelECCThreshold;
 
     /** Create a new instance. */
     public DataMatrixBean() {
@@ -114,30 +116,120 @@ public class DataMatrixBean extends AbstractBarcodeBean {
         }
     }
 
+    /**
+     * Sets the symbol size (data and error correction codewords) from which on the
+     * interleaved error correction blocks of a symbol are calculated in separate threads.
+     * The calculation is cheap compared to starting threads, so this is only worth it for
+     * the largest symbols on machines with idle cores.
+     * @param codewords the minimum number of codewords or 0 to disable parallel
+     *          calculation (the default)
+     */
+    public void setParallelECCThreshold(int codewords) {
+        if (codewords < 0) {
+            throw new IllegalArgumentException("The threshold must not be negative");
+        }
+        this.parallelECCThreshold = codewords;
+    }
+
+    /**
+     * Returns the symbol size from which on the interleaved error correction blocks of a
+     * symbol are calculated in separate threads.
+     * @return the minimum number of codewords or 0 if parallel calculation is disabled
+     */
+    public int getParallelECCThreshold() {
+        return this.parallelECCThreshold;
+    }
+
     /** {@inheritDoc} */
+    public ClassicBarcodeLogicHandler createCanvasLogicHandler(Canvas canvas) {
+        return new DefaultTwoDimCanvasLogicHandler(this, canvas);
+    }
+
+    /** {@inheritDoc} */
+    public void generateBarcodeLogic(ClassicBarcodeLogicHandler handler, String msg) {
+        if ((msg == null) || (msg.length() == 0)) {
+            throw new NullPointerException("Parameter msg must not be empty");
+        }
+
+        DataMatrixLogicImpl impl = new DataMatrixLogicImpl();
+        impl.setParallelECCThreshold(getParallelECCThreshold());
+        impl.generateBarcodeLogic(toTwoDimLogicHandler(handler), msg,
+                getShape(), getMinSize(), getMaxSize());
+    }
+
+    /** {@inheritDoc} */
+    public void generateBarcodeLogic(ClassicBarcodeLogicHandler handler, byte[] data) {
+        if ((data == null) || (data.length == 0)) {
+            throw new NullPointerException("Parameter data must not be empty");
+        }
+
+        DataMatrixLogicImpl impl = new DataMatrixLogicImpl();
+        impl.setParallelECCThreshold(getParallelECCThreshold());
+        impl.generateBarcodeLogic(toTwoDimLogicHandler(handler), data,
+                getShape(), getMinSize(), getMaxSize());
+    }
+
+    /**
+     * {@inheritDoc}
+     * The message is encoded once for both the dimensions and the painting.
+     */
     public void generateBarcode(CanvasProvider canvas, String msg) {
-        if ((msg == null)
-                || (msg.length() == 0)) {
+        if ((msg == null) || (msg.length() == 0)) {
             throw new NullPointerException("Parameter msg must not be empty");
         }
 
-        TwoDimBarcodeLogicHandler handler =
-                new DefaultTwoDimCanvasLogicHandler(this, new Canvas(canvas));
+        paint(canvas, msg, encodeHighLevel(msg));
+    }
 
+    /**
+     * {@inheritDoc}
+     * The data is encoded once for both the dimensions and the painting.
+     */
+    public void generateBarcode(CanvasProvider canvas, byte[] data) {
+        if ((data == null) || (data.length == 0)) {
+            throw new NullPointerException("Parameter data must not be empty");
+        }
+
+        paint(canvas, null, encodeHighLevel(data));
+    }
+
+    private void paint(CanvasProvider canvas, String msg, byte[] encoded) {
+        BarcodeDimension dim = calcDimensions(encoded.length);
+        Canvas c = new Canvas(canvas, true);
         DataMatrixLogicImpl impl = new DataMatrixLogicImpl();
-        impl.generateBarcodeLogic(handler, msg, getShape(), getMinSize(), getMaxSize());
+        impl.setParallelECCThreshold(getParallelECCThreshold());
+        impl.generateBarcodeLogic(toTwoDimLogicHandler(createCanvasLogicHandler(c, dim)),
+                msg, encoded, getShape(), getMinSize(), getMaxSize());
+        c.flush();
     }
 
     /** {@inheritDoc} */
     public BarcodeDimension calcDimensions(String msg) {
-        String encoded;
+        return calcDimensions(encodeHighLevel(msg).length);
+    }
+
+    /** {@inheritDoc} */
+    public BarcodeDimension calcDimensions(byte[] data) {
+        return calcDimensions(encodeHighLevel(data).length);
+    }
+
+    private byte[] encodeHighLevel(String msg) {
         try {
-            encoded = DataMatrixHighLevelEncoder.encodeHighLevel(msg,
+            return DataMatrixHighLevelEncoder.encodeHighLevelCodewords(msg,
                     shape, getMinSize(), getMaxSize());
         } catch (IOException e) {
             throw new IllegalArgumentException("Cannot fetch data: " + e.getLocalizedMessage());
         }
-        DataMatrixSymbolInfo symbolInfo = DataMatrixSymbolInfo.lookup(encoded.length(), shape);
+    }
+
+    private byte[] encodeHighLevel(byte[] data) {
+        return DataMatrixHighLevelEncoder.encodeHighLevelCodewords(data,
+                shape, getMinSize(), getMaxSize());
+    }
+
+    private BarcodeDimension calcDimensions(int dataCodewords) {
+        DataMatrixSymbolInfo symbolInfo = DataMatrixSymbolInfo.lookup(dataCodewords,
+                shape, getMinSize(), getMaxSize(), true);
 
         double width = symbolInfo.getSymbolWidth() * getModuleWidth();
         double height = symbolInfo.getSymbolHeight() * getBarHeight();
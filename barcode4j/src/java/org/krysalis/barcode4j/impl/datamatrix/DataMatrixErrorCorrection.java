@@ -29,7 +29,17 @@ public class DataMatrixErrorCorrection implements DataMatrixReedSolomonFactors {
 
     private static final int[] LOG;
     private static final int[] ALOG;
-    
+
+    /** Maps the number of error correction codewords to the index in FACTOR_SETS. */
+    private static final int[] FACTOR_SET_INDEX;
+
+    /**
+     * Multiplication tables of the generator polynomials, built on first use. Entry
+     * m * n + k of a table (n being the number of error correction codewords) is the
+     * product of m and the generator coefficient k.
+     */
+    private static final byte[][] MULTIPLICATION_TABLES = new byte[FACTOR_SETS.length][];
+
     static {
         //Create log and antilog table
         LOG = new int[256];
@@ -44,8 +54,54 @@ public class DataMatrixErrorCorrection implements DataMatrixReedSolomonFactors {
                 p ^= MODULO_VALUE;
             }
         }
+
+        int max = 0;
+        for (int i = 0; i < FACTOR_SETS.length; i++) {
+            max = Math.max(max, FACTOR_SETS[i]);
+        }
+        FACTOR_SET_INDEX = new int[max + 1];
+        java.util.Arrays.fill(FACTOR_SET_INDEX, -1);
+        for (int i = 0; i < FACTOR_SETS.length; i++) {
+            FACTOR_SET_INDEX[FACTOR_SETS[i]] = i;
+        }
     }
-    
+
+    /**
+     * Returns the multiplication table for a number of error correction codewords.
+     * @param numECWords the number of error correction codewords
+     * @return the multiplication table
+     */
+    private static synchronized byte[] getMultiplicationTable(int numECWords) {
+        int table = -1;
+        if (numECWords > 0 && numECWords < FACTOR_SET_INDEX.length) {
+            table = FACTOR_SET_INDEX[numECWords];
+        }
+        if (table < 0) {
+            throw new IllegalArgumentException(
+                    "Illegal number of error correction codewords specified: " + numECWords);
+        }
+        if (MULTIPLICATION_TABLES[table] == null) {
+            int[] poly = FACTORS[table];
+            //Generator coefficients in the log domain, -1 for zero
+            int[] logPoly = new int[numECWords];
+            for (int k = 0; k < numECWords; k++) {
+                logPoly[k] = (poly[k] != 0 ? LOG[poly[k]] : -1);
+            }
+            //Row 0 stays zero: multiplying by 0
+            byte[] mult = new byte[256 * numECWords];
+            for (int m = 1; m < 256; m++) {
+                int row = m * numECWords;
+                for (int k = 0; k < numECWords; k++) {
+                    if (logPoly[k] >= 0) {
+                        mult[row + k] = (byte)ALOG[(LOG[m] + logPoly[k]) % 255];
+                    }
+                }
+            }
+            MULTIPLICATION_TABLES[table] = mult;
+        }
+        return MULTIPLICATION_TABLES[table];
+    }
+
     /**
      * Creates the ECC200 error correction for an encoded message.
      * @param codewords the codewords
@@ -53,86 +109,182 @@ public class DataMatrixErrorCorrection implements DataMatrixReedSolomonFactors {
      * @return the codewords with interleaved error correction.
      */
     public static String encodeECC200(String codewords, DataMatrixSymbolInfo symbolInfo) {
-        if (codewords.length() != symbolInfo.dataCapacity) {
+        byte[] data = new byte[codewords.length()];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte)codewords.charAt(i);
+        }
+        byte[] result = encodeECC200(data, symbolInfo);
+        char[] chars = new char[result.length];
+        for (int i = 0; i < result.length; i++) {
+            chars[i] = (char)(result[i] & 0xff);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Creates the ECC200 error correction for an encoded message.
+     * @param codewords the codewords (one codeword per byte)
+     * @param symbolInfo information about the symbol to be encoded
+     * @return the codewords with interleaved error correction (one codeword per byte)
+     */
+    public static byte[] encodeECC200(byte[] codewords, DataMatrixSymbolInfo symbolInfo) {
+        return encodeECC200(codewords, symbolInfo, 0);
+    }
+
+    /**
+     * Creates the ECC200 error correction for an encoded message, optionally calculating
+     * the interleaved blocks of large symbols in separate threads.
+     * @param codewords the codewords (one codeword per byte)
+     * @param symbolInfo information about the symbol to be encoded
+     * @param parallelThreshold the symbol size (data and error correction codewords)
+     *          from which on the interleaved blocks are calculated in separate threads,
+     *          or 0 to calculate them in the calling thread
+     * @return the codewords with interleaved error correction (one codeword per byte)
+     */
+    public static byte[] encodeECC200(byte[] codewords, DataMatrixSymbolInfo symbolInfo,
+            int parallelThreshold) {
+        if (codewords.length != symbolInfo.dataCapacity) {
             throw new IllegalArgumentException(
                     "The number of codewords does not match the selected symbol");
         }
-        StringBuffer sb = new StringBuffer(symbolInfo.dataCapacity + symbolInfo.errorCodewords);
-        sb.append(codewords);
+        byte[] result = new byte[symbolInfo.dataCapacity + symbolInfo.errorCodewords];
+        System.arraycopy(codewords, 0, result, 0, codewords.length);
         int blockCount = symbolInfo.getInterleavedBlockCount();
         if (blockCount == 1) {
-            String ecc = createECCBlock(codewords, symbolInfo.errorCodewords);
-            sb.append(ecc);
+            createECCBlock(codewords, 0, 1, codewords.length,
+                    getMultiplicationTable(symbolInfo.errorCodewords),
+                    symbolInfo.errorCodewords, result, symbolInfo.dataCapacity);
         } else {
-            sb.setLength(sb.capacity());
-            int[] dataSizes = new int[blockCount];
-            int[] errorSizes = new int[blockCount];
-            int[] startPos = new int[blockCount];
-            for (int i = 0; i < blockCount; i++) {
-                dataSizes[i] = symbolInfo.getDataLengthForInterleavedBlock(i + 1);
-                errorSizes[i] = symbolInfo.getErrorLengthForInterleavedBlock(i + 1);
-                startPos[i] = 0;
-                if (i > 0) {
-                    startPos[i] = startPos[i - 1] + dataSizes[i];
-                }
-            }
+            //The blocks are interleaved: block n uses every blockCount-th codeword
+            //starting at n, both for the data and the error correction codewords
+            ECCBlockTask[] blocks = new ECCBlockTask[blockCount];
             for (int block = 0; block < blockCount; block++) {
-                StringBuffer temp = new StringBuffer(dataSizes[block]);
-                for (int d = block; d < symbolInfo.dataCapacity; d += blockCount) {
-                    temp.append(codewords.charAt(d));
-                }
-                String ecc = createECCBlock(temp.toString(), errorSizes[block]);
-                int pos = 0;
-                for (int e = block; e < errorSizes[block] * blockCount; e += blockCount) {
-                    sb.setCharAt(symbolInfo.dataCapacity + e, ecc.charAt(pos++));
+                int dataCount = (symbolInfo.dataCapacity - block + blockCount - 1) / blockCount;
+                int numECWords = symbolInfo.getErrorLengthForInterleavedBlock(block + 1);
+                blocks[block] = new ECCBlockTask(codewords, block, blockCount, dataCount,
+                        getMultiplicationTable(numECWords), numECWords,
+                        result, symbolInfo.dataCapacity + block);
+            }
+            if (parallelThreshold > 0 && result.length >= parallelThreshold) {
+                runParallel(blocks);
+            } else {
+                for (int block = 0; block < blockCount; block++) {
+                    blocks[block].calculate();
                 }
             }
         }
-        return sb.toString();
-        
+        return result;
     }
 
-    private static String createECCBlock(String codewords, int numECWords) {
-        return createECCBlock(codewords, 0, codewords.length(), numECWords);
-    }
-    
-    private static String createECCBlock(String codewords, int start, int len, int numECWords) {
-        int table = -1;
-        for (int i = 0; i < FACTOR_SETS.length; i++) {
-            if (FACTOR_SETS[i] == numECWords) {
-                table = i;
-                break;
+    private static void runParallel(ECCBlockTask[] tasks) {
+        Thread[] threads = new Thread[tasks.length - 1];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(tasks[i + 1], "DataMatrix ECC");
+            threads[i].start();
+        }
+        tasks[0].calculate();
+        boolean interrupted = false;
+        for (int i = 0; i < threads.length; i++) {
+            while (true) {
+                try {
+                    threads[i].join();
+                    break;
+                } catch (InterruptedException ie) {
+                    //The result is needed anyway, so keep waiting
+                    interrupted = true;
+                }
             }
         }
-        if (table < 0) {
-            throw new IllegalArgumentException(
-                    "Illegal number of error correction codewords specified: " + numECWords);
+        if (interrupted) {
+            Thread.currentThread().interrupt();
         }
-        int[] poly = DataMatrixReedSolomonFactors.FACTORS[table];
-        char[] ecc = new char[numECWords];
-        for (int i = 0; i < numECWords; i++) {
-            ecc[i] = 0;
-        }
-        for (int i = start; i < start + len; i++) {
-            int m = ecc[numECWords - 1] ^ codewords.charAt(i);
-            for (int k = numECWords - 1; k > 0; k--) {
-                if (m != 0 && poly[k] != 0) {
-                    ecc[k] = (char)(ecc[k - 1] ^ ALOG[(LOG[m] + LOG[poly[k]]) % 255]);
-                } else {
-                    ecc[k] = ecc[k - 1];
-                }
+        //Never return a symbol with missing error correction codewords
+        for (int i = 1; i < tasks.length; i++) {
+            Throwable failure = tasks[i].getFailure();
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException)failure;
+            } else if (failure instanceof Error) {
+                throw (Error)failure;
             }
-            if (m != 0 && poly[0] != 0) {
-                ecc[0] = (char)(ALOG[(LOG[m] + LOG[poly[0]]) % 255]);
-            } else {
-                ecc[0] = 0;
+        }
+    }
+
+    /** Calculates the error correction codewords of one interleaved block. */
+    private static class ECCBlockTask implements Runnable {
+
+        private byte[] codewords;
+        private int start;
+        private int step;
+        private int count;
+        private byte[] mult;
+        private int numECWords;
+        private byte[] dst;
+        private int dstStart;
+        private Throwable failure;
+
+        public ECCBlockTask(byte[] codewords, int start, int step, int count,
+                byte[] mult, int numECWords, byte[] dst, int dstStart) {
+            this.codewords = codewords;
+            this.start = start;
+            this.step = step;
+            this.count = count;
+            this.mult = mult;
+            this.numECWords = numECWords;
+            this.dst = dst;
+            this.dstStart = dstStart;
+        }
+
+        /** Calculates the block in the calling thread. */
+        public void calculate() {
+            createECCBlock(codewords, start, step, count, mult, numECWords, dst, dstStart);
+        }
+
+        /** Calculates the block in a worker thread, recording any failure. */
+        public void run() {
+            try {
+                calculate();
+            } catch (RuntimeException re) {
+                this.failure = re;
+            } catch (Error e) {
+                this.failure = e;
             }
         }
-        char[] eccReversed = new char[numECWords];
+
+        /**
+         * Returns the exception or error that occurred in {@link #run()}.
+         * @return the failure or null if the block was calculated successfully
+         */
+        public Throwable getFailure() {
+            return this.failure;
+        }
+    }
+
+    /**
+     * Calculates the error correction codewords for a block of data codewords.
+     * @param codewords the data codewords
+     * @param start the index of the first data codeword of the block
+     * @param step the distance between the codewords of the block
+     * @param count the number of data codewords in the block
+     * @param mult the multiplication table of the generator polynomial
+     * @param numECWords the number of error correction codewords to create
+     * @param dst the array receiving the error correction codewords (at the same
+     *          distance as the data codewords)
+     * @param dstStart the index of the first error correction codeword
+     */
+    private static void createECCBlock(byte[] codewords, int start, int step, int count,
+            byte[] mult, int numECWords, byte[] dst, int dstStart) {
+        byte[] ecc = new byte[numECWords];
+        int last = numECWords - 1;
+        for (int i = 0, idx = start; i < count; i++, idx += step) {
+            int row = ((ecc[last] ^ codewords[idx]) & 0xff) * numECWords;
+            for (int k = last; k > 0; k--) {
+                ecc[k] = (byte)(ecc[k - 1] ^ mult[row + k]);
+            }
+            ecc[0] = mult[row];
+        }
         for (int i = 0; i < numECWords; i++) {
-            eccReversed[i] = ecc[numECWords - i - 1]; 
+            dst[dstStart + i * step] = ecc[last - i];
         }
-        return String.valueOf(eccReversed);
     }
-    
+
 }
@@ -108,15 +108,29 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
     public static String encodeHighLevel(String msg,
             SymbolShapeHint shape, Dimension minSize, Dimension maxSize) throws IOException {
         //the codewords 0..255 are encoded as Unicode characters
-        Encoder[] encoders = new Encoder[] {new ASCIIEncoder(),
-                new C40Encoder(), new TextEncoder(), new X12Encoder(), new EdifactEncoder(),
-                new Base256Encoder()};
+        byte[] codewords = encodeHighLevelCodewords(msg, shape, minSize, maxSize);
+        char[] chars = new char[codewords.length];
+        for (int i = 0; i < codewords.length; i++) {
+            chars[i] = (char)(codewords[i] & 0xff);
+        }
+        return new String(chars);
+    }
 
-        int encodingMode = ASCII_ENCODATION; //Default mode
+    /**
+     * Performs message encoding of a DataMatrix message using the algorithm described in annex P
+     * of ISO/IEC 16022:2000(E).
+     * @param msg the message
+     * @param shape requested shape. May be <code>SymbolShapeHint.FORCE_NONE</code>,
+     * <code>SymbolShapeHint.FORCE_SQUARE</code> or <code>SymbolShapeHint.FORCE_RECTANGLE</code>.
+     * @param minSize the minimum symbol size constraint or null for no constraint
+     * @param maxSize the maximum symbol size constraint or null for no constraint
+     * @return the encoded message (one codeword per byte, the array length is the data
+     *          capacity of the selected symbol)
+     * @throws IOException if an I/O error occurs while fetching external data
+     */
+    public static byte[] encodeHighLevelCodewords(String msg,
+            SymbolShapeHint shape, Dimension minSize, Dimension maxSize) throws IOException {
         EncoderContext context = createEncoderContext(msg);
-        context.setSymbolShape(shape);
-        context.setSizeConstraints(minSize, maxSize);
-
         if (msg.startsWith(MACRO_05_HEADER) && msg.endsWith(MACRO_TRAILER)) {
             context.writeCodeword(MACRO_05);
             context.setSkipAtEnd(2);
@@ -126,6 +140,35 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
             context.setSkipAtEnd(2);
             context.pos += MACRO_06_HEADER.length();
         }
+        return encodeHighLevelCodewords(context, shape, minSize, maxSize);
+    }
+
+    /**
+     * Performs message encoding of binary data using the algorithm described in annex P
+     * of ISO/IEC 16022:2000(E). The bytes are encoded as is (the same as for a message
+     * given as a data URL).
+     * @param data the binary message
+     * @param shape requested shape. May be <code>SymbolShapeHint.FORCE_NONE</code>,
+     * <code>SymbolShapeHint.FORCE_SQUARE</code> or <code>SymbolShapeHint.FORCE_RECTANGLE</code>.
+     * @param minSize the minimum symbol size constraint or null for no constraint
+     * @param maxSize the maximum symbol size constraint or null for no constraint
+     * @return the encoded message (one codeword per byte, the array length is the data
+     *          capacity of the selected symbol)
+     */
+    public static byte[] encodeHighLevelCodewords(byte[] data,
+            SymbolShapeHint shape, Dimension minSize, Dimension maxSize) {
+        return encodeHighLevelCodewords(new EncoderContext(data), shape, minSize, maxSize);
+    }
+
+    private static byte[] encodeHighLevelCodewords(EncoderContext context,
+            SymbolShapeHint shape, Dimension minSize, Dimension maxSize) {
+        Encoder[] encoders = new Encoder[] {new ASCIIEncoder(),
+                new C40Encoder(), new TextEncoder(), new X12Encoder(), new EdifactEncoder(),
+                new Base256Encoder()};
+
+        int encodingMode = ASCII_ENCODATION; //Default mode
+        context.setSymbolShape(shape);
+        context.setSizeConstraints(minSize, maxSize);
 
         while (context.hasMoreCharacters()) {
             encoders[encodingMode].encode(context);
@@ -134,7 +177,7 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
                 context.resetEncoderSignal();
             }
         }
-        int len = context.codewords.length();
+        int len = context.getCodewordCount();
         context.updateSymbolInfo();
         int capacity = context.symbolInfo.dataCapacity;
         if (len < capacity) {
@@ -142,19 +185,19 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
                 if (DEBUG) {
                     System.out.println("Unlatch because symbol isn't filled up");
                 }
-                context.writeCodeword('\u00fe'); //Unlatch (254)
+                context.writeCodeword(254); //Unlatch
             }
         }
         //Padding
-        StringBuffer codewords = context.codewords;
-        if (codewords.length() < capacity) {
-            codewords.append(DataMatrixConstants.PAD);
+        if (context.getCodewordCount() < capacity) {
+            context.writeCodeword(DataMatrixConstants.PAD);
         }
-        while (codewords.length() < capacity) {
-            codewords.append(randomize253State(DataMatrixConstants.PAD, codewords.length() + 1));
+        while (context.getCodewordCount() < capacity) {
+            context.writeCodeword(randomize253State(DataMatrixConstants.PAD,
+                    context.getCodewordCount() + 1));
         }
 
-        return context.codewords.toString();
+        return context.getCodewords();
     }
 
     private static EncoderContext createEncoderContext(String msg) throws IOException {
@@ -174,11 +217,18 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
         private SymbolShapeHint shape = SymbolShapeHint.FORCE_NONE;
         private Dimension minSize;
         private Dimension maxSize;
-        private StringBuffer codewords;
+        private DataMatrixSymbolInfo.SymbolLookup symbolLookup;
+        private byte[] codewords;
+        private int codewordCount;
         private int pos = 0;
         private int newEncoding = -1;
         private DataMatrixSymbolInfo symbolInfo;
         private int skipAtEnd = 0;
+        //Buffers for the look-ahead test
+        private int[] charCounts = new int[6];
+        private int[] intCharCounts = new int[6];
+        private byte[] mins = new byte[6];
+        private boolean[] x12TermSepAhead;
 
         public EncoderContext(String msg) {
             //From this point on Strings are not Unicode anymore!
@@ -198,7 +248,7 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
                 sb.append(ch);
             }
             this.msg = sb.toString(); //Not Unicode here!
-            this.codewords = new StringBuffer(msg.length());
+            this.codewords = new byte[msg.length() + 8];
         }
 
         public EncoderContext(byte[] data) {
@@ -209,16 +259,18 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
                 sb.append(ch);
             }
             this.msg = sb.toString(); //Not Unicode here!
-            this.codewords = new StringBuffer(msg.length());
+            this.codewords = new byte[msg.length() + 8];
         }
 
         public void setSymbolShape(SymbolShapeHint shape) {
             this.shape = shape;
+            this.symbolLookup = null;
         }
 
         public void setSizeConstraints(Dimension minSize, Dimension maxSize) {
             this.minSize = minSize;
             this.maxSize = maxSize;
+            this.symbolLookup = null;
         }
 
         public String getMessage() {
@@ -237,16 +289,26 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
             return msg.charAt(pos);
         }
 
-        public void writeCodewords(String codewords) {
-            this.codewords.append(codewords);
+        public void writeCodeword(int codeword) {
+            if (this.codewordCount == this.codewords.length) {
+                byte[] buf = new byte[this.codewords.length * 2];
+                System.arraycopy(this.codewords, 0, buf, 0, this.codewordCount);
+                this.codewords = buf;
+            }
+            this.codewords[this.codewordCount++] = (byte)codeword;
         }
 
-        public void writeCodeword(char codeword) {
-            this.codewords.append(codeword);
+        public int getCodewordCount() {
+            return this.codewordCount;
         }
 
-        public int getCodewordCount() {
-            return this.codewords.length();
+        public byte[] getCodewords() {
+            if (this.codewords.length != this.codewordCount) {
+                byte[] buf = new byte[this.codewordCount];
+                System.arraycopy(this.codewords, 0, buf, 0, this.codewordCount);
+                this.codewords = buf;
+            }
+            return this.codewords;
         }
 
         public void signalEncoderChange(int encoding) {
@@ -275,13 +337,39 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
 
         public void updateSymbolInfo(int len) {
             if (this.symbolInfo == null || len > this.symbolInfo.dataCapacity) {
-                this.symbolInfo = DataMatrixSymbolInfo.lookup(len, shape, minSize, maxSize, true);
+                if (this.symbolLookup == null) {
+                    this.symbolLookup = DataMatrixSymbolInfo.getLookup(shape, minSize, maxSize);
+                }
+                this.symbolInfo = this.symbolLookup.lookup(len, true);
             }
         }
 
         public void resetSymbolInfo() {
             this.symbolInfo = null;
         }
+
+        /**
+         * Indicates whether an X12 terminator or separator follows at the given position
+         * before the first character that is not native to X12. The answers for all
+         * positions are calculated on first use.
+         * @param pos the position within the message
+         * @return true if an X12 terminator or separator follows
+         */
+        public boolean isX12TermSepAhead(int pos) {
+            if (this.x12TermSepAhead == null) {
+                int len = msg.length();
+                this.x12TermSepAhead = new boolean[len + 1];
+                for (int p = len - 1; p >= 0; p--) {
+                    char ch = msg.charAt(p);
+                    if (isX12TermSep(ch)) {
+                        this.x12TermSepAhead[p] = true;
+                    } else if (isNativeX12(ch)) {
+                        this.x12TermSepAhead[p] = this.x12TermSepAhead[p + 1];
+                    }
+                }
+            }
+            return pos < this.x12TermSepAhead.length && this.x12TermSepAhead[pos];
+        }
     }
 
     private interface Encoder {
@@ -297,14 +385,15 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
 
         public void encode(EncoderContext context) {
             //step B
-            int n = determineConsecutiveDigitCount(context.msg, context.pos);
-            if (n >= 2) {
+            if (context.pos + 1 < context.msg.length()
+                    && isDigit(context.msg.charAt(context.pos))
+                    && isDigit(context.msg.charAt(context.pos + 1))) {
                 context.writeCodeword(encodeASCIIDigits(context.msg.charAt(context.pos),
                         context.msg.charAt(context.pos + 1)));
                 context.pos += 2;
             } else {
                 char c = context.getCurrentChar();
-                int newMode = lookAheadTest(context.msg, context.pos, getEncodingMode());
+                int newMode = lookAheadTest(context, context.pos, getEncodingMode());
                 if (newMode != getEncodingMode()) {
                     switch (newMode) {
                     case BASE256_ENCODATION:
@@ -332,7 +421,7 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
                     }
                 } else if (isExtendedASCII(c)) {
                     context.writeCodeword(UPPER_SHIFT);
-                    context.writeCodeword((char)(c - 128 + 1));
+                    context.writeCodeword(c - 128 + 1);
                     context.pos++;
                 } else {
                     if (DEBUG) {
@@ -340,7 +429,7 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
                             throw new IllegalArgumentException("Not an ASCII-7 character");
                         }
                     }
-                    context.writeCodeword((char)(c + 1));
+                    context.writeCodeword(c + 1);
                     context.pos++;
                 }
 
@@ -390,7 +479,7 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
 
                 int count = buffer.length();
                 if ((count % 3) == 0) {
-                    int newMode = lookAheadTest(context.msg, context.pos, getEncodingMode());
+                    int newMode = lookAheadTest(context, context.pos, getEncodingMode());
                     if (newMode != getEncodingMode()) {
                         context.signalEncoderChange(newMode);
                         break;
@@ -412,7 +501,9 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
         }
 
         protected void writeNextTriplet(EncoderContext context, StringBuffer buffer) {
-            context.writeCodewords(encodeToCodewords(buffer, 0));
+            int v = (1600 * buffer.charAt(0)) + (40 * buffer.charAt(1)) + buffer.charAt(2) + 1;
+            context.writeCodeword(v / 256);
+            context.writeCodeword(v % 256);
             buffer.delete(0, 3);
         }
 
@@ -500,16 +591,6 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
             }
         }
 
-        protected String encodeToCodewords(StringBuffer sb, int startPos) {
-            char c1 = sb.charAt(startPos);
-            char c2 = sb.charAt(startPos + 1);
-            char c3 = sb.charAt(startPos + 2);
-            int v = (1600 * c1) + (40 * c2) + c3 + 1;
-            char cw1 = (char)(v / 256);
-            char cw2 = (char)(v % 256);
-            return "" + cw1 + cw2;
-        }
-
     }
 
     private static class TextEncoder extends C40Encoder {
@@ -588,7 +669,7 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
                 if ((count % 3) == 0) {
                     writeNextTriplet(context, buffer);
 
-                    int newMode = lookAheadTest(context.msg, context.pos, getEncodingMode());
+                    int newMode = lookAheadTest(context, context.pos, getEncodingMode());
                     if (newMode != getEncodingMode()) {
                         context.signalEncoderChange(newMode);
                         break;
@@ -653,10 +734,10 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
 
                 int count = buffer.length();
                 if (count >= 4) {
-                    context.writeCodewords(encodeToCodewords(buffer, 0));
+                    writeCodewords(context, buffer);
                     buffer.delete(0, 4);
 
-                    int newMode = lookAheadTest(context.msg, context.pos, getEncodingMode());
+                    int newMode = lookAheadTest(context, context.pos, getEncodingMode());
                     if (newMode != getEncodingMode()) {
                         context.signalEncoderChange(ASCII_ENCODATION);
                         break;
@@ -691,7 +772,7 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
                     throw new IllegalStateException("Count must not exceed 4");
                 }
                 int restChars = count - 1;
-                String encoded = encodeToCodewords(buffer, 0);
+                int encodedLength = Math.min(count, 3);
                 boolean endOfSymbolReached = !context.hasMoreCharacters();
                 boolean restInAscii = endOfSymbolReached && restChars <= 2;
 
@@ -701,7 +782,7 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
                     available = context.symbolInfo.dataCapacity - context.getCodewordCount();
                     if (available >= 3) {
                         restInAscii = false;
-                        context.updateSymbolInfo(context.getCodewordCount() + encoded.length());
+                        context.updateSymbolInfo(context.getCodewordCount() + encodedLength);
                         available = context.symbolInfo.dataCapacity - context.getCodewordCount();
                     }
                 }
@@ -710,7 +791,7 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
                     context.resetSymbolInfo();
                     context.pos -= restChars;
                 } else {
-                    context.writeCodewords(encoded);
+                    writeCodewords(context, buffer);
                 }
             } finally {
                 context.signalEncoderChange(ASCII_ENCODATION);
@@ -727,29 +808,29 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
             }
         }
 
-        protected String encodeToCodewords(StringBuffer sb, int startPos) {
-            int len = sb.length() - startPos;
+        /**
+         * Writes up to four EDIFACT values from the start of the buffer as codewords.
+         * @param context the encoder context
+         * @param sb the buffer with the EDIFACT values
+         */
+        protected void writeCodewords(EncoderContext context, StringBuffer sb) {
+            int len = sb.length();
             if (len == 0) {
                 throw new IllegalStateException("StringBuffer must not be empty");
             }
-            char c1 = sb.charAt(startPos);
-            char c2 = (len >= 2 ? sb.charAt(startPos + 1) : 0);
-            char c3 = (len >= 3 ? sb.charAt(startPos + 2) : 0);
-            char c4 = (len >= 4 ? sb.charAt(startPos + 3) : 0);
+            char c1 = sb.charAt(0);
+            char c2 = (len >= 2 ? sb.charAt(1) : 0);
+            char c3 = (len >= 3 ? sb.charAt(2) : 0);
+            char c4 = (len >= 4 ? sb.charAt(3) : 0);
 
             int v = (c1 << 18) + (c2 << 12) + (c3 << 6) + c4;
-            char cw1 = (char)((v >> 16) & 255);
-            char cw2 = (char)((v >> 8) & 255);
-            char cw3 = (char)(v & 255);
-            StringBuffer res = new StringBuffer(3);
-            res.append(cw1);
+            context.writeCodeword((v >> 16) & 255);
             if (len >= 2) {
-                res.append(cw2);
+                context.writeCodeword((v >> 8) & 255);
             }
             if (len >= 3) {
-                res.append(cw3);
+                context.writeCodeword(v & 255);
             }
-            return res.toString();
         }
 
     }
@@ -769,7 +850,7 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
 
                 context.pos++;
 
-                int newMode = lookAheadTest(context.msg, context.pos, getEncodingMode());
+                int newMode = lookAheadTest(context, context.pos, getEncodingMode());
                 if (newMode != getEncodingMode()) {
                     context.signalEncoderChange(newMode);
                     break;
@@ -808,16 +889,56 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
         }
     }
 
-    private static int lookAheadTest(String msg, int startpos, int currentMode) {
+    /**
+     * The character costs for the look-ahead test (steps L to Q) in twelfths of a codeword,
+     * so they can be summed up exactly. The index is (character * 6 + encodation mode). For
+     * ASCII, the cost of a digit is half a codeword and the other costs are added after
+     * rounding up.
+     */
+    private static final int[] LOOKAHEAD_COSTS = new int[256 * 6];
+
+    static {
+        for (char c = 0; c < 256; c++) {
+            int base = c * 6;
+            boolean ext = isExtendedASCII(c);
+            //step L
+            if (isDigit(c)) {
+                LOOKAHEAD_COSTS[base + ASCII_ENCODATION] = 6;
+            } else {
+                LOOKAHEAD_COSTS[base + ASCII_ENCODATION] = (ext ? 24 : 12);
+            }
+            //step M
+            LOOKAHEAD_COSTS[base + C40_ENCODATION] = (isNativeC40(c) ? 8 : (ext ? 32 : 16));
+            //step N
+            LOOKAHEAD_COSTS[base + TEXT_ENCODATION] = (isNativeText(c) ? 8 : (ext ? 32 : 16));
+            //step O
+            LOOKAHEAD_COSTS[base + X12_ENCODATION] = (isNativeX12(c) ? 8 : (ext ? 52 : 40));
+            //step P
+            LOOKAHEAD_COSTS[base + EDIFACT_ENCODATION]
+                    = (isNativeEDIFACT(c) ? 9 : (ext ? 51 : 39));
+            //step Q
+            LOOKAHEAD_COSTS[base + BASE256_ENCODATION] = (isSpecialB256(c) ? 48 : 12);
+        }
+    }
+
+    private static int lookAheadTest(EncoderContext context, int startpos, int currentMode) {
+        String msg = context.msg;
         if (startpos >= msg.length()) {
             return currentMode;
         }
-        float[] charCounts;
+        //All counts are in twelfths of a codeword
+        int[] charCounts = context.charCounts;
+        int[] intCharCounts = context.intCharCounts;
+        byte[] mins = context.mins;
         //step J
         if (currentMode == ASCII_ENCODATION) {
-            charCounts = new float[] {0, 1, 1, 1, 1, 1.25f};
+            charCounts[ASCII_ENCODATION] = 0;
+            Arrays.fill(charCounts, C40_ENCODATION, BASE256_ENCODATION, 12);
+            charCounts[BASE256_ENCODATION] = 15;
         } else {
-            charCounts = new float[] {1, 2, 2, 2, 2, 2.25f};
+            charCounts[ASCII_ENCODATION] = 12;
+            Arrays.fill(charCounts, C40_ENCODATION, BASE256_ENCODATION, 24);
+            charCounts[BASE256_ENCODATION] = 27;
             charCounts[currentMode] = 0;
         }
 
@@ -825,10 +946,7 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
         while (true) {
             //step K
             if ((startpos + charsProcessed) == msg.length()) {
-                int min = Integer.MAX_VALUE;
-                byte[] mins = new byte[6];
-                int[] intCharCounts = new int[6];
-                min = findMinimums(charCounts, intCharCounts, min, mins);
+                int min = findMinimums(charCounts, intCharCounts, mins);
                 int minCount = getMinimumCount(mins);
 
                 if (intCharCounts[ASCII_ENCODATION] == min) {
@@ -849,71 +967,21 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
             char c = msg.charAt(startpos + charsProcessed);
             charsProcessed++;
 
-            //step L
+            //steps L to Q
+            int base = c * 6;
             if (isDigit(c)) {
-                charCounts[ASCII_ENCODATION] += 0.5;
-            } else if (isExtendedASCII(c)) {
-                charCounts[ASCII_ENCODATION] = (int)Math.ceil(charCounts[ASCII_ENCODATION]);
-                charCounts[ASCII_ENCODATION] += 2;
-            } else {
-                charCounts[ASCII_ENCODATION] = (int)Math.ceil(charCounts[ASCII_ENCODATION]);
-                charCounts[ASCII_ENCODATION] += 1;
-            }
-
-            //step M
-            if (isNativeC40(c)) {
-                charCounts[C40_ENCODATION] += 2f / 3f;
-            } else if (isExtendedASCII(c)) {
-                charCounts[C40_ENCODATION] += 8f / 3f;
-            } else {
-                charCounts[C40_ENCODATION] += 4f / 3f;
-            }
-
-            //step N
-            if (isNativeText(c)) {
-                charCounts[TEXT_ENCODATION] += 2f / 3f;
-            } else if (isExtendedASCII(c)) {
-                charCounts[TEXT_ENCODATION] += 8f / 3f;
-            } else {
-                charCounts[TEXT_ENCODATION] += 4f / 3f;
-            }
-
-            //step O
-            if (isNativeX12(c)) {
-                charCounts[X12_ENCODATION] += 2f / 3f;
-            } else if (isExtendedASCII(c)) {
-                charCounts[X12_ENCODATION] += 13f / 3f;
+                charCounts[ASCII_ENCODATION] += LOOKAHEAD_COSTS[base + ASCII_ENCODATION];
             } else {
-                charCounts[X12_ENCODATION] += 10f / 3f;
+                charCounts[ASCII_ENCODATION] = ((charCounts[ASCII_ENCODATION] + 11) / 12) * 12
+                        + LOOKAHEAD_COSTS[base + ASCII_ENCODATION];
             }
-
-            //step P
-            if (isNativeEDIFACT(c)) {
-                charCounts[EDIFACT_ENCODATION] += 3f / 4f;
-            } else if (isExtendedASCII(c)) {
-                charCounts[EDIFACT_ENCODATION] += 17f / 4f;
-            } else {
-                charCounts[EDIFACT_ENCODATION] += 13f / 4f;
-            }
-
-            // step Q
-            if (isSpecialB256(c)) {
-                charCounts[BASE256_ENCODATION] += 4;
-            } else {
-                charCounts[BASE256_ENCODATION] += 1;
+            for (int i = C40_ENCODATION; i <= BASE256_ENCODATION; i++) {
+                charCounts[i] += LOOKAHEAD_COSTS[base + i];
             }
 
             //step R
             if (charsProcessed >= 4) {
-                /*
-                for (int a = 0; a < charCounts.length; a++) {
-                    System.out.println(a + " " + ENCODATION_NAMES[a] + " " + charCounts[a]);
-                }*/
-
-                int min = Integer.MAX_VALUE;
-                int[] intCharCounts = new int[6];
-                byte[] mins = new byte[6];
-                min = findMinimums(charCounts, intCharCounts, min, mins);
+                findMinimums(charCounts, intCharCounts, mins);
                 int minCount = getMinimumCount(mins);
 
                 if (intCharCounts[ASCII_ENCODATION] + 1 <= intCharCounts[BASE256_ENCODATION]
@@ -941,15 +1009,8 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
                     if (intCharCounts[C40_ENCODATION] < intCharCounts[X12_ENCODATION]) {
                         return C40_ENCODATION;
                     } else if (intCharCounts[C40_ENCODATION] == intCharCounts[X12_ENCODATION]) {
-                        int p = startpos + charsProcessed + 1;
-                        while (p < msg.length()) {
-                            char tc = msg.charAt(p);
-                            if (isX12TermSep(tc)) {
-                                return X12_ENCODATION;
-                            } else if (!isNativeX12(tc)) {
-                                break;
-                            }
-                            p++;
+                        if (context.isX12TermSepAhead(startpos + charsProcessed + 1)) {
+                            return X12_ENCODATION;
                         }
                         return C40_ENCODATION;
                     }
@@ -958,11 +1019,11 @@ public class DataMatrixHighLevelEncoder implements DataMatrixConstants {
         }
     }
 
-    private static int findMinimums(float[] charCounts, int[] intCharCounts,
-            int min, byte[] mins) {
+    private static int findMinimums(int[] charCounts, int[] intCharCounts, byte[] mins) {
+        int min = Integer.MAX_VALUE;
         Arrays.fill(mins, (byte)0);
         for (int i = 0; i < 6; i++) {
-            intCharCounts[i] = (int)Math.ceil(charCounts[i]);
+            intCharCounts[i] = (charCounts[i] + 11) / 12; //rounded up to full codewords
             int current = intCharCounts[i];
             if (min > current) {
                 min = current;
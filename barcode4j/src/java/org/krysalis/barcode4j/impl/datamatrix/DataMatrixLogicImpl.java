@@ -32,6 +32,19 @@ public class DataMatrixLogicImpl {
 
     private static final boolean DEBUG = false;
 
+    private int parallelECCThreshold;
+
+    /**
+     * Sets the symbol size (data and error correction codewords) from which on the
+     * interleaved error correction blocks are calculated in separate threads.
+     * @param codewords the minimum number of codewords or 0 to disable parallel
+     *          calculation (the default)
+     * @see DataMatrixBean#setParallelECCThreshold(int)
+     */
+    public void setParallelECCThreshold(int codewords) {
+        this.parallelECCThreshold = codewords;
+    }
+
     /**
      * Generates the barcode logic.
      * @param logic the logic handler to receive generated events
@@ -45,37 +58,64 @@ public class DataMatrixLogicImpl {
 
         //ECC 200
         //1. step: Data encodation
-        String encoded;
+        byte[] encoded;
         try {
-            encoded = DataMatrixHighLevelEncoder.encodeHighLevel(msg, shape, minSize, maxSize);
+            encoded = DataMatrixHighLevelEncoder.encodeHighLevelCodewords(
+                    msg, shape, minSize, maxSize);
         } catch (IOException e) {
             throw new IllegalArgumentException("Cannot fetch data: " + e.getLocalizedMessage());
         }
+        generateBarcodeLogic(logic, msg, encoded, shape, minSize, maxSize);
+    }
 
-        DataMatrixSymbolInfo symbolInfo = DataMatrixSymbolInfo.lookup(encoded.length(),
+    /**
+     * Generates the barcode logic for binary data.
+     * @param logic the logic handler to receive generated events
+     * @param data the binary message to encode
+     * @param shape the symbol shape constraint
+     * @param minSize the minimum symbol size constraint or null for no constraint
+     * @param maxSize the maximum symbol size constraint or null for no constraint
+     */
+    public void generateBarcodeLogic(TwoDimBarcodeLogicHandler logic, byte[] data,
+            SymbolShapeHint shape, Dimension minSize, Dimension maxSize) {
+        byte[] encoded = DataMatrixHighLevelEncoder.encodeHighLevelCodewords(
+                data, shape, minSize, maxSize);
+        generateBarcodeLogic(logic, null, encoded, shape, minSize, maxSize);
+    }
+
+    /**
+     * Generates the barcode logic for a message which has already been encoded by
+     * {@link DataMatrixHighLevelEncoder}.
+     * @param logic the logic handler to receive generated events
+     * @param msg the message (or null for binary data)
+     * @param encoded the data codewords
+     * @param shape the symbol shape constraint
+     * @param minSize the minimum symbol size constraint or null for no constraint
+     * @param maxSize the maximum symbol size constraint or null for no constraint
+     */
+    void generateBarcodeLogic(TwoDimBarcodeLogicHandler logic, String msg,
+            byte[] encoded, SymbolShapeHint shape, Dimension minSize, Dimension maxSize) {
+        DataMatrixSymbolInfo symbolInfo = DataMatrixSymbolInfo.lookup(encoded.length,
                 shape, minSize, maxSize, true);
         if (DEBUG) {
             System.out.println(symbolInfo);
         }
 
         //2. step: ECC generation
-        String codewords = DataMatrixErrorCorrection.encodeECC200(
-                encoded, symbolInfo);
+        byte[] codewords = DataMatrixErrorCorrection.encodeECC200(
+                encoded, symbolInfo, parallelECCThreshold);
 
         //3. step: Module placement in Matrix
-        DefaultDataMatrixPlacement placement = new DefaultDataMatrixPlacement(
-                    codewords,
-                    symbolInfo.getSymbolDataWidth(), symbolInfo.getSymbolDataHeight());
-        placement.place();
+        long[] bitmap = symbolInfo.getPlacementMap().place(codewords);
 
         //4. step: low-level encoding
         logic.startBarcode(msg, msg);
-        encodeLowLevel(logic, placement, symbolInfo);
+        encodeLowLevel(logic, bitmap, symbolInfo);
         logic.endBarcode();
     }
 
     private void encodeLowLevel(TwoDimBarcodeLogicHandler logic,
-            DataMatrixPlacement placement, DataMatrixSymbolInfo symbolInfo) {
+            long[] bitmap, DataMatrixSymbolInfo symbolInfo) {
         int symbolWidth = symbolInfo.getSymbolDataWidth();
         int symbolHeight = symbolInfo.getSymbolDataHeight();
         for (int y = 0; y < symbolHeight; y++) {
@@ -91,7 +131,7 @@ public class DataMatrixLogicImpl {
                 if ((x % symbolInfo.matrixWidth) == 0) {
                     logic.addBar(true, 1); //left finder edge
                 }
-                logic.addBar(placement.getBit(x, y), 1);
+                logic.addBar(DataMatrixPlacementMap.getBit(bitmap, symbolWidth, x, y), 1);
                 if ((x % symbolInfo.matrixWidth) == symbolInfo.matrixWidth - 1) {
                     logic.addBar((y % 2) == 0, 1); //right finder edge
                 }
@@ -25,15 +25,39 @@ package org.krysalis.barcode4j.impl.datamatrix;
  */
 public abstract class DataMatrixPlacement {
 
-    private String codewords;
+    private byte[] codewords;
     protected int numrows;
     protected int numcols;
     
+    /**
+     * Creates a new placement.
+     * @param codewords the codewords to place (the char values range from 0 to 255)
+     * @param numcols the number of columns
+     * @param numrows the number of rows
+     */
     public DataMatrixPlacement(String codewords, int numcols, int numrows) {
+        this(toBytes(codewords), numcols, numrows);
+    }
+
+    /**
+     * Creates a new placement.
+     * @param codewords the codewords to place (one codeword per byte)
+     * @param numcols the number of columns
+     * @param numrows the number of rows
+     */
+    public DataMatrixPlacement(byte[] codewords, int numcols, int numrows) {
         this.codewords = codewords;
         this.numcols = numcols;
         this.numrows = numrows;
     }
+
+    private static byte[] toBytes(String codewords) {
+        byte[] data = new byte[codewords.length()];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte)codewords.charAt(i);
+        }
+        return data;
+    }
     
     protected abstract void setBit(int col, int row, boolean bit);
     
@@ -100,8 +124,18 @@ public abstract class DataMatrixPlacement {
             col += numcols;
             row += 4 - ((numcols + 4) % 8);
         }
-        char c = codewords.charAt(pos);
-        int v = (int)c;
+        placeModule(col, row, pos, bit);
+    }
+
+    /**
+     * Places a single bit of a codeword in the matrix.
+     * @param col the column
+     * @param row the row
+     * @param pos the character position
+     * @param bit the bit number (1 = most significant bit, 8 = least significant bit)
+     */
+    protected void placeModule(int col, int row, int pos, int bit) {
+        int v = codewords[pos];
         v &= 1 << (8 - bit);
         setBit(col, row, v != 0);
     }
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.krysalis.barcode4j.impl.datamatrix;
+
+/**
+ * The module positions of all codeword bits for one symbol size. The positions only
+ * depend on the size of the matrix, so the placement algorithm of
+ * {@link DataMatrixPlacement} is run only once and the codewords are then scattered
+ * into a bitmap in a single pass.
+ * <p>
+ * The bitmap is packed: the module at (col, row) is bit (index &amp; 63) of
+ * bitmap[index &gt;&gt;&gt; 6] with index = row * numcols + col.
+ */
+class DataMatrixPlacementMap {
+
+    private int numcols;
+    private int numrows;
+    /** module index for each codeword bit (8 per codeword, most significant bit first) */
+    private int[] modules;
+    /** module indexes which are always black (the fixed pattern in the lower right corner) */
+    private int[] fixedModules;
+
+    /**
+     * Creates the placement map for a matrix.
+     * @param numcols the number of columns
+     * @param numrows the number of rows
+     */
+    public DataMatrixPlacementMap(int numcols, int numrows) {
+        this.numcols = numcols;
+        this.numrows = numrows;
+        Recorder recorder = new Recorder(numcols, numrows);
+        recorder.place();
+        this.modules = recorder.modules;
+        this.fixedModules = new int[recorder.fixedCount];
+        System.arraycopy(recorder.fixed, 0, this.fixedModules, 0, recorder.fixedCount);
+    }
+
+    /**
+     * Indicates whether this map is for a matrix of the given size.
+     * @param numcols the number of columns
+     * @param numrows the number of rows
+     * @return true if the size matches
+     */
+    public boolean isSize(int numcols, int numrows) {
+        return this.numcols == numcols && this.numrows == numrows;
+    }
+
+    /** @return the number of codewords fitting into the matrix */
+    public int getCodewordCount() {
+        return this.modules.length / 8;
+    }
+
+    /**
+     * Places the codewords in a new bitmap.
+     * @param codewords the codewords (one codeword per byte)
+     * @return the packed bitmap
+     */
+    public long[] place(byte[] codewords) {
+        if (codewords.length != getCodewordCount()) {
+            throw new IllegalArgumentException("Expected " + getCodewordCount()
+                    + " codewords but got " + codewords.length);
+        }
+        long[] bitmap = new long[(numcols * numrows + 63) >>> 6];
+        for (int i = 0; i < codewords.length; i++) {
+            int v = codewords[i];
+            if (v == 0) {
+                continue;
+            }
+            int base = i * 8;
+            for (int bit = 0; bit < 8; bit++) {
+                if ((v & (0x80 >>> bit)) != 0) {
+                    int idx = modules[base + bit];
+                    bitmap[idx >>> 6] |= 1L << idx;
+                }
+            }
+        }
+        for (int i = 0; i < fixedModules.length; i++) {
+            int idx = fixedModules[i];
+            bitmap[idx >>> 6] |= 1L << idx;
+        }
+        return bitmap;
+    }
+
+    /**
+     * Returns a module from a bitmap.
+     * @param bitmap the packed bitmap
+     * @param numcols the number of columns
+     * @param col the column
+     * @param row the row
+     * @return true for a black module
+     */
+    public static boolean getBit(long[] bitmap, int numcols, int col, int row) {
+        int idx = row * numcols + col;
+        return (bitmap[idx >>> 6] & (1L << idx)) != 0;
+    }
+
+    /** Runs the placement algorithm and records where each codeword bit ends up. */
+    private static class Recorder extends DataMatrixPlacement {
+
+        private boolean[] used;
+        private int[] modules;
+        private int[] fixed = new int[2];
+        private int fixedCount;
+
+        public Recorder(int numcols, int numrows) {
+            super(new byte[0], numcols, numrows);
+            this.used = new boolean[numcols * numrows];
+            this.modules = new int[(numcols * numrows / 8) * 8];
+        }
+
+        protected void placeModule(int col, int row, int pos, int bit) {
+            int idx = row * numcols + col;
+            used[idx] = true;
+            modules[pos * 8 + bit - 1] = idx;
+        }
+
+        protected void setBit(int col, int row, boolean bit) {
+            //Only called for the fixed pattern, the codeword bits go to placeModule()
+            int idx = row * numcols + col;
+            used[idx] = true;
+            if (bit) {
+                fixed[fixedCount++] = idx;
+            }
+        }
+
+        protected boolean getBit(int col, int row) {
+            throw new UnsupportedOperationException();
+        }
+
+        protected boolean hasBit(int col, int row) {
+            return used[row * numcols + col];
+        }
+    }
+
+}
@@ -19,6 +19,10 @@
 package org.krysalis.barcode4j.impl.datamatrix;
 
 import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Symbol info table for DataMatrix.
@@ -65,12 +69,19 @@ public class DataMatrixSymbolInfo {
 
     private static DataMatrixSymbolInfo[] symbols = PROD_SYMBOLS;
 
+    /** Maximum number of cached symbol lookups (one per shape and size constraints) */
+    private static final int MAX_CACHED_LOOKUPS = 64;
+
+    /** Cached symbol lookups: LookupKey -> SymbolLookup */
+    private static Map lookupCache = new HashMap();
+
     /**
      * Overrides the symbol info set used by this class. Used for testing purposes.
      * @param override the symbol info set to use
      */
-    public static void overrideSymbolSet(DataMatrixSymbolInfo[] override) {
+    public static synchronized void overrideSymbolSet(DataMatrixSymbolInfo[] override) {
         symbols = override;
+        lookupCache.clear();
     }
 
     public boolean rectangular;
@@ -82,6 +93,8 @@ public class DataMatrixSymbolInfo {
     public int rsBlockData;
     public int rsBlockError;
 
+    private DataMatrixPlacementMap placementMap;
+
     public DataMatrixSymbolInfo(boolean rectangular, int dataCapacity, int errorCodewords,
             int matrixWidth, int matrixHeight, int dataRegions) {
         this(rectangular, dataCapacity, errorCodewords, matrixWidth, matrixHeight, dataRegions,
@@ -123,34 +136,29 @@ public class DataMatrixSymbolInfo {
 
     public static DataMatrixSymbolInfo lookup(int dataCodewords,
             SymbolShapeHint shape, Dimension minSize, Dimension maxSize, boolean fail) {
-        for (int i = 0, c = symbols.length; i < c; i++) {
-            DataMatrixSymbolInfo symbol = symbols[i];
-            if (shape == SymbolShapeHint.FORCE_SQUARE && symbol.rectangular) {
-                continue;
-            }
-            if (shape == SymbolShapeHint.FORCE_RECTANGLE && !symbol.rectangular) {
-                continue;
-            }
-            if (minSize != null
-                    && (symbol.getSymbolWidth() < minSize.width
-                            || symbol.getSymbolHeight() < minSize.height)) {
-                continue;
-            }
-            if (maxSize != null
-                    && (symbol.getSymbolWidth() > maxSize.width
-                            || symbol.getSymbolHeight() > maxSize.height)) {
-                continue;
-            }
-            if (dataCodewords <= symbol.dataCapacity) {
-                return symbol;
+        return getLookup(shape, minSize, maxSize).lookup(dataCodewords, fail);
+    }
+
+    /**
+     * Returns the (cached) lookup for the symbols matching the given shape and size
+     * constraints. Callers doing many lookups with the same constraints should keep it.
+     * @param shape the symbol shape constraint
+     * @param minSize the minimum symbol size constraint or null for no constraint
+     * @param maxSize the maximum symbol size constraint or null for no constraint
+     * @return the symbol lookup
+     */
+    static synchronized SymbolLookup getLookup(SymbolShapeHint shape,
+            Dimension minSize, Dimension maxSize) {
+        LookupKey key = new LookupKey(shape, minSize, maxSize);
+        SymbolLookup lookup = (SymbolLookup)lookupCache.get(key);
+        if (lookup == null) {
+            if (lookupCache.size() >= MAX_CACHED_LOOKUPS) {
+                lookupCache.clear();
             }
+            lookup = new SymbolLookup(symbols, shape, minSize, maxSize);
+            lookupCache.put(key, lookup);
         }
-        if (fail) {
-            throw new IllegalArgumentException(
-                "Can't find a symbol arrangement that matches the message. Data codewords: "
-                    + dataCodewords);
-        }
-        return null;
+        return lookup;
     }
 
     public int getHorzDataRegions() {
@@ -193,6 +201,19 @@ public class DataMatrixSymbolInfo {
         return getSymbolDataHeight() + (getVertDataRegions() * 2);
     }
 
+    /**
+     * Returns the module placement map for this symbol. It is created on first use.
+     * @return the placement map
+     */
+    synchronized DataMatrixPlacementMap getPlacementMap() {
+        int numcols = getSymbolDataWidth();
+        int numrows = getSymbolDataHeight();
+        if (placementMap == null || !placementMap.isSize(numcols, numrows)) {
+            placementMap = new DataMatrixPlacementMap(numcols, numrows);
+        }
+        return placementMap;
+    }
+
     public int getCodewordCount() {
         return dataCapacity + errorCodewords;
     }
@@ -220,6 +241,115 @@ public class DataMatrixSymbolInfo {
         return sb.toString();
     }
 
+    /**
+     * Finds the first symbol (in the order of the symbol set) with enough capacity
+     * among the symbols matching a shape and size constraints. The matching symbols are
+     * determined once. A binary search over the running maximum of their capacities then
+     * finds the first symbol with enough capacity.
+     */
+    static class SymbolLookup {
+
+        private DataMatrixSymbolInfo[] candidates;
+        private int[] maxCapacities;
+
+        SymbolLookup(DataMatrixSymbolInfo[] symbols, SymbolShapeHint shape,
+                Dimension minSize, Dimension maxSize) {
+            List list = new ArrayList(symbols.length);
+            for (int i = 0, c = symbols.length; i < c; i++) {
+                DataMatrixSymbolInfo symbol = symbols[i];
+                if (shape == SymbolShapeHint.FORCE_SQUARE && symbol.rectangular) {
+                    continue;
+                }
+                if (shape == SymbolShapeHint.FORCE_RECTANGLE && !symbol.rectangular) {
+                    continue;
+                }
+                if (minSize != null
+                        && (symbol.getSymbolWidth() < minSize.width
+                                || symbol.getSymbolHeight() < minSize.height)) {
+                    continue;
+                }
+                if (maxSize != null
+                        && (symbol.getSymbolWidth() > maxSize.width
+                                || symbol.getSymbolHeight() > maxSize.height)) {
+                    continue;
+                }
+                list.add(symbol);
+            }
+            this.candidates = (DataMatrixSymbolInfo[])list.toArray(
+                    new DataMatrixSymbolInfo[list.size()]);
+            this.maxCapacities = new int[candidates.length];
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < candidates.length; i++) {
+                max = Math.max(max, candidates[i].dataCapacity);
+                maxCapacities[i] = max;
+            }
+        }
+
+        /**
+         * Looks up the symbol for a number of data codewords.
+         * @param dataCodewords the number of data codewords
+         * @param fail true if an exception should be thrown if no symbol is found
+         * @return the symbol or null if no symbol is found and fail is false
+         */
+        DataMatrixSymbolInfo lookup(int dataCodewords, boolean fail) {
+            int low = 0;
+            int high = maxCapacities.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (maxCapacities[mid] < dataCodewords) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low < candidates.length) {
+                return candidates[low];
+            }
+            if (fail) {
+                throw new IllegalArgumentException(
+                    "Can't find a symbol arrangement that matches the message. Data codewords: "
+                        + dataCodewords);
+            }
+            return null;
+        }
+    }
+
+    /** Cache key for the symbol lookups. */
+    private static class LookupKey {
+
+        private SymbolShapeHint shape;
+        private int minWidth;
+        private int minHeight;
+        private int maxWidth;
+        private int maxHeight;
+
+        public LookupKey(SymbolShapeHint shape, Dimension minSize, Dimension maxSize) {
+            this.shape = shape;
+            this.minWidth = (minSize != null ? minSize.width : -1);
+            this.minHeight = (minSize != null ? minSize.height : -1);
+            this.maxWidth = (maxSize != null ? maxSize.width : -1);
+            this.maxHeight = (maxSize != null ? maxSize.height : -1);
+        }
+
+        public boolean equals(Object obj) {
+            if (!(obj instanceof LookupKey)) {
+                return false;
+            }
+            LookupKey other = (LookupKey)obj;
+            return shape == other.shape
+                && minWidth == other.minWidth && minHeight == other.minHeight
+                && maxWidth == other.maxWidth && maxHeight == other.maxHeight;
+        }
+
+        public int hashCode() {
+            int hash = (shape != null ? shape.hashCode() : 0);
+            hash = hash * 31 + minWidth;
+            hash = hash * 31 + minHeight;
+            hash = hash * 31 + maxWidth;
+            return hash * 31 + maxHeight;
+        }
+    }
+
     private static class DataMatrixSymbolInfo144 extends DataMatrixSymbolInfo {
 
         public DataMatrixSymbolInfo144() {
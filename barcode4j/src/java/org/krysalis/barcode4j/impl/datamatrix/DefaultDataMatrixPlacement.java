@@ -37,6 +37,21 @@ class DefaultDataMatrixPlacement extends DataMatrixPlacement {
      */
     public DefaultDataMatrixPlacement(String codewords, int numcols, int numrows) {
         super(codewords, numcols, numrows);
+        init();
+    }
+
+    /**
+     * Main constructor
+     * @param codewords the codewords to place (one codeword per byte)
+     * @param numcols the number of columns
+     * @param numrows the number of rows
+     */
+    public DefaultDataMatrixPlacement(byte[] codewords, int numcols, int numrows) {
+        super(codewords, numcols, numrows);
+        init();
+    }
+
+    private void init() {
         this.bits = new byte[numcols * numrows];
         Arrays.fill(this.bits, (byte)-1); //Initialize with "not set" value
     }
@@ -16,8 +16,10 @@
 package org.krysalis.barcode4j.impl.fourstate;
 
 import org.krysalis.barcode4j.ChecksumMode;
+import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
 import org.krysalis.barcode4j.HumanReadablePlacement;
 import org.krysalis.barcode4j.impl.HeightVariableBarcodeBean;
+import org.krysalis.barcode4j.output.Canvas;
 
 /**
  * Abstract base class for four state barcode beans.
@@ -117,6 +119,11 @@ public abstract class AbstractFourStateBean extends HeightVariableBarcodeBean {
         setBarHeight(getTrackHeight() + (2 * getAscenderHeight()));
     }
     
+    /** {@inheritDoc} */
+    public ClassicBarcodeLogicHandler createCanvasLogicHandler(Canvas canvas) {
+        return new FourStateLogicHandler(this, canvas);
+    }
+
     /** {@inheritDoc} */
     public double getBarWidth(int width) {
         if (width == 1) {
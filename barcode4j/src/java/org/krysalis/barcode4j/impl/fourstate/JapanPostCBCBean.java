@@ -17,9 +17,8 @@ package org.krysalis.barcode4j.impl.fourstate;
 
 import org.krysalis.barcode4j.BarcodeDimension;
 import org.krysalis.barcode4j.ChecksumMode;
+import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
 import org.krysalis.barcode4j.HumanReadablePlacement;
-import org.krysalis.barcode4j.output.Canvas;
-import org.krysalis.barcode4j.output.CanvasProvider;
 
 /**
  * Implements the Japan Post Customer Barcode.
@@ -51,12 +50,10 @@ public class JapanPostCBCBean extends AbstractFourStateBean {
     }
 
     /** {@inheritDoc} */
-    public void generateBarcode(CanvasProvider canvas, String msg) {
-		validateMessage(msg);
-		msg = normalizeMessage(msg);
+    public void generateBarcodeLogic(ClassicBarcodeLogicHandler handler, String msg) {
+        validateMessage(msg);
+        msg = normalizeMessage(msg);
         msg += FILLER.substring(0, 20 - msg.length());
-        FourStateLogicHandler handler = 
-                new FourStateLogicHandler(this, new Canvas(canvas));
 
         JapanPostCBCLogicImpl impl = new JapanPostCBCLogicImpl(
                 getChecksumMode());
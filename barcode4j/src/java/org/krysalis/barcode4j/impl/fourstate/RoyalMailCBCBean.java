@@ -17,9 +17,8 @@ package org.krysalis.barcode4j.impl.fourstate;
 
 import org.krysalis.barcode4j.BarcodeDimension;
 import org.krysalis.barcode4j.ChecksumMode;
+import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
 import org.krysalis.barcode4j.HumanReadablePlacement;
-import org.krysalis.barcode4j.output.Canvas;
-import org.krysalis.barcode4j.output.CanvasProvider;
 
 /**
  * Implements the Royal Mail Customer Barcode.
@@ -50,15 +49,11 @@ public class RoyalMailCBCBean extends AbstractFourStateBean {
     }
 
     /** {@inheritDoc} */
-    public void generateBarcode(CanvasProvider canvas, String msg) {
-        if ((msg == null) 
-                || (msg.length() == 0)) {
+    public void generateBarcodeLogic(ClassicBarcodeLogicHandler handler, String msg) {
+        if ((msg == null) || (msg.length() == 0)) {
             throw new NullPointerException("Parameter msg must not be empty");
         }
 
-        FourStateLogicHandler handler = 
-                new FourStateLogicHandler(this, new Canvas(canvas));
-
         RoyalMailCBCLogicImpl impl = new RoyalMailCBCLogicImpl(
                 getChecksumMode());
         impl.generateBarcodeLogic(handler, msg);
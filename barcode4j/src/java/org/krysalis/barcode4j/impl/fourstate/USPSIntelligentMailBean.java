@@ -16,10 +16,10 @@
 package org.krysalis.barcode4j.impl.fourstate;
 
 import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
 import org.krysalis.barcode4j.HumanReadablePlacement;
 import org.krysalis.barcode4j.TextAlignment;
 import org.krysalis.barcode4j.output.Canvas;
-import org.krysalis.barcode4j.output.CanvasProvider;
 import org.krysalis.barcode4j.tools.UnitConv;
 
 /**
@@ -75,16 +75,18 @@ public class USPSIntelligentMailBean extends AbstractFourStateBean {
     }
     
     /** {@inheritDoc} */
-    public void generateBarcode(CanvasProvider canvas, String msg) {
-        if ((msg == null) 
-                || (msg.length() == 0)) {
+    public ClassicBarcodeLogicHandler createCanvasLogicHandler(Canvas canvas) {
+        FourStateLogicHandler handler = new FourStateLogicHandler(this, canvas);
+        handler.setTextAlignment(TextAlignment.TA_LEFT);
+        return handler;
+    }
+
+    /** {@inheritDoc} */
+    public void generateBarcodeLogic(ClassicBarcodeLogicHandler handler, String msg) {
+        if ((msg == null) || (msg.length() == 0)) {
             throw new NullPointerException("Parameter msg must not be empty");
         }
 
-        FourStateLogicHandler handler = 
-                new FourStateLogicHandler(this, new Canvas(canvas));
-        handler.setTextAlignment(TextAlignment.TA_LEFT);
-
         USPSIntelligentMailLogicImpl impl = new USPSIntelligentMailLogicImpl();
         impl.generateBarcodeLogic(handler, msg);
     }
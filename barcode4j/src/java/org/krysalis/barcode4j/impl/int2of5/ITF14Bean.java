@@ -22,7 +22,6 @@ import org.krysalis.barcode4j.BarcodeDimension;
 import org.krysalis.barcode4j.ChecksumMode;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
 import org.krysalis.barcode4j.output.Canvas;
-import org.krysalis.barcode4j.output.CanvasProvider;
 
 /**
  * This class is an implementation of ITF-14 (as defined by the
@@ -109,16 +108,17 @@ public class ITF14Bean extends Interleaved2Of5Bean {
     }
 
     /** {@inheritDoc} */
-    public void generateBarcode(CanvasProvider canvas, String msg) {
-        if ((msg == null)
-                || (msg.length() == 0)) {
+    public ClassicBarcodeLogicHandler createCanvasLogicHandler(Canvas canvas) {
+        return new ITF14CanvasLogicHandler(this, canvas);
+    }
+
+    /** {@inheritDoc} */
+    public void generateBarcodeLogic(ClassicBarcodeLogicHandler handler, String msg) {
+        if ((msg == null) || (msg.length() == 0)) {
             throw new NullPointerException("Parameter msg must not be empty");
         }
         validate();
 
-        ClassicBarcodeLogicHandler handler =
-                new ITF14CanvasLogicHandler(this, new Canvas(canvas));
-
         ITF14LogicImpl impl = new ITF14LogicImpl(
                 getChecksumMode(), isDisplayChecksum());
         impl.generateBarcodeLogic(handler, msg);
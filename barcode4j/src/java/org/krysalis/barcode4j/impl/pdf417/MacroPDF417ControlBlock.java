@@ -0,0 +1,290 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.krysalis.barcode4j.impl.pdf417;
+
+/**
+ * The file information written into the Macro PDF417 Control Block of every symbol of a
+ * Macro PDF417 set (see 5.13 in ISO/IEC 15438:2001(E)). The file ID is mandatory, all
+ * other fields are optional.
+ *
+ * @author agent
+ */
+public class MacroPDF417ControlBlock implements PDF417Constants {
+
+    /** The maximum number of symbols in a Macro PDF417 set. */
+    public static final int MAX_SEGMENT_COUNT = 99999;
+
+    private static final int FIELD_FILE_NAME = 0;
+    private static final int FIELD_SEGMENT_COUNT = 1;
+    private static final int FIELD_TIME_STAMP = 2;
+    private static final int FIELD_SENDER = 3;
+    private static final int FIELD_ADDRESSEE = 4;
+    private static final int FIELD_FILE_SIZE = 5;
+    private static final int FIELD_CHECKSUM = 6;
+
+    private String fileID;
+    private String fileName;
+    private boolean segmentCountIncluded;
+    private long timeStamp = -1;
+    private String sender;
+    private String addressee;
+    private long fileSize = -1;
+    private int checksum = -1;
+
+    /**
+     * Creates a new control block.
+     * @param fileID the file ID (see {@link #setFileID(String)})
+     */
+    public MacroPDF417ControlBlock(String fileID) {
+        setFileID(fileID);
+    }
+
+    /**
+     * Returns the file ID.
+     * @return the file ID
+     */
+    public String getFileID() {
+        return this.fileID;
+    }
+
+    /**
+     * Sets the file ID which identifies the symbols belonging to the same set. The file ID
+     * is a sequence of digits in groups of three, each group representing a value between
+     * 000 and 899 which is encoded as one codeword.
+     * @param fileID the file ID
+     */
+    public void setFileID(String fileID) {
+        if (fileID == null || fileID.length() == 0 || fileID.length() % 3 != 0) {
+            throw new IllegalArgumentException(
+                    "The file ID must consist of groups of three digits");
+        }
+        for (int i = 0; i < fileID.length(); i += 3) {
+            for (int j = i; j < i + 3; j++) {
+                char ch = fileID.charAt(j);
+                if (ch < '0' || ch > '9') {
+                    throw new IllegalArgumentException(
+                            "The file ID must only contain digits: " + fileID);
+                }
+            }
+            if (fileID.charAt(i) == '9') {
+                throw new IllegalArgumentException(
+                        "Each group of three digits in the file ID must be between 000 and 899");
+            }
+        }
+        this.fileID = fileID;
+    }
+
+    /**
+     * Returns the file name.
+     * @return the file name (or null if none is set)
+     */
+    public String getFileName() {
+        return this.fileName;
+    }
+
+    /**
+     * Sets the file name optional field.
+     * @param fileName the file name (or null to omit the field)
+     */
+    public void setFileName(String fileName) {
+        checkText(fileName);
+        this.fileName = fileName;
+    }
+
+    /**
+     * Indicates whether the number of symbols in the set is written into every symbol.
+     * @return true if the segment count optional field is written
+     */
+    public boolean isSegmentCountIncluded() {
+        return this.segmentCountIncluded;
+    }
+
+    /**
+     * Controls whether the number of symbols in the set is written into every symbol.
+     * @param value true to write the segment count optional field
+     */
+    public void setSegmentCountIncluded(boolean value) {
+        this.segmentCountIncluded = value;
+    }
+
+    /**
+     * Returns the time stamp.
+     * @return the time stamp in seconds since 1970-01-01 00:00:00 GMT (or -1 if none is set)
+     */
+    public long getTimeStamp() {
+        return this.timeStamp;
+    }
+
+    /**
+     * Sets the time stamp optional field.
+     * @param seconds the time stamp in seconds since 1970-01-01 00:00:00 GMT (or -1 to omit
+     *          the field)
+     */
+    public void setTimeStamp(long seconds) {
+        this.timeStamp = seconds;
+    }
+
+    /**
+     * Returns the sender.
+     * @return the sender (or null if none is set)
+     */
+    public String getSender() {
+        return this.sender;
+    }
+
+    /**
+     * Sets the sender optional field.
+     * @param sender the sender (or null to omit the field)
+     */
+    public void setSender(String sender) {
+        checkText(sender);
+        this.sender = sender;
+    }
+
+    /**
+     * Returns the addressee.
+     * @return the addressee (or null if none is set)
+     */
+    public String getAddressee() {
+        return this.addressee;
+    }
+
+    /**
+     * Sets the addressee optional field.
+     * @param addressee the addressee (or null to omit the field)
+     */
+    public void setAddressee(String addressee) {
+        checkText(addressee);
+        this.addressee = addressee;
+    }
+
+    /**
+     * Returns the file size.
+     * @return the file size in bytes (or -1 if none is set)
+     */
+    public long getFileSize() {
+        return this.fileSize;
+    }
+
+    /**
+     * Sets the file size optional field.
+     * @param size the file size in bytes (or -1 to omit the field)
+     */
+    public void setFileSize(long size) {
+        this.fileSize = size;
+    }
+
+    /**
+     * Returns the checksum.
+     * @return the checksum (or -1 if none is set)
+     */
+    public int getChecksum() {
+        return this.checksum;
+    }
+
+    /**
+     * Sets the checksum optional field. The value is the CRC-16 (CCITT) of the complete
+     * data of the set and has to be calculated by the caller.
+     * @param checksum the checksum (0-65535 or -1 to omit the field)
+     */
+    public void setChecksum(int checksum) {
+        if (checksum < -1 || checksum > 0xFFFF) {
+            throw new IllegalArgumentException("The checksum must be between 0 and 65535");
+        }
+        this.checksum = checksum;
+    }
+
+    private static void checkText(String text) {
+        if (text == null) {
+            return;
+        }
+        if (text.length() == 0) {
+            throw new IllegalArgumentException("Optional fields must not be empty");
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (!(ch == '\t' || ch == '\n' || ch == '\r' || (ch >= ' ' && ch <= 126))) {
+                throw new IllegalArgumentException(
+                        "Optional fields can only contain printable ASCII characters");
+            }
+        }
+    }
+
+    /**
+     * Encodes the control block for a symbol.
+     * @param segmentIndex the index of the symbol within the set (starting with 0)
+     * @param segmentCount the number of symbols in the set
+     * @return the codewords of the control block
+     */
+    String encode(int segmentIndex, int segmentCount) {
+        StringBuffer sb = new StringBuffer();
+        sb.append((char)MACRO_PDF_CONTROL_BLOCK_START);
+        String index = Integer.toString(100000 + segmentIndex).substring(1);
+        PDF417HighLevelEncoder.encodeNumeric(index, 0, 5, sb);
+        for (int i = 0; i < fileID.length(); i += 3) {
+            sb.append((char)Integer.parseInt(fileID.substring(i, i + 3)));
+        }
+        if (fileName != null) {
+            encodeTextField(FIELD_FILE_NAME, fileName, sb);
+        }
+        if (segmentCountIncluded) {
+            encodeNumericField(FIELD_SEGMENT_COUNT, segmentCount, sb);
+        }
+        if (timeStamp >= 0) {
+            encodeNumericField(FIELD_TIME_STAMP, timeStamp, sb);
+        }
+        if (sender != null) {
+            encodeTextField(FIELD_SENDER, sender, sb);
+        }
+        if (addressee != null) {
+            encodeTextField(FIELD_ADDRESSEE, addressee, sb);
+        }
+        if (fileSize >= 0) {
+            encodeNumericField(FIELD_FILE_SIZE, fileSize, sb);
+        }
+        if (checksum >= 0) {
+            encodeNumericField(FIELD_CHECKSUM, checksum, sb);
+        }
+        if (segmentIndex == segmentCount - 1) {
+            sb.append((char)MACRO_PDF_TERMINATOR);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the length of the longest control block that can be generated with the current
+     * settings, i.e. the one of the last symbol of the largest possible set.
+     * @return the maximum number of codewords of the control block
+     */
+    int getMaxLength() {
+        return encode(MAX_SEGMENT_COUNT - 1, MAX_SEGMENT_COUNT).length();
+    }
+
+    private static void encodeTextField(int field, String text, StringBuffer sb) {
+        sb.append((char)MACRO_PDF_OPTIONAL_FIELD_START);
+        sb.append((char)field);
+        PDF417HighLevelEncoder.encodeText(text, 0, text.length(), sb, SUBMODE_ALPHA);
+    }
+
+    private static void encodeNumericField(int field, long value, StringBuffer sb) {
+        sb.append((char)MACRO_PDF_OPTIONAL_FIELD_START);
+        sb.append((char)field);
+        String digits = Long.toString(value);
+        PDF417HighLevelEncoder.encodeNumeric(digits, 0, digits.length(), sb);
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.krysalis.barcode4j.impl.pdf417;
+
+/**
+ * One encoded symbol of a Macro PDF417 set. Instances are immutable and are painted using
+ * the {@link PDF417Bean} that created them, so the symbols of a set can be rendered
+ * independently of each other (for example in parallel).
+ *
+ * @author agent
+ * @see PDF417Bean#createMacroSymbols(String, MacroPDF417ControlBlock)
+ */
+public class MacroPDF417Symbol {
+
+    private final String codewords;
+    private final int segmentIndex;
+    private final int segmentCount;
+
+    /**
+     * Creates a new symbol.
+     * @param codewords the source codewords including the Macro PDF417 Control Block
+     * @param segmentIndex the index of the symbol within the set
+     * @param segmentCount the number of symbols in the set
+     */
+    MacroPDF417Symbol(String codewords, int segmentIndex, int segmentCount) {
+        this.codewords = codewords;
+        this.segmentIndex = segmentIndex;
+        this.segmentCount = segmentCount;
+    }
+
+    /**
+     * Returns the source codewords of the symbol including the Macro PDF417 Control Block
+     * but without the Symbol Length Descriptor, padding and error correction.
+     * @return the codewords (as characters 0..928)
+     */
+    String getCodewords() {
+        return this.codewords;
+    }
+
+    /**
+     * Returns the index of the symbol within the set.
+     * @return the segment index (starting with 0)
+     */
+    public int getSegmentIndex() {
+        return this.segmentIndex;
+    }
+
+    /**
+     * Returns the number of symbols in the set.
+     * @return the segment count
+     */
+    public int getSegmentCount() {
+        return this.segmentCount;
+    }
+
+    /**
+     * Indicates whether this is the last symbol of the set.
+     * @return true for the last symbol
+     */
+    public boolean isLastSegment() {
+        return this.segmentIndex == this.segmentCount - 1;
+    }
+
+}
@@ -16,9 +16,10 @@
 package org.krysalis.barcode4j.impl.pdf417;
 
 import java.awt.Dimension;
+import java.util.List;
 
 import org.krysalis.barcode4j.BarcodeDimension;
-import org.krysalis.barcode4j.TwoDimBarcodeLogicHandler;
+import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
 import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
 import org.krysalis.barcode4j.impl.DefaultTwoDimCanvasLogicHandler;
 import org.krysalis.barcode4j.output.Canvas;
@@ -70,28 +71,142 @@ public class PDF417Bean extends AbstractBarcodeBean {
 
         setColumns(DEFAULT_COLUMN_COUNT);
     }
+    /** {@inheritDoc} */
+    public ClassicBarcodeLogicHandler createCanvasLogicHandler(Canvas canvas) {
+        return new DefaultTwoDimCanvasLogicHandler(this, canvas);
+    }
+
+    /** {@inheritDoc} */
+    public void generateBarcodeLogic(ClassicBarcodeLogicHandler handler, String msg) {
+        if ((msg == null) || (msg.length() == 0)) {
+            throw new NullPointerException("Parameter msg must not be empty");
+        }
+
+        PDF417LogicImpl.generateBarcodeLogic(toTwoDimLogicHandler(handler), msg, this);
+    }
+
+
+    /** {@inheritDoc} */
+    public void generateBarcodeLogic(ClassicBarcodeLogicHandler handler, byte[] data) {
+        if ((data == null) || (data.length == 0)) {
+            throw new NullPointerException("Parameter data must not be empty");
+        }
+
+        PDF417LogicImpl.generateBarcodeLogic(toTwoDimLogicHandler(handler), data, this);
+    }
+
     /**
-     * @see org.krysalis.barcode4j.BarcodeGenerator#generateBarcode(CanvasProvider, String)
+     * {@inheritDoc}
+     * The message is encoded once for both the dimensions and the painting.
      */
     public void generateBarcode(CanvasProvider canvas, String msg) {
         if ((msg == null) || (msg.length() == 0)) {
             throw new NullPointerException("Parameter msg must not be empty");
         }
 
-        TwoDimBarcodeLogicHandler handler = new DefaultTwoDimCanvasLogicHandler(
-                this, new Canvas(canvas));
+        paint(canvas, msg, msg.length(), PDF417HighLevelEncoder.encodeHighLevel(msg,
+                getEncoding(), isECIEnabled()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The data is encoded once for both the dimensions and the painting.
+     */
+    public void generateBarcode(CanvasProvider canvas, byte[] data) {
+        if ((data == null) || (data.length == 0)) {
+            throw new NullPointerException("Parameter data must not be empty");
+        }
 
-        PDF417LogicImpl.generateBarcodeLogic(handler, msg, this);
+        paint(canvas, null, data.length, PDF417HighLevelEncoder.encodeHighLevel(data));
     }
 
+    private void paint(CanvasProvider canvas, String msg, int msgLength, String highLevel) {
+        BarcodeDimension dim = calcDimensions(highLevel.length());
+        Canvas c = new Canvas(canvas, true);
+        PDF417LogicImpl.generateBarcodeLogic(
+                toTwoDimLogicHandler(createCanvasLogicHandler(c, dim)),
+                msg, msgLength, highLevel, this);
+        c.flush();
+    }
 
     /**
      * @see org.krysalis.barcode4j.BarcodeGenerator#calcDimensions(String)
      */
     public BarcodeDimension calcDimensions(String msg) {
+        return calcDimensions(PDF417HighLevelEncoder.encodeHighLevel(msg,
+                getEncoding(), isECIEnabled()).length());
+    }
+
+    /** {@inheritDoc} */
+    public BarcodeDimension calcDimensions(byte[] data) {
+        return calcDimensions(PDF417HighLevelEncoder.encodeHighLevel(data).length());
+    }
+
+    /**
+     * Encodes a message as a Macro PDF417 set: the message is split into as many symbols
+     * as necessary for the configured maximum symbol size and every symbol receives a
+     * Macro PDF417 Control Block. The symbols are painted with
+     * {@link #generateBarcode(CanvasProvider, MacroPDF417Symbol)} without changing the
+     * settings of this bean in between.
+     * @param msg the message to encode
+     * @param control the file ID and optional fields for the control blocks
+     * @return the symbols of the set in order (MacroPDF417Symbol instances)
+     */
+    public List createMacroSymbols(String msg, MacroPDF417ControlBlock control) {
+        if ((msg == null) || (msg.length() == 0)) {
+            throw new NullPointerException("Parameter msg must not be empty");
+        }
+        return PDF417LogicImpl.createMacroSymbols(PDF417HighLevelEncoder.encodeHighLevel(msg,
+                getEncoding(), isECIEnabled()), control, this);
+    }
+
+    /**
+     * Encodes binary data as a Macro PDF417 set.
+     * @param data the binary message to encode
+     * @param control the file ID and optional fields for the control blocks
+     * @return the symbols of the set in order (MacroPDF417Symbol instances)
+     * @see #createMacroSymbols(String, MacroPDF417ControlBlock)
+     */
+    public List createMacroSymbols(byte[] data, MacroPDF417ControlBlock control) {
+        if ((data == null) || (data.length == 0)) {
+            throw new NullPointerException("Parameter data must not be empty");
+        }
+        return PDF417LogicImpl.createMacroSymbols(PDF417HighLevelEncoder.encodeHighLevel(data),
+                control, this);
+    }
+
+    /**
+     * Generates the barcode logic for one symbol of a Macro PDF417 set.
+     * @param handler the logic handler to receive generated events
+     * @param symbol the symbol
+     */
+    public void generateBarcodeLogic(ClassicBarcodeLogicHandler handler,
+            MacroPDF417Symbol symbol) {
+        PDF417LogicImpl.generateBarcodeLogic(toTwoDimLogicHandler(handler), symbol, this);
+    }
+
+    /**
+     * Calculates the dimensions of one symbol of a Macro PDF417 set.
+     * @param symbol the symbol
+     * @return the barcode dimensions
+     */
+    public BarcodeDimension calcDimensions(MacroPDF417Symbol symbol) {
+        return calcDimensions(symbol.getCodewords().length());
+    }
+
+    /**
+     * Paints one symbol of a Macro PDF417 set.
+     * @param canvas the canvas provider to paint on
+     * @param symbol the symbol
+     */
+    public void generateBarcode(CanvasProvider canvas, MacroPDF417Symbol symbol) {
+        BarcodeDimension dim = calcDimensions(symbol);
+        Canvas c = new Canvas(canvas, true);
+        generateBarcodeLogic(createCanvasLogicHandler(c, dim), symbol);
+        c.flush();
+    }
 
-        int sourceCodeWords = PDF417HighLevelEncoder.encodeHighLevel(msg,
-                getEncoding(), isECIEnabled()).length();
+    private BarcodeDimension calcDimensions(int sourceCodeWords) {
         Dimension dimension = PDF417LogicImpl.determineDimensions(this,
                 sourceCodeWords);
 
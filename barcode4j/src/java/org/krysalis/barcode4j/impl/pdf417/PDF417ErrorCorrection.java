@@ -61,6 +61,24 @@ public class PDF417ErrorCorrection implements PDF417Constants {
         }
     }
     
+    /**
+     * The error correction coefficients negated modulo 929 so the shift register only
+     * needs additions.
+     */
+    private static final int[][] NEGATED_COEFFICIENTS;
+
+    static {
+        NEGATED_COEFFICIENTS = new int[EC_COEFFICIENTS.length][];
+        for (int level = 0; level < EC_COEFFICIENTS.length; level++) {
+            int[] coefficients = EC_COEFFICIENTS[level];
+            int[] negated = new int[coefficients.length];
+            for (int j = 0; j < coefficients.length; j++) {
+                negated[j] = (929 - (coefficients[j] % 929)) % 929;
+            }
+            NEGATED_COEFFICIENTS[level] = negated;
+        }
+    }
+
     /**
      * Generates the error correction codewords according to 4.10 in ISO/IEC 15438:2001(E).
      * @param dataCodewords the data codewords
@@ -68,30 +86,49 @@ public class PDF417ErrorCorrection implements PDF417Constants {
      * @return the String representing the error correction codewords
      */
     public static String generateErrorCorrection(String dataCodewords, int errorCorrectionLevel) {
-        int k = getErrorCorrectionCodewordCount(errorCorrectionLevel);
-        char[] e = new char[k];
         int sld = dataCodewords.length();
-        int t1, t2, t3;
+        int[] data = new int[sld];
         for (int i = 0; i < sld; i++) {
-            t1 = (dataCodewords.charAt(i) + e[e.length - 1]) % 929;
+            data[i] = dataCodewords.charAt(i);
+        }
+        int k = getErrorCorrectionCodewordCount(errorCorrectionLevel);
+        int[] ec = new int[k];
+        generateErrorCorrection(data, sld, errorCorrectionLevel, ec, 0);
+        char[] chars = new char[k];
+        for (int j = 0; j < k; j++) {
+            chars[j] = (char)ec[j];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Generates the error correction codewords according to 4.10 in ISO/IEC 15438:2001(E).
+     * <p>
+     * The shift register is only reduced modulo 929 where its value is fed back: every
+     * register cell is a sum of at most 512 products below 929 * 929 which fits into an
+     * int.
+     * @param dataCodewords the data codewords
+     * @param count the number of data codewords to use from the start of the array
+     * @param errorCorrectionLevel the error correction level (0-8)
+     * @param dst the array receiving the error correction codewords
+     * @param dstOffset the index of the first error correction codeword in dst
+     */
+    public static void generateErrorCorrection(int[] dataCodewords, int count,
+                int errorCorrectionLevel, int[] dst, int dstOffset) {
+        int k = getErrorCorrectionCodewordCount(errorCorrectionLevel);
+        int[] coefficients = NEGATED_COEFFICIENTS[errorCorrectionLevel];
+        int[] e = new int[k];
+        for (int i = 0; i < count; i++) {
+            int t1 = (dataCodewords[i] + e[k - 1]) % 929;
             for (int j = k - 1; j >= 1; j--) {
-                t2 = (t1 * EC_COEFFICIENTS[errorCorrectionLevel][j]) % 929;
-                t3 = 929 - t2;
-                e[j] = (char)((e[j - 1] + t3) % 929);
+                e[j] = e[j - 1] + t1 * coefficients[j];
             }
-            t2 = (t1 * EC_COEFFICIENTS[errorCorrectionLevel][0]) % 929;
-            t3 = 929 - t2;
-            e[0] = (char)(t3 % 929);
-            //System.out.println(HighLevelEncoderTest.visualize(new String(e)));
+            e[0] = t1 * coefficients[0];
         }
-        StringBuffer sb = new StringBuffer(k);
         for (int j = k - 1; j >= 0; j--) {
-            if (e[j] != 0) {
-                e[j] = (char)(929 - e[j]);
-            }
-            sb.append(e[j]);
+            int v = e[j] % 929;
+            dst[dstOffset++] = (v != 0 ? 929 - v : 0);
         }
-        return sb.toString();
     }
     
 }
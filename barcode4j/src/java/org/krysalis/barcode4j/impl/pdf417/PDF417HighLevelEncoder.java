@@ -20,7 +20,6 @@ package org.krysalis.barcode4j.impl.pdf417;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.math.BigInteger;
 import java.util.Arrays;
 
 import org.krysalis.barcode4j.tools.ECIUtil;
@@ -125,13 +124,31 @@ public class PDF417HighLevelEncoder implements PDF417Constants {
 
         byte[] bytes = null; //Fill later and only if needed
 
-
+        //Classify the message once: run lengths per position from a single backward scan
         int len = msg.length();
+        int[] digitRuns = new int[len + 1];
+        int[] textChars = new int[len + 1];
+        int[] textRuns = new int[len + 1];
+        for (int i = len - 1; i >= 0; i--) {
+            char ch = msg.charAt(i);
+            if (isText(ch)) {
+                textChars[i] = textChars[i + 1] + 1;
+            }
+            if (isDigit(ch)) {
+                int r = digitRuns[i + 1] + 1;
+                digitRuns[i] = r;
+                //Text compaction stops in front of 13 or more digits
+                textRuns[i] = (r >= 13 ? 0 : r + textRuns[i + r]);
+            } else if (isText(ch)) {
+                textRuns[i] = textRuns[i + 1] + 1;
+            }
+        }
+
         int p = 0;
         int encodingMode = TEXT_COMPACTION; //Default mode, see 4.4.2.1
         int textSubMode = SUBMODE_ALPHA;
         while (p < len) {
-            int n = determineConsecutiveDigitCount(msg, p);
+            int n = digitRuns[p];
             if (n >= 13) {
                 sb.append((char)LATCH_TO_NUMERIC);
                 encodingMode = NUMERIC_COMPACTION;
@@ -139,7 +156,7 @@ public class PDF417HighLevelEncoder implements PDF417Constants {
                 encodeNumeric(msg, p, n, sb);
                 p += n;
             } else {
-                int t = determineConsecutiveTextCount(msg, p);
+                int t = textRuns[p];
                 if (t >= 5 || n == len) {
                     if (encodingMode != TEXT_COMPACTION) {
                         sb.append((char)LATCH_TO_TEXT);
@@ -152,7 +169,8 @@ public class PDF417HighLevelEncoder implements PDF417Constants {
                     if (bytes == null) {
                         bytes = getBytesForMessage(msg, encoding);
                     }
-                    int b = determineConsecutiveBinaryCount(msg, bytes, p);
+                    int b = determineConsecutiveBinaryCount(msg, bytes, p,
+                            digitRuns, textChars);
                     if (b == 0) {
                         b = 1;
                     }
@@ -343,30 +361,70 @@ public class PDF417HighLevelEncoder implements PDF417Constants {
         }
     }
 
+    /**
+     * Encode parts of the message using Numeric Compaction as described in ISO/IEC
+     * 15438:2001(E), chapter 4.4.4. Each group of up to 44 digits (with a leading 1) is
+     * converted from base 10 to base 900.
+     * @param msg the message
+     * @param startpos the start position within the message
+     * @param count the number of digits to encode
+     * @param sb receives the encoded codewords
+     */
     public static void encodeNumeric(String msg, int startpos, int count, StringBuffer sb) {
+        //Base 900 digits of the current group, least significant first. 45 decimal digits
+        //need at most 16 of them.
+        int[] limbs = new int[16];
         int idx = 0;
-        StringBuffer tmp = new StringBuffer(count / 3 + 1);
-        final BigInteger num900 = BigInteger.valueOf(900);
-        final BigInteger num0 = BigInteger.valueOf(0);
-        while (idx < count - 1) {
-            tmp.setLength(0);
+        while (idx < count) {
             int len = Math.min(44, count - idx);
-            String part = "1" + msg.substring(startpos + idx, startpos + idx + len);
-            BigInteger bigint = new BigInteger(part);
-            do {
-                BigInteger c = bigint.mod(num900);
-                tmp.append((char)(c.intValue()));
-                bigint = bigint.divide(num900);
-            } while (!bigint.equals(num0));
-
-            //Reverse temporary string
-            for (int i = tmp.length() - 1; i >= 0; i--) {
-                sb.append(tmp.charAt(i));
+            int used = convertToBase900(msg, startpos + idx, len, limbs);
+            for (int i = used - 1; i >= 0; i--) {
+                sb.append((char)limbs[i]);
             }
             idx += len;
         }
     }
 
+    /**
+     * Converts "1" followed by a group of digits to base 900.
+     * @param msg the message
+     * @param startpos the position of the first digit
+     * @param len the number of digits
+     * @param limbs receives the base 900 digits (least significant first)
+     * @return the number of base 900 digits
+     */
+    private static int convertToBase900(String msg, int startpos, int len, int[] limbs) {
+        limbs[0] = 1;
+        int used = 1;
+        int pos = startpos;
+        int end = startpos + len;
+        //Up to three digits at a time: the first chunk takes the remainder so the
+        //following chunks are all three digits long
+        int chunk = len % 3;
+        if (chunk == 0) {
+            chunk = 3;
+        }
+        while (pos < end) {
+            int multiplier = 1;
+            int carry = 0;
+            for (int i = 0; i < chunk; i++) {
+                multiplier *= 10;
+                carry = carry * 10 + (msg.charAt(pos++) - '0');
+            }
+            for (int i = 0; i < used; i++) {
+                int v = limbs[i] * multiplier + carry;
+                limbs[i] = v % 900;
+                carry = v / 900;
+            }
+            while (carry > 0) {
+                limbs[used++] = carry % 900;
+                carry /= 900;
+            }
+            chunk = 3;
+        }
+        return used;
+    }
+
     private static boolean isDigit(char ch) {
         return ch >= '0' && ch <= '9';
     }
@@ -520,6 +578,52 @@ public class PDF417HighLevelEncoder implements PDF417Constants {
         return idx - startpos;
     }
 
+    /**
+     * Determines the number of consecutive characters that are encodable using binary
+     * compaction, like {@link #determineConsecutiveBinaryCount(String, byte[], int)} but
+     * using the run lengths precalculated for each position.
+     * @param msg the message
+     * @param bytes the message converted to a byte array
+     * @param startpos the start position within the message
+     * @param digitRuns the number of consecutive digits starting at each position
+     * @param textChars the number of consecutive text characters starting at each position
+     * @return the requested character count
+     */
+    private static int determineConsecutiveBinaryCount(String msg, byte[] bytes, int startpos,
+            int[] digitRuns, int[] textChars) {
+        int len = msg.length();
+        int idx = startpos;
+        while (idx < len) {
+            int numericCount = digitRuns[idx];
+            if (numericCount >= 13) {
+                return idx - startpos;
+            }
+            //Stop in front of five text characters. After a digit run, the character
+            //following the run and the four characters after the first digit are checked.
+            boolean textFollows;
+            if (numericCount == 0) {
+                textFollows = textChars[idx] >= 5;
+            } else {
+                char ch = msg.charAt(Math.min(idx + numericCount, len - 1));
+                textFollows = isText(ch) && textChars[idx + 1] >= 4;
+            }
+            if (textFollows) {
+                return idx - startpos;
+            }
+            char ch = msg.charAt(idx);
+
+            //Check if character is encodable
+            //Sun returns a ASCII 63 (?) for a character that cannot be mapped. Let's hope all
+            //other VMs do the same
+            if (bytes[idx] == 63 && ch != '?') {
+                throw new IllegalArgumentException("Non-encodable character detected: "
+                        + ch + " (Unicode: " + (int)ch + ")");
+            }
+            idx++;
+        }
+        return idx - startpos;
+    }
+
     private static void encodingECI(int eci, StringBuffer sb) {
         if (eci >= 0 && eci < 900) {
             sb.append((char)ECI_CHARSET);
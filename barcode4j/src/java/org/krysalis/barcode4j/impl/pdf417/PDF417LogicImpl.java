@@ -19,6 +19,8 @@
 package org.krysalis.barcode4j.impl.pdf417;
 
 import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.krysalis.barcode4j.BarGroup;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
@@ -29,7 +31,7 @@ import org.krysalis.barcode4j.TwoDimBarcodeLogicHandler;
  *
  * @version $Id: PDF417LogicImpl.java,v 1.5 2012-05-17 13:57:37 jmaerki Exp $
  */
-public class PDF417LogicImpl {
+public class PDF417LogicImpl implements PDF417Constants {
 
     /**
      * Calculates the necessary number of rows as described in annex Q of ISO/IEC 15438:2001(E).
@@ -110,32 +112,76 @@ public class PDF417LogicImpl {
         return c * r - k;
     }
 
-    private static void encodeChar(int pattern, int len, ClassicBarcodeLogicHandler logic) {
+    /** Number of bars and spaces in a codeword. */
+    private static final int CODEWORD_RUNS = 8;
+
+    /**
+     * Bar and space widths of all codewords of the three clusters, 8 widths per codeword
+     * starting with a bar.
+     */
+    private static final byte[] CODEWORD_WIDTHS = new byte[3 * 929 * CODEWORD_RUNS];
+    private static final byte[] START_WIDTHS = new byte[8];
+    private static final byte[] STOP_WIDTHS = new byte[9];
+
+    static {
+        for (int cluster = 0; cluster < 3; cluster++) {
+            for (int cw = 0; cw < 929; cw++) {
+                toWidths(PDF417Constants.CODEWORD_TABLE[cluster][cw], 17,
+                        CODEWORD_WIDTHS, (cluster * 929 + cw) * CODEWORD_RUNS);
+            }
+        }
+        toWidths(PDF417Constants.START_PATTERN, 17, START_WIDTHS, 0);
+        toWidths(PDF417Constants.STOP_PATTERN, 18, STOP_WIDTHS, 0);
+    }
+
+    /**
+     * Converts a module pattern into the widths of its bars and spaces.
+     * @param pattern the pattern (1 bits are bars, the most significant bit comes first)
+     * @param len the number of modules in the pattern
+     * @param dst the array receiving the widths
+     * @param offset the index of the first width in dst
+     */
+    private static void toWidths(int pattern, int len, byte[] dst, int offset) {
         int map = 1 << len - 1;
-        boolean last = (pattern & map) != 0; //Initialize to inverse of first bit
+        boolean last = (pattern & map) != 0;
         int width = 0;
         for (int i = 0; i < len; i++) {
             boolean black = (pattern & map) != 0;
             if (last == black) {
                 width++;
             } else {
-                logic.addBar(last, width);
+                dst[offset++] = (byte)width;
                 last = black;
                 width = 1;
             }
             map >>= 1;
         }
-        logic.addBar(last, width);
+        dst[offset] = (byte)width;
+    }
+
+    private static void encodeWidths(byte[] widths, int offset, int count,
+            ClassicBarcodeLogicHandler logic) {
+        for (int i = 0; i < count; i++) {
+            logic.addBar((i & 1) == 0, widths[offset + i]);
+        }
     }
 
-    private static void encodeLowLevel(String fullCodewords, int c, int r,
+    private static void encodeCodeword(int cluster, int codeword,
+            ClassicBarcodeLogicHandler logic) {
+        logic.startBarGroup(BarGroup.MSG_CHARACTER, null);
+        encodeWidths(CODEWORD_WIDTHS, (cluster * 929 + codeword) * CODEWORD_RUNS,
+                CODEWORD_RUNS, logic);
+        logic.endBarGroup();
+    }
+
+    private static void encodeLowLevel(int[] fullCodewords, int c, int r,
             int errorCorrectionLevel, TwoDimBarcodeLogicHandler logic) {
         int idx = 0;
         for (int y = 0; y < r; y++) {
             int cluster = (y % 3);
             logic.startRow();
             logic.startBarGroup(BarGroup.START_CHARACTER, null);
-            encodeChar(PDF417Constants.START_PATTERN, 17, logic);
+            encodeWidths(START_WIDTHS, 0, START_WIDTHS.length, logic);
             logic.endBarGroup();
 
             int left, right;
@@ -149,28 +195,16 @@ public class PDF417LogicImpl {
                 left = (30 * (y / 3)) + (c - 1);
                 right = (30 * (y / 3)) + (errorCorrectionLevel * 3) + ((r - 1) % 3);
             }
-            int pattern;
-
-            logic.startBarGroup(BarGroup.MSG_CHARACTER, null);
-            pattern = PDF417Constants.CODEWORD_TABLE[cluster][left];
-            encodeChar(pattern, 17, logic);
-            logic.endBarGroup();
 
+            encodeCodeword(cluster, left, logic);
             for (int x = 0; x < c; x++) {
-                logic.startBarGroup(BarGroup.MSG_CHARACTER, null);
-                pattern = PDF417Constants.CODEWORD_TABLE[cluster][fullCodewords.charAt(idx)];
-                encodeChar(pattern, 17, logic);
-                logic.endBarGroup();
+                encodeCodeword(cluster, fullCodewords[idx], logic);
                 idx++;
             }
-
-            logic.startBarGroup(BarGroup.MSG_CHARACTER, null);
-            pattern = PDF417Constants.CODEWORD_TABLE[cluster][right];
-            encodeChar(pattern, 17, logic);
-            logic.endBarGroup();
+            encodeCodeword(cluster, right, logic);
 
             logic.startBarGroup(BarGroup.STOP_CHARACTER, null);
-            encodeChar(PDF417Constants.STOP_PATTERN, 18, logic);
+            encodeWidths(STOP_WIDTHS, 0, STOP_WIDTHS.length, logic);
             logic.endBarGroup();
             logic.endRow();
         }
@@ -184,14 +218,54 @@ public class PDF417LogicImpl {
      */
     public static void generateBarcodeLogic(TwoDimBarcodeLogicHandler logic,
             String msg, PDF417Bean pdf417Bean) {
+        //1. step: High-level encoding
+        String highLevel = PDF417HighLevelEncoder.encodeHighLevel(msg,
+                pdf417Bean.getEncoding(), pdf417Bean.isECIEnabled());
+        generateBarcodeLogic(logic, msg, msg.length(), highLevel, pdf417Bean);
+    }
 
-        int errorCorrectionLevel = pdf417Bean.getErrorCorrectionLevel();
-
+    /**
+     * Generates the barcode logic for binary data. The bytes are encoded using Byte
+     * Compaction.
+     * @param logic the logic handler to receive generated events
+     * @param data the binary message to encode
+     * @param pdf417Bean reference to the PDF417 bean for configuration access
+     */
+    public static void generateBarcodeLogic(TwoDimBarcodeLogicHandler logic,
+            byte[] data, PDF417Bean pdf417Bean) {
         //1. step: High-level encoding
+        String highLevel = PDF417HighLevelEncoder.encodeHighLevel(data);
+        generateBarcodeLogic(logic, null, data.length, highLevel, pdf417Bean);
+    }
+
+    /**
+     * Generates the barcode logic for one symbol of a Macro PDF417 set.
+     * @param logic the logic handler to receive generated events
+     * @param symbol the symbol
+     * @param pdf417Bean reference to the PDF417 bean for configuration access (must have
+     *          the same settings as when the symbol was created)
+     */
+    public static void generateBarcodeLogic(TwoDimBarcodeLogicHandler logic,
+            MacroPDF417Symbol symbol, PDF417Bean pdf417Bean) {
+        String codewords = symbol.getCodewords();
+        generateBarcodeLogic(logic, null, codewords.length(), codewords, pdf417Bean);
+    }
+
+    /**
+     * Generates the barcode logic for a message which has already been encoded by
+     * {@link PDF417HighLevelEncoder}.
+     * @param logic the logic handler to receive generated events
+     * @param msg the message (or null for binary data)
+     * @param msgLength the length of the message (for error messages)
+     * @param highLevel the source codewords
+     * @param pdf417Bean reference to the PDF417 bean for configuration access
+     */
+    static void generateBarcodeLogic(TwoDimBarcodeLogicHandler logic,
+            String msg, int msgLength, String highLevel, PDF417Bean pdf417Bean) {
+
+        int errorCorrectionLevel = pdf417Bean.getErrorCorrectionLevel();
         int errorCorrectionCodeWords = PDF417ErrorCorrection.getErrorCorrectionCodewordCount(
                 errorCorrectionLevel);
-        String highLevel = PDF417HighLevelEncoder.encodeHighLevel(msg,
-                pdf417Bean.getEncoding(), pdf417Bean.isECIEnabled());
         int sourceCodeWords = highLevel.length();
 
         Dimension dimension = determineDimensions(pdf417Bean, sourceCodeWords);
@@ -212,21 +286,21 @@ public class PDF417LogicImpl {
         if (n > 929) {
             throw new IllegalArgumentException(
                     "Encoded message contains to many code words, message to big ("
-                            + msg.length() + " bytes)");
+                            + msgLength + " bytes)");
         }
 
-        StringBuffer sb = new StringBuffer(n);
-        sb.append((char)n);
-        sb.append(highLevel);
-        for (int i = 0; i < pad; i++) {
-            sb.append((char)900); //PAD characters
+        int[] fullCodewords = new int[n + errorCorrectionCodeWords];
+        fullCodewords[0] = n;
+        for (int i = 0; i < sourceCodeWords; i++) {
+            fullCodewords[i + 1] = highLevel.charAt(i);
+        }
+        for (int i = sourceCodeWords + 1; i < n; i++) {
+            fullCodewords[i] = 900; //PAD characters
         }
-        String dataCodewords = sb.toString();
 
         //3. step: Error correction
-        String ec = PDF417ErrorCorrection.generateErrorCorrection(
-                dataCodewords, errorCorrectionLevel);
-        String fullCodewords = dataCodewords + ec;
+        PDF417ErrorCorrection.generateErrorCorrection(fullCodewords, n,
+                errorCorrectionLevel, fullCodewords, n);
 
         //4. step: low-level encoding
         logic.startBarcode(msg, msg);
@@ -234,6 +308,235 @@ public class PDF417LogicImpl {
         logic.endBarcode();
     }
 
+    /** Flag for a pending shift in the text compaction state used by the Macro splitting. */
+    private static final int TEXT_SHIFT = 4;
+
+    /**
+     * Codewords switching from the Alpha sub-mode to the other text sub-modes without
+     * encoding a character: ml+ll, ll+ml and ml+pl.
+     */
+    private static final int[] SUBMODE_RESTORE = {-1, 28 * 30 + 27, 27 * 30 + 28, 28 * 30 + 25};
+
+    private static final int NOT_SPLITTABLE = -2;
+
+    /**
+     * Splits the high-level codewords of a message into the symbols of a Macro PDF417 set
+     * as described in 5.13 of ISO/IEC 15438:2001(E). Every symbol is started in the default
+     * mode, so a symbol may only end where the next symbol can continue the data: in front
+     * of a mode latch, between two Text Compaction codewords (restoring the sub-mode with
+     * one codeword if necessary) or at a group boundary in Numeric and Byte Compaction
+     * (repeating the mode latch). The split positions are found in a single pass over the
+     * codewords which follows the decoder's state.
+     * @param highLevel the high-level codewords of the message
+     * @param control the information for the Macro PDF417 Control Block
+     * @param pdf417Bean reference to the PDF417 bean for configuration access
+     * @return the symbols of the set in order (MacroPDF417Symbol instances)
+     */
+    public static List createMacroSymbols(String highLevel, MacroPDF417ControlBlock control,
+            PDF417Bean pdf417Bean) {
+        int k = PDF417ErrorCorrection.getErrorCorrectionCodewordCount(
+                pdf417Bean.getErrorCorrectionLevel());
+        int maxCols = pdf417Bean.getMaxCols();
+        //Leave room for the Symbol Length Descriptor, the pad codewords and the control block
+        int capacity = Math.min(929 - maxCols, maxCols * pdf417Bean.getMaxRows() - k - 1)
+                - control.getMaxLength();
+        if (capacity < 16) {
+            throw new IllegalArgumentException(
+                    "The configured symbol size is too small for Macro PDF417");
+        }
+
+        List segments = new ArrayList();
+        int len = highLevel.length();
+        int mode = TEXT_COMPACTION;
+        int textState = SUBMODE_ALPHA;
+        boolean sixpack = false;
+        int pending = 0; //codewords belonging to a preceding shift or ECI
+        int runStart = 0; //first codeword after a numeric or byte latch
+        int latch = -1; //position of the byte latch
+        int segStart = 0;
+        int segPrefix = -1;
+        int safe = -1;
+        int safePrefix = -1;
+        int safeLatch = -1;
+        for (int i = 0; i <= len; i++) {
+            int cw = (i < len ? highLevel.charAt(i) : -1);
+
+            //Can a symbol end in front of this codeword and how does the next one start?
+            int prefix = NOT_SPLITTABLE;
+            boolean padded = false;
+            if (i == len || pending > 0) {
+                //no split possible
+            } else if (cw == LATCH_TO_TEXT || cw == LATCH_TO_BYTE_PADDED
+                    || cw == LATCH_TO_NUMERIC || cw == LATCH_TO_BYTE) {
+                prefix = -1;
+            } else if (mode == TEXT_COMPACTION) {
+                if ((textState & TEXT_SHIFT) == 0 || cw == SHIFT_TO_BYTE) {
+                    prefix = SUBMODE_RESTORE[textState & ~TEXT_SHIFT];
+                }
+            } else if (i > runStart) {
+                if (mode == NUMERIC_COMPACTION) {
+                    if ((i - runStart) % 15 == 0) {
+                        prefix = LATCH_TO_NUMERIC;
+                    }
+                } else if ((i - runStart) % 5 == 0) {
+                    //Full groups of a padded byte run need a "multiple of 6" latch
+                    prefix = (sixpack ? LATCH_TO_BYTE : LATCH_TO_BYTE_PADDED);
+                    padded = !sixpack;
+                }
+            }
+
+            if (i - segStart + (segPrefix >= 0 ? 1 : 0) > capacity) {
+                if (safe < 0) {
+                    throw new IllegalArgumentException(
+                            "Unable to split the message into Macro PDF417 symbols");
+                }
+                segments.add(createSegment(highLevel, segStart, safe, segPrefix, safeLatch));
+                segStart = safe;
+                segPrefix = safePrefix;
+                safe = -1;
+                if (i - segStart + (segPrefix >= 0 ? 1 : 0) > capacity) {
+                    throw new IllegalArgumentException(
+                            "Unable to split the message into Macro PDF417 symbols");
+                }
+            }
+            if (prefix != NOT_SPLITTABLE && i > segStart) {
+                safe = i;
+                safePrefix = prefix;
+                safeLatch = (padded ? latch : -1);
+            }
+            if (i == len) {
+                break;
+            }
+
+            //Follow the decoder through the codeword
+            if (pending > 0) {
+                pending--;
+            } else if (cw == LATCH_TO_TEXT) {
+                mode = TEXT_COMPACTION;
+                textState = SUBMODE_ALPHA;
+            } else if (cw == LATCH_TO_BYTE_PADDED || cw == LATCH_TO_BYTE) {
+                mode = BYTE_COMPACTION;
+                sixpack = (cw == LATCH_TO_BYTE);
+                runStart = i + 1;
+                latch = i;
+            } else if (cw == LATCH_TO_NUMERIC) {
+                mode = NUMERIC_COMPACTION;
+                runStart = i + 1;
+            } else if (cw == SHIFT_TO_BYTE) {
+                pending = 1;
+                textState &= ~TEXT_SHIFT; //a trailing pad shift is void
+            } else if (cw == ECI_CHARSET || cw == ECI_USER_DEFINED) {
+                pending = 1;
+            } else if (cw == ECI_GENERAL_PURPOSE) {
+                pending = 2;
+            } else if (mode == TEXT_COMPACTION) {
+                textState = nextTextState(nextTextState(textState, cw / 30), cw % 30);
+            }
+        }
+        segments.add(createSegment(highLevel, segStart, len, segPrefix, -1));
+
+        int count = segments.size();
+        if (count > MacroPDF417ControlBlock.MAX_SEGMENT_COUNT) {
+            throw new IllegalArgumentException("The message needs more than "
+                    + MacroPDF417ControlBlock.MAX_SEGMENT_COUNT + " symbols");
+        }
+        List symbols = new ArrayList(count);
+        for (int i = 0; i < count; i++) {
+            symbols.add(new MacroPDF417Symbol(createSymbolCodewords(
+                    (String)segments.get(i), control.encode(i, count), pdf417Bean), i, count));
+        }
+        return symbols;
+    }
+
+    /**
+     * Appends the control block to the data codewords of a symbol. A symbol which is too
+     * small for the configured minimum number of rows and columns (typically the last
+     * one) is padded with Text Compaction latches in front of the control block. They
+     * don't encode any data.
+     * @param segment the data codewords of the symbol
+     * @param controlBlock the Macro PDF417 Control Block of the symbol
+     * @param pdf417Bean reference to the PDF417 bean for configuration access
+     * @return the codewords of the symbol
+     */
+    private static String createSymbolCodewords(String segment, String controlBlock,
+            PDF417Bean pdf417Bean) {
+        StringBuffer sb = new StringBuffer(segment);
+        while (determineDimensions(pdf417Bean, sb.length() + controlBlock.length()) == null) {
+            if (sb.length() + controlBlock.length() >= 928) {
+                throw new IllegalArgumentException("Unable to fit message in columns");
+            }
+            sb.append((char)LATCH_TO_TEXT);
+        }
+        sb.append(controlBlock);
+        return sb.toString();
+    }
+
+    /**
+     * Follows the text compaction sub-mode through one value.
+     * @param state the sub-mode, possibly combined with {@link #TEXT_SHIFT}
+     * @param value the value (0-29)
+     * @return the new state
+     */
+    private static int nextTextState(int state, int value) {
+        if ((state & TEXT_SHIFT) != 0) {
+            return state & ~TEXT_SHIFT; //the shifted character
+        }
+        switch (state) {
+        case SUBMODE_ALPHA:
+            if (value == 27) {
+                return SUBMODE_LOWER;
+            } else if (value == 28) {
+                return SUBMODE_MIXED;
+            }
+            break;
+        case SUBMODE_LOWER:
+            if (value == 27) {
+                return state | TEXT_SHIFT; //as
+            } else if (value == 28) {
+                return SUBMODE_MIXED;
+            }
+            break;
+        case SUBMODE_MIXED:
+            if (value == 25) {
+                return SUBMODE_PUNCTUATION;
+            } else if (value == 27) {
+                return SUBMODE_LOWER;
+            } else if (value == 28) {
+                return SUBMODE_ALPHA;
+            }
+            break;
+        default: //SUBMODE_PUNCTUATION
+            return (value == 29 ? SUBMODE_ALPHA : state);
+        }
+        return (value == 29 ? state | TEXT_SHIFT : state); //ps
+    }
+
+    /**
+     * Builds the data codewords of one symbol of a Macro PDF417 set.
+     * @param highLevel the high-level codewords of the whole message
+     * @param start the first codeword of the segment
+     * @param end the end of the segment (exclusive)
+     * @param prefix the codeword continuing the mode of the previous symbol (or -1)
+     * @param paddedLatch the position of a padded byte latch that is to be turned into a
+     *          "multiple of 6" latch because the segment ends with a full group (or -1)
+     * @return the data codewords of the symbol
+     */
+    private static String createSegment(String highLevel, int start, int end, int prefix,
+            int paddedLatch) {
+        StringBuffer sb = new StringBuffer(end - start + 1);
+        if (prefix >= 0) {
+            sb.append((char)prefix);
+        }
+        sb.append(highLevel.substring(start, end));
+        if (paddedLatch >= start) {
+            sb.setCharAt(paddedLatch - start + (prefix >= 0 ? 1 : 0), (char)LATCH_TO_BYTE);
+        } else if (paddedLatch >= 0) {
+            //The byte run was continued from the previous symbol
+            sb.setCharAt(0, (char)LATCH_TO_BYTE);
+        }
+        return sb.toString();
+    }
+
     /**
      * Determine optimal nr of columns and rows for the specified number of
      * codewords.
@@ -19,9 +19,11 @@
 package org.krysalis.barcode4j.impl.qr;
 
 import java.awt.Dimension;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.krysalis.barcode4j.BarcodeDimension;
-import org.krysalis.barcode4j.TwoDimBarcodeLogicHandler;
+import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
 import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
 import org.krysalis.barcode4j.impl.DefaultTwoDimCanvasLogicHandler;
 import org.krysalis.barcode4j.output.Canvas;
@@ -29,9 +31,7 @@ import org.krysalis.barcode4j.output.CanvasProvider;
 import org.krysalis.barcode4j.tools.ECIUtil;
 import org.krysalis.barcode4j.tools.UnitConv;
 
-import com.google.zxing.WriterException;
 import com.google.zxing.qrcode.encoder.ByteMatrix;
-import com.google.zxing.qrcode.encoder.Encoder;
 import com.google.zxing.qrcode.encoder.QRCode;
 
 /**
@@ -52,6 +52,9 @@ public class QRCodeBean extends AbstractBarcodeBean {
     private Dimension minSize;
     /** Optional: the maximum size of the symbol. */
     private Dimension maxSize;
+    /** Optional: encoded symbols from previous calls (String key -> QRCode), LRU */
+    private Map encodingCache;
+    private int encodingCacheSize;
 
     /** Create a new instance. */
     public QRCodeBean() {
@@ -148,36 +151,138 @@ public class QRCodeBean extends AbstractBarcodeBean {
         }
     }
 
+    /**
+     * Sets the size of the cache for encoded symbols. Encoding a message is the most
+     * expensive part of producing a QR Code. Every call to
+     * {@link #generateBarcode(CanvasProvider, String)} encodes the message only once. With
+     * the cache enabled, the symbols are also reused across calls, for example between
+     * {@link #calcDimensions(String)} and the subsequent painting or when the same message
+     * is painted repeatedly. The least recently used entries are discarded.
+     * @param maxEntries the maximum number of cached symbols (0 disables the cache, the
+     *          default)
+     */
+    public void setEncodingCacheSize(final int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("The cache size must not be negative");
+        }
+        this.encodingCacheSize = maxEntries;
+        if (maxEntries == 0) {
+            this.encodingCache = null;
+        } else {
+            this.encodingCache = new LinkedHashMap(16, 0.75f, true) {
+                protected boolean removeEldestEntry(Map.Entry eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+    }
+
+    /**
+     * Returns the size of the cache for encoded symbols.
+     * @return the maximum number of cached symbols (0 if the cache is disabled)
+     */
+    public int getEncodingCacheSize() {
+        return this.encodingCacheSize;
+    }
+
+    /**
+     * Encodes a message, using the cache if it is enabled.
+     * @param msg the message
+     * @return the encoded QR Code
+     */
+    private QRCode encode(String msg) {
+        Map cache = this.encodingCache;
+        if (cache == null) {
+            return QRLogicImpl.encode(msg, encoding, errorCorrectionLevel);
+        }
+        //The settings that influence the encoding are part of the key
+        String key = errorCorrectionLevel + encoding + '\u0000' + msg;
+        QRCode code;
+        synchronized (cache) {
+            code = (QRCode)cache.get(key);
+        }
+        if (code == null) {
+            code = QRLogicImpl.encode(msg, encoding, errorCorrectionLevel);
+            synchronized (cache) {
+                cache.put(key, code);
+            }
+        }
+        return code;
+    }
+
     /** {@inheritDoc} */
+    public ClassicBarcodeLogicHandler createCanvasLogicHandler(Canvas canvas) {
+        return new DefaultTwoDimCanvasLogicHandler(this, canvas);
+    }
+
+    /** {@inheritDoc} */
+    public void generateBarcodeLogic(ClassicBarcodeLogicHandler handler, String msg) {
+        if ((msg == null) || (msg.length() == 0)) {
+            throw new NullPointerException("Parameter msg must not be empty");
+        }
+
+        QRLogicImpl impl = new QRLogicImpl();
+        impl.generateBarcodeLogic(toTwoDimLogicHandler(handler), msg, encode(msg));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The message is encoded once for both the dimensions and the painting.
+     */
     public void generateBarcode(CanvasProvider canvas, String msg) {
-        if ((msg == null)
-                || (msg.length() == 0)) {
+        if ((msg == null) || (msg.length() == 0)) {
             throw new NullPointerException("Parameter msg must not be empty");
         }
 
-        TwoDimBarcodeLogicHandler handler =
-                new DefaultTwoDimCanvasLogicHandler(this, new Canvas(canvas));
+        paint(canvas, msg, encode(msg));
+    }
 
+    /**
+     * {@inheritDoc}
+     * The data is encoded once for both the dimensions and the painting.
+     */
+    public void generateBarcode(CanvasProvider canvas, byte[] data) {
+        if ((data == null) || (data.length == 0)) {
+            throw new NullPointerException("Parameter data must not be empty");
+        }
+
+        paint(canvas, null, QRLogicImpl.encodeBinary(data, errorCorrectionLevel));
+    }
+
+    private void paint(CanvasProvider canvas, String msg, QRCode code) {
+        BarcodeDimension dim = calcDimensions(code);
+        Canvas c = new Canvas(canvas, true);
         QRLogicImpl impl = new QRLogicImpl();
-        impl.generateBarcodeLogic(handler, msg, encoding, errorCorrectionLevel,
-                getMinSize(), getMaxSize());
+        impl.generateBarcodeLogic(toTwoDimLogicHandler(createCanvasLogicHandler(c, dim)),
+                msg, code);
+        c.flush();
     }
 
     /** {@inheritDoc} */
-    public BarcodeDimension calcDimensions(String msg) {
-        QRCode code = null;
-        try {
-            code = Encoder.encode(msg,
-                    QRLogicImpl.getZXingErrorLevel(errorCorrectionLevel),
-                    QRLogicImpl.createHints(encoding));
-        } catch (WriterException e) {
-            throw new RuntimeException(e.getMessage());
+    public void generateBarcodeLogic(ClassicBarcodeLogicHandler handler, byte[] data) {
+        if ((data == null) || (data.length == 0)) {
+            throw new NullPointerException("Parameter data must not be empty");
         }
+
+        QRLogicImpl impl = new QRLogicImpl();
+        impl.generateBarcodeLogic(toTwoDimLogicHandler(handler), data, errorCorrectionLevel);
+    }
+
+    /** {@inheritDoc} */
+    public BarcodeDimension calcDimensions(String msg) {
+        return calcDimensions(encode(msg));
+    }
+
+    /** {@inheritDoc} */
+    public BarcodeDimension calcDimensions(byte[] data) {
+        return calcDimensions(QRLogicImpl.encodeBinary(data, errorCorrectionLevel));
+    }
+
+    private BarcodeDimension calcDimensions(QRCode code) {
         ByteMatrix matrix = code.getMatrix();
         int effWidth = matrix.getWidth();
         int effHeight = matrix.getHeight();
         checkSizeConstraints(effWidth, effHeight);
-
         double width = effWidth * getModuleWidth();
         double height = effHeight * getBarHeight();
         double qzh = (hasQuietZone() ? getQuietZone() : 0);
@@ -19,7 +19,9 @@
 package org.krysalis.barcode4j.impl.qr;
 
 import java.awt.Dimension;
+import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.Map;
 
 import org.krysalis.barcode4j.TwoDimBarcodeLogicHandler;
 
@@ -37,6 +39,9 @@ import com.google.zxing.qrcode.encoder.QRCode;
  */
 public class QRLogicImpl implements QRConstants {
 
+    /** Encoding hints per encoding: String -> Hashtable */
+    private static final Map HINTS = new HashMap();
+
     /**
      * Generates the barcode logic.
      * @param logic the logic handler to receive generated events
@@ -53,15 +58,17 @@ public class QRLogicImpl implements QRConstants {
 
         //TODO ZXing doesn't allow to set minSize/maxSize through its API
 
-        ErrorCorrectionLevel zxingErrLevel = getZXingErrorLevel(errorCorrectionLevel);
-        Hashtable hints = createHints(encoding);
+        generateBarcodeLogic(logic, msg, encode(msg, encoding, errorCorrectionLevel));
+    }
 
-        QRCode code = null;
-        try {
-            code = Encoder.encode(msg, zxingErrLevel, hints);
-        } catch (WriterException e) {
-            throw new RuntimeException(e.getMessage(), e);
-        }
+    /**
+     * Generates the barcode logic for a message that has already been encoded.
+     * @param logic the logic handler to receive generated events
+     * @param msg the message (or null for binary data)
+     * @param code the encoded QR Code
+     */
+    public void generateBarcodeLogic(TwoDimBarcodeLogicHandler logic, String msg,
+            QRCode code) {
         ByteMatrix matrix = code.getMatrix();
 
         //finally, paint the barcode
@@ -70,13 +77,69 @@ public class QRLogicImpl implements QRConstants {
         logic.endBarcode();
     }
 
+    /**
+     * Encodes a message.
+     * @param msg the message to encode
+     * @param encoding the message encoding
+     * @param errorCorrectionLevel the error correction level (one of L, M, Q, H)
+     * @return the encoded QR Code
+     */
+    static QRCode encode(String msg, String encoding, char errorCorrectionLevel) {
+        try {
+            return Encoder.encode(msg, getZXingErrorLevel(errorCorrectionLevel),
+                    createHints(encoding));
+        } catch (WriterException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Generates the barcode logic for binary data. The bytes are encoded in byte mode
+     * without an ECI.
+     * @param logic the logic handler to receive generated events
+     * @param data the binary message to encode
+     * @param errorCorrectionLevel the error correction level (one of L, M, Q, H)
+     */
+    public void generateBarcodeLogic(TwoDimBarcodeLogicHandler logic, byte[] data,
+            char errorCorrectionLevel) {
+        generateBarcodeLogic(logic, null, encodeBinary(data, errorCorrectionLevel));
+    }
+
+    /**
+     * Encodes binary data.
+     * @param data the binary message to encode
+     * @param errorCorrectionLevel the error correction level (one of L, M, Q, H)
+     * @return the encoded QR Code
+     */
+    static QRCode encodeBinary(byte[] data, char errorCorrectionLevel) {
+        //ZXing only accepts Strings. Each byte becomes one ISO-8859-1 character which
+        //ZXing's default encoding turns back into the same byte.
+        char[] chars = new char[data.length];
+        for (int i = 0; i < data.length; i++) {
+            chars[i] = (char)(data[i] & 0xff);
+        }
+        return encode(new String(chars), "ISO-8859-1", errorCorrectionLevel);
+    }
+
+    /**
+     * Returns the encoding hints for ZXing. The hints are created once per encoding and
+     * shared as the encoder only reads them.
+     * @param encoding the message encoding
+     * @return the hints (or null for the default encoding ISO-8859-1)
+     */
     static Hashtable createHints(String encoding) {
-        Hashtable hints = null;
-        if (!"ISO-8859-1".equals(encoding)) {
-            hints = new Hashtable();
-            hints.put(EncodeHintType.CHARACTER_SET, encoding);
+        if ("ISO-8859-1".equals(encoding)) {
+            return null;
+        }
+        synchronized (HINTS) {
+            Hashtable hints = (Hashtable)HINTS.get(encoding);
+            if (hints == null) {
+                hints = new Hashtable();
+                hints.put(EncodeHintType.CHARACTER_SET, encoding);
+                HINTS.put(encoding, hints);
+            }
+            return hints;
         }
-        return hints;
     }
 
     static ErrorCorrectionLevel getZXingErrorLevel(char errorCorrectionLevel) {
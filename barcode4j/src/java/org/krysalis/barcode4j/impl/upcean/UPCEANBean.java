@@ -20,7 +20,6 @@ import org.krysalis.barcode4j.ChecksumMode;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
 import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
 import org.krysalis.barcode4j.output.Canvas;
-import org.krysalis.barcode4j.output.CanvasProvider;
 
 /**
  * This is an abstract base class for UPC and EAN barcodes.
@@ -78,17 +77,17 @@ public abstract class UPCEANBean extends AbstractBarcodeBean {
     public abstract UPCEANLogicImpl createLogicImpl();
        
 
-    /**
-     * @see org.krysalis.barcode4j.BarcodeGenerator#generateBarcode(CanvasProvider, String)
-     */
-    public void generateBarcode(CanvasProvider canvas, String msg) {
+    /** {@inheritDoc} */
+    public ClassicBarcodeLogicHandler createCanvasLogicHandler(Canvas canvas) {
+        return new UPCEANCanvasLogicHandler(this, canvas);
+    }
+
+    /** {@inheritDoc} */
+    public void generateBarcodeLogic(ClassicBarcodeLogicHandler handler, String msg) {
         if ((msg == null) || (msg.length() == 0)) {
             throw new NullPointerException("Parameter msg must not be empty");
         }
 
-        ClassicBarcodeLogicHandler handler = new UPCEANCanvasLogicHandler(this, new Canvas(canvas));
-        //handler = new LoggingLogicHandlerProxy(handler);
-
         UPCEANLogicImpl impl = createLogicImpl();
         impl.generateBarcodeLogic(handler, msg);
     }
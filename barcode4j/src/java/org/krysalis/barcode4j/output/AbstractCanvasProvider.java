@@ -15,6 +15,8 @@
  */
 package org.krysalis.barcode4j.output;
 
+import java.awt.geom.AffineTransform;
+
 import org.krysalis.barcode4j.BarcodeDimension;
 import org.krysalis.barcode4j.TextAlignment;
 
@@ -24,13 +26,15 @@ import org.krysalis.barcode4j.TextAlignment;
  * @author Jeremias Maerki
  * @version $Id: AbstractCanvasProvider.java,v 1.4 2008-05-13 13:00:45 jmaerki Exp $
  */
-public abstract class AbstractCanvasProvider implements CanvasProvider {
+public abstract class AbstractCanvasProvider implements BulkCanvasProvider {
 
     /** the cached barcode dimensions */
     protected BarcodeDimension bardim;
 
     /** the barcode orientation (0, 90, 180, 270) */
     private int orientation;
+
+    private double[] orientedRects;
     
     /**
      * Main constructor.
@@ -55,6 +59,98 @@ public abstract class AbstractCanvasProvider implements CanvasProvider {
         return this.orientation;
     }
 
+    /**
+     * Paints a number of filled rectangles. This implementation calls
+     * {@link #deviceFillRect(double, double, double, double)} for each rectangle.
+     * Subclasses may override this method to paint the rectangles more efficiently.
+     * @param rects the rectangles as consecutive groups of four values: x and y
+     *          coordinate of the upper left corner, width and height
+     * @param count the number of rectangles
+     */
+    public void deviceFillRects(double[] rects, int count) {
+        for (int i = 0, c = count * 4; i < c; i += 4) {
+            deviceFillRect(rects[i], rects[i + 1], rects[i + 2], rects[i + 3]);
+        }
+    }
+
+    /**
+     * Returns the transformation which maps the coordinates of the barcode at
+     * orientation 0 to the coordinates of the rotated barcode. The barcode dimensions
+     * have to be established before calling this method.
+     * @return the orientation transformation (an identity transform for orientation 0)
+     */
+    protected AffineTransform getOrientationTransform() {
+        AffineTransform transform = new AffineTransform();
+        switch (this.orientation) {
+        case 90:
+            transform.rotate(-Math.PI / 2);
+            transform.translate(-this.bardim.getWidthPlusQuiet(), 0);
+            break;
+        case 180:
+            transform.rotate(-Math.PI);
+            transform.translate(-this.bardim.getWidthPlusQuiet(),
+                    -this.bardim.getHeightPlusQuiet());
+            break;
+        case 270:
+            transform.rotate(-Math.PI * 1.5);
+            transform.translate(0, -this.bardim.getHeightPlusQuiet());
+            break;
+        default:
+            //nop
+        }
+        return transform;
+    }
+
+    /**
+     * Applies the orientation to a number of rectangles, so they can be painted
+     * without a rotated coordinate system. Since the orientation is a multiple of 90
+     * degrees, the rectangles stay axis-aligned. The barcode dimensions have to be
+     * established before calling this method.
+     * @param rects the rectangles as consecutive groups of four values: x and y
+     *          coordinate of the upper left corner, width and height
+     * @param count the number of rectangles
+     * @return the rotated rectangles in the same format. For orientation 0, this is
+     *          the array passed in, otherwise the array is reused by the next call.
+     */
+    protected double[] orientRects(double[] rects, int count) {
+        if (this.orientation == 0) {
+            return rects;
+        }
+        int c = count * 4;
+        if (this.orientedRects == null || this.orientedRects.length < c) {
+            this.orientedRects = new double[c];
+        }
+        double[] dst = this.orientedRects;
+        double width = this.bardim.getWidthPlusQuiet();
+        double height = this.bardim.getHeightPlusQuiet();
+        for (int i = 0; i < c; i += 4) {
+            double x = rects[i];
+            double y = rects[i + 1];
+            double w = rects[i + 2];
+            double h = rects[i + 3];
+            switch (this.orientation) {
+            case 90:
+                dst[i] = y;
+                dst[i + 1] = width - x - w;
+                dst[i + 2] = h;
+                dst[i + 3] = w;
+                break;
+            case 180:
+                dst[i] = width - x - w;
+                dst[i + 1] = height - y - h;
+                dst[i + 2] = w;
+                dst[i + 3] = h;
+                break;
+            default: //270
+                dst[i] = height - y - h;
+                dst[i + 1] = x;
+                dst[i + 2] = h;
+                dst[i + 3] = w;
+            }
+        }
+        return dst;
+    }
+
     /** {@inheritDoc} */
     public void deviceJustifiedText(String text,
             double x1, double x2, double y1,
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output;
+
+/**
+ * Optional extension of {@link CanvasProvider} for implementations which can paint
+ * a number of rectangles more efficiently in one go. {@link Canvas} only uses the bulk
+ * method if the CanvasProvider implements this interface and otherwise falls back to
+ * {@link CanvasProvider#deviceFillRect(double, double, double, double)}.
+ *
+ * @author agent
+ */
+public interface BulkCanvasProvider extends CanvasProvider {
+
+    /**
+     * Paints a number of filled rectangles in one go.
+     * @param rects the rectangles as consecutive groups of four values: x and y
+     *          coordinate of the upper left corner, width and height
+     * @param count the number of rectangles
+     */
+    void deviceFillRects(double[] rects, int count);
+
+}
@@ -28,14 +28,34 @@ import org.krysalis.barcode4j.TextAlignment;
  */
 public class Canvas {
 
+    /** Number of rectangles collected before they are passed on in buffered mode */
+    private static final int BUFFER_SIZE = 256;
+
     private CanvasProvider canvasImp;
+    private double[] rects;
+    private int rectCount;
 
     /**
      * Main constructor
      * @param canvasImp the canvas provider to use
      */
     public Canvas(CanvasProvider canvasImp) {
+        this(canvasImp, false);
+    }
+
+    /**
+     * Creates a Canvas which optionally collects rectangles and passes them on to
+     * the canvas provider in bulk (see
+     * {@link BulkCanvasProvider}). In buffered mode,
+     * {@link #flush()} has to be called when painting is finished.
+     * @param canvasImp the canvas provider to use
+     * @param buffered true to pass on rectangles in bulk
+     */
+    public Canvas(CanvasProvider canvasImp, boolean buffered) {
         this.canvasImp = canvasImp;
+        if (buffered) {
+            this.rects = new double[BUFFER_SIZE * 4];
+        }
     }
 
     /**
@@ -80,7 +100,47 @@ public class Canvas {
      * @param h the height
      */
     public void drawRectWH(double x, double y, double w, double h) {
-        getCanvasImp().deviceFillRect(x, y, w, h);
+        if (rects == null) {
+            getCanvasImp().deviceFillRect(x, y, w, h);
+        } else {
+            if (rectCount == BUFFER_SIZE) {
+                flush();
+            }
+            int i = rectCount * 4;
+            rects[i] = x;
+            rects[i + 1] = y;
+            rects[i + 2] = w;
+            rects[i + 3] = h;
+            rectCount++;
+        }
+    }
+
+    /**
+     * Passes any buffered rectangles on to the canvas provider.
+     */
+    public void flush() {
+        if (rectCount > 0) {
+            fillRects(getCanvasImp(), rects, rectCount);
+            rectCount = 0;
+        }
+    }
+
+    /**
+     * Paints a number of rectangles on a canvas provider, in one go if it is a
+     * {@link BulkCanvasProvider} and one by one otherwise.
+     * @param canvasImp the canvas provider
+     * @param rects the rectangles as consecutive groups of four values: x and y
+     *          coordinate of the upper left corner, width and height
+     * @param count the number of rectangles
+     */
+    static void fillRects(CanvasProvider canvasImp, double[] rects, int count) {
+        if (canvasImp instanceof BulkCanvasProvider) {
+            ((BulkCanvasProvider)canvasImp).deviceFillRects(rects, count);
+        } else {
+            for (int i = 0, c = count * 4; i < c; i += 4) {
+                canvasImp.deviceFillRect(rects[i], rects[i + 1], rects[i + 2], rects[i + 3]);
+            }
+        }
     }
 
     /**
@@ -141,6 +201,7 @@ public class Canvas {
      */
     public void drawText(String text, double x1, double x2, double y1, 
                 String fontName, double fontSize, TextAlignment textAlign) {
+        flush();
         getCanvasImp().deviceText(text, 
                 x1, x2, y1, 
                 fontName, fontSize, textAlign);
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output;
+
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.TextAlignment;
+
+/**
+ * CanvasProvider which passes all painting calls on to several other CanvasProviders,
+ * so a barcode can be generated in multiple output formats in a single pass. Each
+ * target applies its own orientation.
+ *
+ * @author agent
+ */
+public class TeeCanvasProvider implements BulkCanvasProvider {
+
+    private CanvasProvider[] targets;
+
+    /**
+     * Main constructor.
+     * @param targets the CanvasProviders to paint on (at least one)
+     */
+    public TeeCanvasProvider(CanvasProvider[] targets) {
+        if (targets == null || targets.length == 0) {
+            throw new IllegalArgumentException("At least one target is required");
+        }
+        this.targets = targets;
+    }
+
+    /**
+     * Convenience constructor for two targets.
+     * @param first the first CanvasProvider
+     * @param second the second CanvasProvider
+     */
+    public TeeCanvasProvider(CanvasProvider first, CanvasProvider second) {
+        this(new CanvasProvider[] {first, second});
+    }
+
+    /**
+     * Returns the CanvasProviders this instance paints on.
+     * @return the target CanvasProviders
+     */
+    public CanvasProvider[] getTargets() {
+        return this.targets;
+    }
+
+    /** {@inheritDoc} */
+    public void establishDimensions(BarcodeDimension dim) {
+        for (int i = 0; i < targets.length; i++) {
+            targets[i].establishDimensions(dim);
+        }
+    }
+
+    /** {@inheritDoc} */
+    public BarcodeDimension getDimensions() {
+        return targets[0].getDimensions();
+    }
+
+    /**
+     * Returns the orientation of the first target. Each target applies its own
+     * orientation.
+     * @return the orientation of the first target
+     */
+    public int getOrientation() {
+        return targets[0].getOrientation();
+    }
+
+    /** {@inheritDoc} */
+    public void deviceFillRect(double x, double y, double w, double h) {
+        for (int i = 0; i < targets.length; i++) {
+            targets[i].deviceFillRect(x, y, w, h);
+        }
+    }
+
+    /** {@inheritDoc} */
+    public void deviceFillRects(double[] rects, int count) {
+        for (int i = 0; i < targets.length; i++) {
+            Canvas.fillRects(targets[i], rects, count);
+        }
+    }
+
+    /** {@inheritDoc} */
+    public void deviceJustifiedText(String text, double x1, double x2, double y1,
+                String fontName, double fontSize) {
+        deviceText(text, x1, x2, y1, fontName, fontSize, TextAlignment.TA_JUSTIFY);
+    }
+
+    /** {@inheritDoc} */
+    public void deviceCenteredText(String text, double x1, double x2, double y1,
+                String fontName, double fontSize) {
+        deviceText(text, x1, x2, y1, fontName, fontSize, TextAlignment.TA_CENTER);
+    }
+
+    /** {@inheritDoc} */
+    public void deviceText(String text, double x1, double x2, double y1,
+                String fontName, double fontSize, TextAlignment textAlign) {
+        for (int i = 0; i < targets.length; i++) {
+            targets[i].deviceText(text, x1, x2, y1, fontName, fontSize, textAlign);
+        }
+    }
+
+}
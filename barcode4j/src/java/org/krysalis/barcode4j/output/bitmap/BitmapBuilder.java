@@ -19,6 +19,8 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.MultiPixelPackedSampleModel;
 import java.io.IOException;
 import java.io.OutputStream;
 
@@ -103,6 +105,65 @@ public class BitmapBuilder {
         return g2d;
     }
 
+    /**
+     * Indicates whether an image is a 1-bit black and white image whose pixels can be
+     * accessed directly.
+     * @param image the image
+     * @return true if the image is bilevel
+     */
+    public static boolean isBilevel(BufferedImage image) {
+        return image.getType() == BufferedImage.TYPE_BYTE_BINARY
+            && image.getColorModel().getPixelSize() == 1;
+    }
+
+    /**
+     * Returns the pixels of an image as packed 1-bit rows (1 = black, most
+     * significant bit first, rows padded to full bytes). Images that are not
+     * bilevel are converted with a 50% luminance threshold.
+     * @param image the image
+     * @return the packed rows
+     */
+    public static byte[] getPackedBits(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int bytesPerRow = (width + 7) / 8;
+        byte[] data = new byte[bytesPerRow * height];
+        if (isBilevel(image)) {
+            MultiPixelPackedSampleModel sm
+                    = (MultiPixelPackedSampleModel)image.getSampleModel();
+            DataBufferByte buffer = (DataBufferByte)image.getRaster().getDataBuffer();
+            byte[] src = buffer.getData();
+            int stride = sm.getScanlineStride();
+            int srcOffset = buffer.getOffset() + sm.getOffset(0, 0);
+            //The default palette uses 0 for black
+            boolean invert = (image.getColorModel().getRGB(0) & 0xFFFFFF) == 0;
+            int lastMask = (width % 8 == 0) ? 0xFF : (0xFF << (8 - width % 8)) & 0xFF;
+            for (int row = 0; row < height; row++) {
+                int s = srcOffset + row * stride;
+                int d = row * bytesPerRow;
+                for (int i = 0; i < bytesPerRow; i++) {
+                    data[d + i] = (invert ? (byte)~src[s + i] : src[s + i]);
+                }
+                data[d + bytesPerRow - 1] &= lastMask;
+            }
+        } else {
+            int[] rgb = new int[width];
+            for (int row = 0; row < height; row++) {
+                image.getRGB(0, row, width, 1, rgb, 0, width);
+                int d = row * bytesPerRow;
+                for (int x = 0; x < width; x++) {
+                    int p = rgb[x];
+                    int lum = ((p >> 16 & 0xFF) * 299 + (p >> 8 & 0xFF) * 587
+                            + (p & 0xFF) * 114) / 1000;
+                    if (lum < 128) {
+                        data[d + (x >> 3)] |= 0x80 >> (x & 7);
+                    }
+                }
+            }
+        }
+        return data;
+    }
+
     /**
      * Generates a barcode as bitmap image.
      * @param bargen the BarcodeGenerator to use
@@ -117,6 +178,8 @@ public class BitmapBuilder {
         Graphics2D g2d = prepareGraphics2D(bi, dim, orientation, true);
         Java2DCanvasProvider provider = new Java2DCanvasProvider(g2d, orientation);
         bargen.generateBarcode(provider, msg);
+        provider.finish();
+        g2d.dispose();
         bi.flush();
         return bi;
     }
@@ -40,6 +40,10 @@ public class BitmapCanvasProvider extends AbstractCanvasProvider {
     private boolean antiAlias;
     private BufferedImage image;
     private Java2DCanvasProvider delegate;
+    private boolean analyticAntiAlias = true;
+    private GrayRectRasterizer rasterizer;
+    private boolean rotateImage = true;
+    private BufferedImage unrotatedImage;
 
     /**
      * Creates a new BitmapCanvasProvider. 
@@ -70,12 +74,61 @@ public class BitmapCanvasProvider extends AbstractCanvasProvider {
         this(null, null, resolution, imageType, antiAlias, orientation);
     }
 
+    /**
+     * Controls whether the bars are painted with analytic anti-aliasing instead of using
+     * Java2D. This applies to anti-aliased 8-bit gray images (TYPE_BYTE_GRAY) at
+     * orientation 0 or if the image is rotated (see {@link #setRotateImage(boolean)}).
+     * The pixel coverage of the bar edges is calculated exactly, which is much faster
+     * than Java2D's anti-aliasing. The default is true.
+     * @param enabled true to enable analytic anti-aliasing
+     */
+    public void setAnalyticAntiAlias(boolean enabled) {
+        this.analyticAntiAlias = enabled;
+    }
+
+    /**
+     * Indicates whether analytic anti-aliasing is enabled.
+     * @return true if analytic anti-aliasing is enabled
+     * @see #setAnalyticAntiAlias(boolean)
+     */
+    public boolean isAnalyticAntiAlias() {
+        return this.analyticAntiAlias;
+    }
+
+    /**
+     * Controls how barcodes with an orientation other than 0 are painted. If enabled,
+     * the barcode is painted at orientation 0 into a temporary image which is then
+     * rotated pixel by pixel. This is exact and avoids painting the bars with a rotated
+     * Graphics2D which is slower and produces different edges with anti-aliasing.
+     * Disabling it saves the memory for the temporary image. The default is true.
+     * @param enabled true to rotate the image instead of the Graphics2D
+     */
+    public void setRotateImage(boolean enabled) {
+        this.rotateImage = enabled;
+    }
+
+    /**
+     * Indicates whether images are rotated instead of painting with a rotated Graphics2D.
+     * @return true if images are rotated
+     * @see #setRotateImage(boolean)
+     */
+    public boolean isRotateImage() {
+        return this.rotateImage;
+    }
+
     /**
      * Call this method to finish any pending operations after the 
      * BarcodeGenerator has finished its work.
      * @throws IOException in case of an I/O problem
      */
     public void finish() throws IOException {
+        if (this.delegate != null) {
+            this.delegate.finish();
+            this.delegate.getGraphics2D().dispose();
+            this.delegate = null;
+            this.rasterizer = null;
+        }
+        rotateImage();
         this.image.flush();
         if (this.out != null) {
             final BitmapEncoder encoder = BitmapEncoderRegistry.getInstance(mime);
@@ -88,23 +141,66 @@ public class BitmapCanvasProvider extends AbstractCanvasProvider {
      * @return the image.
      */
     public BufferedImage getBufferedImage() {
+        rotateImage();
         return this.image;
     }
 
+    /**
+     * Transfers the barcode painted at orientation 0 to the final image, if necessary.
+     * Painting has to be completed at this point.
+     */
+    private void rotateImage() {
+        if (this.unrotatedImage != null) {
+            ImageRotator.rotate(this.unrotatedImage, this.image, getOrientation());
+            this.unrotatedImage = null;
+        }
+    }
+
     /** {@inheritDoc} */
     public void establishDimensions(BarcodeDimension dim) {
         super.establishDimensions(dim);
-        this.image = BitmapBuilder.prepareImage(dim, getOrientation(),
+        int orientation = getOrientation();
+        this.image = BitmapBuilder.prepareImage(dim, orientation,
                 this.resolution, this.imageType);
+        BufferedImage target = this.image;
+        this.unrotatedImage = null;
+        if (orientation != 0 && this.rotateImage) {
+            this.unrotatedImage = BitmapBuilder.prepareImage(dim, 0,
+                    this.resolution, this.imageType);
+            target = this.unrotatedImage;
+            orientation = 0;
+        }
         this.delegate = new Java2DCanvasProvider(
-            BitmapBuilder.prepareGraphics2D(this.image, dim, getOrientation(),
-                    this.antiAlias), getOrientation());
+            BitmapBuilder.prepareGraphics2D(target, dim, orientation,
+                    this.antiAlias), orientation);
         this.delegate.establishDimensions(dim);
+        this.rasterizer = null;
+        if (this.antiAlias && this.analyticAntiAlias && orientation == 0
+                && GrayRectRasterizer.isSupported(target)) {
+            this.rasterizer = new GrayRectRasterizer(target,
+                    target.getWidth() / dim.getWidthPlusQuiet(),
+                    target.getHeight() / dim.getHeightPlusQuiet());
+        }
     }
 
     /** {@inheritDoc} */
     public void deviceFillRect(double x, double y, double w, double h) {
-        this.delegate.deviceFillRect(x, y, w, h);
+        if (this.rasterizer != null) {
+            this.rasterizer.fillRect(x, y, w, h);
+        } else {
+            this.delegate.deviceFillRect(x, y, w, h);
+        }
+    }
+
+    /** {@inheritDoc} */
+    public void deviceFillRects(double[] rects, int count) {
+        if (this.rasterizer != null) {
+            for (int i = 0, c = count * 4; i < c; i += 4) {
+                this.rasterizer.fillRect(rects[i], rects[i + 1], rects[i + 2], rects[i + 3]);
+            }
+        } else {
+            this.delegate.deviceFillRects(rects, count);
+        }
     }
 
     /** {@inheritDoc} */
@@ -31,6 +31,8 @@ public class BitmapEncoderRegistry {
     static {
         register(org.krysalis.barcode4j.output.bitmap.ImageIOBitmapEncoder.class.getName(),
                 0, false);
+        register(org.krysalis.barcode4j.output.bitmap.TIFFG4BitmapEncoder.class.getName(),
+                10, false);
     }
 
     /**
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.bitmap;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Encoder for CCITT T.6 (Group 4) compressed bilevel images.
+ *
+ * @author agent
+ */
+public class CCITTG4Encoder {
+
+    private static final String[] WHITE_TERMINATING = {
+        "00110101", "000111", "0111", "1000", "1011", "1100", "1110", "1111",
+        "10011", "10100", "00111", "01000", "001000", "000011", "110100", "110101",
+        "101010", "101011", "0100111", "0001100", "0001000", "0010111", "0000011", "0000100",
+        "0101000", "0101011", "0010011", "0100100", "0011000", "00000010", "00000011",
+        "00011010", "00011011", "00010010", "00010011", "00010100", "00010101", "00010110",
+        "00010111", "00101000", "00101001", "00101010", "00101011", "00101100", "00101101",
+        "00000100", "00000101", "00001010", "00001011", "01010010", "01010011", "01010100",
+        "01010101", "00100100", "00100101", "01011000", "01011001", "01011010", "01011011",
+        "01001010", "01001011", "00110010", "00110011", "00110100"};
+
+    private static final String[] WHITE_MAKEUP = { //64 to 1728
+        "11011", "10010", "010111", "0110111", "00110110", "00110111", "01100100",
+        "01100101", "01101000", "01100111", "011001100", "011001101", "011010010",
+        "011010011", "011010100", "011010101", "011010110", "011010111", "011011000",
+        "011011001", "011011010", "011011011", "010011000", "010011001", "010011010",
+        "011000", "010011011"};
+
+    private static final String[] BLACK_TERMINATING = {
+        "0000110111", "010", "11", "10", "011", "0011", "0010", "00011",
+        "000101", "000100", "0000100", "0000101", "0000111", "00000100", "00000111",
+        "000011000", "0000010111", "0000011000", "0000001000", "00001100111",
+        "00001101000", "00001101100", "00000110111", "00000101000", "00000010111",
+        "00000011000", "000011001010", "000011001011", "000011001100", "000011001101",
+        "000001101000", "000001101001", "000001101010", "000001101011", "000011010010",
+        "000011010011", "000011010100", "000011010101", "000011010110", "000011010111",
+        "000001101100", "000001101101", "000011011010", "000011011011", "000001010100",
+        "000001010101", "000001010110", "000001010111", "000001100100", "000001100101",
+        "000001010010", "000001010011", "000000100100", "000000110111", "000000111000",
+        "000000100111", "000000101000", "000001011000", "000001011001", "000000101011",
+        "000000101100", "000001011010", "000001100110", "000001100111"};
+
+    private static final String[] BLACK_MAKEUP = { //64 to 1728
+        "0000001111", "000011001000", "000011001001", "000001011011", "000000110011",
+        "000000110100", "000000110101", "0000001101100", "0000001101101", "0000001001010",
+        "0000001001011", "0000001001100", "0000001001101", "0000001110010", "0000001110011",
+        "0000001110100", "0000001110101", "0000001110110", "0000001110111", "0000001010010",
+        "0000001010011", "0000001010100", "0000001010101", "0000001011010", "0000001011011",
+        "0000001100100", "0000001100101"};
+
+    private static final String[] EXTENDED_MAKEUP = { //1792 to 2560, both colors
+        "00000001000", "00000001100", "00000001101", "000000010010", "000000010011",
+        "000000010100", "000000010101", "000000010110", "000000010111", "000000011100",
+        "000000011101", "000000011110", "000000011111"};
+
+    /** Vertical mode codes for a1 - b1 = -3 to 3 */
+    private static final String[] VERTICAL = {
+        "0000010", "000010", "010", "1", "011", "000011", "0000011"};
+
+    private static final String PASS = "0001";
+    private static final String HORIZONTAL = "001";
+    private static final String EOL = "000000000001";
+
+    //Codes are stored as (length << 24 | bits)
+    private static final int[] WHITE_TERM_CODES = toCodes(WHITE_TERMINATING);
+    private static final int[] WHITE_MAKEUP_CODES = toCodes(WHITE_MAKEUP);
+    private static final int[] BLACK_TERM_CODES = toCodes(BLACK_TERMINATING);
+    private static final int[] BLACK_MAKEUP_CODES = toCodes(BLACK_MAKEUP);
+    private static final int[] EXTENDED_MAKEUP_CODES = toCodes(EXTENDED_MAKEUP);
+    private static final int[] VERTICAL_CODES = toCodes(VERTICAL);
+    private static final int PASS_CODE = toCode(PASS);
+    private static final int HORIZONTAL_CODE = toCode(HORIZONTAL);
+    private static final int EOL_CODE = toCode(EOL);
+
+    private ByteArrayOutputStream out;
+    private int bitBuffer;
+    private int bitCount;
+
+    private static int toCode(String bits) {
+        return (bits.length() << 24) | Integer.parseInt(bits, 2);
+    }
+
+    private static int[] toCodes(String[] bits) {
+        int[] codes = new int[bits.length];
+        for (int i = 0; i < bits.length; i++) {
+            codes[i] = toCode(bits[i]);
+        }
+        return codes;
+    }
+
+    /**
+     * Creates an encoder instance for a single image.
+     * @param capacity the initial capacity of the output buffer
+     */
+    private CCITTG4Encoder(int capacity) {
+        this.out = new ByteArrayOutputStream(capacity);
+    }
+
+    /**
+     * Compresses a bilevel image using CCITT T.6 (Group 4) encoding.
+     * @param data the packed image rows (1 = black, most significant bit first)
+     * @param bytesPerRow the number of bytes per row
+     * @param width the image width in pixels
+     * @param height the image height in pixels
+     * @return the compressed data
+     */
+    public static byte[] encode(byte[] data, int bytesPerRow, int width, int height) {
+        CCITTG4Encoder encoder = new CCITTG4Encoder(data.length / 8 + 16);
+        byte[] white = new byte[bytesPerRow];
+        int refOffset = -1;
+        for (int row = 0; row < height; row++) {
+            int offset = row * bytesPerRow;
+            if (refOffset < 0) {
+                encoder.encodeRow(data, offset, white, 0, width);
+            } else {
+                encoder.encodeRow(data, offset, data, refOffset, width);
+            }
+            refOffset = offset;
+        }
+        //EOFB
+        encoder.putCode(EOL_CODE);
+        encoder.putCode(EOL_CODE);
+        encoder.flushBits();
+        return encoder.out.toByteArray();
+    }
+
+    private static int pixel(byte[] line, int offset, int x) {
+        return (line[offset + (x >> 3)] >> (7 - (x & 7))) & 1;
+    }
+
+    /**
+     * Returns the first position at or after start whose pixel differs from the given color.
+     */
+    private static int findDiff(byte[] line, int offset, int start, int width, int color) {
+        int x = start;
+        while (x < width) {
+            if ((x & 7) == 0 && x + 8 <= width) {
+                int b = line[offset + (x >> 3)] & 0xFF;
+                if ((color == 0 && b == 0) || (color == 1 && b == 0xFF)) {
+                    x += 8;
+                    continue;
+                }
+            }
+            if (pixel(line, offset, x) != color) {
+                return x;
+            }
+            x++;
+        }
+        return width;
+    }
+
+    private static int findDiff2(byte[] line, int offset, int start, int width, int color) {
+        return (start < width ? findDiff(line, offset, start, width, color) : width);
+    }
+
+    private void encodeRow(byte[] line, int offset, byte[] ref, int refOffset, int width) {
+        int a0 = 0;
+        int a1 = (pixel(line, offset, 0) != 0 ? 0 : findDiff(line, offset, 0, width, 0));
+        int b1 = (pixel(ref, refOffset, 0) != 0 ? 0 : findDiff(ref, refOffset, 0, width, 0));
+        while (true) {
+            int b2 = findDiff2(ref, refOffset, b1, width,
+                    b1 < width ? pixel(ref, refOffset, b1) : 0);
+            if (b2 >= a1) {
+                int d = b1 - a1;
+                if (d < -3 || d > 3) {
+                    //Horizontal mode
+                    int a2 = findDiff2(line, offset, a1, width,
+                            a1 < width ? pixel(line, offset, a1) : 0);
+                    putCode(HORIZONTAL_CODE);
+                    if (a0 + a1 == 0 || pixel(line, offset, a0) == 0) {
+                        putSpan(a1 - a0, WHITE_TERM_CODES, WHITE_MAKEUP_CODES);
+                        putSpan(a2 - a1, BLACK_TERM_CODES, BLACK_MAKEUP_CODES);
+                    } else {
+                        putSpan(a1 - a0, BLACK_TERM_CODES, BLACK_MAKEUP_CODES);
+                        putSpan(a2 - a1, WHITE_TERM_CODES, WHITE_MAKEUP_CODES);
+                    }
+                    a0 = a2;
+                } else {
+                    //Vertical mode
+                    putCode(VERTICAL_CODES[3 - d]);
+                    a0 = a1;
+                }
+            } else {
+                //Pass mode
+                putCode(PASS_CODE);
+                a0 = b2;
+            }
+            if (a0 >= width) {
+                break;
+            }
+            int color = pixel(line, offset, a0);
+            a1 = findDiff(line, offset, a0, width, color);
+            b1 = findDiff(ref, refOffset, a0, width, 1 - color);
+            b1 = findDiff(ref, refOffset, b1, width, color);
+        }
+    }
+
+    private void putSpan(int span, int[] termCodes, int[] makeupCodes) {
+        while (span >= 2624) {
+            putCode(EXTENDED_MAKEUP_CODES[EXTENDED_MAKEUP_CODES.length - 1]);
+            span -= 2560;
+        }
+        if (span >= 64) {
+            int makeup = span >> 6;
+            if (makeup > 27) {
+                putCode(EXTENDED_MAKEUP_CODES[makeup - 28]);
+            } else {
+                putCode(makeupCodes[makeup - 1]);
+            }
+            span -= makeup << 6;
+        }
+        putCode(termCodes[span]);
+    }
+
+    private void putCode(int code) {
+        int len = code >>> 24;
+        int bits = code & 0xFFFFFF;
+        for (int i = len - 1; i >= 0; i--) {
+            bitBuffer = (bitBuffer << 1) | ((bits >> i) & 1);
+            bitCount++;
+            if (bitCount == 8) {
+                out.write(bitBuffer);
+                bitBuffer = 0;
+                bitCount = 0;
+            }
+        }
+    }
+
+    private void flushBits() {
+        if (bitCount > 0) {
+            out.write(bitBuffer << (8 - bitCount));
+            bitBuffer = 0;
+            bitCount = 0;
+        }
+    }
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.bitmap;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+
+import org.krysalis.barcode4j.BarcodeDimension;
+
+/**
+ * Rotates images by multiples of 90 degrees by copying the pixels. This is exact (no
+ * resampling takes place) and a lot faster than painting with a rotated Graphics2D.
+ * Rotations by 90 and 270 degrees are transposes which are done in square blocks so
+ * source and destination stay in the CPU caches.
+ * <p>
+ * The rotation is counter-clockwise like the barcode orientation, i.e. a pixel at (x, y)
+ * is moved to (y, width - 1 - x) for 90 degrees.
+ *
+ * @author agent
+ */
+class ImageRotator {
+
+    private static final int BLOCK = 32;
+
+    /**
+     * Utility class: Constructor prevents instantiating when subclassed.
+     */
+    protected ImageRotator() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Rotates an image into another image of the same type.
+     * @param src the source image
+     * @param dst the destination image (its width and height must match the rotated
+     *          source image)
+     * @param orientation the rotation (0, 90, 180, 270)
+     */
+    public static void rotate(BufferedImage src, BufferedImage dst, int orientation) {
+        orientation = BarcodeDimension.normalizeOrientation(orientation);
+        int w = src.getWidth();
+        int h = src.getHeight();
+        boolean transpose = (orientation % 180 != 0);
+        if (dst.getWidth() != (transpose ? h : w) || dst.getHeight() != (transpose ? w : h)) {
+            throw new IllegalArgumentException("Destination image has the wrong size");
+        }
+        if (src.getType() != dst.getType()) {
+            throw new IllegalArgumentException("Source and destination image types differ");
+        }
+        Raster srcRaster = src.getRaster();
+        WritableRaster dstRaster = dst.getRaster();
+        if (orientation == 0) {
+            dstRaster.setRect(srcRaster);
+        } else if (isGrayBytes(srcRaster) && isGrayBytes(dstRaster)) {
+            rotate(((DataBufferByte)srcRaster.getDataBuffer()).getData(),
+                    getOffset(srcRaster), getScanline(srcRaster),
+                    ((DataBufferByte)dstRaster.getDataBuffer()).getData(),
+                    getOffset(dstRaster), getScanline(dstRaster),
+                    w, h, orientation);
+        } else if (isPackedInts(srcRaster) && isPackedInts(dstRaster)) {
+            rotate(((DataBufferInt)srcRaster.getDataBuffer()).getData(),
+                    getOffset(srcRaster), getScanline(srcRaster),
+                    ((DataBufferInt)dstRaster.getDataBuffer()).getData(),
+                    getOffset(dstRaster), getScanline(dstRaster),
+                    w, h, orientation);
+        } else if (srcRaster.getNumBands() == 1) {
+            //Bilevel and other single-band images: rotate the unpacked samples
+            int[] samples = srcRaster.getSamples(0, 0, w, h, 0, (int[])null);
+            int[] rotated = new int[samples.length];
+            int dw = dst.getWidth();
+            rotate(samples, 0, w, rotated, 0, dw, w, h, orientation);
+            dstRaster.setSamples(0, 0, dw, dst.getHeight(), 0, rotated);
+        } else {
+            Object pixel = null;
+            for (int y = 0; y < h; y++) {
+                for (int x = 0; x < w; x++) {
+                    pixel = srcRaster.getDataElements(x, y, pixel);
+                    switch (orientation) {
+                    case 90:
+                        dstRaster.setDataElements(y, w - 1 - x, pixel);
+                        break;
+                    case 180:
+                        dstRaster.setDataElements(w - 1 - x, h - 1 - y, pixel);
+                        break;
+                    default:
+                        dstRaster.setDataElements(h - 1 - y, x, pixel);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isGrayBytes(Raster raster) {
+        SampleModel sm = raster.getSampleModel();
+        return raster.getDataBuffer() instanceof DataBufferByte
+            && raster.getDataBuffer().getNumBanks() == 1
+            && sm instanceof ComponentSampleModel
+            && sm.getNumBands() == 1
+            && ((ComponentSampleModel)sm).getPixelStride() == 1;
+    }
+
+    private static boolean isPackedInts(Raster raster) {
+        return raster.getDataBuffer() instanceof DataBufferInt
+            && raster.getDataBuffer().getNumBanks() == 1
+            && raster.getSampleModel() instanceof SinglePixelPackedSampleModel;
+    }
+
+    private static int getScanline(Raster raster) {
+        SampleModel sm = raster.getSampleModel();
+        if (sm instanceof ComponentSampleModel) {
+            return ((ComponentSampleModel)sm).getScanlineStride();
+        } else {
+            return ((SinglePixelPackedSampleModel)sm).getScanlineStride();
+        }
+    }
+
+    private static int getOffset(Raster raster) {
+        SampleModel sm = raster.getSampleModel();
+        int x = -raster.getSampleModelTranslateX();
+        int y = -raster.getSampleModelTranslateY();
+        int offset = raster.getDataBuffer().getOffset();
+        if (sm instanceof ComponentSampleModel) {
+            return offset + ((ComponentSampleModel)sm).getOffset(x, y);
+        } else {
+            return offset + ((SinglePixelPackedSampleModel)sm).getOffset(x, y);
+        }
+    }
+
+    /**
+     * Calculates where the first source pixel and the following pixels of a row and of
+     * a column end up in the destination.
+     * @return the destination index of source pixel (0, 0), the index increment per
+     *          source column and the index increment per source row
+     */
+    private static int[] getSteps(int dstOffset, int dstScanline, int w, int h,
+                int orientation) {
+        switch (orientation) {
+        case 90:
+            return new int[] {dstOffset + (w - 1) * dstScanline, -dstScanline, 1};
+        case 180:
+            return new int[] {dstOffset + (h - 1) * dstScanline + w - 1, -1, -dstScanline};
+        default:
+            return new int[] {dstOffset + h - 1, dstScanline, -1};
+        }
+    }
+
+    private static void rotate(byte[] src, int srcOffset, int srcScanline,
+                byte[] dst, int dstOffset, int dstScanline, int w, int h, int orientation) {
+        int[] steps = getSteps(dstOffset, dstScanline, w, h, orientation);
+        int stepX = steps[1];
+        int stepY = steps[2];
+        for (int by = 0; by < h; by += BLOCK) {
+            int ey = Math.min(by + BLOCK, h);
+            for (int bx = 0; bx < w; bx += BLOCK) {
+                int ex = Math.min(bx + BLOCK, w);
+                for (int y = by; y < ey; y++) {
+                    int s = srcOffset + y * srcScanline + bx;
+                    int d = steps[0] + bx * stepX + y * stepY;
+                    for (int x = bx; x < ex; x++) {
+                        dst[d] = src[s++];
+                        d += stepX;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void rotate(int[] src, int srcOffset, int srcScanline,
+                int[] dst, int dstOffset, int dstScanline, int w, int h, int orientation) {
+        int[] steps = getSteps(dstOffset, dstScanline, w, h, orientation);
+        int stepX = steps[1];
+        int stepY = steps[2];
+        for (int by = 0; by < h; by += BLOCK) {
+            int ey = Math.min(by + BLOCK, h);
+            for (int bx = 0; bx < w; bx += BLOCK) {
+                int ex = Math.min(bx + BLOCK, w);
+                for (int y = by; y < ey; y++) {
+                    int s = srcOffset + y * srcScanline + bx;
+                    int d = steps[0] + bx * stepX + y * stepY;
+                    for (int x = bx; x < ex; x++) {
+                        dst[d] = src[s++];
+                        d += stepX;
+                    }
+                }
+            }
+        }
+    }
+
+}
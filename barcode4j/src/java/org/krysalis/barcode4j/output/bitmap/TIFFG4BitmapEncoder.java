@@ -0,0 +1,223 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.bitmap;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.krysalis.barcode4j.tools.MimeTypes;
+
+/**
+ * BitmapEncoder implementation writing TIFF files with CCITT Group 4 compression.
+ * It doesn't depend on a TIFF codec being available in ImageIO.
+ * <p>
+ * Only bilevel images are written with Group 4 compression. Other images (for
+ * example anti-aliased grayscale images) are passed on to ImageIO if it can write
+ * TIFF files, otherwise they are converted to black and white.
+ *
+ * @author agent
+ */
+public class TIFFG4BitmapEncoder implements BitmapEncoder {
+
+    private static final int TAG_NEW_SUBFILE_TYPE = 254;
+    private static final int TAG_IMAGE_WIDTH = 256;
+    private static final int TAG_IMAGE_LENGTH = 257;
+    private static final int TAG_BITS_PER_SAMPLE = 258;
+    private static final int TAG_COMPRESSION = 259;
+    private static final int TAG_PHOTOMETRIC = 262;
+    private static final int TAG_STRIP_OFFSETS = 273;
+    private static final int TAG_SAMPLES_PER_PIXEL = 277;
+    private static final int TAG_ROWS_PER_STRIP = 278;
+    private static final int TAG_STRIP_BYTE_COUNTS = 279;
+    private static final int TAG_X_RESOLUTION = 282;
+    private static final int TAG_Y_RESOLUTION = 283;
+    private static final int TAG_RESOLUTION_UNIT = 296;
+    private static final int TAG_PAGE_NUMBER = 297;
+    private static final int TAG_SOFTWARE = 305;
+
+    private static final int TYPE_ASCII = 2;
+    private static final int TYPE_SHORT = 3;
+    private static final int TYPE_LONG = 4;
+    private static final int TYPE_RATIONAL = 5;
+
+    private static final int COMPRESSION_CCITT_T6 = 4;
+    private static final byte[] SOFTWARE = {'B', 'a', 'r', 'c', 'o', 'd', 'e', '4', 'J', 0};
+
+    /** {@inheritDoc} */
+    public String[] getSupportedMIMETypes() {
+        return new String[] {MimeTypes.MIME_TIFF};
+    }
+
+    /** {@inheritDoc} */
+    public void encode(BufferedImage image, OutputStream out,
+                String mime, int resolution) throws IOException {
+        if (!BitmapBuilder.isBilevel(image)) {
+            BitmapEncoder imageIO = getImageIOEncoder();
+            if (imageIO != null) {
+                imageIO.encode(image, out, mime, resolution);
+                return;
+            }
+        }
+        encode(new BufferedImage[] {image}, out, resolution);
+    }
+
+    /**
+     * Writes one or more images as a (multi-page) TIFF file with Group 4 compression.
+     * Images that are not bilevel are converted to black and white.
+     * @param images the images to write, one per page
+     * @param out the OutputStream to write the TIFF file to
+     * @param resolution the resolution in dpi of the images
+     * @throws IOException in case of an I/O problem
+     */
+    public void encode(BufferedImage[] images, OutputStream out, int resolution)
+                throws IOException {
+        byte[][] pages = new byte[images.length][];
+        int[] widths = new int[images.length];
+        int[] heights = new int[images.length];
+        for (int i = 0; i < images.length; i++) {
+            widths[i] = images[i].getWidth();
+            heights[i] = images[i].getHeight();
+            pages[i] = CCITTG4Encoder.encode(BitmapBuilder.getPackedBits(images[i]),
+                    (widths[i] + 7) / 8, widths[i], heights[i]);
+        }
+        writeTIFF(pages, widths, heights, resolution, out);
+    }
+
+    private BitmapEncoder getImageIOEncoder() {
+        try {
+            BitmapEncoder encoder = new ImageIOBitmapEncoder();
+            if (BitmapEncoderRegistry.supports(encoder, MimeTypes.MIME_TIFF)) {
+                return encoder;
+            }
+        } catch (ClassNotFoundException cnfe) {
+            //ImageIO not available
+        } catch (LinkageError le) {
+            //ImageIO not available
+        }
+        return null;
+    }
+
+    private void writeTIFF(byte[][] pages, int[] widths, int[] heights, int resolution,
+                OutputStream out) throws IOException {
+        boolean multiPage = pages.length > 1;
+        int entryCount = (multiPage ? 15 : 13);
+        int ifdSize = 2 + entryCount * 12 + 4;
+        int extraSize = 8 + 8 + SOFTWARE.length; //two rationals and the software string
+
+        TIFFOutput tiff = new TIFFOutput(out);
+        //Header: little endian, first IFD follows the first image's data
+        tiff.writeShort(0x4949);
+        tiff.writeShort(42);
+        long pos = 8;
+        tiff.writeLong(pos + pad(pages[0].length));
+        for (int i = 0; i < pages.length; i++) {
+            long dataOffset = pos;
+            tiff.write(pages[i]);
+            if (pages[i].length % 2 != 0) {
+                tiff.write(new byte[1]);
+            }
+            long ifdOffset = dataOffset + pad(pages[i].length);
+            long extraOffset = ifdOffset + ifdSize;
+            pos = extraOffset + pad(extraSize);
+            long nextIFD = 0;
+            if (i < pages.length - 1) {
+                nextIFD = pos + pad(pages[i + 1].length);
+            }
+
+            tiff.writeShort(entryCount);
+            if (multiPage) {
+                tiff.writeEntry(TAG_NEW_SUBFILE_TYPE, TYPE_LONG, 1, 2); //page of multi-page
+            }
+            tiff.writeEntry(TAG_IMAGE_WIDTH, TYPE_LONG, 1, widths[i]);
+            tiff.writeEntry(TAG_IMAGE_LENGTH, TYPE_LONG, 1, heights[i]);
+            tiff.writeEntry(TAG_BITS_PER_SAMPLE, TYPE_SHORT, 1, 1);
+            tiff.writeEntry(TAG_COMPRESSION, TYPE_SHORT, 1, COMPRESSION_CCITT_T6);
+            tiff.writeEntry(TAG_PHOTOMETRIC, TYPE_SHORT, 1, 0); //WhiteIsZero
+            tiff.writeEntry(TAG_STRIP_OFFSETS, TYPE_LONG, 1, dataOffset);
+            tiff.writeEntry(TAG_SAMPLES_PER_PIXEL, TYPE_SHORT, 1, 1);
+            tiff.writeEntry(TAG_ROWS_PER_STRIP, TYPE_LONG, 1, heights[i]);
+            tiff.writeEntry(TAG_STRIP_BYTE_COUNTS, TYPE_LONG, 1, pages[i].length);
+            tiff.writeEntry(TAG_X_RESOLUTION, TYPE_RATIONAL, 1, extraOffset);
+            tiff.writeEntry(TAG_Y_RESOLUTION, TYPE_RATIONAL, 1, extraOffset + 8);
+            tiff.writeEntry(TAG_RESOLUTION_UNIT, TYPE_SHORT, 1, 2); //inch
+            if (multiPage) {
+                tiff.writeShortPairEntry(TAG_PAGE_NUMBER, i, pages.length);
+            }
+            tiff.writeEntry(TAG_SOFTWARE, TYPE_ASCII, SOFTWARE.length, extraOffset + 16);
+            tiff.writeLong(nextIFD);
+
+            tiff.writeLong(resolution);
+            tiff.writeLong(1);
+            tiff.writeLong(resolution);
+            tiff.writeLong(1);
+            tiff.write(SOFTWARE);
+            if (extraSize % 2 != 0) {
+                tiff.write(new byte[1]);
+            }
+        }
+        out.flush();
+    }
+
+    private static long pad(int length) {
+        return length + (length % 2);
+    }
+
+    /** Little-endian output helper for TIFF structures. */
+    private static class TIFFOutput {
+
+        private OutputStream out;
+
+        public TIFFOutput(OutputStream out) {
+            this.out = out;
+        }
+
+        public void write(byte[] data) throws IOException {
+            out.write(data);
+        }
+
+        public void writeShort(int value) throws IOException {
+            out.write(value & 0xFF);
+            out.write((value >> 8) & 0xFF);
+        }
+
+        public void writeLong(long value) throws IOException {
+            writeShort((int)(value & 0xFFFF));
+            writeShort((int)((value >> 16) & 0xFFFF));
+        }
+
+        public void writeEntry(int tag, int type, int count, long value) throws IOException {
+            writeShort(tag);
+            writeShort(type);
+            writeLong(count);
+            if (type == TYPE_SHORT && count == 1) {
+                writeShort((int)value);
+                writeShort(0);
+            } else {
+                writeLong(value);
+            }
+        }
+
+        public void writeShortPairEntry(int tag, int first, int second) throws IOException {
+            writeShort(tag);
+            writeShort(TYPE_SHORT);
+            writeLong(2);
+            writeShort(first);
+            writeShort(second);
+        }
+    }
+
+}
@@ -15,6 +15,8 @@
  */
 package org.krysalis.barcode4j.output.eps;
 
+import java.awt.Shape;
+import java.awt.geom.PathIterator;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
@@ -25,6 +27,7 @@ import java.text.SimpleDateFormat;
 
 import org.krysalis.barcode4j.BarcodeDimension;
 import org.krysalis.barcode4j.TextAlignment;
+import org.krysalis.barcode4j.fonts.OutlineFont;
 import org.krysalis.barcode4j.output.AbstractCanvasProvider;
 import org.krysalis.barcode4j.tools.UnitConv;
 
@@ -39,6 +42,8 @@ public class EPSCanvasProvider extends AbstractCanvasProvider {
     private DecimalFormat df;
     private IOException firstError;
     private double height;
+    private double barcodeHeight;
+    private String textTransform;
 
     /**
      * Main constructor.
@@ -81,6 +86,10 @@ public class EPSCanvasProvider extends AbstractCanvasProvider {
         return formatmm(x) + " "  + formatmm(this.height - y);
     }
 
+    private String formatTextmm(double x, double y) {
+        return formatmm(x) + " "  + formatmm(this.barcodeHeight - y);
+    }
+
     private void writeHeader(double width, double height) throws IOException {
         writer.write("%!PS-Adobe-3.0 EPSF-3.0\n");
         double widthpt = UnitConv.mm2pt(width);
@@ -97,7 +106,7 @@ public class EPSCanvasProvider extends AbstractCanvasProvider {
         writer.write("%%LanguageLevel: 1\n");
         writer.write("%%EndComments\n");
         writer.write("%%BeginProlog\n");
-        writer.write("%%BeginProcSet: barcode4j-procset 1.1\n");
+        writer.write("%%BeginProcSet: barcode4j-procset 1.2\n");
         writer.write("/rf {\n"); //rect fill: x y w h rf
         writer.write("newpath\n");
         writer.write("4 -2 roll moveto\n");
@@ -107,6 +116,14 @@ public class EPSCanvasProvider extends AbstractCanvasProvider {
         writer.write("closepath fill\n");
         writer.write("} def\n");
 
+        writer.write("/rp {\n"); //rect path (without filling): x y w h rp
+        writer.write("4 -2 roll moveto\n");
+        writer.write("dup neg 0 exch rlineto\n");
+        writer.write("exch 0 rlineto\n");
+        writer.write("0 neg exch rlineto\n");
+        writer.write("closepath\n");
+        writer.write("} def\n");
+
         writer.write("/ct {\n"); //centered text: (text) middle-x y ct
         writer.write("moveto dup stringwidth\n");
         writer.write("2 div neg exch 2 div neg exch\n");
@@ -166,25 +183,28 @@ public class EPSCanvasProvider extends AbstractCanvasProvider {
         if (firstError != null) {
             return;
         }
-        this.height = dim.getHeightPlusQuiet();
+        this.height = dim.getHeightPlusQuiet(orientation);
+        this.barcodeHeight = dim.getHeightPlusQuiet();
+        //The bars are painted with pre-rotated coordinates. Only the text is painted
+        //in a rotated coordinate system.
+        String w = formatmm(dim.getWidthPlusQuiet());
+        String h = formatmm(dim.getHeightPlusQuiet());
+        switch (orientation) {
+        case 90:
+            this.textTransform = "90 rotate 0" + " -" + h + " translate\n";
+            break;
+        case 180:
+            this.textTransform = "180 rotate -" + w + " -" + h + " translate\n";
+            break;
+        case 270:
+            this.textTransform = "270 rotate -" + w + " 0 translate\n";
+            break;
+        default:
+            this.textTransform = null;
+        }
         try {
             writeHeader(dim.getWidthPlusQuiet(orientation),
                     dim.getHeightPlusQuiet(orientation));
-            String w = formatmm(dim.getWidthPlusQuiet());
-            String h = formatmm(dim.getHeightPlusQuiet());
-            switch (orientation) {
-            case 90:
-                writer.write("90 rotate 0" + " -" + h + " translate\n");
-                break;
-            case 180:
-                writer.write("180 rotate -" + w + " -" + h + " translate\n");
-                break;
-            case 270:
-                writer.write("270 rotate -" + w + " 0 translate\n");
-                break;
-            default:
-                //nop
-            }
         } catch (IOException ioe) {
             firstError = ioe;
         }
@@ -195,6 +215,13 @@ public class EPSCanvasProvider extends AbstractCanvasProvider {
         if (firstError != null) {
             return;
         }
+        if (getOrientation() != 0) {
+            double[] rect = orientRects(new double[] {x, y, w, h}, 1);
+            x = rect[0];
+            y = rect[1];
+            w = rect[2];
+            h = rect[3];
+        }
         try {
             writer.write(formatmm(x, y) + " "
                        + formatmm(w) + " " + formatmm(h) + " rf\n");
@@ -203,6 +230,30 @@ public class EPSCanvasProvider extends AbstractCanvasProvider {
         }
     }
 
+    /**
+     * Paints the rectangles as a single path with a single fill operation.
+     * {@inheritDoc}
+     */
+    public void deviceFillRects(double[] rects, int count) {
+        if (firstError != null) {
+            return;
+        }
+        rects = orientRects(rects, count);
+        try {
+            StringBuffer sb = new StringBuffer(count * 32);
+            sb.append("newpath\n");
+            for (int i = 0, c = count * 4; i < c; i += 4) {
+                sb.append(formatmm(rects[i], rects[i + 1])).append(' ');
+                sb.append(formatmm(rects[i + 2])).append(' ');
+                sb.append(formatmm(rects[i + 3])).append(" rp\n");
+            }
+            sb.append("fill\n");
+            writer.write(sb.toString());
+        } catch (IOException ioe) {
+            firstError = ioe;
+        }
+    }
+
     /** {@inheritDoc} */
     public void deviceText(
                 String text,
@@ -215,31 +266,98 @@ public class EPSCanvasProvider extends AbstractCanvasProvider {
         if (firstError != null) {
             return;
         }
+        OutlineFont outlineFont = OutlineFont.getInstance(fontName);
+        if (outlineFont != null) {
+            try {
+                writePath(getOrientationTransform().createTransformedShape(
+                        outlineFont.createTextOutline(text, x1, x2, y1, fontSize, textAlign)));
+                writer.write("fill\n");
+            } catch (IOException ioe) {
+                firstError = ioe;
+            }
+            return;
+        }
         checkFontName(fontName);
         try {
+            if (this.textTransform != null) {
+                writer.write("gsave\n" + this.textTransform);
+            }
             writer.write("/" + fontName + " findfont "
                     + UnitConv.mm2pt(fontSize) + " scalefont setfont\n");
             if (textAlign == TextAlignment.TA_LEFT) {
-                writer.write(formatmm(x1, y1) + " moveto (" + text + ") show\n");
+                writer.write(formatTextmm(x1, y1) + " moveto (" + text + ") show\n");
             } else if (textAlign == TextAlignment.TA_RIGHT) {
                 writer.write("(" + text + ") "
                         + formatmm(x1) + " "
                         + formatmm(x2) + " "
-                        + formatmm(this.height - y1) + " rt\n");
+                        + formatmm(this.barcodeHeight - y1) + " rt\n");
             } else if (textAlign == TextAlignment.TA_CENTER) {
                 writer.write("(" + text + ") "
-                        + formatmm((x1 + x2) / 2, y1) + " ct\n");
+                        + formatTextmm((x1 + x2) / 2, y1) + " ct\n");
             } else if (textAlign == TextAlignment.TA_JUSTIFY) {
                 writer.write("(" + text + ") "
                         + formatmm(x1) + " "
                         + formatmm(x2) + " "
-                        + formatmm(this.height - y1) + " jt\n");
+                        + formatmm(this.barcodeHeight - y1) + " jt\n");
+            }
+            if (this.textTransform != null) {
+                writer.write("grestore\n");
             }
         } catch (IOException ioe) {
             firstError = ioe;
         }
     }
 
+    private void writePath(Shape shape) throws IOException {
+        StringBuffer sb = new StringBuffer();
+        sb.append("newpath\n");
+        double[] coords = new double[6];
+        double lastX = 0;
+        double lastY = 0;
+        double startX = 0;
+        double startY = 0;
+        PathIterator iter = shape.getPathIterator(null);
+        while (!iter.isDone()) {
+            switch (iter.currentSegment(coords)) {
+            case PathIterator.SEG_MOVETO:
+                sb.append(formatmm(coords[0], coords[1])).append(" moveto\n");
+                lastX = coords[0];
+                lastY = coords[1];
+                startX = lastX;
+                startY = lastY;
+                break;
+            case PathIterator.SEG_LINETO:
+                sb.append(formatmm(coords[0], coords[1])).append(" lineto\n");
+                lastX = coords[0];
+                lastY = coords[1];
+                break;
+            case PathIterator.SEG_QUADTO:
+                //PostScript only knows cubic curves
+                sb.append(formatmm(lastX + 2 * (coords[0] - lastX) / 3,
+                        lastY + 2 * (coords[1] - lastY) / 3)).append(' ');
+                sb.append(formatmm(coords[2] + 2 * (coords[0] - coords[2]) / 3,
+                        coords[3] + 2 * (coords[1] - coords[3]) / 3)).append(' ');
+                sb.append(formatmm(coords[2], coords[3])).append(" curveto\n");
+                lastX = coords[2];
+                lastY = coords[3];
+                break;
+            case PathIterator.SEG_CUBICTO:
+                sb.append(formatmm(coords[0], coords[1])).append(' ');
+                sb.append(formatmm(coords[2], coords[3])).append(' ');
+                sb.append(formatmm(coords[4], coords[5])).append(" curveto\n");
+                lastX = coords[4];
+                lastY = coords[5];
+                break;
+            default:
+                sb.append("closepath\n");
+                lastX = startX;
+                lastY = startY;
+            }
+            iter.next();
+        }
+        writer.write(sb.toString());
+    }
+
     private void checkFontName(String fontName) {
         if (fontName.indexOf(' ') >= 0) {
             throw new IllegalArgumentException("PostScript/EPS output does not support font names"
@@ -20,11 +20,13 @@ import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.font.FontRenderContext;
 import java.awt.font.GlyphVector;
+import java.awt.geom.GeneralPath;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 
 import org.krysalis.barcode4j.BarcodeDimension;
 import org.krysalis.barcode4j.TextAlignment;
+import org.krysalis.barcode4j.fonts.OutlineFont;
 import org.krysalis.barcode4j.output.AbstractCanvasProvider;
 import org.krysalis.barcode4j.tools.UnitConv;
 
@@ -39,6 +41,8 @@ public class Java2DCanvasProvider extends AbstractCanvasProvider {
     private static final boolean DEBUG = false; 
 
     private Graphics2D g2d;
+    private Graphics2D baseG2D;
+    private Rectangle2D.Double rect = new Rectangle2D.Double();
 
     /**
      * Creates a new Java2DCanvasProvider.
@@ -67,7 +71,9 @@ public class Java2DCanvasProvider extends AbstractCanvasProvider {
      * @param g2d the Graphics2D instance
      */
     public void setGraphics2D(Graphics2D g2d) {
+        finish();
         this.g2d = g2d;
+        this.baseG2D = g2d;
     }
 
     /**
@@ -84,7 +90,8 @@ public class Java2DCanvasProvider extends AbstractCanvasProvider {
         int orientation = BarcodeDimension.normalizeOrientation(getOrientation());
         double w = dim.getWidthPlusQuiet(orientation);
         double h = dim.getHeightPlusQuiet(orientation);
-        this.g2d = (Graphics2D)this.g2d.create();
+        finish();
+        this.g2d = (Graphics2D)this.baseG2D.create();
         switch (orientation) {
         case 90:
             g2d.rotate(-Math.PI / 2);
@@ -103,9 +110,36 @@ public class Java2DCanvasProvider extends AbstractCanvasProvider {
         }
     }
 
+    /**
+     * Disposes the Graphics2D instance derived from the one passed in for the
+     * orientation transformation. After this call, the Graphics2D passed in is in use
+     * again. Call this method after painting the barcode. It is safe to call it more
+     * than once.
+     */
+    public void finish() {
+        if (this.g2d != this.baseG2D) {
+            this.g2d.dispose();
+            this.g2d = this.baseG2D;
+        }
+    }
+
     /** {@inheritDoc} */
     public void deviceFillRect(double x, double y, double w, double h) {
-        g2d.fill(new Rectangle2D.Double(x, y, w, h));
+        rect.setRect(x, y, w, h);
+        g2d.fill(rect);
+    }
+
+    /**
+     * Paints the rectangles as a single shape with a single fill operation.
+     * {@inheritDoc}
+     */
+    public void deviceFillRects(double[] rects, int count) {
+        GeneralPath path = new GeneralPath(GeneralPath.WIND_NON_ZERO, count * 5);
+        for (int i = 0, c = count * 4; i < c; i += 4) {
+            rect.setRect(rects[i], rects[i + 1], rects[i + 2], rects[i + 3]);
+            path.append(rect, false);
+        }
+        g2d.fill(path);
     }
 
     /** {@inheritDoc} */
@@ -128,9 +162,37 @@ public class Java2DCanvasProvider extends AbstractCanvasProvider {
             System.out.println("fontSize: " 
                     + fontSize + "mm (" + UnitConv.mm2pt(fontSize) + "pt)");
         }
-        Font font = new Font(fontName, Font.PLAIN, 
-            (int)Math.round(fontSize));
-        FontRenderContext frc = g2d.getFontRenderContext();
+        OutlineFont outlineFont = OutlineFont.getInstance(fontName);
+        if (outlineFont != null) {
+            g2d.fill(outlineFont.createTextOutline(text, x1, x2, y1, fontSize, textAlign));
+            return;
+        }
+        GlyphVector gv = Java2DTextCache.getInstance().getGlyphVector(text, x2 - x1,
+                fontName, fontSize, g2d.getFontRenderContext(), textAlign);
+        g2d.drawGlyphVector(gv, (float)x1, (float)y1);
+        if (DEBUG) {
+            g2d.setStroke(new BasicStroke(0.01f));
+            g2d.draw(new Rectangle2D.Double(x1, y1 - fontSize, 
+                x2 - x1, fontSize));
+            g2d.draw(new Rectangle2D.Double(x1, y1 - fontSize, 
+                gv.getLogicalBounds().getMaxX(), fontSize));
+        }
+    }
+
+    /**
+     * Lays out a text line between x1 and x2. The glyphs are positioned relative to x1
+     * and the baseline, with the alignment (indent and inter-character spacing) already
+     * applied.
+     * @param text the text
+     * @param x1 the left boundary
+     * @param x2 the right boundary
+     * @param font the font to use
+     * @param frc the font render context
+     * @param textAlign the text alignment
+     * @return the positioned glyphs
+     */
+    static GlyphVector layoutText(String text, double x1, double x2, 
+            Font font, FontRenderContext frc, TextAlignment textAlign) {
         GlyphVector gv = font.createGlyphVector(frc, text);
         
         final float textwidth = (float)gv.getLogicalBounds().getWidth();
@@ -162,32 +224,18 @@ public class Java2DCanvasProvider extends AbstractCanvasProvider {
         } else {
             indent = 0.0f;
         }
-        Font oldFont = g2d.getFont();
-        g2d.setFont(font);
-        if (textAlign == TextAlignment.TA_JUSTIFY) {
-            //move the individual glyphs
-            for (int i = 0; i < gv.getNumGlyphs(); i++) {
-                Point2D point = gv.getGlyphPosition(i);
-                point.setLocation(point.getX() + i * intercharSpace, point.getY());
-                gv.setGlyphPosition(i, point);
-                if (DEBUG) {
-                    System.out.println(i + " " + point 
-                            + " " + gv.getGlyphLogicalBounds(i).getBounds2D());
-                    System.out.println(i + " " + text.substring(i, i + 1) 
-                        + " " + gv.getGlyphMetrics(i).getBounds2D());
-                }
+        final float spacing = (textAlign == TextAlignment.TA_JUSTIFY ? intercharSpace : 0.0f);
+        //move the individual glyphs
+        for (int i = 0; i < gv.getNumGlyphs(); i++) {
+            Point2D point = gv.getGlyphPosition(i);
+            point.setLocation(point.getX() + indent + i * spacing, point.getY());
+            gv.setGlyphPosition(i, point);
+            if (DEBUG) {
+                System.out.println(i + " " + point 
+                        + " " + gv.getGlyphLogicalBounds(i).getBounds2D());
             }
         }
-        g2d.drawGlyphVector(gv, (float)x1 + indent, (float)y1);
-        g2d.setFont(oldFont);
-        if (DEBUG) {
-            g2d.setStroke(new BasicStroke(0.01f));
-            g2d.draw(new Rectangle2D.Double(x1, y1 - fontSize, 
-                x2 - x1, fontSize));
-            g2d.draw(new Rectangle2D.Double(x1 + indent, 
-                y1 - fontSize, 
-                textwidth, fontSize));
-        }
+        return gv;
     }
 
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.java2d;
+
+import java.awt.Graphics2D;
+import java.awt.Shape;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.BarcodeGenerator;
+
+/**
+ * Bounded cache for barcode shapes produced by {@link Java2DShapeCanvasProvider}. It
+ * is useful where the same barcode is painted over and over again, for example when
+ * a page is rendered repeatedly for display or when zooming. The entries are keyed on
+ * the identity of the barcode generator, the message and the orientation. The barcode
+ * generator must therefore not be reconfigured after it has been used with the cache
+ * (or the cache has to be cleared). When the cache is full, the least recently used
+ * entry is discarded.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author agent
+ */
+public class Java2DShapeCache {
+
+    /** Default maximum number of cache entries */
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+
+    private static final Java2DShapeCache INSTANCE = new Java2DShapeCache(DEFAULT_MAX_ENTRIES);
+
+    private final Map cache;
+
+    /**
+     * Creates a new cache.
+     * @param maxEntries the maximum number of entries
+     */
+    public Java2DShapeCache(final int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.cache = new LinkedHashMap(16, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the default, shared instance.
+     * @return the default cache
+     */
+    public static Java2DShapeCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the shape of a barcode, generating it if it's not in the cache, yet.
+     * @param bargen the barcode generator
+     * @param msg the message to encode
+     * @param orientation the barcode orientation (0, 90, 180, 270)
+     * @return the barcode shape (in mm, orientation applied, must not be modified)
+     */
+    public Shape getShape(BarcodeGenerator bargen, String msg, int orientation) {
+        Key key = new Key(bargen, msg, BarcodeDimension.normalizeOrientation(orientation));
+        Shape shape;
+        synchronized (cache) {
+            shape = (Shape)cache.get(key);
+        }
+        if (shape == null) {
+            Java2DShapeCanvasProvider provider = new Java2DShapeCanvasProvider(orientation);
+            bargen.generateBarcode(provider, msg);
+            shape = provider.getShape();
+            synchronized (cache) {
+                cache.put(key, shape);
+            }
+        }
+        return shape;
+    }
+
+    /**
+     * Paints a barcode with a single fill operation using the current paint of the
+     * Graphics2D instance. The coordinate system has to be set up as for
+     * {@link Java2DCanvasProvider}.
+     * @param g2d the Graphics2D instance to paint on
+     * @param bargen the barcode generator
+     * @param msg the message to encode
+     * @param orientation the barcode orientation (0, 90, 180, 270)
+     */
+    public void paint(Graphics2D g2d, BarcodeGenerator bargen, String msg, int orientation) {
+        g2d.fill(getShape(bargen, msg, orientation));
+    }
+
+    /**
+     * Returns the number of entries in the cache.
+     * @return the number of entries
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /** Cache key: barcode generator (by identity), message and orientation. */
+    private static class Key {
+
+        private BarcodeGenerator bargen;
+        private String msg;
+        private int orientation;
+
+        public Key(BarcodeGenerator bargen, String msg, int orientation) {
+            this.bargen = bargen;
+            this.msg = msg;
+            this.orientation = orientation;
+        }
+
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key)obj;
+            return this.bargen == other.bargen
+                    && this.orientation == other.orientation
+                    && (this.msg == null ? other.msg == null : this.msg.equals(other.msg));
+        }
+
+        public int hashCode() {
+            int hash = System.identityHashCode(bargen);
+            hash = hash * 31 + (msg == null ? 0 : msg.hashCode());
+            return hash * 31 + orientation;
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.java2d;
+
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Rectangle2D;
+
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.TextAlignment;
+import org.krysalis.barcode4j.fonts.OutlineFont;
+import org.krysalis.barcode4j.output.AbstractCanvasProvider;
+
+/**
+ * CanvasProvider implementation that collects the whole barcode (bars and the
+ * outlines of the human-readable text) into a single Java2D Shape. The shape can
+ * then be painted any number of times with a single fill operation. The coordinates
+ * are in millimeters (mm) with the orientation already applied, just like on the
+ * {@link Java2DCanvasProvider}.
+ *
+ * @author agent
+ * @see Java2DShapeCache
+ */
+public class Java2DShapeCanvasProvider extends AbstractCanvasProvider {
+
+    private GeneralPath path = new GeneralPath(GeneralPath.WIND_NON_ZERO);
+    private Rectangle2D.Double rect = new Rectangle2D.Double();
+    private FontRenderContext frc;
+    private AffineTransform transform;
+
+    /**
+     * Creates a new Java2DShapeCanvasProvider.
+     * @param orientation the barcode orientation (0, 90, 180, 270)
+     */
+    public Java2DShapeCanvasProvider(int orientation) {
+        this(orientation, new FontRenderContext(null, true, true));
+    }
+
+    /**
+     * Creates a new Java2DShapeCanvasProvider.
+     * @param orientation the barcode orientation (0, 90, 180, 270)
+     * @param frc the font render context used to produce the text outlines
+     */
+    public Java2DShapeCanvasProvider(int orientation, FontRenderContext frc) {
+        super(orientation);
+        this.frc = frc;
+    }
+
+    /** {@inheritDoc} */
+    public void establishDimensions(BarcodeDimension dim) {
+        super.establishDimensions(dim);
+        if (getOrientation() != 0) {
+            transform = getOrientationTransform();
+        } else {
+            transform = null;
+        }
+    }
+
+    /**
+     * Returns the collected barcode as a single shape.
+     * @return the barcode shape
+     */
+    public Shape getShape() {
+        if (transform != null) {
+            return path.createTransformedShape(transform);
+        } else {
+            return (Shape)path.clone();
+        }
+    }
+
+    /** {@inheritDoc} */
+    public void deviceFillRect(double x, double y, double w, double h) {
+        rect.setRect(x, y, w, h);
+        path.append(rect, false);
+    }
+
+    /** {@inheritDoc} */
+    public void deviceText(
+            String text,
+            double x1,
+            double x2,
+            double y1,
+            String fontName,
+            double fontSize,
+            TextAlignment textAlign) {
+        OutlineFont outlineFont = OutlineFont.getInstance(fontName);
+        if (outlineFont != null) {
+            path.append(outlineFont.createTextOutline(text, x1, x2, y1, fontSize, textAlign),
+                    false);
+            return;
+        }
+        GlyphVector gv = Java2DTextCache.getInstance().getGlyphVector(text, x2 - x1,
+                fontName, fontSize, frc, textAlign);
+        path.append(gv.getOutline((float)x1, (float)y1), false);
+    }
+
+}
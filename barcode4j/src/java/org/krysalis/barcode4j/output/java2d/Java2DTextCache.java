@@ -0,0 +1,222 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.java2d;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.krysalis.barcode4j.TextAlignment;
+
+/**
+ * Bounded cache for the fonts and the laid-out glyph vectors used to paint the
+ * human-readable part of barcodes with Java2D. The glyph vectors are keyed on font name,
+ * font size, text, alignment, available width and font render context. They are
+ * positioned relative to the left boundary of the text and the baseline. The same
+ * instance is shared across renderings, so the cached glyph vectors must not be
+ * modified. When the cache is full, the least recently used entry is discarded.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author agent
+ */
+public class Java2DTextCache {
+
+    /** Default maximum number of cached glyph vectors */
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    /** The digits, for preloading */
+    public static final String DIGITS = "0123456789";
+
+    private static final int MAX_FONTS = 16;
+
+    private static final Java2DTextCache INSTANCE = new Java2DTextCache(DEFAULT_MAX_ENTRIES);
+
+    private final Map fonts = createLRUMap(MAX_FONTS);
+    private final Map glyphs;
+
+    /**
+     * Creates a new cache.
+     * @param maxEntries the maximum number of cached glyph vectors
+     */
+    public Java2DTextCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.glyphs = createLRUMap(maxEntries);
+    }
+
+    private static Map createLRUMap(final int maxEntries) {
+        return new LinkedHashMap(16, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the default, shared instance.
+     * @return the default cache
+     */
+    public static Java2DTextCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a plain font.
+     * @param fontName the font name
+     * @param fontSize the font size (in the units of the coordinate system, rounded to
+     *          an integer like the canvas providers do)
+     * @return the font
+     */
+    public Font getFont(String fontName, double fontSize) {
+        Key key = new Key(fontName, fontSize, null, null, 0, null);
+        synchronized (fonts) {
+            Font font = (Font)fonts.get(key);
+            if (font == null) {
+                font = new Font(fontName, Font.PLAIN, key.fontSize);
+                fonts.put(key, font);
+            }
+            return font;
+        }
+    }
+
+    /**
+     * Returns the laid-out glyphs for a line of text. The glyphs are positioned relative
+     * to the left boundary and the baseline.
+     * @param text the text
+     * @param width the available width
+     * @param fontName the font name
+     * @param fontSize the font size
+     * @param frc the font render context
+     * @param textAlign the text alignment
+     * @return the glyph vector (must not be modified)
+     */
+    public GlyphVector getGlyphVector(String text, double width,
+                String fontName, double fontSize,
+                FontRenderContext frc, TextAlignment textAlign) {
+        Key key = new Key(fontName, fontSize, text, textAlign, width, frc);
+        GlyphVector gv;
+        synchronized (glyphs) {
+            gv = (GlyphVector)glyphs.get(key);
+        }
+        if (gv == null) {
+            gv = Java2DCanvasProvider.layoutText(text, 0, width,
+                    getFont(fontName, fontSize), frc, textAlign);
+            synchronized (glyphs) {
+                glyphs.put(key, gv);
+            }
+        }
+        return gv;
+    }
+
+    /**
+     * Loads a font and the glyphs for the given characters, so the first barcode
+     * doesn't have to pay for the initialization of the font system.
+     * @param fontName the font name
+     * @param fontSize the font size
+     * @param chars the characters to load
+     * @param frc the font render context
+     */
+    public void preload(String fontName, double fontSize, String chars,
+                FontRenderContext frc) {
+        GlyphVector gv = getFont(fontName, fontSize).createGlyphVector(frc, chars);
+        for (int i = 0; i < gv.getNumGlyphs(); i++) {
+            gv.getGlyphOutline(i);
+        }
+    }
+
+    /**
+     * Preloads the digits of a font (for EAN/UPC and other numeric symbologies).
+     * Example: <code>preloadDigits(bean.getFontName(), bean.getFontSize())</code>.
+     * @param fontName the font name
+     * @param fontSize the font size
+     */
+    public void preloadDigits(String fontName, double fontSize) {
+        preload(fontName, fontSize, DIGITS, new FontRenderContext(null, true, true));
+    }
+
+    /**
+     * Returns the number of cached glyph vectors.
+     * @return the number of entries
+     */
+    public int size() {
+        synchronized (glyphs) {
+            return glyphs.size();
+        }
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public void clear() {
+        synchronized (glyphs) {
+            glyphs.clear();
+        }
+        synchronized (fonts) {
+            fonts.clear();
+        }
+    }
+
+    /** Cache key for fonts and glyph vectors. */
+    private static class Key {
+
+        private String fontName;
+        private int fontSize;
+        private String text;
+        private TextAlignment textAlign;
+        private long width;
+        private FontRenderContext frc;
+
+        public Key(String fontName, double fontSize, String text,
+                    TextAlignment textAlign, double width, FontRenderContext frc) {
+            this.fontName = fontName;
+            this.fontSize = (int)Math.round(fontSize);
+            this.text = text;
+            this.textAlign = textAlign;
+            this.width = Double.doubleToLongBits(width);
+            this.frc = frc;
+        }
+
+        private static boolean equals(Object o1, Object o2) {
+            return (o1 == null ? o2 == null : o1.equals(o2));
+        }
+
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key)obj;
+            return this.fontSize == other.fontSize
+                    && this.width == other.width
+                    && this.textAlign == other.textAlign
+                    && equals(this.fontName, other.fontName)
+                    && equals(this.text, other.text)
+                    && equals(this.frc, other.frc);
+        }
+
+        public int hashCode() {
+            int hash = (fontName == null ? 0 : fontName.hashCode());
+            hash = hash * 31 + fontSize;
+            hash = hash * 31 + (text == null ? 0 : text.hashCode());
+            hash = hash * 31 + (int)(width ^ (width >>> 32));
+            return hash * 31 + (frc == null ? 0 : frc.hashCode());
+        }
+    }
+
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.pdf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.BarcodeGenerator;
+import org.krysalis.barcode4j.tools.UnitConv;
+
+/**
+ * Generates a PDF document with any number of barcodes placed on one or more pages.
+ * Each distinct barcode (same generator, message and orientation) is painted only
+ * once into a Form XObject which is then referenced from every place it is used.
+ * The Form XObjects are keyed on the identity of the barcode generator, so a generator
+ * must not be reconfigured after it has been used with this document unless
+ * {@link #clearFormXObjects()} is called first.
+ * <p>
+ * Positions and sizes are given in millimeters. The origin is the upper left corner
+ * of the page like in the rest of Barcode4J.
+ *
+ * @author agent
+ */
+public class PDFBarcodeDocument {
+
+    private PDFWriter writer;
+    private double pageWidth;
+    private double pageHeight;
+    private int pagesNum;
+    private List pageNums = new java.util.ArrayList();
+    private Map xobjects = new java.util.HashMap(); //XObjectKey -> FormXObject
+    private int formCount;
+    private Map fontNums = new java.util.HashMap(); //base font -> Integer
+    private StringBuffer pageContent;
+    private Map pageXObjects;
+    private DecimalFormat df;
+
+    /**
+     * Creates a new PDF document.
+     * @param out the OutputStream to write the PDF to
+     * @param pageWidth the page width (in mm)
+     * @param pageHeight the page height (in mm)
+     * @throws IOException in case of an I/O problem
+     */
+    public PDFBarcodeDocument(OutputStream out, double pageWidth, double pageHeight)
+                throws IOException {
+        this.writer = new PDFWriter(out);
+        this.pageWidth = pageWidth;
+        this.pageHeight = pageHeight;
+        this.pagesNum = writer.reserveObject();
+    }
+
+    private String format(double value) {
+        if (this.df == null) {
+            DecimalFormatSymbols dfs = new DecimalFormatSymbols();
+            dfs.setDecimalSeparator('.');
+            this.df = new DecimalFormat("0.####", dfs);
+        }
+        return this.df.format(value);
+    }
+
+    /**
+     * Places a barcode on the current page. If the same barcode has already been placed
+     * before, the existing Form XObject is reused. Changes to the barcode generator's
+     * settings are not detected: call {@link #clearFormXObjects()} after reconfiguring
+     * a generator that has already been used with this document.
+     * @param gen the barcode generator
+     * @param msg the message to encode
+     * @param orientation the barcode orientation (0, 90, 180, 270)
+     * @param x the x coordinate of the barcode's upper left corner (in mm)
+     * @param y the y coordinate of the barcode's upper left corner (in mm)
+     * @throws IOException in case of an I/O problem
+     */
+    public void placeBarcode(BarcodeGenerator gen, String msg, int orientation,
+                double x, double y) throws IOException {
+        XObjectKey key = new XObjectKey(gen, msg,
+                BarcodeDimension.normalizeOrientation(orientation));
+        FormXObject form = (FormXObject)xobjects.get(key);
+        if (form == null) {
+            form = createFormXObject(gen, msg, orientation);
+            xobjects.put(key, form);
+        }
+        if (pageContent == null) {
+            startPage();
+        }
+        pageXObjects.put(form.name, new Integer(form.objNum));
+        pageContent.append("q 1 0 0 1 ");
+        pageContent.append(format(UnitConv.mm2pt(x))).append(' ');
+        pageContent.append(format(UnitConv.mm2pt(this.pageHeight - y - form.height)));
+        pageContent.append(" cm /").append(form.name).append(" Do Q\n");
+    }
+
+    /**
+     * Forgets all Form XObjects created so far, so subsequent calls to
+     * {@link #placeBarcode(BarcodeGenerator, String, int, double, double)} paint the
+     * barcodes again. Forms already written to the document remain valid for the
+     * places they have been used at.
+     */
+    public void clearFormXObjects() {
+        xobjects.clear();
+    }
+
+    /**
+     * Finishes the current page. The next barcode will be placed on a new page.
+     * @throws IOException in case of an I/O problem
+     */
+    public void nextPage() throws IOException {
+        if (pageContent == null) {
+            startPage();
+        }
+        int pageNum = writer.reserveObject();
+        int contentNum = writer.reserveObject();
+        writer.writeStreamObject(contentNum, null, PDFWriter.toBytes(pageContent.toString()));
+        writer.writeObject(pageNum, "<</Type /Page /Parent " + pagesNum + " 0 R"
+                + " /MediaBox [0 0 " + format(UnitConv.mm2pt(pageWidth)) + " "
+                + format(UnitConv.mm2pt(pageHeight)) + "]"
+                + " /Resources " + PDFWriter.createResources(null, pageXObjects)
+                + " /Contents " + contentNum + " 0 R>>");
+        pageNums.add(new Integer(pageNum));
+        pageContent = null;
+        pageXObjects = null;
+    }
+
+    /**
+     * Writes the pending page and the document structure. Must be called after all
+     * barcodes have been placed.
+     * @throws IOException in case of an I/O problem
+     */
+    public void finish() throws IOException {
+        if (pageContent != null || pageNums.isEmpty()) {
+            nextPage();
+        }
+        Iterator iter = fontNums.entrySet().iterator();
+        while (iter.hasNext()) {
+            Map.Entry entry = (Map.Entry)iter.next();
+            writer.writeObject(((Integer)entry.getValue()).intValue(),
+                    PDFWriter.createFontDictionary((String)entry.getKey()));
+        }
+        StringBuffer kids = new StringBuffer();
+        iter = pageNums.iterator();
+        while (iter.hasNext()) {
+            if (kids.length() > 0) {
+                kids.append(' ');
+            }
+            kids.append(iter.next()).append(" 0 R");
+        }
+        writer.writeObject(pagesNum, "<</Type /Pages /Kids [" + kids
+                + "] /Count " + pageNums.size() + ">>");
+        int catalogNum = writer.reserveObject();
+        writer.writeObject(catalogNum, "<</Type /Catalog /Pages " + pagesNum + " 0 R>>");
+        writer.finish(catalogNum);
+    }
+
+    private void startPage() {
+        pageContent = new StringBuffer();
+        pageXObjects = new java.util.TreeMap();
+    }
+
+    private FormXObject createFormXObject(BarcodeGenerator gen, String msg, int orientation)
+                throws IOException {
+        PDFCanvasProvider provider = new PDFCanvasProvider(orientation);
+        gen.generateBarcode(provider, msg);
+        BarcodeDimension dim = provider.getDimensions();
+        int normalized = BarcodeDimension.normalizeOrientation(orientation);
+        double w = dim.getWidthPlusQuiet(normalized);
+        double h = dim.getHeightPlusQuiet(normalized);
+
+        Map fontRefs = new java.util.LinkedHashMap();
+        Iterator iter = provider.getFontResources().entrySet().iterator();
+        while (iter.hasNext()) {
+            Map.Entry entry = (Map.Entry)iter.next();
+            Integer fontNum = (Integer)fontNums.get(entry.getKey());
+            if (fontNum == null) {
+                fontNum = new Integer(writer.reserveObject());
+                fontNums.put(entry.getKey(), fontNum);
+            }
+            fontRefs.put(entry.getValue(), fontNum);
+        }
+
+        FormXObject form = new FormXObject("Xo" + (++formCount),
+                writer.reserveObject(), h);
+        writer.writeStreamObject(form.objNum, "/Type /XObject /Subtype /Form"
+                + " /BBox [0 0 " + format(w) + " " + format(h) + "]"
+                + " /Matrix [" + PDFCanvasProvider.MM2PT_MATRIX + "]"
+                + " /Resources " + PDFWriter.createResources(fontRefs, null),
+                provider.getContentStream());
+        return form;
+    }
+
+    private static class FormXObject {
+        private String name;
+        private int objNum;
+        private double height;
+
+        public FormXObject(String name, int objNum, double height) {
+            this.name = name;
+            this.objNum = objNum;
+            this.height = height;
+        }
+    }
+
+    private static class XObjectKey {
+        private BarcodeGenerator gen;
+        private String msg;
+        private int orientation;
+
+        public XObjectKey(BarcodeGenerator gen, String msg, int orientation) {
+            this.gen = gen;
+            this.msg = msg;
+            this.orientation = orientation;
+        }
+
+        /** {@inheritDoc} */
+        public boolean equals(Object obj) {
+            if (!(obj instanceof XObjectKey)) {
+                return false;
+            }
+            XObjectKey other = (XObjectKey)obj;
+            return this.gen == other.gen
+                && this.orientation == other.orientation
+                && this.msg.equals(other.msg);
+        }
+
+        /** {@inheritDoc} */
+        public int hashCode() {
+            return System.identityHashCode(gen) * 31 + msg.hashCode() + orientation;
+        }
+    }
+
+}
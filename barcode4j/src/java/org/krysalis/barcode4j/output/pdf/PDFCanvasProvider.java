@@ -0,0 +1,242 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.pdf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.TextAlignment;
+import org.krysalis.barcode4j.output.AbstractCanvasProvider;
+import org.krysalis.barcode4j.tools.UnitConv;
+
+/**
+ * CanvasProvider implementation for PDF output. The bars are written as a single
+ * path of <code>re</code> operators which is filled once. The provider can either
+ * write a minimal standalone PDF file (see {@link #finish()}) or just produce the
+ * content stream so it can be used as a Form XObject (see {@link PDFBarcodeDocument}).
+ * <p>
+ * The content stream uses millimeters as units with the origin in the lower left
+ * corner. Text is painted using the standard 14 PDF fonts.
+ *
+ * @author agent
+ */
+public class PDFCanvasProvider extends AbstractCanvasProvider {
+
+    /** Transformation matrix converting millimeters to points. */
+    static final String MM2PT_MATRIX = "2.834646 0 0 2.834646 0 0";
+
+    private OutputStream out;
+    private StringBuffer content = new StringBuffer(256);
+    private boolean pathPending;
+    private double height;
+    private Map fonts = new java.util.LinkedHashMap(); //base font -> resource name
+    private DecimalFormat df;
+
+    /**
+     * Creates a new PDFCanvasProvider writing a standalone PDF file.
+     * @param out OutputStream to write the PDF to
+     * @param orientation the barcode orientation (0, 90, 180, 270)
+     */
+    public PDFCanvasProvider(OutputStream out, int orientation) {
+        super(orientation);
+        this.out = out;
+    }
+
+    /**
+     * Creates a new PDFCanvasProvider which only builds the content stream. Use
+     * {@link #getContentStream()} to retrieve it after the barcode has been painted.
+     * @param orientation the barcode orientation (0, 90, 180, 270)
+     */
+    public PDFCanvasProvider(int orientation) {
+        this(null, orientation);
+    }
+
+    /**
+     * Returns the DecimalFormat instance to use internally to format numbers.
+     * @return a DecimalFormat instance
+     */
+    protected DecimalFormat getDecimalFormat() {
+        if (this.df == null) {
+            DecimalFormatSymbols dfs = new DecimalFormatSymbols();
+            dfs.setDecimalSeparator('.');
+            this.df = new DecimalFormat("0.####", dfs);
+        }
+        return this.df;
+    }
+
+    private String format(double coord) {
+        return getDecimalFormat().format(coord);
+    }
+
+    /** {@inheritDoc} */
+    public void establishDimensions(BarcodeDimension dim) {
+        super.establishDimensions(dim);
+        int orientation = BarcodeDimension.normalizeOrientation(getOrientation());
+        this.height = dim.getHeightPlusQuiet();
+        String w = format(dim.getWidthPlusQuiet());
+        String h = format(dim.getHeightPlusQuiet());
+        switch (orientation) {
+        case 90:
+            content.append("0 1 -1 0 ").append(h).append(" 0 cm\n");
+            break;
+        case 180:
+            content.append("-1 0 0 -1 ").append(w).append(' ').append(h).append(" cm\n");
+            break;
+        case 270:
+            content.append("0 -1 1 0 0 ").append(w).append(" cm\n");
+            break;
+        default:
+            //nop
+        }
+    }
+
+    /** {@inheritDoc} */
+    public void deviceFillRect(double x, double y, double w, double h) {
+        content.append(format(x)).append(' ');
+        content.append(format(this.height - y - h)).append(' ');
+        content.append(format(w)).append(' ');
+        content.append(format(h)).append(" re\n");
+        pathPending = true;
+    }
+
+    private void fillPendingPath() {
+        if (pathPending) {
+            content.append("f\n");
+            pathPending = false;
+        }
+    }
+
+    /** {@inheritDoc} */
+    public void deviceText(
+                String text,
+                double x1,
+                double x2,
+                double y1,
+                String fontName,
+                double fontSize,
+                TextAlignment textAlign) {
+        fillPendingPath();
+        String baseFont = PDFFonts.mapFontName(fontName);
+        String resName = (String)fonts.get(baseFont);
+        if (resName == null) {
+            resName = "F" + (fonts.size() + 1);
+            fonts.put(baseFont, resName);
+        }
+        double textWidth = PDFFonts.getTextWidth(baseFont, text) * fontSize / 1000;
+        double tx = x1;
+        double charSpace = 0.0;
+        if (textAlign == TextAlignment.TA_RIGHT) {
+            tx = x2 - textWidth;
+        } else if (textAlign == TextAlignment.TA_CENTER) {
+            tx = (x1 + x2 - textWidth) / 2;
+        } else if (textAlign == TextAlignment.TA_JUSTIFY) {
+            if (text.length() > 1) {
+                charSpace = ((x2 - x1) - textWidth) / (text.length() - 1);
+            } else {
+                tx = (x1 + x2 - textWidth) / 2; //Center if only one character
+            }
+        }
+        content.append("BT\n/").append(resName).append(' ');
+        content.append(format(fontSize)).append(" Tf\n");
+        if (charSpace != 0.0) {
+            content.append(format(charSpace)).append(" Tc\n");
+        }
+        content.append(format(tx)).append(' ').append(format(this.height - y1)).append(" Td\n");
+        content.append('(');
+        appendEscaped(text);
+        content.append(") Tj\nET\n");
+    }
+
+    private void appendEscaped(String text) {
+        for (int i = 0, c = text.length(); i < c; i++) {
+            char ch = text.charAt(i);
+            if (ch == '(' || ch == ')' || ch == '\\') {
+                content.append('\\').append(ch);
+            } else if (ch > 255) {
+                content.append('?');
+            } else {
+                content.append(ch);
+            }
+        }
+    }
+
+    /**
+     * Returns the content stream painting the barcode. The units are millimeters.
+     * Font resources are referenced using the names returned by
+     * {@link #getFontResources()}.
+     * @return the content stream (unencoded)
+     */
+    public byte[] getContentStream() {
+        fillPendingPath();
+        return PDFWriter.toBytes(content.toString());
+    }
+
+    /**
+     * Returns the fonts used by the content stream.
+     * @return a Map of base font names (String) to resource names (String)
+     */
+    public Map getFontResources() {
+        return java.util.Collections.unmodifiableMap(this.fonts);
+    }
+
+    /**
+     * Writes the standalone PDF file. Must be called after barcode painting call
+     * returns.
+     * @throws IOException if an I/O error happened during PDF generation
+     */
+    public void finish() throws IOException {
+        if (this.out == null) {
+            throw new IllegalStateException("No OutputStream has been set");
+        }
+        int orientation = BarcodeDimension.normalizeOrientation(getOrientation());
+        BarcodeDimension dim = getDimensions();
+        PDFWriter writer = new PDFWriter(out);
+        int catalogNum = writer.reserveObject();
+        int pagesNum = writer.reserveObject();
+        int pageNum = writer.reserveObject();
+        int contentNum = writer.reserveObject();
+        Map fontRefs = new java.util.LinkedHashMap();
+        Iterator iter = fonts.entrySet().iterator();
+        while (iter.hasNext()) {
+            Map.Entry entry = (Map.Entry)iter.next();
+            int fontNum = writer.reserveObject();
+            writer.writeObject(fontNum,
+                    PDFWriter.createFontDictionary((String)entry.getKey()));
+            fontRefs.put(entry.getValue(), new Integer(fontNum));
+        }
+        writer.writeObject(catalogNum, "<</Type /Catalog /Pages " + pagesNum + " 0 R>>");
+        writer.writeObject(pagesNum, "<</Type /Pages /Kids [" + pageNum + " 0 R] /Count 1>>");
+        writer.writeObject(pageNum, "<</Type /Page /Parent " + pagesNum + " 0 R"
+                + " /MediaBox [0 0 "
+                + format(UnitConv.mm2pt(dim.getWidthPlusQuiet(orientation))) + " "
+                + format(UnitConv.mm2pt(dim.getHeightPlusQuiet(orientation))) + "]"
+                + " /Resources " + PDFWriter.createResources(fontRefs, null)
+                + " /Contents " + contentNum + " 0 R>>");
+        byte[] body = getContentStream();
+        byte[] prefix = PDFWriter.toBytes(MM2PT_MATRIX + " cm\n");
+        byte[] data = new byte[prefix.length + body.length];
+        System.arraycopy(prefix, 0, data, 0, prefix.length);
+        System.arraycopy(body, 0, data, prefix.length, body.length);
+        writer.writeStreamObject(contentNum, null, data);
+        writer.finish(catalogNum);
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.pdf;
+
+import org.krysalis.barcode4j.fonts.StandardFontWidths;
+
+/**
+ * Maps font names to the standard 14 PDF fonts and provides the glyph widths
+ * needed to position the human-readable text.
+ *
+ * @author agent
+ */
+class PDFFonts {
+
+    private static final String[] BASE14 = {
+        "Courier", "Courier-Bold", "Courier-Oblique", "Courier-BoldOblique",
+        "Helvetica", "Helvetica-Bold", "Helvetica-Oblique", "Helvetica-BoldOblique",
+        "Times-Roman", "Times-Bold", "Times-Italic", "Times-BoldItalic",
+        "Symbol", "ZapfDingbats"};
+
+    /**
+     * Utility class: Constructor prevents instantiating when subclassed.
+     */
+    protected PDFFonts() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Maps an arbitrary font name to one of the standard 14 fonts.
+     * @param fontName the font name as configured on the barcode bean
+     * @return the name of the base font to use
+     */
+    public static String mapFontName(String fontName) {
+        for (int i = 0; i < BASE14.length; i++) {
+            if (BASE14[i].equals(fontName)) {
+                return fontName;
+            }
+        }
+        if (fontName != null) {
+            String lc = fontName.toLowerCase();
+            if (lc.startsWith("courier") || lc.startsWith("ocr")) {
+                return "Courier";
+            } else if (lc.startsWith("times")) {
+                return "Times-Roman";
+            }
+        }
+        return "Helvetica";
+    }
+
+    /**
+     * Returns the width of a text in text space units (1/1000 em). Courier is
+     * monospaced, all other fonts are approximated with the Helvetica metrics.
+     * @param baseFont the base font name (see {@link #mapFontName(String)})
+     * @param text the text
+     * @return the width of the text
+     */
+    public static int getTextWidth(String baseFont, String text) {
+        int len = text.length();
+        if (baseFont.startsWith("Courier")) {
+            return len * StandardFontWidths.MONOSPACED_WIDTH;
+        }
+        int width = 0;
+        for (int i = 0; i < len; i++) {
+            width += StandardFontWidths.getHelveticaWidth(text.charAt(i));
+        }
+        return width;
+    }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.pdf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Minimal low-level PDF writer. It only knows about numbered indirect objects,
+ * streams and the cross-reference table, which is all the barcode output needs.
+ *
+ * @author agent
+ */
+class PDFWriter {
+
+    private OutputStream out;
+    private long position;
+    private List offsets = new java.util.ArrayList();
+    private boolean compress = true;
+
+    /**
+     * Creates a new PDFWriter and writes the PDF header.
+     * @param out the OutputStream to write to
+     * @throws IOException in case of an I/O problem
+     */
+    public PDFWriter(OutputStream out) throws IOException {
+        this.out = out;
+        write("%PDF-1.4\n");
+        //Binary marker comment
+        writeBytes(new byte[] {'%', (byte)0xE2, (byte)0xE3, (byte)0xCF, (byte)0xD3, '\n'});
+    }
+
+    /**
+     * Controls whether content streams are compressed using the Flate filter.
+     * @param compress true to enable compression
+     */
+    public void setCompress(boolean compress) {
+        this.compress = compress;
+    }
+
+    /**
+     * Reserves an object number for an object to be written later.
+     * @return the object number
+     */
+    public int reserveObject() {
+        offsets.add(null);
+        return offsets.size();
+    }
+
+    /**
+     * Starts an indirect object.
+     * @param num the (previously reserved) object number
+     * @throws IOException in case of an I/O problem
+     */
+    public void beginObject(int num) throws IOException {
+        offsets.set(num - 1, new Long(position));
+        write(num + " 0 obj\n");
+    }
+
+    /**
+     * Ends an indirect object.
+     * @throws IOException in case of an I/O problem
+     */
+    public void endObject() throws IOException {
+        write("endobj\n");
+    }
+
+    /**
+     * Writes a complete indirect object consisting of a single dictionary or value.
+     * @param num the object number
+     * @param content the object's content
+     * @throws IOException in case of an I/O problem
+     */
+    public void writeObject(int num, String content) throws IOException {
+        beginObject(num);
+        write(content);
+        write("\n");
+        endObject();
+    }
+
+    /**
+     * Writes a complete stream object.
+     * @param num the object number
+     * @param dictEntries additional stream dictionary entries (may be null)
+     * @param data the unencoded stream data
+     * @throws IOException in case of an I/O problem
+     */
+    public void writeStreamObject(int num, String dictEntries, byte[] data)
+                throws IOException {
+        byte[] encoded = data;
+        if (compress) {
+            ByteArrayOutputStream baout = new ByteArrayOutputStream(data.length / 2 + 16);
+            DeflaterOutputStream dout = new DeflaterOutputStream(baout);
+            dout.write(data);
+            dout.close();
+            encoded = baout.toByteArray();
+        }
+        beginObject(num);
+        write("<<");
+        if (dictEntries != null) {
+            write(dictEntries);
+            write(" ");
+        }
+        if (compress) {
+            write("/Filter /FlateDecode ");
+        }
+        write("/Length " + encoded.length + ">>\nstream\n");
+        writeBytes(encoded);
+        write("\nendstream\n");
+        endObject();
+    }
+
+    /**
+     * Writes the cross-reference table and the trailer. This finishes the PDF file.
+     * @param rootNum the object number of the document catalog
+     * @throws IOException in case of an I/O problem
+     */
+    public void finish(int rootNum) throws IOException {
+        long xrefPos = position;
+        StringBuffer sb = new StringBuffer();
+        sb.append("xref\n0 ").append(offsets.size() + 1).append('\n');
+        sb.append("0000000000 65535 f \n");
+        Iterator iter = offsets.iterator();
+        while (iter.hasNext()) {
+            Long offset = (Long)iter.next();
+            if (offset == null) {
+                throw new IllegalStateException("Reserved object has not been written");
+            }
+            String s = offset.toString();
+            for (int i = s.length(); i < 10; i++) {
+                sb.append('0');
+            }
+            sb.append(s).append(" 00000 n \n");
+        }
+        sb.append("trailer\n<</Size ").append(offsets.size() + 1);
+        sb.append(" /Root ").append(rootNum).append(" 0 R>>\n");
+        sb.append("startxref\n").append(xrefPos).append("\n%%EOF\n");
+        write(sb.toString());
+        out.flush();
+    }
+
+    /**
+     * Writes a resource dictionary for fonts and XObjects.
+     * @param fonts Map of resource names (String) to object numbers (Integer), may be null
+     * @param xobjects Map of resource names (String) to object numbers (Integer), may be null
+     * @return the resource dictionary
+     */
+    public static String createResources(Map fonts, Map xobjects) {
+        StringBuffer sb = new StringBuffer("<<");
+        appendResourceMap(sb, "/Font", fonts);
+        appendResourceMap(sb, "/XObject", xobjects);
+        sb.append(">>");
+        return sb.toString();
+    }
+
+    private static void appendResourceMap(StringBuffer sb, String type, Map map) {
+        if (map == null || map.isEmpty()) {
+            return;
+        }
+        sb.append(type).append(" <<");
+        Iterator iter = map.entrySet().iterator();
+        while (iter.hasNext()) {
+            Map.Entry entry = (Map.Entry)iter.next();
+            sb.append('/').append(entry.getKey()).append(' ');
+            sb.append(entry.getValue()).append(" 0 R");
+        }
+        sb.append(">>");
+    }
+
+    /**
+     * Creates the dictionary for one of the standard 14 Type 1 fonts.
+     * @param baseFont the base font name
+     * @return the font dictionary
+     */
+    public static String createFontDictionary(String baseFont) {
+        StringBuffer sb = new StringBuffer("<</Type /Font /Subtype /Type1 /BaseFont /");
+        sb.append(baseFont);
+        if (!"Symbol".equals(baseFont) && !"ZapfDingbats".equals(baseFont)) {
+            sb.append(" /Encoding /WinAnsiEncoding");
+        }
+        sb.append(">>");
+        return sb.toString();
+    }
+
+    private void write(String s) throws IOException {
+        writeBytes(toBytes(s));
+    }
+
+    private void writeBytes(byte[] data) throws IOException {
+        out.write(data);
+        position += data.length;
+    }
+
+    /**
+     * Converts a string to bytes for inclusion in a PDF file.
+     * @param s the string
+     * @return the bytes (ISO-8859-1)
+     */
+    static byte[] toBytes(String s) {
+        try {
+            return s.getBytes("ISO-8859-1");
+        } catch (UnsupportedEncodingException uee) {
+            throw new RuntimeException(
+                    "Incompatible VM: Need ISO-8859-1 encoding. " + uee.getMessage());
+        }
+    }
+
+}
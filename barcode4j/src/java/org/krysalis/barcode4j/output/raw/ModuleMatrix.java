@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.raw;
+
+/**
+ * The raw structure of a two-dimensional barcode: a matrix of dark and light modules
+ * stored as packed rows (1 = dark, most significant bit first). Each row starts on
+ * a byte boundary.
+ *
+ * @author agent
+ */
+public class ModuleMatrix {
+
+    private String msg;
+    private int columns;
+    private int rows;
+    private int bytesPerRow;
+    private byte[] bits;
+    private double moduleWidth;
+    private double moduleHeight;
+    private double quietZone;
+    private double verticalQuietZone;
+
+    /**
+     * Main constructor.
+     * @param msg the encoded message
+     * @param columns the number of columns (modules per row)
+     * @param rows the number of rows
+     * @param bits the packed rows (1 = dark, most significant bit first)
+     * @param moduleWidth the module width in mm
+     * @param moduleHeight the module (row) height in mm
+     * @param quietZone the horizontal quiet zone in mm (0 if disabled)
+     * @param verticalQuietZone the vertical quiet zone in mm (0 if disabled)
+     */
+    public ModuleMatrix(String msg, int columns, int rows, byte[] bits,
+                double moduleWidth, double moduleHeight,
+                double quietZone, double verticalQuietZone) {
+        this.bytesPerRow = (columns + 7) / 8;
+        if (bits.length < bytesPerRow * rows) {
+            throw new IllegalArgumentException("Not enough data for the matrix size");
+        }
+        this.msg = msg;
+        this.columns = columns;
+        this.rows = rows;
+        this.bits = bits;
+        this.moduleWidth = moduleWidth;
+        this.moduleHeight = moduleHeight;
+        this.quietZone = quietZone;
+        this.verticalQuietZone = verticalQuietZone;
+    }
+
+    /**
+     * Returns the encoded message.
+     * @return the message
+     */
+    public String getMessage() {
+        return this.msg;
+    }
+
+    /**
+     * Returns the number of columns.
+     * @return the number of modules per row
+     */
+    public int getColumns() {
+        return this.columns;
+    }
+
+    /**
+     * Returns the number of rows.
+     * @return the number of rows
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Indicates whether a module is dark.
+     * @param x the column
+     * @param y the row
+     * @return true if the module is dark
+     */
+    public boolean get(int x, int y) {
+        if (x < 0 || x >= columns || y < 0 || y >= rows) {
+            throw new IndexOutOfBoundsException("(" + x + "," + y + ")");
+        }
+        return ((bits[y * bytesPerRow + (x >> 3)] >> (7 - (x & 7))) & 1) != 0;
+    }
+
+    /**
+     * Returns the packed rows (1 = dark, most significant bit first). The array is
+     * not copied, so don't modify it.
+     * @return the packed rows
+     */
+    public byte[] getBits() {
+        return this.bits;
+    }
+
+    /**
+     * Returns the number of bytes per packed row.
+     * @return the number of bytes per row
+     */
+    public int getBytesPerRow() {
+        return this.bytesPerRow;
+    }
+
+    /**
+     * Returns the module width.
+     * @return the module width in mm
+     */
+    public double getModuleWidth() {
+        return this.moduleWidth;
+    }
+
+    /**
+     * Returns the module height. For stacked symbologies like PDF417 this is the
+     * row height.
+     * @return the module height in mm
+     */
+    public double getModuleHeight() {
+        return this.moduleHeight;
+    }
+
+    /**
+     * Returns the horizontal quiet zone on each side of the symbol.
+     * @return the quiet zone in mm (0 if disabled)
+     */
+    public double getQuietZone() {
+        return this.quietZone;
+    }
+
+    /**
+     * Returns the vertical quiet zone above and below the symbol.
+     * @return the quiet zone in mm (0 if disabled)
+     */
+    public double getVerticalQuietZone() {
+        return this.verticalQuietZone;
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.raw;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import org.krysalis.barcode4j.BarGroup;
+import org.krysalis.barcode4j.TwoDimBarcodeLogicHandler;
+import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
+
+/**
+ * Logic handler collecting the modules of a two-dimensional barcode as a
+ * {@link ModuleMatrix}. The bar widths reported by the symbology are interpreted
+ * as a number of modules.
+ *
+ * @author agent
+ */
+public class ModuleMatrixLogicHandler implements TwoDimBarcodeLogicHandler {
+
+    private AbstractBarcodeBean bcBean;
+    private String msg;
+    private ByteArrayOutputStream data;
+    private byte[] row = new byte[32];
+    private int x;
+    private int columns;
+    private int rows;
+    private ModuleMatrix matrix;
+
+    /**
+     * Main constructor.
+     * @param bcBean the barcode implementation class
+     */
+    public ModuleMatrixLogicHandler(AbstractBarcodeBean bcBean) {
+        this.bcBean = bcBean;
+    }
+
+    /** {@inheritDoc} */
+    public void startBarcode(String msg, String formattedMsg) {
+        this.msg = msg;
+        this.data = new ByteArrayOutputStream();
+        this.columns = -1;
+        this.rows = 0;
+        this.matrix = null;
+    }
+
+    /** {@inheritDoc} */
+    public void startRow() {
+        x = 0;
+        Arrays.fill(row, (byte)0);
+    }
+
+    /** {@inheritDoc} */
+    public void startBarGroup(BarGroup type, String submsg) {
+        //nop
+    }
+
+    /** {@inheritDoc} */
+    public void addBar(boolean black, int width) {
+        int end = x + width;
+        if ((end + 7) / 8 > row.length) {
+            byte[] newRow = new byte[Math.max(row.length * 2, (end + 7) / 8)];
+            System.arraycopy(row, 0, newRow, 0, row.length);
+            row = newRow;
+        }
+        if (black) {
+            for (int i = x; i < end; i++) {
+                row[i >> 3] |= (byte)(0x80 >> (i & 7));
+            }
+        }
+        x = end;
+    }
+
+    /** {@inheritDoc} */
+    public void endBarGroup() {
+        //nop
+    }
+
+    /** {@inheritDoc} */
+    public void endRow() {
+        if (columns < 0) {
+            columns = x;
+        } else if (columns != x) {
+            throw new IllegalStateException("All rows must have the same number of modules");
+        }
+        data.write(row, 0, (columns + 7) / 8);
+        rows++;
+    }
+
+    /** {@inheritDoc} */
+    public void endBarcode() {
+        this.matrix = new ModuleMatrix(msg, Math.max(columns, 0), rows, data.toByteArray(),
+                bcBean.getModuleWidth(), bcBean.getBarHeight(),
+                bcBean.hasQuietZone() ? bcBean.getQuietZone() : 0.0,
+                bcBean.hasQuietZone() ? bcBean.getVerticalQuietZone() : 0.0);
+        this.data = null;
+    }
+
+    /**
+     * Returns the collected module matrix.
+     * @return the module matrix or null if the barcode hasn't been generated, yet
+     */
+    public ModuleMatrix getMatrix() {
+        return this.matrix;
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.raw;
+
+import org.krysalis.barcode4j.BarcodeGenerator;
+import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
+import org.krysalis.barcode4j.impl.ConfigurableBarcodeGenerator;
+import org.krysalis.barcode4j.impl.HeightVariableBarcodeBean;
+
+/**
+ * Provides the raw structure of a barcode (run-lengths for linear barcodes, a module
+ * matrix for two-dimensional barcodes) for applications that don't need a drawing.
+ * The structure is taken directly from the barcode logic.
+ *
+ * @author agent
+ */
+public class RawBarcodeOutput {
+
+    /**
+     * Utility class: Constructor prevents instantiating when subclassed.
+     */
+    protected RawBarcodeOutput() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Generates the bar/space run-lengths of a linear barcode.
+     * @param gen the barcode generator
+     * @param msg the message to encode
+     * @return the run-lengths
+     * @throws IllegalArgumentException if the generator doesn't produce a linear
+     *          barcode with width-modulated bars
+     */
+    public static RunLengthSymbol createRunLengths(BarcodeGenerator gen, String msg) {
+        AbstractBarcodeBean bean = getBean(gen);
+        if (bean instanceof HeightVariableBarcodeBean) {
+            throw new IllegalArgumentException(
+                    "Height-modulated barcodes cannot be expressed as run-lengths");
+        }
+        RunLengthLogicHandler handler = new RunLengthLogicHandler(bean);
+        bean.generateBarcodeLogic(handler, msg);
+        return handler.getSymbol();
+    }
+
+    /**
+     * Generates the module matrix of a two-dimensional barcode.
+     * @param gen the barcode generator
+     * @param msg the message to encode
+     * @return the module matrix
+     * @throws IllegalArgumentException if the generator doesn't produce a
+     *          two-dimensional barcode
+     */
+    public static ModuleMatrix createModuleMatrix(BarcodeGenerator gen, String msg) {
+        AbstractBarcodeBean bean = getBean(gen);
+        ModuleMatrixLogicHandler handler = new ModuleMatrixLogicHandler(bean);
+        bean.generateBarcodeLogic(handler, msg);
+        if (handler.getMatrix().getRows() == 0) {
+            throw new IllegalArgumentException(
+                    "Not a two-dimensional barcode: " + bean.getClass().getName());
+        }
+        return handler.getMatrix();
+    }
+
+    private static AbstractBarcodeBean getBean(BarcodeGenerator gen) {
+        if (gen instanceof ConfigurableBarcodeGenerator) {
+            return ((ConfigurableBarcodeGenerator)gen).getBean();
+        } else if (gen instanceof AbstractBarcodeBean) {
+            return (AbstractBarcodeBean)gen;
+        } else {
+            throw new IllegalArgumentException("Unsupported barcode generator: "
+                    + gen.getClass().getName());
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.raw;
+
+import org.krysalis.barcode4j.BarGroup;
+import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
+
+/**
+ * Logic handler collecting the bars of a linear barcode as a {@link RunLengthSymbol}.
+ *
+ * @author agent
+ */
+public class RunLengthLogicHandler implements ClassicBarcodeLogicHandler {
+
+    private AbstractBarcodeBean bcBean;
+    private String msg;
+    private int[] runs = new int[64];
+    private double[] widths = new double[64];
+    private int count;
+    private RunLengthSymbol symbol;
+
+    /**
+     * Main constructor.
+     * @param bcBean the barcode implementation class
+     */
+    public RunLengthLogicHandler(AbstractBarcodeBean bcBean) {
+        this.bcBean = bcBean;
+    }
+
+    /** {@inheritDoc} */
+    public void startBarcode(String msg, String formattedMsg) {
+        this.msg = msg;
+        this.count = 0;
+        this.symbol = null;
+    }
+
+    /** {@inheritDoc} */
+    public void startBarGroup(BarGroup type, String submsg) {
+        //nop
+    }
+
+    /** {@inheritDoc} */
+    public void addBar(boolean black, int width) {
+        if (black != ((count % 2) == 0)) {
+            //Keep bars on even and spaces on odd indexes
+            append(0, 0.0);
+        }
+        append(width, bcBean.getBarWidth(width));
+    }
+
+    private void append(int run, double width) {
+        if (count == runs.length) {
+            int[] newRuns = new int[count * 2];
+            System.arraycopy(runs, 0, newRuns, 0, count);
+            runs = newRuns;
+            double[] newWidths = new double[count * 2];
+            System.arraycopy(widths, 0, newWidths, 0, count);
+            widths = newWidths;
+        }
+        runs[count] = run;
+        widths[count] = width;
+        count++;
+    }
+
+    /** {@inheritDoc} */
+    public void endBarGroup() {
+        //nop
+    }
+
+    /** {@inheritDoc} */
+    public void endBarcode() {
+        int[] r = new int[count];
+        System.arraycopy(runs, 0, r, 0, count);
+        double[] w = new double[count];
+        System.arraycopy(widths, 0, w, 0, count);
+        this.symbol = new RunLengthSymbol(msg, r, w,
+                bcBean.getModuleWidth(), bcBean.getBarHeight(),
+                bcBean.hasQuietZone() ? bcBean.getQuietZone() : 0.0,
+                bcBean.hasQuietZone() ? bcBean.getVerticalQuietZone() : 0.0);
+    }
+
+    /**
+     * Returns the collected symbol.
+     * @return the symbol or null if the barcode hasn't been generated, yet
+     */
+    public RunLengthSymbol getSymbol() {
+        return this.symbol;
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.raw;
+
+/**
+ * The raw structure of a linear (1D) barcode: an array of alternating bar and space
+ * run-lengths, starting with a bar. The run-lengths are the logical widths as
+ * defined by the symbology (for example the number of modules for Code 128, or
+ * 1 = narrow and 2 = wide for Code 39). A value of -1 denotes an intercharacter gap
+ * for symbologies that have one. A run-length of 0 is inserted where the symbology
+ * produces two adjacent elements of the same color.
+ *
+ * @author agent
+ */
+public class RunLengthSymbol {
+
+    private String msg;
+    private int[] runs;
+    private double[] widths;
+    private double moduleWidth;
+    private double barHeight;
+    private double quietZone;
+    private double verticalQuietZone;
+
+    /**
+     * Main constructor.
+     * @param msg the encoded message
+     * @param runs the run-lengths in logical widths
+     * @param widths the effective widths of the runs in mm
+     * @param moduleWidth the module width in mm
+     * @param barHeight the bar height in mm
+     * @param quietZone the horizontal quiet zone in mm (0 if disabled)
+     * @param verticalQuietZone the vertical quiet zone in mm (0 if disabled)
+     */
+    public RunLengthSymbol(String msg, int[] runs, double[] widths,
+                double moduleWidth, double barHeight,
+                double quietZone, double verticalQuietZone) {
+        if (runs.length != widths.length) {
+            throw new IllegalArgumentException("runs and widths must have the same length");
+        }
+        this.msg = msg;
+        this.runs = runs;
+        this.widths = widths;
+        this.moduleWidth = moduleWidth;
+        this.barHeight = barHeight;
+        this.quietZone = quietZone;
+        this.verticalQuietZone = verticalQuietZone;
+    }
+
+    /**
+     * Returns the encoded message.
+     * @return the message
+     */
+    public String getMessage() {
+        return this.msg;
+    }
+
+    /**
+     * Returns the run-lengths. Even indexes are bars, odd indexes are spaces. The
+     * array is not copied, so don't modify it.
+     * @return the run-lengths in logical widths
+     */
+    public int[] getRuns() {
+        return this.runs;
+    }
+
+    /**
+     * Returns the number of runs.
+     * @return the number of runs
+     */
+    public int getRunCount() {
+        return this.runs.length;
+    }
+
+    /**
+     * Indicates whether a run is a bar.
+     * @param index the index of the run
+     * @return true for a bar, false for a space
+     */
+    public boolean isBar(int index) {
+        return (index % 2) == 0;
+    }
+
+    /**
+     * Returns the effective width of a run.
+     * @param index the index of the run
+     * @return the width in mm
+     */
+    public double getWidth(int index) {
+        return this.widths[index];
+    }
+
+    /**
+     * Returns the width of the symbol without the quiet zones.
+     * @return the width in mm
+     */
+    public double getSymbolWidth() {
+        double w = 0;
+        for (int i = 0; i < widths.length; i++) {
+            w += widths[i];
+        }
+        return w;
+    }
+
+    /**
+     * Returns the module width (the width of the narrow element).
+     * @return the module width in mm
+     */
+    public double getModuleWidth() {
+        return this.moduleWidth;
+    }
+
+    /**
+     * Returns the bar height.
+     * @return the bar height in mm
+     */
+    public double getBarHeight() {
+        return this.barHeight;
+    }
+
+    /**
+     * Returns the horizontal quiet zone on each side of the symbol.
+     * @return the quiet zone in mm (0 if disabled)
+     */
+    public double getQuietZone() {
+        return this.quietZone;
+    }
+
+    /**
+     * Returns the vertical quiet zone above and below the symbol.
+     * @return the quiet zone in mm (0 if disabled)
+     */
+    public double getVerticalQuietZone() {
+        return this.verticalQuietZone;
+    }
+
+}
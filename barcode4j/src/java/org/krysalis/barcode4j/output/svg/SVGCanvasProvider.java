@@ -15,12 +15,17 @@
  */
 package org.krysalis.barcode4j.output.svg;
 
+import java.awt.Shape;
+import java.awt.geom.PathIterator;
+import java.text.DecimalFormat;
+
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.krysalis.barcode4j.BarcodeDimension;
 import org.krysalis.barcode4j.TextAlignment;
+import org.krysalis.barcode4j.fonts.OutlineFont;
 import org.krysalis.barcode4j.output.BarcodeCanvasSetupException;
 import org.w3c.dom.DOMImplementation;
 import org.w3c.dom.Document;
@@ -183,27 +188,20 @@ public class SVGCanvasProvider extends AbstractSVGGeneratingCanvasProvider {
         String w = getDecimalFormat().format(dim.getWidthPlusQuiet(orientation));
         String h = getDecimalFormat().format(dim.getHeightPlusQuiet(orientation));
         svg.setAttribute("viewBox", "0 0 " + w + " " + h);
-        String transform;
-        switch (orientation) {
-        case 90:
-            transform = "rotate(-90) translate(-" + h + ")";
-            break;
-        case 180:
-            transform = "rotate(-180) translate(-" + w + " -" + h + ")";
-            break;
-        case 270:
-            transform = "rotate(-270) translate(0 -" + w + ")";
-            break;
-        default:
-            transform = null;
-        }
-        if (transform != null) {
-            detailGroup.setAttribute("transform", transform);
-        }
     }
 
-    /** {@inheritDoc} */
+    /**
+     * Paints the rectangle with the orientation already applied to its coordinates.
+     * {@inheritDoc}
+     */
     public void deviceFillRect(double x, double y, double w, double h) {
+        if (getOrientation() != 0) {
+            double[] rect = orientRects(new double[] {x, y, w, h}, 1);
+            x = rect[0];
+            y = rect[1];
+            w = rect[2];
+            h = rect[3];
+        }
         Element el = createElement("rect");
         el.setAttribute("x", getDecimalFormat().format(x));
         el.setAttribute("y", getDecimalFormat().format(y));
@@ -212,9 +210,43 @@ public class SVGCanvasProvider extends AbstractSVGGeneratingCanvasProvider {
         detailGroup.appendChild(el);
     }
 
+    /**
+     * Paints the rectangles as a single path element with the orientation already
+     * applied to the coordinates.
+     * {@inheritDoc}
+     */
+    public void deviceFillRects(double[] rects, int count) {
+        if (count == 1) {
+            deviceFillRect(rects[0], rects[1], rects[2], rects[3]);
+            return;
+        }
+        rects = orientRects(rects, count);
+        DecimalFormat df = getDecimalFormat();
+        StringBuffer sb = new StringBuffer(count * 32);
+        for (int i = 0, c = count * 4; i < c; i += 4) {
+            sb.append('M').append(df.format(rects[i]));
+            sb.append(' ').append(df.format(rects[i + 1]));
+            sb.append('h').append(df.format(rects[i + 2]));
+            sb.append('v').append(df.format(rects[i + 3]));
+            sb.append('h').append(df.format(-rects[i + 2]));
+            sb.append('z');
+        }
+        Element el = createElement("path");
+        el.setAttribute("d", sb.toString());
+        detailGroup.appendChild(el);
+    }
+
     /** {@inheritDoc} */
     public void deviceText(String text, double x1, double x2, double y1,
                             String fontName, double fontSize, TextAlignment textAlign) {
+        OutlineFont outlineFont = OutlineFont.getInstance(fontName);
+        if (outlineFont != null) {
+            Element el = createElement("path");
+            el.setAttribute("d", toPathData(getOrientationTransform().createTransformedShape(
+                    outlineFont.createTextOutline(text, x1, x2, y1, fontSize, textAlign))));
+            detailGroup.appendChild(el);
+            return;
+        }
         Element el = createElement("text");
         String anchor;
         double tx;
@@ -231,8 +263,19 @@ public class SVGCanvasProvider extends AbstractSVGGeneratingCanvasProvider {
         el.setAttribute("font-family", fontName);
         el.setAttribute("font-size", getDecimalFormat().format(fontSize));
         el.setAttribute("text-anchor", anchor);
+        double ty = y1;
+        if (getOrientation() != 0) {
+            //Only the glyphs need to be rotated around the anchor point
+            double[] pos = new double[] {tx, ty};
+            getOrientationTransform().transform(pos, 0, pos, 0, 1);
+            tx = pos[0];
+            ty = pos[1];
+            el.setAttribute("transform", "rotate(-" + getOrientation() + " "
+                    + getDecimalFormat().format(tx) + " "
+                    + getDecimalFormat().format(ty) + ")");
+        }
         el.setAttribute("x", getDecimalFormat().format(tx));
-        el.setAttribute("y", getDecimalFormat().format(y1));
+        el.setAttribute("y", getDecimalFormat().format(ty));
         if (textAlign == TextAlignment.TA_JUSTIFY) {
             el.setAttribute("textLength", getDecimalFormat().format(x2 - x1));
         }
@@ -241,4 +284,44 @@ public class SVGCanvasProvider extends AbstractSVGGeneratingCanvasProvider {
 
     }
 
-}
\ No newline at end of file
+    private String toPathData(Shape shape) {
+        DecimalFormat df = getDecimalFormat();
+        StringBuffer sb = new StringBuffer();
+        double[] coords = new double[6];
+        PathIterator iter = shape.getPathIterator(null);
+        while (!iter.isDone()) {
+            int type = iter.currentSegment(coords);
+            int points;
+            switch (type) {
+            case PathIterator.SEG_MOVETO:
+                sb.append('M');
+                points = 1;
+                break;
+            case PathIterator.SEG_LINETO:
+                sb.append('L');
+                points = 1;
+                break;
+            case PathIterator.SEG_QUADTO:
+                sb.append('Q');
+                points = 2;
+                break;
+            case PathIterator.SEG_CUBICTO:
+                sb.append('C');
+                points = 3;
+                break;
+            default:
+                sb.append('z');
+                points = 0;
+            }
+            for (int i = 0; i < points * 2; i++) {
+                if (i > 0) {
+                    sb.append(' ');
+                }
+                sb.append(df.format(coords[i]));
+            }
+            iter.next();
+        }
+        return sb.toString();
+    }
+
+}
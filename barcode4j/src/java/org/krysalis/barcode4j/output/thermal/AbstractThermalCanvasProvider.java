@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.thermal;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.TextAlignment;
+import org.krysalis.barcode4j.output.AbstractCanvasProvider;
+import org.krysalis.barcode4j.output.bitmap.BitmapBuilder;
+import org.krysalis.barcode4j.output.bitmap.BitmapCanvasProvider;
+
+/**
+ * Abstract base class for CanvasProvider implementations generating printer-native
+ * raster graphics for thermal label and receipt printers. The barcode is painted
+ * into a 1-bit image at the printer resolution which is then handed to the
+ * subclass as packed rows (1 = black, most significant bit first).
+ *
+ * @author agent
+ */
+public abstract class AbstractThermalCanvasProvider extends AbstractCanvasProvider {
+
+    private OutputStream out;
+    private int resolution;
+    private BitmapCanvasProvider delegate;
+
+    /**
+     * Main constructor.
+     * @param out OutputStream to write the printer commands to
+     * @param resolution the printer resolution (dots per inch)
+     * @param orientation the barcode orientation (0, 90, 180, 270)
+     */
+    public AbstractThermalCanvasProvider(OutputStream out, int resolution, int orientation) {
+        super(orientation);
+        this.out = out;
+        this.resolution = resolution;
+        this.delegate = new BitmapCanvasProvider(resolution,
+                BufferedImage.TYPE_BYTE_BINARY, false, orientation);
+    }
+
+    /**
+     * Returns the OutputStream the printer commands are written to.
+     * @return the OutputStream
+     */
+    protected OutputStream getOutputStream() {
+        return this.out;
+    }
+
+    /**
+     * Returns the printer resolution.
+     * @return the resolution (dots per inch)
+     */
+    public int getResolution() {
+        return this.resolution;
+    }
+
+    /** {@inheritDoc} */
+    public void establishDimensions(BarcodeDimension dim) {
+        super.establishDimensions(dim);
+        this.delegate.establishDimensions(dim);
+    }
+
+    /** {@inheritDoc} */
+    public void deviceFillRect(double x, double y, double w, double h) {
+        this.delegate.deviceFillRect(x, y, w, h);
+    }
+
+    /** {@inheritDoc} */
+    public void deviceFillRects(double[] rects, int count) {
+        this.delegate.deviceFillRects(rects, count);
+    }
+
+    /** {@inheritDoc} */
+    public void deviceText(String text,
+            double x1, double x2, double y1,
+            String fontName, double fontSize, TextAlignment textAlign) {
+        this.delegate.deviceText(text, x1, x2, y1, fontName, fontSize, textAlign);
+    }
+
+    /**
+     * Writes the printer commands. Must be called after barcode painting call
+     * returns.
+     * @throws IOException in case of an I/O problem
+     */
+    public void finish() throws IOException {
+        this.delegate.finish();
+        BufferedImage image = this.delegate.getBufferedImage();
+        byte[] data = BitmapBuilder.getPackedBits(image);
+        writeRaster(data, (image.getWidth() + 7) / 8, image.getHeight());
+        this.out.flush();
+    }
+
+    /**
+     * Writes the raster image using printer commands.
+     * @param data the packed image rows (1 = black, most significant bit first)
+     * @param bytesPerRow the number of bytes per row
+     * @param rows the number of rows
+     * @throws IOException in case of an I/O problem
+     */
+    protected abstract void writeRaster(byte[] data, int bytesPerRow, int rows)
+                throws IOException;
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.thermal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * CanvasProvider implementation generating the ESC/POS raster bit image command
+ * (<code>GS v 0</code>) for receipt printers. Tall images are split into several
+ * bands as printers limit the number of rows per command.
+ *
+ * @author agent
+ */
+public class ESCPOSCanvasProvider extends AbstractThermalCanvasProvider {
+
+    /** The maximum number of rows per raster command supported by most printers. */
+    public static final int DEFAULT_MAX_BAND_HEIGHT = 2303;
+
+    private int maxBandHeight = DEFAULT_MAX_BAND_HEIGHT;
+
+    /**
+     * Creates a new ESCPOSCanvasProvider.
+     * @param out OutputStream to write the ESC/POS commands to
+     * @param resolution the printer resolution (dots per inch, usually 203 or 180)
+     * @param orientation the barcode orientation (0, 90, 180, 270)
+     */
+    public ESCPOSCanvasProvider(OutputStream out, int resolution, int orientation) {
+        super(out, resolution, orientation);
+    }
+
+    /**
+     * Sets the maximum number of rows sent with a single raster command.
+     * @param rows the maximum number of rows per band
+     */
+    public void setMaxBandHeight(int rows) {
+        if (rows < 1) {
+            throw new IllegalArgumentException("Band height must be at least 1");
+        }
+        this.maxBandHeight = rows;
+    }
+
+    /** {@inheritDoc} */
+    protected void writeRaster(byte[] data, int bytesPerRow, int rows) throws IOException {
+        OutputStream out = getOutputStream();
+        int row = 0;
+        while (row < rows) {
+            int band = Math.min(maxBandHeight, rows - row);
+            out.write(new byte[] {0x1D, 'v', '0', 0,
+                    (byte)(bytesPerRow & 0xFF), (byte)((bytesPerRow >> 8) & 0xFF),
+                    (byte)(band & 0xFF), (byte)((band >> 8) & 0xFF)});
+            out.write(data, row * bytesPerRow, band * bytesPerRow);
+            row += band;
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.thermal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * CanvasProvider implementation generating a ZPL II graphic field (<code>^GF</code>)
+ * for Zebra label printers. The graphic data is written in the compressed ASCII
+ * hexadecimal form.
+ *
+ * @author agent
+ * @see ZPLNativeCommands
+ */
+public class ZPLCanvasProvider extends AbstractThermalCanvasProvider {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private int x;
+    private int y;
+    private boolean wrapLabel = true;
+
+    /**
+     * Creates a new ZPLCanvasProvider generating a complete label (<code>^XA</code>
+     * ... <code>^XZ</code>) with the barcode at the label home position.
+     * @param out OutputStream to write the ZPL commands to
+     * @param resolution the printer resolution (dots per inch)
+     * @param orientation the barcode orientation (0, 90, 180, 270)
+     */
+    public ZPLCanvasProvider(OutputStream out, int resolution, int orientation) {
+        super(out, resolution, orientation);
+    }
+
+    /**
+     * Creates a new ZPLCanvasProvider generating only the graphic field, so it can
+     * be merged into a larger label format.
+     * @param out OutputStream to write the ZPL commands to
+     * @param resolution the printer resolution (dots per inch)
+     * @param orientation the barcode orientation (0, 90, 180, 270)
+     * @param x the x position of the graphic field (in dots)
+     * @param y the y position of the graphic field (in dots)
+     */
+    public ZPLCanvasProvider(OutputStream out, int resolution, int orientation,
+                int x, int y) {
+        this(out, resolution, orientation);
+        this.x = x;
+        this.y = y;
+        this.wrapLabel = false;
+    }
+
+    /** {@inheritDoc} */
+    protected void writeRaster(byte[] data, int bytesPerRow, int rows) throws IOException {
+        StringBuffer sb = new StringBuffer(data.length);
+        if (wrapLabel) {
+            sb.append("^XA\n");
+        }
+        sb.append("^FO").append(x).append(',').append(y);
+        sb.append("^GFA,").append(data.length).append(',').append(data.length);
+        sb.append(',').append(bytesPerRow).append(',');
+        compress(data, bytesPerRow, rows, sb);
+        sb.append("^FS\n");
+        if (wrapLabel) {
+            sb.append("^XZ\n");
+        }
+        getOutputStream().write(sb.toString().getBytes("US-ASCII"));
+    }
+
+    /**
+     * Compresses graphic data using the ZPL II ASCII compression scheme.
+     * @param data the packed image rows
+     * @param bytesPerRow the number of bytes per row
+     * @param rows the number of rows
+     * @param sb the target buffer
+     */
+    static void compress(byte[] data, int bytesPerRow, int rows, StringBuffer sb) {
+        char[] line = new char[bytesPerRow * 2];
+        char[] prev = null;
+        for (int row = 0; row < rows; row++) {
+            int offset = row * bytesPerRow;
+            for (int i = 0; i < bytesPerRow; i++) {
+                int b = data[offset + i] & 0xFF;
+                line[i * 2] = HEX[b >> 4];
+                line[i * 2 + 1] = HEX[b & 0x0F];
+            }
+            if (prev != null && java.util.Arrays.equals(line, prev)) {
+                sb.append(':'); //repeat previous line
+                continue;
+            }
+            int end = line.length;
+            char fill = 0;
+            if (line[end - 1] == '0' || line[end - 1] == 'F') {
+                char c = line[end - 1];
+                while (end > 0 && line[end - 1] == c) {
+                    end--;
+                }
+                fill = (c == '0' ? ',' : '!');
+            }
+            int pos = 0;
+            while (pos < end) {
+                char c = line[pos];
+                int run = 1;
+                while (pos + run < end && line[pos + run] == c) {
+                    run++;
+                }
+                appendRepeatCount(run, sb);
+                sb.append(c);
+                pos += run;
+            }
+            if (fill != 0) {
+                sb.append(fill);
+            }
+            if (prev == null) {
+                prev = new char[line.length];
+            }
+            System.arraycopy(line, 0, prev, 0, line.length);
+        }
+    }
+
+    private static void appendRepeatCount(int count, StringBuffer sb) {
+        if (count == 1) {
+            return;
+        }
+        while (count >= 400) {
+            sb.append('z');
+            count -= 400;
+            if (count == 0) {
+                return;
+            }
+        }
+        if (count >= 20) {
+            sb.append((char)('g' + (count / 20) - 1));
+            count %= 20;
+        }
+        if (count > 0) {
+            sb.append((char)('G' + count - 1));
+        }
+    }
+
+}
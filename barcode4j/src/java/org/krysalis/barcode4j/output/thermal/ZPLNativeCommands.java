@@ -0,0 +1,217 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.thermal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.BarcodeGenerator;
+import org.krysalis.barcode4j.ChecksumMode;
+import org.krysalis.barcode4j.HumanReadablePlacement;
+import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
+import org.krysalis.barcode4j.impl.ConfigurableBarcodeGenerator;
+import org.krysalis.barcode4j.impl.code128.Code128Bean;
+import org.krysalis.barcode4j.impl.code39.Code39Bean;
+import org.krysalis.barcode4j.impl.datamatrix.DataMatrixBean;
+import org.krysalis.barcode4j.impl.datamatrix.SymbolShapeHint;
+import org.krysalis.barcode4j.impl.qr.QRCodeBean;
+import org.krysalis.barcode4j.impl.upcean.EAN13Bean;
+import org.krysalis.barcode4j.impl.upcean.UPCABean;
+import org.krysalis.barcode4j.tools.UnitConv;
+
+/**
+ * Generates native ZPL II barcode commands (for example <code>^BC</code>,
+ * <code>^BX</code> and <code>^BQ</code>) from a barcode bean's configuration so the
+ * printer renders the symbol itself. Symbologies without a native equivalent fall
+ * back to a graphic field generated by {@link ZPLCanvasProvider}.
+ *
+ * @author agent
+ */
+public class ZPLNativeCommands {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Utility class: Constructor prevents instantiating when subclassed.
+     */
+    protected ZPLNativeCommands() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes a complete label containing the barcode. Native barcode commands are
+     * used if the symbology is supported, otherwise the barcode is sent as a graphic
+     * field.
+     * @param out the OutputStream to write the ZPL commands to
+     * @param gen the barcode generator
+     * @param msg the message to encode
+     * @param resolution the printer resolution (dots per inch)
+     * @param orientation the barcode orientation (0, 90, 180, 270)
+     * @throws IOException in case of an I/O problem
+     */
+    public static void writeLabel(OutputStream out, BarcodeGenerator gen, String msg,
+                int resolution, int orientation) throws IOException {
+        String field = createFieldCommands(gen, msg, resolution, orientation);
+        if (field != null) {
+            out.write(("^XA\n" + field + "^XZ\n").getBytes("US-ASCII"));
+            out.flush();
+        } else {
+            ZPLCanvasProvider provider = new ZPLCanvasProvider(out, resolution, orientation);
+            gen.generateBarcode(provider, msg);
+            provider.finish();
+        }
+    }
+
+    /**
+     * Creates the ZPL field commands (<code>^FO</code> ... <code>^FS</code>) that make
+     * the printer render the barcode natively.
+     * @param gen the barcode generator
+     * @param msg the message to encode
+     * @param resolution the printer resolution (dots per inch)
+     * @param orientation the barcode orientation (0, 90, 180, 270)
+     * @return the field commands or null if the symbology or its configuration cannot
+     *          be expressed by a native ZPL barcode command
+     */
+    public static String createFieldCommands(BarcodeGenerator gen, String msg,
+                int resolution, int orientation) {
+        AbstractBarcodeBean bean = getBean(gen);
+        if (bean == null) {
+            return null;
+        }
+        char o = getOrientationChar(orientation);
+        int module = Math.max(1, UnitConv.mm2px(bean.getModuleWidth(), resolution));
+        int height = Math.max(1, UnitConv.mm2px(bean.getBarHeight(), resolution));
+        String hrt = getInterpretationLine(bean);
+
+        StringBuffer sb = new StringBuffer();
+        String data = msg;
+        if (bean instanceof Code128Bean) {
+            sb.append("^BY").append(module);
+            sb.append("^BC").append(o).append(',').append(height).append(',');
+            sb.append(hrt).append(",N,A");
+        } else if (bean instanceof Code39Bean) {
+            Code39Bean c39 = (Code39Bean)bean;
+            if (c39.isExtendedCharSetEnabled()) {
+                return null;
+            }
+            sb.append("^BY").append(module).append(',');
+            sb.append(formatRatio(c39.getWideFactor())).append(',').append(height);
+            sb.append("^B3").append(o).append(',');
+            sb.append(c39.getChecksumMode() == ChecksumMode.CP_ADD ? 'Y' : 'N');
+            sb.append(',').append(height).append(',').append(hrt);
+        } else if (bean instanceof EAN13Bean || bean instanceof UPCABean) {
+            int digits = (bean instanceof EAN13Bean ? 12 : 11);
+            if (msg.length() != digits && msg.length() != digits + 1) {
+                return null;
+            }
+            data = msg.substring(0, digits); //the printer calculates the check digit
+            sb.append("^BY").append(module);
+            sb.append(bean instanceof EAN13Bean ? "^BE" : "^BU").append(o).append(',');
+            sb.append(height).append(',').append(hrt);
+        } else if (bean instanceof DataMatrixBean) {
+            DataMatrixBean dm = (DataMatrixBean)bean;
+            if (dm.getMinSize() != null || dm.getMaxSize() != null) {
+                return null;
+            }
+            sb.append("^BX").append(o).append(',').append(module).append(",200");
+            if (dm.getShape() == SymbolShapeHint.FORCE_RECTANGLE) {
+                sb.append(",,,,,2");
+            }
+        } else if (bean instanceof QRCodeBean) {
+            if (orientation != 0 || module > 10) {
+                return null; //^BQ only supports normal orientation
+            }
+            sb.append("^BQN,2,").append(module);
+            data = ((QRCodeBean)bean).getErrorCorrectionLevel() + "A," + msg;
+        } else {
+            return null;
+        }
+
+        StringBuffer field = new StringBuffer();
+        field.append("^FO");
+        if (bean.hasQuietZone()) {
+            BarcodeDimension dim = bean.calcDimensions(msg);
+            field.append(UnitConv.mm2px(dim.getXOffset(), resolution)).append(',');
+            field.append(UnitConv.mm2px(dim.getYOffset(), resolution));
+        } else {
+            field.append("0,0");
+        }
+        field.append(sb).append("^FH^FD");
+        appendEscaped(data, field);
+        field.append("^FS\n");
+        return field.toString();
+    }
+
+    private static AbstractBarcodeBean getBean(BarcodeGenerator gen) {
+        if (gen instanceof ConfigurableBarcodeGenerator) {
+            return ((ConfigurableBarcodeGenerator)gen).getBean();
+        } else if (gen instanceof AbstractBarcodeBean) {
+            return (AbstractBarcodeBean)gen;
+        } else {
+            return null;
+        }
+    }
+
+    private static char getOrientationChar(int orientation) {
+        switch (BarcodeDimension.normalizeOrientation(orientation)) {
+        case 90:
+            return 'B'; //ZPL rotates clockwise
+        case 180:
+            return 'I';
+        case 270:
+            return 'R';
+        default:
+            return 'N';
+        }
+    }
+
+    private static String getInterpretationLine(AbstractBarcodeBean bean) {
+        HumanReadablePlacement pos = bean.getMsgPosition();
+        if (pos == HumanReadablePlacement.HRP_NONE) {
+            return "N,N";
+        } else if (pos == HumanReadablePlacement.HRP_TOP) {
+            return "Y,Y";
+        } else {
+            return "Y,N";
+        }
+    }
+
+    private static String formatRatio(double ratio) {
+        double r = Math.max(2.0, Math.min(3.0, ratio));
+        return Double.toString(Math.round(r * 10) / 10.0);
+    }
+
+    /**
+     * Escapes the characters with a special meaning in ZPL using the
+     * <code>^FH</code> hexadecimal notation.
+     */
+    private static void appendEscaped(String data, StringBuffer sb) {
+        for (int i = 0, c = data.length(); i < c; i++) {
+            char ch = data.charAt(i);
+            if (ch == '^' || ch == '~' || ch == '_' || ch < 32 || ch > 126) {
+                if (ch > 255) {
+                    throw new IllegalArgumentException(
+                            "Character not supported by native ZPL barcodes: " + ch);
+                }
+                sb.append('_').append(HEX[ch >> 4]).append(HEX[ch & 0x0F]);
+            } else {
+                sb.append(ch);
+            }
+        }
+    }
+
+}
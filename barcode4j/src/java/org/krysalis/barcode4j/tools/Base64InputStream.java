@@ -78,7 +78,7 @@ public class Base64InputStream extends InputStream {
                 return EOF;
             }
         }
-        return triple[tripleIndex++];
+        return triple[tripleIndex++] & 0xFF;
     }
 
     private boolean readNextTriple() throws IOException {
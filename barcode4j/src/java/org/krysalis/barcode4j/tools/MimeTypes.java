@@ -27,6 +27,8 @@ public class MimeTypes {
     public static final String MIME_SVG  = "image/svg+xml";
     /** EPS MIME type: image/x-eps */
     public static final String MIME_EPS  = "image/x-eps";
+    /** PDF MIME type: application/pdf */
+    public static final String MIME_PDF  = "application/pdf";
     /** TIFF MIME type: image/tiff */
     public static final String MIME_TIFF = "image/tiff";
     /** JPEG MIME type: image/jpeg */
@@ -42,6 +44,7 @@ public class MimeTypes {
             {{"svg", MIME_SVG},
              {"eps", MIME_EPS},
              {"image/eps", MIME_EPS},
+             {"pdf", MIME_PDF},
              {"tif", MIME_TIFF},
              {"tiff", MIME_TIFF},
              {"jpg", MIME_JPEG},
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.fonts;
+
+import java.awt.geom.Rectangle2D;
+import java.io.ByteArrayOutputStream;
+
+import junit.framework.TestCase;
+
+import org.krysalis.barcode4j.TextAlignment;
+import org.krysalis.barcode4j.impl.upcean.EAN13Bean;
+import org.krysalis.barcode4j.output.eps.EPSCanvasProvider;
+import org.krysalis.barcode4j.output.svg.SVGCanvasProvider;
+import org.w3c.dom.Element;
+
+/**
+ * Test class for the bundled outline fonts.
+ *
+ * @author agent
+ */
+public class OutlineFontTest extends TestCase {
+
+    public OutlineFontTest(String name) {
+        super(name);
+    }
+
+    public void testLookup() throws Exception {
+        assertSame(OutlineFont.OCR_B, OutlineFont.getInstance("OCRB-Outline"));
+        assertSame(OutlineFont.HELVETICA, OutlineFont.getInstance("helvetica-outline"));
+        assertNull(OutlineFont.getInstance("Helvetica"));
+    }
+
+    public void testGlyphs() throws Exception {
+        String chars = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ!\"#$%'()*+,-./:;<=>?[]_";
+        for (int i = 0; i < chars.length(); i++) {
+            char ch = chars.charAt(i);
+            Rectangle2D bounds = OutlineFont.OCR_B.getGlyph(ch).getBounds2D();
+            assertTrue("Empty glyph for " + ch, bounds.getWidth() > 0);
+            assertTrue(bounds.getMinX() > -0.0001);
+            assertTrue(bounds.getMaxX() <= OutlineFont.OCR_B.getAdvance(ch) + 0.0001);
+            assertTrue(OutlineFont.HELVETICA.getGlyph(ch).getBounds2D().getWidth() > 0);
+        }
+        assertSame(OutlineFont.OCR_B.getGlyph('A'), OutlineFont.OCR_B.getGlyph('A'));
+        assertTrue(OutlineFont.OCR_B.getGlyph(' ').getBounds2D().isEmpty());
+        //Digits sit on the baseline and have the cap height of 0.7 em
+        Rectangle2D bounds = OutlineFont.HELVETICA.getGlyph('1').getBounds2D();
+        assertEquals(-0.7, bounds.getMinY(), 0.1);
+        assertEquals(0.0, bounds.getMaxY(), 0.1);
+    }
+
+    public void testTextOutline() throws Exception {
+        OutlineFont font = OutlineFont.OCR_B;
+        assertEquals(6 * 0.6 * 3, font.getTextWidth("123456", 3), 0.0001);
+        Rectangle2D bounds = font.createTextOutline("123456", 10, 30, 50, 3,
+                TextAlignment.TA_JUSTIFY).getBounds2D();
+        assertTrue(bounds.getMinX() >= 10);
+        assertTrue(bounds.getMinX() < 11);
+        assertTrue(bounds.getMaxX() <= 30);
+        assertTrue(bounds.getMaxX() > 29);
+        assertTrue(bounds.getMaxY() <= 50.2);
+
+        bounds = font.createTextOutline("1", 10, 30, 50, 3,
+                TextAlignment.TA_RIGHT).getBounds2D();
+        assertTrue(bounds.getMinX() > 28);
+    }
+
+    public void testOutput() throws Exception {
+        EAN13Bean bean = new EAN13Bean();
+        bean.setFontName(OutlineFont.OCR_B_NAME);
+
+        ByteArrayOutputStream baout = new ByteArrayOutputStream();
+        EPSCanvasProvider eps = new EPSCanvasProvider(baout, 0);
+        bean.generateBarcode(eps, "4006381333931");
+        eps.finish();
+        String ps = baout.toString("US-ASCII");
+        assertTrue(ps.indexOf("findfont") < 0);
+        assertTrue(ps.indexOf("curveto") > 0);
+
+        SVGCanvasProvider svg = new SVGCanvasProvider(false, 0);
+        bean.generateBarcode(svg, "4006381333931");
+        Element root = svg.getDOM().getDocumentElement();
+        assertEquals(0, root.getElementsByTagName("text").getLength());
+        assertTrue(root.getElementsByTagName("path").getLength() > 1);
+    }
+
+}
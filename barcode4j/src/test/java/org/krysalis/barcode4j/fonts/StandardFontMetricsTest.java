@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.fonts;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for the font metrics providers.
+ *
+ * @author agent
+ */
+public class StandardFontMetricsTest extends TestCase {
+
+    public StandardFontMetricsTest(String name) {
+        super(name);
+    }
+
+    public void testStandardFonts() throws Exception {
+        FontMetricsProvider metrics = StandardFontMetrics.getInstance();
+        assertEquals(4 * 0.556 * 3, metrics.getTextWidth("0123", "Helvetica", 3), 0.0001);
+        assertEquals((0.278 + 0.667) * 3, metrics.getTextWidth("IA", "Arial", 3), 0.0001);
+        assertEquals(4 * 0.6 * 3, metrics.getTextWidth("Il0W", "Courier", 3), 0.0001);
+        assertEquals(4 * 0.6 * 3, metrics.getTextWidth("Il0W", "OCR-B", 3), 0.0001);
+        assertEquals(0.718 * 3, metrics.getAscent("Helvetica", 3), 0.0001);
+        assertEquals(0.207 * 3, metrics.getDescent("Helvetica", 3), 0.0001);
+        assertEquals(0.157 * 3, metrics.getDescent("Courier", 3), 0.0001);
+        assertEquals(0.217 * 3, metrics.getDescent("Times-Roman", 3), 0.0001);
+    }
+
+    public void testOutlineFonts() throws Exception {
+        FontMetricsProvider metrics = StandardFontMetrics.getInstance();
+        String text = "(01)123 Hello";
+        assertEquals(OutlineFont.HELVETICA.getTextWidth(text, 3),
+                metrics.getTextWidth(text, OutlineFont.HELVETICA_NAME, 3), 0.0001);
+        assertEquals(OutlineFont.OCR_B.getTextWidth(text, 3),
+                AWTFontMetrics.getInstance().getTextWidth(text, OutlineFont.OCR_B_NAME, 3),
+                0.0001);
+    }
+
+    public void testAWTFonts() throws Exception {
+        FontMetricsProvider metrics = AWTFontMetrics.getInstance();
+        double narrow = metrics.getTextWidth("1", "Monospaced", 3);
+        assertTrue(narrow > 0);
+        assertEquals(10 * narrow, metrics.getTextWidth("1111111111", "Monospaced", 3), 0.01);
+        assertTrue(metrics.getAscent("Monospaced", 3) > 0);
+        assertTrue(metrics.getDescent("Monospaced", 3) > 0);
+    }
+
+}
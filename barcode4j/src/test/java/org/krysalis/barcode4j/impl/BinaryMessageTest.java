@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.impl;
+
+import java.io.ByteArrayOutputStream;
+
+import junit.framework.TestCase;
+
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.impl.code39.Code39Bean;
+import org.krysalis.barcode4j.impl.datamatrix.DataMatrixBean;
+import org.krysalis.barcode4j.impl.pdf417.PDF417Bean;
+import org.krysalis.barcode4j.impl.qr.QRCodeBean;
+import org.krysalis.barcode4j.output.Canvas;
+import org.krysalis.barcode4j.output.eps.EPSCanvasProvider;
+import org.krysalis.barcode4j.output.raw.ModuleMatrix;
+import org.krysalis.barcode4j.output.raw.ModuleMatrixLogicHandler;
+
+/**
+ * Tests binary messages passed as byte arrays to the 2D symbologies.
+ *
+ * @author agent
+ */
+public class BinaryMessageTest extends TestCase {
+
+    private static final byte[] DATA = new byte[] {0x00, 0x7e, (byte)0x80, (byte)0xff,
+        0x41, 0x42, 0x31, 0x32, (byte)0xe9, 0x0a, 0x1b, 0x54, 0x65, 0x73, 0x74};
+    private static final String DATA_URL = "url(data:;base64,AH6A/0FCMTLpChtUZXN0)";
+
+    public BinaryMessageTest(String name) {
+        super(name);
+    }
+
+    private static String toLatin1(byte[] data) {
+        char[] chars = new char[data.length];
+        for (int i = 0; i < data.length; i++) {
+            chars[i] = (char)(data[i] & 0xff);
+        }
+        return new String(chars);
+    }
+
+    private void assertSameSymbol(AbstractBarcodeBean bean, String msg) throws Exception {
+        ModuleMatrixLogicHandler handler = new ModuleMatrixLogicHandler(bean);
+        bean.generateBarcodeLogic(handler, msg);
+        ModuleMatrix expected = handler.getMatrix();
+        handler = new ModuleMatrixLogicHandler(bean);
+        bean.generateBarcodeLogic(handler, DATA);
+        ModuleMatrix actual = handler.getMatrix();
+        assertNull(actual.getMessage());
+        assertEquals(expected.getColumns(), actual.getColumns());
+        assertEquals(expected.getRows(), actual.getRows());
+        for (int y = 0; y < expected.getRows(); y++) {
+            for (int x = 0; x < expected.getColumns(); x++) {
+                assertEquals("x=" + x + " y=" + y, expected.get(x, y), actual.get(x, y));
+            }
+        }
+
+        BarcodeDimension expectedDim = bean.calcDimensions(msg);
+        BarcodeDimension dim = bean.calcDimensions(DATA);
+        assertEquals(expectedDim.getWidthPlusQuiet(), dim.getWidthPlusQuiet(), 0.000001);
+        assertEquals(expectedDim.getHeightPlusQuiet(), dim.getHeightPlusQuiet(), 0.000001);
+
+        ByteArrayOutputStream expectedEPS = new ByteArrayOutputStream();
+        EPSCanvasProvider eps = new EPSCanvasProvider(expectedEPS, 0);
+        bean.generateBarcode(eps, msg);
+        eps.finish();
+        ByteArrayOutputStream actualEPS = new ByteArrayOutputStream();
+        eps = new EPSCanvasProvider(actualEPS, 0);
+        bean.generateBarcode(eps, DATA);
+        eps.finish();
+        assertEquals(stripCreationDate(expectedEPS.toString("US-ASCII")),
+                stripCreationDate(actualEPS.toString("US-ASCII")));
+    }
+
+    private String stripCreationDate(String eps) {
+        int start = eps.indexOf("%%CreationDate:");
+        return eps.substring(0, start) + eps.substring(eps.indexOf('\n', start));
+    }
+
+    public void testDataMatrix() throws Exception {
+        assertSameSymbol(new DataMatrixBean(), DATA_URL);
+    }
+
+    public void testPDF417() throws Exception {
+        assertSameSymbol(new PDF417Bean(), DATA_URL);
+    }
+
+    public void testQRCode() throws Exception {
+        //QR Code doesn't support data URLs, ISO-8859-1 is the default encoding
+        assertSameSymbol(new QRCodeBean(), toLatin1(DATA));
+    }
+
+    public void testCustomCanvasLogicHandler() throws Exception {
+        final StringBuffer sb = new StringBuffer();
+        DataMatrixBean bean = new DataMatrixBean() {
+            public ClassicBarcodeLogicHandler createCanvasLogicHandler(Canvas canvas) {
+                return new DefaultTwoDimCanvasLogicHandler(this, canvas) {
+                    public void endBarcode() {
+                        super.endBarcode();
+                        sb.append("E");
+                    }
+                };
+            }
+        };
+        bean.generateBarcode(new EPSCanvasProvider(new ByteArrayOutputStream(), 0), DATA);
+        assertEquals("E", sb.toString());
+    }
+
+    public void testEncodeOnce() throws Exception {
+        final StringBuffer sb = new StringBuffer();
+        AbstractBarcodeBean[] beans = new AbstractBarcodeBean[] {
+            new DataMatrixBean() {
+                public BarcodeDimension calcDimensions(String msg) {
+                    sb.append("S");
+                    return super.calcDimensions(msg);
+                }
+                public BarcodeDimension calcDimensions(byte[] data) {
+                    sb.append("B");
+                    return super.calcDimensions(data);
+                }
+            },
+            new PDF417Bean() {
+                public BarcodeDimension calcDimensions(String msg) {
+                    sb.append("S");
+                    return super.calcDimensions(msg);
+                }
+                public BarcodeDimension calcDimensions(byte[] data) {
+                    sb.append("B");
+                    return super.calcDimensions(data);
+                }
+            }};
+        for (int i = 0; i < beans.length; i++) {
+            beans[i].generateBarcode(new EPSCanvasProvider(new ByteArrayOutputStream(), 0),
+                    DATA);
+            beans[i].generateBarcode(new EPSCanvasProvider(new ByteArrayOutputStream(), 0),
+                    "Hello");
+        }
+        //The dimensions are derived from the encoded codewords
+        assertEquals("", sb.toString());
+    }
+
+    public void testUnsupported() throws Exception {
+        try {
+            new Code39Bean().calcDimensions(DATA);
+            fail("Code 39 doesn't support binary messages");
+        } catch (UnsupportedOperationException uoe) {
+            //expected
+        }
+        try {
+            new DataMatrixBean().generateBarcodeLogic(
+                    new ModuleMatrixLogicHandler(new DataMatrixBean()), new byte[0]);
+            fail("Empty messages are not allowed");
+        } catch (NullPointerException npe) {
+            //expected
+        }
+    }
+
+}
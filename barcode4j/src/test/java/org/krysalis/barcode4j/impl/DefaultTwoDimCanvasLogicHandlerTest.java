@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.impl;
+
+import java.awt.image.BufferedImage;
+
+import junit.framework.TestCase;
+
+import org.krysalis.barcode4j.TextAlignment;
+import org.krysalis.barcode4j.impl.datamatrix.DataMatrixBean;
+import org.krysalis.barcode4j.impl.pdf417.PDF417Bean;
+import org.krysalis.barcode4j.output.AbstractCanvasProvider;
+import org.krysalis.barcode4j.output.Canvas;
+import org.krysalis.barcode4j.output.bitmap.BitmapCanvasProvider;
+import org.krysalis.barcode4j.output.raw.ModuleMatrix;
+import org.krysalis.barcode4j.output.raw.RawBarcodeOutput;
+
+/**
+ * Test class for the run merging in {@link DefaultTwoDimCanvasLogicHandler}.
+ *
+ * @author agent
+ */
+public class DefaultTwoDimCanvasLogicHandlerTest extends TestCase {
+
+    public DefaultTwoDimCanvasLogicHandlerTest(String name) {
+        super(name);
+    }
+
+    /** CanvasProvider counting the rectangles and summing up their area. */
+    private static class CountingCanvasProvider extends AbstractCanvasProvider {
+
+        private int rects;
+        private double area;
+
+        public CountingCanvasProvider() {
+            super(0);
+        }
+
+        public void deviceFillRect(double x, double y, double w, double h) {
+            rects++;
+            area += w * h;
+        }
+
+        public void deviceText(String text, double x1, double x2, double y1,
+                String fontName, double fontSize, TextAlignment textAlign) {
+            //nop
+        }
+    }
+
+    private int countDarkModules(ModuleMatrix matrix) {
+        int dark = 0;
+        for (int y = 0; y < matrix.getRows(); y++) {
+            for (int x = 0; x < matrix.getColumns(); x++) {
+                if (matrix.get(x, y)) {
+                    dark++;
+                }
+            }
+        }
+        return dark;
+    }
+
+    private CountingCanvasProvider paint(AbstractBarcodeBean bean, String msg,
+                boolean mergeRows) {
+        CountingCanvasProvider provider = new CountingCanvasProvider();
+        DefaultTwoDimCanvasLogicHandler handler =
+            new DefaultTwoDimCanvasLogicHandler(bean, new Canvas(provider));
+        handler.setMergeRows(mergeRows);
+        bean.generateBarcodeLogic(handler, msg);
+        return provider;
+    }
+
+    private BufferedImage paintBitmap(AbstractBarcodeBean bean, String msg,
+                boolean mergeRows) {
+        BitmapCanvasProvider provider =
+            new BitmapCanvasProvider(300, BufferedImage.TYPE_BYTE_BINARY, false, 0);
+        DefaultTwoDimCanvasLogicHandler handler =
+            new DefaultTwoDimCanvasLogicHandler(bean, new Canvas(provider));
+        handler.setMergeRows(mergeRows);
+        bean.generateBarcodeLogic(handler, msg);
+        return provider.getBufferedImage();
+    }
+
+    public void testRunMerging() throws Exception {
+        DataMatrixBean bean = new DataMatrixBean();
+        String msg = "The quick brown fox jumps over the lazy dog 0123456789";
+        ModuleMatrix matrix = RawBarcodeOutput.createModuleMatrix(bean, msg);
+        int dark = countDarkModules(matrix);
+        double moduleArea = bean.getModuleWidth() * bean.getBarHeight();
+
+        CountingCanvasProvider runs = paint(bean, msg, false);
+        assertTrue(runs.rects < dark / 2);
+        assertEquals(dark * moduleArea, runs.area, 0.0001);
+
+        CountingCanvasProvider rects = paint(bean, msg, true);
+        assertTrue(rects.rects < runs.rects);
+        assertEquals(dark * moduleArea, rects.area, 0.0001);
+    }
+
+    public void testSameRendering() throws Exception {
+        AbstractBarcodeBean[] beans = new AbstractBarcodeBean[] {
+                new DataMatrixBean(), new PDF417Bean()};
+        for (int b = 0; b < beans.length; b++) {
+            BufferedImage expected = paintBitmap(beans[b], "Hello World", false);
+            BufferedImage actual = paintBitmap(beans[b], "Hello World", true);
+            for (int y = 0; y < expected.getHeight(); y++) {
+                for (int x = 0; x < expected.getWidth(); x++) {
+                    assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+                }
+            }
+        }
+    }
+
+}
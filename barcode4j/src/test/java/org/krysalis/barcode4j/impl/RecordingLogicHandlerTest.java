@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.impl;
+
+import java.io.ByteArrayOutputStream;
+
+import junit.framework.TestCase;
+
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.impl.code128.Code128Bean;
+import org.krysalis.barcode4j.impl.code39.Code39Bean;
+import org.krysalis.barcode4j.impl.datamatrix.DataMatrixBean;
+import org.krysalis.barcode4j.impl.upcean.EAN13Bean;
+import org.krysalis.barcode4j.output.TeeCanvasProvider;
+import org.krysalis.barcode4j.output.eps.EPSCanvasProvider;
+import org.krysalis.barcode4j.output.svg.SVGCanvasProvider;
+import org.w3c.dom.Element;
+import org.krysalis.barcode4j.output.pdf.PDFCanvasProvider;
+
+/**
+ * Test class for recording and replaying barcode logic.
+ *
+ * @author agent
+ */
+public class RecordingLogicHandlerTest extends TestCase {
+
+    public RecordingLogicHandlerTest(String name) {
+        super(name);
+    }
+
+    private String stripCreationDate(String eps) {
+        int start = eps.indexOf("%%CreationDate:");
+        return eps.substring(0, start) + eps.substring(eps.indexOf('\n', start));
+    }
+
+    public void testRecordReplay() throws Exception {
+        Code39Bean bean = new Code39Bean();
+        StringBuffer expected = new StringBuffer();
+        bean.generateBarcodeLogic(new MockClassicBarcodeLogicHandler(expected, true), "ABC");
+
+        RecordingLogicHandler recorder = RecordingLogicHandler.record(bean, "ABC");
+        assertFalse(recorder.isTwoDimensional());
+        StringBuffer sb = new StringBuffer();
+        recorder.replay(new MockClassicBarcodeLogicHandler(sb, true));
+        assertEquals(expected.toString(), sb.toString());
+
+        //Can be replayed multiple times
+        sb.setLength(0);
+        recorder.replay(new MockClassicBarcodeLogicHandler(sb, true));
+        assertEquals(expected.toString(), sb.toString());
+    }
+
+    public void testTwoDimensional() throws Exception {
+        RecordingLogicHandler recorder = RecordingLogicHandler.record(
+                new DataMatrixBean(), "Hello");
+        assertTrue(recorder.isTwoDimensional());
+        try {
+            recorder.replay(new MockClassicBarcodeLogicHandler(new StringBuffer()));
+            fail("Two-dimensional barcodes need a TwoDimBarcodeLogicHandler");
+        } catch (IllegalArgumentException iae) {
+            //expected
+        }
+    }
+
+    public void testReplayWithoutEncoding() throws Exception {
+        final int[] calls = new int[1];
+        AbstractBarcodeBean[] beans = new AbstractBarcodeBean[] {
+            new DataMatrixBean() {
+                public BarcodeDimension calcDimensions(String msg) {
+                    calls[0]++;
+                    return super.calcDimensions(msg);
+                }
+            },
+            new Code128Bean() {
+                public BarcodeDimension calcDimensions(String msg) {
+                    calls[0]++;
+                    return super.calcDimensions(msg);
+                }
+            }};
+        for (int i = 0; i < beans.length; i++) {
+            calls[0] = 0;
+            RecordingLogicHandler recorder = RecordingLogicHandler.record(beans[i], "Hello");
+            assertEquals(1, calls[0]);
+            SVGCanvasProvider svg = new SVGCanvasProvider(false, 0);
+            recorder.replay(beans[i], svg);
+            recorder.replay(beans[i], new SVGCanvasProvider(false, 0));
+            assertEquals(1, calls[0]);
+            assertEquals(recorder.getDimensions().getWidthPlusQuiet(),
+                    svg.getDimensions().getWidthPlusQuiet(), 0.000001);
+        }
+    }
+
+    public void testBinary() throws Exception {
+        DataMatrixBean bean = new DataMatrixBean();
+        byte[] data = new byte[] {1, 2, 3, (byte)200};
+        SVGCanvasProvider expected = new SVGCanvasProvider(false, 0);
+        bean.generateBarcode(expected, data);
+
+        RecordingLogicHandler recorder = RecordingLogicHandler.record(bean, data);
+        SVGCanvasProvider svg = new SVGCanvasProvider(false, 0);
+        recorder.replay(bean, svg);
+        assertEquals(expected.getDimensions().getWidthPlusQuiet(),
+                svg.getDimensions().getWidthPlusQuiet(), 0.000001);
+        assertEquals(getPath(expected), getPath(svg));
+    }
+
+    private String getPath(SVGCanvasProvider svg) {
+        Element path = (Element)svg.getDOM().getElementsByTagName("path").item(0);
+        return path.getAttribute("d");
+    }
+
+    public void testReplayToTee() throws Exception {
+        EAN13Bean bean = new EAN13Bean();
+        String msg = "4006381333931";
+
+        ByteArrayOutputStream epsExpected = new ByteArrayOutputStream();
+        EPSCanvasProvider eps = new EPSCanvasProvider(epsExpected, 0);
+        bean.generateBarcode(eps, msg);
+        eps.finish();
+        PDFCanvasProvider pdfExpected = new PDFCanvasProvider(90);
+        bean.generateBarcode(pdfExpected, msg);
+
+        RecordingLogicHandler recorder = RecordingLogicHandler.record(bean, msg);
+        ByteArrayOutputStream epsOut = new ByteArrayOutputStream();
+        eps = new EPSCanvasProvider(epsOut, 0);
+        PDFCanvasProvider pdf = new PDFCanvasProvider(90);
+        recorder.replay(bean, new TeeCanvasProvider(eps, pdf));
+        eps.finish();
+
+        assertEquals(stripCreationDate(epsExpected.toString("US-ASCII")),
+                stripCreationDate(epsOut.toString("US-ASCII")));
+        assertEquals(new String(pdfExpected.getContentStream(), "ISO-8859-1"),
+                new String(pdf.getContentStream(), "ISO-8859-1"));
+    }
+
+}
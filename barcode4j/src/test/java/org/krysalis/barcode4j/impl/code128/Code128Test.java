@@ -17,8 +17,11 @@ package org.krysalis.barcode4j.impl.code128;
 
 import junit.framework.TestCase;
 
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.TextAlignment;
 import org.krysalis.barcode4j.impl.MockClassicBarcodeLogicHandler;
 import org.krysalis.barcode4j.impl.NullClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.output.AbstractCanvasProvider;
 
 /**
  * Test class for the Code128 implementation.
@@ -99,4 +102,58 @@ public class Code128Test extends TestCase {
         //expect no failure
     }
 
-}
\ No newline at end of file
+    /** CanvasProvider remembering the horizontal extents of the bars and the text. */
+    private static class ExtentsCanvasProvider extends AbstractCanvasProvider {
+
+        private double barsMinX = Double.MAX_VALUE;
+        private double barsMaxX;
+        private double textX1;
+        private double textX2;
+
+        public ExtentsCanvasProvider() {
+            super(0);
+        }
+
+        public void deviceFillRect(double x, double y, double w, double h) {
+            barsMinX = Math.min(barsMinX, x);
+            barsMaxX = Math.max(barsMaxX, x + w);
+        }
+
+        public void deviceText(String text, double x1, double x2, double y1,
+                String fontName, double fontSize, TextAlignment textAlign) {
+            this.textX1 = x1;
+            this.textX2 = x2;
+        }
+    }
+
+    public void testHumanReadableOverflow() throws Exception {
+        Code128Bean bean = new Code128Bean();
+        BarcodeDimension dim = bean.calcDimensions("1234");
+        assertEquals(bean.getQuietZone(), dim.getXOffset(), 0.0001);
+        assertEquals(dim.getWidth() + 2 * bean.getQuietZone(), dim.getWidthPlusQuiet(), 0.0001);
+
+        //Code set C packs two digits into a character, so the text is wider than the bars
+        bean.setFontSize(6);
+        String msg = "12345678901234567890";
+        double textWidth = bean.getHumanReadableWidth(msg);
+        dim = bean.calcDimensions(msg);
+        assertTrue(textWidth > dim.getWidth() + 2 * bean.getQuietZone());
+        assertEquals(textWidth, dim.getWidthPlusQuiet(), 0.0001);
+        assertEquals((textWidth - dim.getWidth()) / 2, dim.getXOffset(), 0.0001);
+
+        ExtentsCanvasProvider provider = new ExtentsCanvasProvider();
+        bean.generateBarcode(provider, msg);
+        assertEquals(dim.getXOffset(), provider.barsMinX, 0.0001);
+        assertEquals(dim.getXOffset() + dim.getWidth(), provider.barsMaxX, 0.0001);
+        assertEquals(provider.barsMinX, provider.textX1, 0.0001);
+        assertEquals(provider.barsMaxX, provider.textX2, 0.0001);
+    }
+
+    public void testHumanReadableHeight() throws Exception {
+        Code128Bean bean = new Code128Bean();
+        //Helvetica has a descender of 0.207 em
+        assertEquals(bean.getFontSize() * 1.207, bean.getHumanReadableHeight(), 0.0001);
+        assertEquals(bean.getFontSize() * 0.207, bean.getHumanReadableDescent(), 0.0001);
+    }
+
+}
@@ -127,5 +127,20 @@ public class EAN128Test extends TestCase {
                 + "390000021170" + FNC1 
                 + "9620080402", impl.getCode128Msg());
     }
-    
+
+    public void testEncodeKeepsState() throws Exception {
+        EAN128LogicImpl impl = new EAN128LogicImpl(ChecksumMode.CP_AUTO, null);
+        impl.setMessage("1012");
+        EAN128LogicImpl encoded = impl.encode("21ABC");
+        assertEquals("(21)ABC", encoded.getHumanReadableMsg());
+        assertEquals("(10)12", impl.getHumanReadableMsg());
+
+        //The bean picks up setting changes for a message seen before
+        EAN128Bean bean = new EAN128Bean();
+        double width = bean.calcDimensions("1012").getWidthPlusQuiet();
+        bean.setOmitBrackets(true);
+        assertEquals("1012", bean.getHumanReadableMsg("1012"));
+        assertEquals(width, bean.calcDimensions("1012").getWidthPlusQuiet(), 0.000001);
+    }
+
 }
@@ -359,6 +359,36 @@ public class DataMatrixHighLevelEncodeTest extends TestCase {
         assertEquals("127 85 102 116 117 127 129 56", visualized);
     }
 
+    public void testLookAheadRounding() throws Exception {
+        //The character counts of the look-ahead test are exact fractions. With
+        //floating point arithmetic, the C40 count ended up slightly above 6 here so
+        //ASCII was chosen and the message didn't fit into 10 codewords.
+        String visualized = encodeHighLevel("857DE3bFDa A");
+        assertEquals("215 230 71 123 44 19 121 107 6 199", visualized);
+    }
+
+    public void testLongMessages() throws Exception {
+        StringBuffer digits = new StringBuffer();
+        StringBuffer upper = new StringBuffer();
+        for (int i = 0; i < 1500; i++) {
+            digits.append((char)('0' + (i % 10)));
+            upper.append((char)('A' + (i % 26)));
+        }
+        //Two digits per codeword: 750 codewords, padded to the 88x88 symbol
+        byte[] codewords = DataMatrixHighLevelEncoder.encodeHighLevelCodewords(
+                digits.toString(), SymbolShapeHint.FORCE_NONE, null, null);
+        assertEquals(816, codewords.length);
+        assertEquals(DataMatrixConstants.PAD, codewords[750] & 0xFF);
+        //C40: Latch, three characters per two codewords and unlatch: 1002 codewords,
+        //padded to the 104x104 symbol
+        codewords = DataMatrixHighLevelEncoder.encodeHighLevelCodewords(
+                upper.toString(), SymbolShapeHint.FORCE_NONE, null, null);
+        assertEquals(1050, codewords.length);
+        assertEquals(DataMatrixConstants.LATCH_TO_C40, codewords[0] & 0xFF);
+        assertEquals(DataMatrixConstants.C40_UNLATCH, codewords[1001] & 0xFF);
+        assertEquals(DataMatrixConstants.PAD, codewords[1002] & 0xFF);
+    }
+
     private String encodeHighLevel(String msg) throws IOException {
         String encoded = DataMatrixHighLevelEncoder.encodeHighLevel(msg);
         //DecodeHighLevel.decode(encoded);
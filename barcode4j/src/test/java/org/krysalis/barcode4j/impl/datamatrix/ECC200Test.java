@@ -42,5 +42,47 @@ public class ECC200Test extends TestCase {
         s = DataMatrixErrorCorrection.encodeECC200(String.valueOf(cw), symbolInfo);
         assertEquals("66 129 70 138 234 82 82 95", TestHelper.visualize(s));
     }
-    
+
+    public void testInterleaved() throws Exception {
+        //86 data codewords with 42 error correction codewords in a single block
+        DataMatrixSymbolInfo single = DataMatrixSymbolInfo.lookup(86);
+        assertEquals(1, single.getInterleavedBlockCount());
+        byte[] data = new byte[86];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte)(i * 7 + 3);
+        }
+        byte[] expected = DataMatrixErrorCorrection.encodeECC200(data, single);
+
+        //Two interleaved blocks of 102 data and 42 error correction codewords each.
+        //Leading zeros don't change the error correction codewords.
+        DataMatrixSymbolInfo interleaved = DataMatrixSymbolInfo.lookup(204);
+        assertEquals(2, interleaved.getInterleavedBlockCount());
+        byte[] interleavedData = new byte[204];
+        for (int i = 0; i < data.length; i++) {
+            interleavedData[32 + i * 2] = data[i];
+            interleavedData[32 + i * 2 + 1] = data[i];
+        }
+        byte[] actual = DataMatrixErrorCorrection.encodeECC200(interleavedData, interleaved);
+        assertEquals(204 + 84, actual.length);
+        for (int i = 0; i < 42; i++) {
+            assertEquals(expected[86 + i], actual[204 + i * 2]);
+            assertEquals(expected[86 + i], actual[204 + i * 2 + 1]);
+        }
+    }
+
+    public void testParallel() throws Exception {
+        DataMatrixSymbolInfo symbolInfo = DataMatrixSymbolInfo.lookup(1558);
+        assertEquals(10, symbolInfo.getInterleavedBlockCount());
+        byte[] data = new byte[1558];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte)(i * 31 + 17);
+        }
+        byte[] expected = DataMatrixErrorCorrection.encodeECC200(data, symbolInfo);
+        byte[] actual = DataMatrixErrorCorrection.encodeECC200(data, symbolInfo, 1000);
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i]);
+        }
+    }
+
 }
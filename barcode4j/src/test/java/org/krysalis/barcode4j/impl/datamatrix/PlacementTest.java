@@ -56,12 +56,42 @@ public class PlacementTest extends TestCase {
         }
     }
     
+    public void testPlacementMap() throws Exception {
+        for (int i = 0; i < DataMatrixSymbolInfo.PROD_SYMBOLS.length; i++) {
+            DataMatrixSymbolInfo symbolInfo = DataMatrixSymbolInfo.PROD_SYMBOLS[i];
+            int numcols = symbolInfo.getSymbolDataWidth();
+            int numrows = symbolInfo.getSymbolDataHeight();
+            DataMatrixPlacementMap map = symbolInfo.getPlacementMap();
+            assertSame(map, symbolInfo.getPlacementMap());
+            assertEquals(symbolInfo.getCodewordCount(), map.getCodewordCount());
+
+            byte[] codewords = new byte[symbolInfo.getCodewordCount()];
+            for (int j = 0; j < codewords.length; j++) {
+                codewords[j] = (byte)(j * 37 + i);
+            }
+            DebugPlacement expected = new DebugPlacement(codewords, numcols, numrows);
+            expected.place();
+            long[] bitmap = map.place(codewords);
+            for (int row = 0; row < numrows; row++) {
+                for (int col = 0; col < numcols; col++) {
+                    assertEquals(symbolInfo + " x=" + col + " y=" + row,
+                            expected.getBit(col, row),
+                            DataMatrixPlacementMap.getBit(bitmap, numcols, col, row));
+                }
+            }
+        }
+    }
+
     private class DebugPlacement extends DefaultDataMatrixPlacement {
 
         public DebugPlacement(String codewords, int numcols, int numrows) {
             super(codewords, numcols, numrows);
         }
 
+        public DebugPlacement(byte[] codewords, int numcols, int numrows) {
+            super(codewords, numcols, numrows);
+        }
+
         protected void setBit(int col, int row, boolean bit) {
             if (DEBUG) {
                 System.out.println("Set bit x=" + col + " y=" + row 
@@ -107,4 +107,50 @@ public class SymbolInfoTest extends TestCase {
         assertNull(info);
     }
 
+    public void testIndexedLookup() throws Exception {
+        SymbolShapeHint[] shapes = new SymbolShapeHint[] {SymbolShapeHint.FORCE_NONE,
+                SymbolShapeHint.FORCE_SQUARE, SymbolShapeHint.FORCE_RECTANGLE};
+        Dimension[] sizes = new Dimension[] {null, new Dimension(12, 12),
+                new Dimension(26, 26), new Dimension(32, 14), new Dimension(64, 64)};
+        for (int s = 0; s < shapes.length; s++) {
+            for (int min = 0; min < sizes.length; min++) {
+                for (int max = 0; max < sizes.length; max++) {
+                    DataMatrixSymbolInfo.SymbolLookup lookup = DataMatrixSymbolInfo.getLookup(
+                            shapes[s], sizes[min], sizes[max]);
+                    assertSame(lookup, DataMatrixSymbolInfo.getLookup(
+                            shapes[s], sizes[min], sizes[max]));
+                    for (int n = 0; n <= 1560; n++) {
+                        assertSame(shapes[s] + " " + sizes[min] + " " + sizes[max] + " " + n,
+                                linearLookup(n, shapes[s], sizes[min], sizes[max]),
+                                lookup.lookup(n, false));
+                    }
+                }
+            }
+        }
+    }
+
+    private DataMatrixSymbolInfo linearLookup(int dataCodewords,
+            SymbolShapeHint shape, Dimension minSize, Dimension maxSize) {
+        DataMatrixSymbolInfo[] symbols = DataMatrixSymbolInfo.PROD_SYMBOLS;
+        for (int i = 0; i < symbols.length; i++) {
+            DataMatrixSymbolInfo symbol = symbols[i];
+            if ((shape == SymbolShapeHint.FORCE_SQUARE && symbol.rectangular)
+                    || (shape == SymbolShapeHint.FORCE_RECTANGLE && !symbol.rectangular)) {
+                continue;
+            }
+            if (minSize != null && (symbol.getSymbolWidth() < minSize.width
+                    || symbol.getSymbolHeight() < minSize.height)) {
+                continue;
+            }
+            if (maxSize != null && (symbol.getSymbolWidth() > maxSize.width
+                    || symbol.getSymbolHeight() > maxSize.height)) {
+                continue;
+            }
+            if (dataCodewords <= symbol.dataCapacity) {
+                return symbol;
+            }
+        }
+        return null;
+    }
+
 }
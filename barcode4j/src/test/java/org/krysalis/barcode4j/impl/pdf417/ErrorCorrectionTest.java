@@ -36,6 +36,54 @@ public class ErrorCorrectionTest extends TestCase {
         String ec = PDF417ErrorCorrection.generateErrorCorrection(data, errorCorrectionLevel);
         String expected = "452 327 657 619";
         assertEquals(expected, TestHelper.visualize(ec));
+
+        int[] codewords = new int[] {5, 453, 178, 121, 239, -1, -1, -1, -1, -1};
+        PDF417ErrorCorrection.generateErrorCorrection(codewords, 5, errorCorrectionLevel,
+                codewords, 5);
+        assertEquals(452, codewords[5]);
+        assertEquals(327, codewords[6]);
+        assertEquals(657, codewords[7]);
+        assertEquals(619, codewords[8]);
+        assertEquals(-1, codewords[9]);
+    }
+
+    public void testAllLevels() throws Exception {
+        int[] data = new int[928];
+        data[0] = data.length;
+        for (int i = 1; i < data.length; i++) {
+            data[i] = (i * 379 + i / 7) % 929;
+        }
+        data[1] = 928;
+        data[2] = 0;
+        for (int level = 0; level <= 8; level++) {
+            int k = PDF417ErrorCorrection.getErrorCorrectionCodewordCount(level);
+            int[] ec = new int[k];
+            PDF417ErrorCorrection.generateErrorCorrection(data, data.length, level, ec, 0);
+            int[] expected = generateErrorCorrectionReference(data, level);
+            for (int j = 0; j < k; j++) {
+                assertEquals("level=" + level + " j=" + j, expected[j], ec[j]);
+            }
+        }
+    }
+
+    /** Straight implementation of the algorithm in 4.10 of ISO/IEC 15438:2001(E). */
+    private int[] generateErrorCorrectionReference(int[] data, int level) {
+        int k = PDF417ErrorCorrection.getErrorCorrectionCodewordCount(level);
+        int[] e = new int[k];
+        for (int i = 0; i < data.length; i++) {
+            int t1 = (data[i] + e[k - 1]) % 929;
+            for (int j = k - 1; j >= 1; j--) {
+                int t2 = (t1 * PDF417Constants.EC_COEFFICIENTS[level][j]) % 929;
+                e[j] = (e[j - 1] + 929 - t2) % 929;
+            }
+            int t2 = (t1 * PDF417Constants.EC_COEFFICIENTS[level][0]) % 929;
+            e[0] = (929 - t2) % 929;
+        }
+        int[] result = new int[k];
+        for (int j = k - 1; j >= 0; j--) {
+            result[k - 1 - j] = (e[j] != 0 ? 929 - e[j] : 0);
+        }
+        return result;
     }
     
     
@@ -18,6 +18,8 @@
 
 package org.krysalis.barcode4j.impl.pdf417;
 
+import java.math.BigInteger;
+
 import junit.framework.TestCase;
 
 import org.krysalis.barcode4j.tools.TestHelper;
@@ -133,6 +135,38 @@ public class HighLevelEncoderTest extends TestCase implements PDF417Constants {
         assertEquals(expected, sb.toString());
     }
 
+    public void testEncodeNumericGroups() throws Exception {
+        StringBuffer digits = new StringBuffer();
+        for (int i = 0; i < 200; i++) {
+            digits.append((char)('0' + ((i * 7 + i / 10) % 10)));
+        }
+        digits.replace(0, 3, "000");
+        digits.replace(88, 92, "9999");
+        String msg = "x" + digits;
+        for (int count = 1; count <= 200; count++) {
+            StringBuffer sb = new StringBuffer();
+            PDF417HighLevelEncoder.encodeNumeric(msg, 1, count, sb);
+            assertEquals("count=" + count,
+                    encodeNumericWithBigInteger(digits.substring(0, count)), sb.toString());
+        }
+    }
+
+    private String encodeNumericWithBigInteger(String digits) {
+        StringBuffer sb = new StringBuffer();
+        BigInteger num900 = BigInteger.valueOf(900);
+        for (int idx = 0; idx < digits.length(); idx += 44) {
+            BigInteger bigint = new BigInteger(
+                    "1" + digits.substring(idx, Math.min(idx + 44, digits.length())));
+            StringBuffer tmp = new StringBuffer();
+            do {
+                tmp.insert(0, (char)bigint.mod(num900).intValue());
+                bigint = bigint.divide(num900);
+            } while (bigint.signum() != 0);
+            sb.append(tmp);
+        }
+        return sb.toString();
+    }
+
     private void log(String expected, String actual) {
         /*
         System.out.println("expected: " + expected);
@@ -218,6 +252,35 @@ public class HighLevelEncoderTest extends TestCase implements PDF417Constants {
         assertEquals(expected, result);
     }
 
+    public void testModeThresholds() throws Exception {
+        //13 digits interrupt Byte Compaction, 12 don't
+        String msg = "\u00e9\u00e91234567890123\u00e9";
+        String result = TestHelper.visualize(PDF417HighLevelEncoder.encodeHighLevel(msg));
+        assertEquals("901 130 130 902 17 110 836 811 223 901 130", result);
+
+        msg = "\u00e9\u00e9123456789012\u00e9";
+        result = TestHelper.visualize(PDF417HighLevelEncoder.encodeHighLevel(msg));
+        assertEquals("901 218 639 63 780 852 89 156 428 286 248 49 50 130", result);
+
+        //5 text characters interrupt Byte Compaction, 4 don't
+        msg = "\u00e9abcde\u00e9";
+        result = TestHelper.visualize(PDF417HighLevelEncoder.encodeHighLevel(msg));
+        assertEquals("913 130 810 32 94 913 130", result);
+
+        msg = "\u00e9abcd\u00e9";
+        result = TestHelper.visualize(PDF417HighLevelEncoder.encodeHighLevel(msg));
+        assertEquals("924 218 445 702 555 54", result);
+
+        //Digits followed by text count as text
+        msg = "\u00e912ab\u00e9";
+        result = TestHelper.visualize(PDF417HighLevelEncoder.encodeHighLevel(msg));
+        assertEquals("924 218 161 791 601 494", result);
+
+        msg = "\u00e912abcd\u00e9";
+        result = TestHelper.visualize(PDF417HighLevelEncoder.encodeHighLevel(msg));
+        assertEquals("913 130 841 87 1 63 913 130", result);
+    }
+
     public void testBug1970483() throws Exception {
         String msg = "<FIELDS><FIELD NAME=\"DEALER #\">550";
         //The bug was an invalid value for switching back from Punctuation to Alpha in
@@ -0,0 +1,358 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.krysalis.barcode4j.impl.pdf417;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.impl.DefaultTwoDimCanvasLogicHandler;
+import org.krysalis.barcode4j.output.Canvas;
+import org.krysalis.barcode4j.output.eps.EPSCanvasProvider;
+import org.krysalis.barcode4j.output.raw.ModuleMatrixLogicHandler;
+import org.krysalis.barcode4j.tools.TestHelper;
+
+/**
+ * Tests the Macro PDF417 support.
+ *
+ * @author agent
+ */
+public class MacroPDF417Test extends TestCase implements PDF417Constants {
+
+    public MacroPDF417Test(String name) {
+        super(name);
+    }
+
+    public void testControlBlock() throws Exception {
+        MacroPDF417ControlBlock control = new MacroPDF417ControlBlock("017053");
+        assertEquals("928 111 100 17 53", TestHelper.visualize(control.encode(0, 3)));
+        assertEquals("928 111 102 17 53 922", TestHelper.visualize(control.encode(2, 3)));
+
+        control.setFileName("A");
+        control.setSegmentCountIncluded(true);
+        control.setChecksum(4);
+        assertEquals("928 111 101 17 53 923 0 29 923 1 13 923 6 14",
+                TestHelper.visualize(control.encode(1, 3)));
+
+        String[] invalid = new String[] {"", "12", "900", "01a"};
+        for (int i = 0; i < invalid.length; i++) {
+            try {
+                new MacroPDF417ControlBlock(invalid[i]);
+                fail("Invalid file ID accepted: " + invalid[i]);
+            } catch (IllegalArgumentException iae) {
+                //expected
+            }
+        }
+    }
+
+    public void testSingleSymbol() throws Exception {
+        List symbols = new PDF417Bean().createMacroSymbols("Hello",
+                new MacroPDF417ControlBlock("001"));
+        assertEquals(1, symbols.size());
+        MacroPDF417Symbol symbol = (MacroPDF417Symbol)symbols.get(0);
+        assertTrue(symbol.isLastSegment());
+        assertEquals("Hello", decode(symbol.getCodewords()));
+        assertTrue(TestHelper.visualize(symbol.getCodewords()).endsWith(
+                " 928 111 100 1 922"));
+    }
+
+    public void testLargeMessage() throws Exception {
+        PDF417Bean bean = new PDF417Bean();
+        bean.setErrorCorrectionLevel(2);
+        String msg = createMessage(new Random(17), 6000);
+        //More than fits into a single symbol
+        try {
+            bean.calcDimensions(msg);
+            fail("Message shouldn't fit into a single symbol");
+        } catch (IllegalArgumentException iae) {
+            //expected
+        }
+        MacroPDF417ControlBlock control = new MacroPDF417ControlBlock("123456");
+        control.setSegmentCountIncluded(true);
+        control.setSender("ACME");
+        checkSymbols(bean, msg, bean.createMacroSymbols(msg, control));
+    }
+
+    public void testSplitting() throws Exception {
+        Random rnd = new Random(4711);
+        for (int t = 0; t < 60; t++) {
+            PDF417Bean bean = new PDF417Bean();
+            int cols = 2 + t % 3;
+            bean.setColumns(cols);
+            bean.setMaxRows((cols == 2 ? 20 : 12) + rnd.nextInt(10));
+            bean.setErrorCorrectionLevel(t % 3);
+            String msg = createMessage(rnd, 50 + rnd.nextInt(400));
+            checkSymbols(bean, msg,
+                    bean.createMacroSymbols(msg, new MacroPDF417ControlBlock("042")));
+        }
+    }
+
+    public void testSmallLastSymbol() throws Exception {
+        //With many fixed columns, a short last symbol has fewer than the minimum rows
+        Random rnd = new Random(1234);
+        for (int t = 0; t < 40; t++) {
+            PDF417Bean bean = new PDF417Bean();
+            bean.setColumns(10);
+            bean.setErrorCorrectionLevel(t % 2);
+            bean.setMaxRows(8 + rnd.nextInt(20));
+            String msg = createMessage(rnd, 100 + rnd.nextInt(800));
+            checkSymbols(bean, msg,
+                    bean.createMacroSymbols(msg, new MacroPDF417ControlBlock("042")));
+        }
+
+        PDF417Bean bean = new PDF417Bean();
+        bean.setColumns(10);
+        bean.setMaxRows(10);
+        StringBuffer sb = new StringBuffer();
+        for (int i = 0; i < 185; i++) {
+            sb.append((char)('A' + i % 26));
+        }
+        List symbols = bean.createMacroSymbols(sb.toString(), new MacroPDF417ControlBlock("123"));
+        checkSymbols(bean, sb.toString(), symbols);
+        //The short last symbol is padded in front of the control block
+        String codewords = ((MacroPDF417Symbol)symbols.get(symbols.size() - 1)).getCodewords();
+        int control = codewords.indexOf((char)MACRO_PDF_CONTROL_BLOCK_START);
+        assertEquals(LATCH_TO_TEXT, codewords.charAt(control - 1));
+    }
+
+    public void testBinary() throws Exception {
+        Random rnd = new Random(99);
+        for (int len = 1; len < 400; len += 37) {
+            byte[] data = new byte[len];
+            rnd.nextBytes(data);
+            PDF417Bean bean = new PDF417Bean();
+            bean.setMaxRows(16);
+            List symbols = bean.createMacroSymbols(data, new MacroPDF417ControlBlock("007"));
+            StringBuffer sb = new StringBuffer();
+            for (int i = 0; i < symbols.size(); i++) {
+                sb.append(decode(((MacroPDF417Symbol)symbols.get(i)).getCodewords()));
+            }
+            assertEquals(new String(data, "ISO-8859-1"), sb.toString());
+        }
+    }
+
+    public void testCustomCanvasLogicHandler() throws Exception {
+        final StringBuffer sb = new StringBuffer();
+        PDF417Bean bean = new PDF417Bean() {
+            public ClassicBarcodeLogicHandler createCanvasLogicHandler(Canvas canvas) {
+                return new DefaultTwoDimCanvasLogicHandler(this, canvas) {
+                    public void endBarcode() {
+                        super.endBarcode();
+                        sb.append("E");
+                    }
+                };
+            }
+        };
+        List symbols = bean.createMacroSymbols("Hello", new MacroPDF417ControlBlock("001"));
+        bean.generateBarcode(new EPSCanvasProvider(new ByteArrayOutputStream(), 0),
+                (MacroPDF417Symbol)symbols.get(0));
+        assertEquals("E", sb.toString());
+    }
+
+    public void testTooSmall() throws Exception {
+        PDF417Bean bean = new PDF417Bean();
+        bean.setColumns(1);
+        bean.setMaxRows(10);
+        try {
+            bean.createMacroSymbols("Hello", new MacroPDF417ControlBlock("001"));
+            fail("Symbol too small for Macro PDF417");
+        } catch (IllegalArgumentException iae) {
+            //expected
+        }
+    }
+
+    private void checkSymbols(PDF417Bean bean, String msg, List symbols) throws Exception {
+        StringBuffer sb = new StringBuffer();
+        for (int i = 0; i < symbols.size(); i++) {
+            MacroPDF417Symbol symbol = (MacroPDF417Symbol)symbols.get(i);
+            assertEquals(i, symbol.getSegmentIndex());
+            assertEquals(symbols.size(), symbol.getSegmentCount());
+            assertEquals(i == symbols.size() - 1, symbol.isLastSegment());
+            String codewords = symbol.getCodewords();
+            sb.append(decode(codewords));
+
+            int control = codewords.indexOf((char)MACRO_PDF_CONTROL_BLOCK_START);
+            assertEquals(100000 + i,
+                    codewords.charAt(control + 1) * 900 + codewords.charAt(control + 2));
+            assertEquals(symbol.isLastSegment(),
+                    codewords.charAt(codewords.length() - 1) == MACRO_PDF_TERMINATOR);
+
+            //Every symbol fits
+            bean.generateBarcodeLogic(new ModuleMatrixLogicHandler(bean), symbol);
+            bean.calcDimensions(symbol);
+        }
+        assertEquals(new String(msg.getBytes("Cp437"), "ISO-8859-1"), sb.toString());
+    }
+
+    private static final String[] PIECES = new String[] {
+        "ABC", "DEF GHI", "hello", "world wide", "Mixed Case", "#$%&", "a+b=c", "@[]{}",
+        ";<>!", "\r\n", "\t", "x", "Y", "12", "-", "\u00e9", "\u00e9\u00e9\u00e9",
+        "\u00e9\u00e4\u00f6\u00fc\u00e9\u00e4\u00f6", ". ", "Q. E. D."};
+
+    private static final String BYTES = "\u00e9\u00e4\u00f6\u00fc\u00e0\u00e7\u00ea\u00eb";
+
+    private static String createMessage(Random rnd, int len) {
+        StringBuffer sb = new StringBuffer(len + 50);
+        while (sb.length() < len) {
+            if (rnd.nextInt(6) == 0) {
+                int digits = 1 + rnd.nextInt(60);
+                for (int i = 0; i < digits; i++) {
+                    sb.append((char)('0' + rnd.nextInt(10)));
+                }
+            } else if (rnd.nextInt(12) == 0) {
+                int bytes = 1 + rnd.nextInt(30);
+                for (int i = 0; i < bytes; i++) {
+                    sb.append(BYTES.charAt(rnd.nextInt(BYTES.length())));
+                }
+            } else {
+                sb.append(PIECES[rnd.nextInt(PIECES.length)]);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decodes the data codewords of a symbol up to the Macro PDF417 Control Block. Bytes
+     * are returned as characters 0-255.
+     */
+    private static String decode(String codewords) {
+        int end = codewords.indexOf((char)MACRO_PDF_CONTROL_BLOCK_START);
+        if (end < 0) {
+            end = codewords.length();
+        }
+        StringBuffer sb = new StringBuffer();
+        int submode = SUBMODE_ALPHA;
+        int shift = -1;
+        int i = 0;
+        while (i < end) {
+            int cw = codewords.charAt(i++);
+            if (cw == LATCH_TO_TEXT) {
+                submode = SUBMODE_ALPHA;
+                shift = -1;
+            } else if (cw == SHIFT_TO_BYTE) {
+                sb.append(codewords.charAt(i++));
+                shift = -1;
+            } else if (cw == LATCH_TO_NUMERIC) {
+                i = decodeNumeric(codewords, i, end, sb);
+                submode = SUBMODE_ALPHA;
+                shift = -1;
+            } else if (cw == LATCH_TO_BYTE || cw == LATCH_TO_BYTE_PADDED) {
+                i = decodeBytes(codewords, i, end, cw == LATCH_TO_BYTE, sb);
+                submode = SUBMODE_ALPHA;
+                shift = -1;
+            } else if (cw == ECI_CHARSET) {
+                i++;
+            } else {
+                for (int n = 0; n < 2; n++) {
+                    int v = (n == 0 ? cw / 30 : cw % 30);
+                    if (shift == SUBMODE_PUNCTUATION) {
+                        sb.append((char)TEXT_PUNCTUATION_RAW[v]);
+                        shift = -1;
+                        continue;
+                    } else if (shift == SUBMODE_ALPHA) {
+                        sb.append(v == 26 ? ' ' : (char)('A' + v));
+                        shift = -1;
+                        continue;
+                    }
+                    switch (submode) {
+                    case SUBMODE_ALPHA:
+                    case SUBMODE_LOWER:
+                        if (v < 26) {
+                            sb.append((char)((submode == SUBMODE_ALPHA ? 'A' : 'a') + v));
+                        } else if (v == 26) {
+                            sb.append(' ');
+                        } else if (v == 27) {
+                            if (submode == SUBMODE_ALPHA) {
+                                submode = SUBMODE_LOWER;
+                            } else {
+                                shift = SUBMODE_ALPHA;
+                            }
+                        } else if (v == 28) {
+                            submode = SUBMODE_MIXED;
+                        } else {
+                            shift = SUBMODE_PUNCTUATION;
+                        }
+                        break;
+                    case SUBMODE_MIXED:
+                        if (v == 25) {
+                            submode = SUBMODE_PUNCTUATION;
+                        } else if (v == 27) {
+                            submode = SUBMODE_LOWER;
+                        } else if (v == 28) {
+                            submode = SUBMODE_ALPHA;
+                        } else if (v == 29) {
+                            shift = SUBMODE_PUNCTUATION;
+                        } else {
+                            sb.append((char)TEXT_MIXED_RAW[v]);
+                        }
+                        break;
+                    default:
+                        if (v == 29) {
+                            submode = SUBMODE_ALPHA;
+                        } else {
+                            sb.append((char)TEXT_PUNCTUATION_RAW[v]);
+                        }
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int decodeNumeric(String codewords, int i, int end, StringBuffer sb) {
+        BigInteger num900 = BigInteger.valueOf(900);
+        while (i < end && codewords.charAt(i) < 900) {
+            BigInteger value = BigInteger.ZERO;
+            for (int n = 0; n < 15 && i < end && codewords.charAt(i) < 900; n++) {
+                value = value.multiply(num900).add(BigInteger.valueOf(codewords.charAt(i++)));
+            }
+            sb.append(value.toString().substring(1));
+        }
+        return i;
+    }
+
+    private static int decodeBytes(String codewords, int i, int end, boolean sixpack,
+            StringBuffer sb) {
+        while (i < end && codewords.charAt(i) < 900) {
+            int count = 0;
+            while (count < 5 && i + count < end && codewords.charAt(i + count) < 900) {
+                count++;
+            }
+            //With the padded latch a group of five is only compacted if more bytes follow
+            if (count == 5 && (sixpack
+                    || (i + 5 < end && codewords.charAt(i + 5) < 900))) {
+                long value = 0;
+                for (int n = 0; n < 5; n++) {
+                    value = value * 900 + codewords.charAt(i++);
+                }
+                for (int n = 5; n >= 0; n--) {
+                    sb.append((char)((value >> (8 * n)) & 0xff));
+                }
+            } else {
+                for (int n = 0; n < count; n++) {
+                    sb.append(codewords.charAt(i++));
+                }
+            }
+        }
+        return i;
+    }
+
+}
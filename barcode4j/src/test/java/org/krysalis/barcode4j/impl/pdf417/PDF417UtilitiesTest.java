@@ -20,6 +20,9 @@ package org.krysalis.barcode4j.impl.pdf417;
 
 import junit.framework.TestCase;
 
+import org.krysalis.barcode4j.BarGroup;
+import org.krysalis.barcode4j.TwoDimBarcodeLogicHandler;
+
 public class PDF417UtilitiesTest extends TestCase {
 
     public void testSymbolSizeCalculation() throws Exception {
@@ -50,4 +53,61 @@ public class PDF417UtilitiesTest extends TestCase {
         assertEquals(256, sld);
     }
     
+    /** Checks the bars and spaces of every character of the generated rows. */
+    private static class RowChecker implements TwoDimBarcodeLogicHandler {
+
+        private BarGroup group;
+        private int bars;
+        private int modules;
+        private int rows;
+        private int characters;
+
+        public void startBarcode(String msg, String formattedMsg) {
+        }
+
+        public void startRow() {
+            rows++;
+        }
+
+        public void startBarGroup(BarGroup type, String submsg) {
+            group = type;
+            bars = 0;
+            modules = 0;
+        }
+
+        public void addBar(boolean black, int weight) {
+            assertEquals(bars % 2 == 0, black);
+            assertTrue(weight >= 1 && weight <= 8);
+            bars++;
+            modules += weight;
+        }
+
+        public void endBarGroup() {
+            if (group == BarGroup.STOP_CHARACTER) {
+                assertEquals(9, bars);
+                assertEquals(18, modules);
+            } else {
+                assertEquals(8, bars);
+                assertEquals(17, modules);
+            }
+            characters++;
+        }
+
+        public void endRow() {
+        }
+
+        public void endBarcode() {
+        }
+    }
+
+    public void testRowStructure() throws Exception {
+        PDF417Bean bean = new PDF417Bean();
+        bean.setColumns(6);
+        bean.setErrorCorrectionLevel(5);
+        RowChecker checker = new RowChecker();
+        PDF417LogicImpl.generateBarcodeLogic(checker, "Row structure test 0123456789", bean);
+        assertTrue(checker.rows >= 3);
+        assertEquals(checker.rows * (6 + 4), checker.characters);
+    }
+
 }
@@ -19,9 +19,15 @@
 package org.krysalis.barcode4j.impl.qr;
 
 import java.awt.Dimension;
+import java.io.ByteArrayOutputStream;
 
 import junit.framework.TestCase;
 
+import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.impl.DefaultTwoDimCanvasLogicHandler;
+import org.krysalis.barcode4j.output.Canvas;
+import org.krysalis.barcode4j.output.eps.EPSCanvasProvider;
+
 /**
  * Tests the QR Code bean.
  *
@@ -63,4 +69,64 @@ public class QRCodeBeanTest extends TestCase {
         assertEquals('M', bean.getErrorCorrectionLevel());
     }
 
+    private String paint(QRCodeBean bean, String msg) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EPSCanvasProvider eps = new EPSCanvasProvider(out, 0);
+        bean.generateBarcode(eps, msg);
+        eps.finish();
+        String result = out.toString("US-ASCII");
+        int start = result.indexOf("%%CreationDate:");
+        return result.substring(0, start) + result.substring(result.indexOf('\n', start));
+    }
+
+    public void testEncodingCache() throws Exception {
+        String msg = "http://barcode4j.sourceforge.net/ QR Code encoding cache";
+        QRCodeBean bean = new QRCodeBean();
+        assertEquals(0, bean.getEncodingCacheSize());
+        String expected = paint(bean, msg);
+        double expectedWidth = bean.calcDimensions(msg).getWidthPlusQuiet();
+
+        bean.setEncodingCacheSize(2);
+        assertEquals(2, bean.getEncodingCacheSize());
+        assertEquals(expectedWidth, bean.calcDimensions(msg).getWidthPlusQuiet(), 0.000001);
+        assertEquals(expected, paint(bean, msg));
+        assertEquals(expected, paint(bean, msg));
+
+        //Changed settings must not return stale symbols
+        bean.setErrorCorrectionLevel('H');
+        assertTrue(bean.calcDimensions(msg).getWidthPlusQuiet() > expectedWidth);
+        assertFalse(expected.equals(paint(bean, msg)));
+        bean.setErrorCorrectionLevel('L');
+        bean.calcDimensions("A");
+        bean.calcDimensions("B");
+        assertEquals(expected, paint(bean, msg));
+
+        bean.setEncodingCacheSize(0);
+        assertEquals(expected, paint(bean, msg));
+        try {
+            bean.setEncodingCacheSize(-1);
+            fail("Negative cache size");
+        } catch (IllegalArgumentException iae) {
+            //expected
+        }
+    }
+
+    public void testCustomCanvasLogicHandler() throws Exception {
+        final StringBuffer sb = new StringBuffer();
+        QRCodeBean bean = new QRCodeBean() {
+            public ClassicBarcodeLogicHandler createCanvasLogicHandler(Canvas canvas) {
+                return new DefaultTwoDimCanvasLogicHandler(this, canvas) {
+                    public void endBarcode() {
+                        super.endBarcode();
+                        sb.append("E");
+                    }
+                };
+            }
+        };
+        bean.generateBarcode(new EPSCanvasProvider(new ByteArrayOutputStream(), 0), "Hello");
+        bean.generateBarcode(new EPSCanvasProvider(new ByteArrayOutputStream(), 0),
+                new byte[] {1, 2, 3});
+        assertEquals("EE", sb.toString());
+    }
+
 }
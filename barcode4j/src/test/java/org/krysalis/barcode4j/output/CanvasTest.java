@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output;
+
+import java.awt.geom.Rectangle2D;
+
+import junit.framework.TestCase;
+
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.TextAlignment;
+import org.krysalis.barcode4j.impl.code128.Code128Bean;
+import org.krysalis.barcode4j.output.svg.SVGCanvasProvider;
+import org.w3c.dom.Element;
+
+/**
+ * Test class for the Canvas class, especially the bulk painting of rectangles.
+ *
+ * @author agent
+ */
+public class CanvasTest extends TestCase {
+
+    public CanvasTest(String name) {
+        super(name);
+    }
+
+    /** CanvasProvider logging the calls it receives. */
+    private static class LoggingCanvasProvider extends AbstractCanvasProvider {
+
+        private StringBuffer sb = new StringBuffer();
+
+        public LoggingCanvasProvider() {
+            this(0);
+        }
+
+        public LoggingCanvasProvider(int orientation) {
+            super(orientation);
+        }
+
+        public void deviceFillRect(double x, double y, double w, double h) {
+            sb.append("R");
+        }
+
+        public void deviceFillRects(double[] rects, int count) {
+            sb.append("B").append(count);
+            super.deviceFillRects(rects, count);
+        }
+
+        public void deviceText(String text, double x1, double x2, double y1,
+                String fontName, double fontSize, TextAlignment textAlign) {
+            sb.append("T");
+        }
+    }
+
+    public void testUnbuffered() throws Exception {
+        LoggingCanvasProvider provider = new LoggingCanvasProvider();
+        Canvas canvas = new Canvas(provider);
+        canvas.drawRectWH(0, 0, 1, 1);
+        canvas.drawRectWH(2, 0, 1, 1);
+        canvas.flush();
+        assertEquals("RR", provider.sb.toString());
+    }
+
+    public void testBuffered() throws Exception {
+        LoggingCanvasProvider provider = new LoggingCanvasProvider();
+        Canvas canvas = new Canvas(provider, true);
+        canvas.drawRectWH(0, 0, 1, 1);
+        canvas.drawRectWH(2, 0, 1, 1);
+        assertEquals("", provider.sb.toString());
+        //Text flushes the rectangles first to keep the painting order
+        canvas.drawText("A", 0, 3, 5, "Helvetica", 3, TextAlignment.TA_CENTER);
+        canvas.drawRectWH(4, 0, 1, 1);
+        canvas.flush();
+        canvas.flush();
+        assertEquals("B2RRTB1R", provider.sb.toString());
+
+        //Large numbers of rectangles are passed on in chunks
+        provider.sb.setLength(0);
+        for (int i = 0; i < 300; i++) {
+            canvas.drawRectWH(i, 0, 1, 1);
+        }
+        canvas.flush();
+        assertTrue(provider.sb.toString().startsWith("B256"));
+        assertTrue(provider.sb.toString().indexOf("B44") > 0);
+    }
+
+    /** CanvasProvider implementing only the basic interface. */
+    private static class PlainCanvasProvider implements CanvasProvider {
+
+        private StringBuffer sb = new StringBuffer();
+
+        public void establishDimensions(BarcodeDimension dim) {
+        }
+
+        public BarcodeDimension getDimensions() {
+            return null;
+        }
+
+        public int getOrientation() {
+            return 0;
+        }
+
+        public void deviceFillRect(double x, double y, double w, double h) {
+            sb.append("R").append((int)x);
+        }
+
+        public void deviceJustifiedText(String text, double x1, double x2, double y1,
+                String fontName, double fontSize) {
+        }
+
+        public void deviceCenteredText(String text, double x1, double x2, double y1,
+                String fontName, double fontSize) {
+        }
+
+        public void deviceText(String text, double x1, double x2, double y1,
+                String fontName, double fontSize, TextAlignment textAlign) {
+            sb.append("T");
+        }
+    }
+
+    public void testBufferedFallback() throws Exception {
+        PlainCanvasProvider provider = new PlainCanvasProvider();
+        Canvas canvas = new Canvas(provider, true);
+        canvas.drawRectWH(0, 0, 1, 1);
+        canvas.drawRectWH(2, 0, 1, 1);
+        canvas.drawText("A", 0, 3, 5, "Helvetica", 3, TextAlignment.TA_CENTER);
+        canvas.drawRectWH(4, 0, 1, 1);
+        canvas.flush();
+        assertEquals("R0R2TR4", provider.sb.toString());
+
+        LoggingCanvasProvider logging = new LoggingCanvasProvider();
+        provider.sb.setLength(0);
+        canvas = new Canvas(new TeeCanvasProvider(provider, logging), true);
+        canvas.drawRectWH(0, 0, 1, 1);
+        canvas.drawRectWH(2, 0, 1, 1);
+        canvas.flush();
+        assertEquals("R0R2", provider.sb.toString());
+        assertEquals("B2RR", logging.sb.toString());
+    }
+
+    public void testOrientRects() throws Exception {
+        double[] rects = new double[] {1, 2, 3, 4, 10, 0, 0.5, 6};
+        int[] orientations = new int[] {0, 90, 180, 270};
+        for (int o = 0; o < orientations.length; o++) {
+            LoggingCanvasProvider provider = new LoggingCanvasProvider(orientations[o]);
+            provider.establishDimensions(new BarcodeDimension(12, 8, 14, 10, 1, 1));
+            double[] oriented = provider.orientRects(rects, 2);
+            for (int i = 0; i < 8; i += 4) {
+                Rectangle2D expected = provider.getOrientationTransform().createTransformedShape(
+                        new Rectangle2D.Double(rects[i], rects[i + 1],
+                                rects[i + 2], rects[i + 3])).getBounds2D();
+                assertEquals(expected.getX(), oriented[i], 0.000001);
+                assertEquals(expected.getY(), oriented[i + 1], 0.000001);
+                assertEquals(expected.getWidth(), oriented[i + 2], 0.000001);
+                assertEquals(expected.getHeight(), oriented[i + 3], 0.000001);
+            }
+        }
+    }
+
+    public void testSVGPath() throws Exception {
+        SVGCanvasProvider provider = new SVGCanvasProvider(false, 0);
+        new Code128Bean().generateBarcode(provider, "Hello");
+        Element svg = provider.getDOM().getDocumentElement();
+        assertEquals(1, svg.getElementsByTagName("path").getLength());
+        assertEquals(0, svg.getElementsByTagName("rect").getLength());
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.bitmap;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+
+import junit.framework.TestCase;
+
+import org.krysalis.barcode4j.HumanReadablePlacement;
+import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
+import org.krysalis.barcode4j.impl.code128.Code128Bean;
+import org.krysalis.barcode4j.impl.upcean.EAN13Bean;
+
+/**
+ * Test class for the analytic anti-aliasing of gray bitmaps.
+ *
+ * @author agent
+ */
+public class GrayRectRasterizerTest extends TestCase {
+
+    public GrayRectRasterizerTest(String name) {
+        super(name);
+    }
+
+    private BufferedImage createWhiteImage(int w, int h) {
+        BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_BYTE_GRAY);
+        byte[] white = new byte[w];
+        java.util.Arrays.fill(white, (byte)0xFF);
+        for (int y = 0; y < h; y++) {
+            image.getRaster().setDataElements(0, y, w, 1, white);
+        }
+        return image;
+    }
+
+    public void testCoverage() throws Exception {
+        BufferedImage image = createWhiteImage(6, 4);
+        GrayRectRasterizer rasterizer = new GrayRectRasterizer(image, 2, 2);
+        //Pixels 0.5 to 4.5 horizontally, 1 to 3 vertically
+        rasterizer.fillRect(0.25, 0.5, 2, 1);
+        Raster raster = image.getRaster();
+        int[] expected = new int[] {128, 0, 0, 0, 128, 255};
+        for (int x = 0; x < 6; x++) {
+            assertEquals(255, raster.getSample(x, 0, 0));
+            assertEquals(expected[x], raster.getSample(x, 1, 0), 1);
+            assertEquals(expected[x], raster.getSample(x, 2, 0), 1);
+            assertEquals(255, raster.getSample(x, 3, 0));
+        }
+
+        //Half-covered row and column: 25% coverage, painted twice: 1 - 0.75 * 0.75
+        image = createWhiteImage(2, 2);
+        rasterizer = new GrayRectRasterizer(image, 1, 1);
+        rasterizer.fillRect(0.5, 0.5, 2, 2);
+        assertEquals(191, image.getRaster().getSample(0, 0, 0), 1);
+        rasterizer.fillRect(0.5, 0.5, 2, 2);
+        assertEquals(143, image.getRaster().getSample(0, 0, 0), 1);
+
+        //Clipping
+        rasterizer.fillRect(-5, -5, 100, 1);
+        rasterizer.fillRect(10, 10, 1, 1);
+    }
+
+    private BufferedImage paint(AbstractBarcodeBean bean, String msg, boolean analytic) {
+        bean.setMsgPosition(HumanReadablePlacement.HRP_NONE);
+        BitmapCanvasProvider provider = new BitmapCanvasProvider(
+                203, BufferedImage.TYPE_BYTE_GRAY, true, 0);
+        provider.setAnalyticAntiAlias(analytic);
+        bean.generateBarcode(provider, msg);
+        return provider.getBufferedImage();
+    }
+
+    public void testSameAsJava2D() throws Exception {
+        AbstractBarcodeBean[] beans = new AbstractBarcodeBean[] {
+                new EAN13Bean(), new Code128Bean()};
+        String[] msgs = new String[] {"4006381333931", "Hello World"};
+        for (int i = 0; i < beans.length; i++) {
+            BufferedImage expected = paint(beans[i], msgs[i], false);
+            BufferedImage actual = paint(beans[i], msgs[i], true);
+            assertEquals(expected.getWidth(), actual.getWidth());
+            long expectedInk = 0;
+            long actualInk = 0;
+            for (int y = 0; y < expected.getHeight(); y++) {
+                for (int x = 0; x < expected.getWidth(); x++) {
+                    int e = expected.getRaster().getSample(x, y, 0);
+                    int a = actual.getRaster().getSample(x, y, 0);
+                    //Java2D's coverage is sampled
+                    assertEquals("Pixel " + x + "," + y, e, a, 40);
+                    expectedInk += 255 - e;
+                    actualInk += 255 - a;
+                }
+            }
+            assertEquals(1.0, (double)actualInk / expectedInk, 0.02);
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.bitmap;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.krysalis.barcode4j.HumanReadablePlacement;
+import org.krysalis.barcode4j.impl.datamatrix.DataMatrixBean;
+import org.krysalis.barcode4j.tools.UnitConv;
+
+/**
+ * Test class for the rotation of bitmaps.
+ *
+ * @author agent
+ */
+public class ImageRotatorTest extends TestCase {
+
+    public ImageRotatorTest(String name) {
+        super(name);
+    }
+
+    private BufferedImage createRandomImage(int w, int h, int imageType) {
+        BufferedImage image = new BufferedImage(w, h, imageType);
+        Random rnd = new Random(w * h);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                image.setRGB(x, y, rnd.nextInt());
+            }
+        }
+        return image;
+    }
+
+    public void testRotate() throws Exception {
+        int[] types = new int[] {BufferedImage.TYPE_BYTE_GRAY, BufferedImage.TYPE_INT_RGB,
+                BufferedImage.TYPE_BYTE_BINARY, BufferedImage.TYPE_3BYTE_BGR};
+        int w = 70;
+        int h = 37;
+        for (int t = 0; t < types.length; t++) {
+            BufferedImage src = createRandomImage(w, h, types[t]);
+            for (int orientation = 0; orientation < 360; orientation += 90) {
+                boolean transpose = (orientation % 180 != 0);
+                BufferedImage dst = new BufferedImage(
+                        transpose ? h : w, transpose ? w : h, types[t]);
+                ImageRotator.rotate(src, dst, orientation);
+                for (int y = 0; y < h; y++) {
+                    for (int x = 0; x < w; x++) {
+                        int rgb;
+                        switch (orientation) {
+                        case 90:
+                            rgb = dst.getRGB(y, w - 1 - x);
+                            break;
+                        case 180:
+                            rgb = dst.getRGB(w - 1 - x, h - 1 - y);
+                            break;
+                        case 270:
+                            rgb = dst.getRGB(h - 1 - y, x);
+                            break;
+                        default:
+                            rgb = dst.getRGB(x, y);
+                        }
+                        assertEquals(src.getRGB(x, y), rgb);
+                    }
+                }
+            }
+        }
+    }
+
+    public void testWrongSize() throws Exception {
+        BufferedImage src = new BufferedImage(10, 20, BufferedImage.TYPE_BYTE_GRAY);
+        try {
+            ImageRotator.rotate(src,
+                    new BufferedImage(10, 20, BufferedImage.TYPE_BYTE_GRAY), 90);
+            fail("The destination image must have the rotated size");
+        } catch (IllegalArgumentException iae) {
+            //expected
+        }
+    }
+
+    private BufferedImage paint(int orientation, boolean rotateImage) {
+        DataMatrixBean bean = new DataMatrixBean();
+        bean.setMsgPosition(HumanReadablePlacement.HRP_NONE);
+        //Modules of exactly 4 pixels
+        bean.setModuleWidth(UnitConv.in2mm(4.0 / 300));
+        BitmapCanvasProvider provider = new BitmapCanvasProvider(
+                300, BufferedImage.TYPE_BYTE_BINARY, false, orientation);
+        provider.setRotateImage(rotateImage);
+        bean.generateBarcode(provider, "Hello World");
+        return provider.getBufferedImage();
+    }
+
+    public void testOrientation() throws Exception {
+        BufferedImage upright = paint(0, true);
+        for (int orientation = 90; orientation < 360; orientation += 90) {
+            BufferedImage rotated = paint(orientation, true);
+            BufferedImage expected = new BufferedImage(rotated.getWidth(),
+                    rotated.getHeight(), BufferedImage.TYPE_BYTE_BINARY);
+            ImageRotator.rotate(upright, expected, orientation);
+            BufferedImage java2d = paint(orientation, false);
+            assertEquals(java2d.getWidth(), rotated.getWidth());
+            assertEquals(java2d.getHeight(), rotated.getHeight());
+            //With modules aligned to the pixels, a rotated Graphics2D paints the same
+            for (int y = 0; y < rotated.getHeight(); y++) {
+                for (int x = 0; x < rotated.getWidth(); x++) {
+                    assertEquals(expected.getRGB(x, y), rotated.getRGB(x, y));
+                    assertEquals(java2d.getRGB(x, y), rotated.getRGB(x, y));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.bitmap;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Iterator;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import junit.framework.TestCase;
+
+import org.krysalis.barcode4j.BarcodeGenerator;
+import org.krysalis.barcode4j.BarcodeUtil;
+import org.krysalis.barcode4j.configuration.DefaultConfiguration;
+import org.krysalis.barcode4j.tools.MimeTypes;
+
+/**
+ * Test class for the CCITT Group 4 TIFF encoder.
+ *
+ * @author agent
+ */
+public class TIFFG4BitmapEncoderTest extends TestCase {
+
+    public TIFFG4BitmapEncoderTest(String name) {
+        super(name);
+    }
+
+    private BufferedImage createBarcode(String elementName, String msg) throws Exception {
+        DefaultConfiguration cfg = new DefaultConfiguration("cfg");
+        cfg.addChild(new DefaultConfiguration(elementName));
+        BarcodeGenerator gen = BarcodeUtil.getInstance().createBarcodeGenerator(cfg);
+        BitmapCanvasProvider provider =
+            new BitmapCanvasProvider(300, BufferedImage.TYPE_BYTE_BINARY, false, 0);
+        gen.generateBarcode(provider, msg);
+        provider.finish();
+        return provider.getBufferedImage();
+    }
+
+    private ImageReader getTIFFReader() {
+        Iterator iter = ImageIO.getImageReadersByMIMEType(MimeTypes.MIME_TIFF);
+        return (iter.hasNext() ? (ImageReader)iter.next() : null);
+    }
+
+    private void assertSamePixels(BufferedImage expected, BufferedImage actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals("Pixel at " + x + "," + y,
+                        expected.getRGB(x, y) & 0xFFFFFF, actual.getRGB(x, y) & 0xFFFFFF);
+            }
+        }
+    }
+
+    public void testRegistry() throws Exception {
+        assertTrue(BitmapEncoderRegistry.getInstance(MimeTypes.MIME_TIFF)
+                instanceof TIFFG4BitmapEncoder);
+    }
+
+    public void testHeader() throws Exception {
+        BufferedImage image = createBarcode("code128", "Hello");
+        ByteArrayOutputStream baout = new ByteArrayOutputStream();
+        new TIFFG4BitmapEncoder().encode(image, baout, MimeTypes.MIME_TIFF, 300);
+        byte[] data = baout.toByteArray();
+        assertEquals('I', data[0]);
+        assertEquals('I', data[1]);
+        assertEquals(42, data[2]);
+        //Even with the human-readable text a bilevel barcode compresses well
+        int raw = (image.getWidth() + 7) / 8 * image.getHeight();
+        assertTrue(data.length < raw / 4);
+    }
+
+    public void testRoundTrip() throws Exception {
+        ImageReader reader = getTIFFReader();
+        if (reader == null) {
+            return; //No TIFF codec available to verify the result
+        }
+        String[][] samples = {{"code128", "Hello World 123"},
+                {"datamatrix", "Barcode4J TIFF G4"}, {"intl2of5", "12345678"}};
+        for (int i = 0; i < samples.length; i++) {
+            BufferedImage image = createBarcode(samples[i][0], samples[i][1]);
+            ByteArrayOutputStream baout = new ByteArrayOutputStream();
+            new TIFFG4BitmapEncoder().encode(image, baout, MimeTypes.MIME_TIFF, 300);
+
+            ImageInputStream in = ImageIO.createImageInputStream(
+                    new ByteArrayInputStream(baout.toByteArray()));
+            reader.setInput(in);
+            assertSamePixels(image, reader.read(0));
+            in.close();
+        }
+    }
+
+    public void testMultiPage() throws Exception {
+        BufferedImage[] images = new BufferedImage[] {
+                createBarcode("code128", "Page 1"), createBarcode("datamatrix", "Page 2")};
+        ByteArrayOutputStream baout = new ByteArrayOutputStream();
+        new TIFFG4BitmapEncoder().encode(images, baout, 300);
+        assertTrue(baout.size() > 0);
+
+        ImageReader reader = getTIFFReader();
+        if (reader == null) {
+            return;
+        }
+        ImageInputStream in = ImageIO.createImageInputStream(
+                new ByteArrayInputStream(baout.toByteArray()));
+        reader.setInput(in);
+        assertEquals(2, reader.getNumImages(true));
+        assertSamePixels(images[0], reader.read(0));
+        assertSamePixels(images[1], reader.read(1));
+        in.close();
+    }
+
+}
@@ -20,6 +20,8 @@ import java.io.ByteArrayOutputStream;
 import org.krysalis.barcode4j.configuration.DefaultConfiguration;
 import org.krysalis.barcode4j.BarcodeGenerator;
 import org.krysalis.barcode4j.BarcodeUtil;
+import org.krysalis.barcode4j.HumanReadablePlacement;
+import org.krysalis.barcode4j.impl.code39.Code39Bean;
 
 import junit.framework.TestCase;
 
@@ -52,4 +54,23 @@ public class EPSOutputTest extends TestCase {
         assertTrue(baout.size() > 0);
     }
 
-}
\ No newline at end of file
+    public void testOrientation() throws Exception {
+        Code39Bean bean = new Code39Bean();
+        ByteArrayOutputStream baout = new ByteArrayOutputStream();
+        EPSCanvasProvider provider = new EPSCanvasProvider(baout, 90);
+        bean.generateBarcode(provider, "123");
+        provider.finish();
+        //Only the text is painted in a rotated coordinate system
+        String eps = baout.toString("US-ASCII");
+        assertTrue(eps.indexOf("gsave\n90 rotate") > 0);
+        assertEquals(eps.indexOf("90 rotate"), eps.lastIndexOf("rotate") - 3);
+
+        bean.setMsgPosition(HumanReadablePlacement.HRP_NONE);
+        baout = new ByteArrayOutputStream();
+        provider = new EPSCanvasProvider(baout, 90);
+        bean.generateBarcode(provider, "123");
+        provider.finish();
+        assertEquals(-1, baout.toString("US-ASCII").indexOf("rotate"));
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.java2d;
+
+import java.awt.Graphics2D;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import junit.framework.TestCase;
+
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.HumanReadablePlacement;
+import org.krysalis.barcode4j.impl.code128.Code128Bean;
+import org.krysalis.barcode4j.output.bitmap.BitmapBuilder;
+
+/**
+ * Test class for the single-shape Java2D output.
+ *
+ * @author agent
+ */
+public class Java2DShapeCacheTest extends TestCase {
+
+    public Java2DShapeCacheTest(String name) {
+        super(name);
+    }
+
+    public void testCaching() throws Exception {
+        Java2DShapeCache cache = new Java2DShapeCache(2);
+        Code128Bean bean = new Code128Bean();
+        Shape shape = cache.getShape(bean, "Hello", 0);
+        assertSame(shape, cache.getShape(bean, "Hello", 0));
+        Shape rotated = cache.getShape(bean, "Hello", 90);
+        assertNotSame(shape, rotated);
+        assertSame(rotated, cache.getShape(bean, "Hello", -270));
+        assertNotSame(shape, cache.getShape(new Code128Bean(), "Hello", 0));
+        assertEquals(2, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    public void testOrientation() throws Exception {
+        Code128Bean bean = new Code128Bean();
+        bean.setMsgPosition(HumanReadablePlacement.HRP_NONE);
+        BarcodeDimension dim = bean.calcDimensions("Hello");
+        int[] orientations = new int[] {0, 90, 180, 270};
+        for (int i = 0; i < orientations.length; i++) {
+            Rectangle2D bounds = Java2DShapeCache.getInstance().getShape(
+                    bean, "Hello", orientations[i]).getBounds2D();
+            assertTrue(bounds.getMinX() > -0.0001 && bounds.getMinY() > -0.0001);
+            assertTrue(bounds.getMaxX() < dim.getWidthPlusQuiet(orientations[i]) + 0.0001);
+            assertTrue(bounds.getMaxY() < dim.getHeightPlusQuiet(orientations[i]) + 0.0001);
+        }
+    }
+
+    public void testSameRendering() throws Exception {
+        Code128Bean bean = new Code128Bean();
+        bean.setMsgPosition(HumanReadablePlacement.HRP_NONE);
+        String msg = "Hello World";
+        BarcodeDimension dim = bean.calcDimensions(msg);
+        int orientation = 90;
+
+        BufferedImage expected = BitmapBuilder.prepareImage(dim, orientation, 300,
+                BufferedImage.TYPE_BYTE_BINARY);
+        Graphics2D g2d = BitmapBuilder.prepareGraphics2D(expected, dim, orientation, false);
+        AffineTransform before = g2d.getTransform();
+        Java2DCanvasProvider provider = new Java2DCanvasProvider(g2d, orientation);
+        bean.generateBarcode(provider, msg);
+        provider.finish();
+        assertSame(g2d, provider.getGraphics2D());
+        assertEquals(before, g2d.getTransform());
+        g2d.dispose();
+
+        BufferedImage actual = BitmapBuilder.prepareImage(dim, orientation, 300,
+                BufferedImage.TYPE_BYTE_BINARY);
+        g2d = BitmapBuilder.prepareGraphics2D(actual, dim, orientation, false);
+        new Java2DShapeCache(1).paint(g2d, bean, msg, orientation);
+        g2d.dispose();
+
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+}
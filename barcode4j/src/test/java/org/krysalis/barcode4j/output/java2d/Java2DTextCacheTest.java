@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.java2d;
+
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+
+import junit.framework.TestCase;
+
+import org.krysalis.barcode4j.TextAlignment;
+
+/**
+ * Test class for the font and glyph cache used for Java2D text output.
+ *
+ * @author agent
+ */
+public class Java2DTextCacheTest extends TestCase {
+
+    private static final String FONT = "Helvetica";
+
+    public Java2DTextCacheTest(String name) {
+        super(name);
+    }
+
+    public void testCaching() throws Exception {
+        Java2DTextCache cache = new Java2DTextCache(2);
+        FontRenderContext frc = new FontRenderContext(null, true, true);
+        assertSame(cache.getFont(FONT, 3.0), cache.getFont(FONT, 2.9));
+
+        GlyphVector gv = cache.getGlyphVector("123456", 20, FONT, 3, frc,
+                TextAlignment.TA_JUSTIFY);
+        assertSame(gv, cache.getGlyphVector("123456", 20, FONT, 3, frc,
+                TextAlignment.TA_JUSTIFY));
+        assertNotSame(gv, cache.getGlyphVector("123456", 20, FONT, 3, frc,
+                TextAlignment.TA_CENTER));
+        assertNotSame(gv, cache.getGlyphVector("123456", 20, FONT, 3,
+                new FontRenderContext(null, false, false), TextAlignment.TA_JUSTIFY));
+        assertEquals(2, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    public void testLayout() throws Exception {
+        Java2DTextCache cache = new Java2DTextCache(10);
+        FontRenderContext frc = new FontRenderContext(null, true, true);
+        GlyphVector left = cache.getGlyphVector("1", 20, FONT, 3, frc,
+                TextAlignment.TA_LEFT);
+        GlyphVector right = cache.getGlyphVector("1", 20, FONT, 3, frc,
+                TextAlignment.TA_RIGHT);
+        assertEquals(0, left.getGlyphPosition(0).getX(), 0.0001);
+        double glyphWidth = left.getLogicalBounds().getWidth();
+        assertEquals(20 - glyphWidth, right.getGlyphPosition(0).getX(), 0.0001);
+
+        GlyphVector justified = cache.getGlyphVector("12", 20, FONT, 3, frc,
+                TextAlignment.TA_JUSTIFY);
+        assertEquals(20, justified.getGlyphLogicalBounds(1).getBounds2D().getMaxX(),
+                0.01);
+    }
+
+    public void testPreload() throws Exception {
+        Java2DTextCache cache = new Java2DTextCache(10);
+        cache.preloadDigits(FONT, 2.8);
+        assertEquals(0, cache.size());
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.pdf;
+
+import java.io.ByteArrayOutputStream;
+
+import org.krysalis.barcode4j.configuration.DefaultConfiguration;
+import org.krysalis.barcode4j.BarcodeGenerator;
+import org.krysalis.barcode4j.BarcodeUtil;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for basic PDF output functionality.
+ *
+ * @author agent
+ */
+public class PDFOutputTest extends TestCase {
+
+    public PDFOutputTest(String name) {
+        super(name);
+    }
+
+    private BarcodeGenerator getGenerator() throws Exception {
+        DefaultConfiguration cfg = new DefaultConfiguration("cfg");
+        cfg.addChild(new DefaultConfiguration("intl2of5"));
+        return BarcodeUtil.getInstance().createBarcodeGenerator(cfg);
+    }
+
+    public void testPDF() throws Exception {
+        BarcodeGenerator gen = getGenerator();
+
+        ByteArrayOutputStream baout = new ByteArrayOutputStream();
+        PDFCanvasProvider provider = new PDFCanvasProvider(baout, 0);
+
+        //Create Barcode and render it to PDF
+        gen.generateBarcode(provider, "123");
+        provider.finish();
+
+        String pdf = new String(baout.toByteArray(), "ISO-8859-1");
+        assertTrue(pdf.startsWith("%PDF-1.4"));
+        assertTrue(pdf.endsWith("%%EOF\n"));
+        assertTrue(pdf.indexOf("/BaseFont /Helvetica") > 0);
+    }
+
+    public void testContentStream() throws Exception {
+        BarcodeGenerator gen = getGenerator();
+        PDFCanvasProvider provider = new PDFCanvasProvider(0);
+        gen.generateBarcode(provider, "123");
+
+        String content = new String(provider.getContentStream(), "ISO-8859-1");
+        //All bars are collected in one path which is filled exactly once
+        assertEquals(content.indexOf("\nf\n"), content.lastIndexOf("\nf\n"));
+        assertTrue(content.indexOf(" re\n") < content.indexOf("\nf\n"));
+        assertTrue(content.indexOf("(123) Tj") > content.indexOf("\nf\n"));
+        assertEquals("F1", provider.getFontResources().get("Helvetica"));
+    }
+
+    public void testXObjectReuse() throws Exception {
+        BarcodeGenerator gen = getGenerator();
+
+        ByteArrayOutputStream baout = new ByteArrayOutputStream();
+        PDFBarcodeDocument doc = new PDFBarcodeDocument(baout, 210, 297);
+        doc.placeBarcode(gen, "123", 0, 10, 10);
+        doc.placeBarcode(gen, "123", 0, 10, 50);
+        doc.placeBarcode(gen, "456", 90, 10, 90);
+        doc.nextPage();
+        doc.placeBarcode(gen, "123", 0, 10, 10);
+        doc.finish();
+
+        String pdf = new String(baout.toByteArray(), "ISO-8859-1");
+        assertEquals(2, count(pdf, "/Subtype /Form"));
+        assertEquals(2, count(pdf, "/Type /Page "));
+        assertEquals(1, count(pdf, "/Type /Font"));
+        assertTrue(pdf.indexOf("/Count 2") > 0);
+    }
+
+    public void testClearFormXObjects() throws Exception {
+        BarcodeGenerator gen = getGenerator();
+
+        ByteArrayOutputStream baout = new ByteArrayOutputStream();
+        PDFBarcodeDocument doc = new PDFBarcodeDocument(baout, 210, 297);
+        doc.placeBarcode(gen, "123", 0, 10, 10);
+        doc.clearFormXObjects();
+        doc.placeBarcode(gen, "123", 0, 10, 50);
+        doc.finish();
+
+        String pdf = new String(baout.toByteArray(), "ISO-8859-1");
+        assertEquals(2, count(pdf, "/Subtype /Form"));
+        //The forms must not share a resource name on the page
+        assertEquals(1, count(pdf, "/Xo1 "));
+        assertEquals(1, count(pdf, "/Xo2 "));
+    }
+
+    private static int count(String s, String sub) {
+        int count = 0;
+        int pos = s.indexOf(sub);
+        while (pos >= 0) {
+            count++;
+            pos = s.indexOf(sub, pos + 1);
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.raw;
+
+import junit.framework.TestCase;
+
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.impl.code128.Code128Bean;
+import org.krysalis.barcode4j.impl.code39.Code39Bean;
+import org.krysalis.barcode4j.impl.datamatrix.DataMatrixBean;
+import org.krysalis.barcode4j.impl.fourstate.RoyalMailCBCBean;
+import org.krysalis.barcode4j.impl.pdf417.PDF417Bean;
+
+/**
+ * Test class for the raw barcode output (run-lengths and module matrices).
+ *
+ * @author agent
+ */
+public class RawBarcodeOutputTest extends TestCase {
+
+    public RawBarcodeOutputTest(String name) {
+        super(name);
+    }
+
+    public void testCode128RunLengths() throws Exception {
+        Code128Bean bean = new Code128Bean();
+        RunLengthSymbol symbol = RawBarcodeOutput.createRunLengths(bean, "Hello");
+        BarcodeDimension dim = bean.calcDimensions("Hello");
+
+        assertEquals(dim.getWidth(), symbol.getSymbolWidth(), 0.0001);
+        assertEquals(bean.getQuietZone(), symbol.getQuietZone(), 0.0001);
+        int modules = 0;
+        int[] runs = symbol.getRuns();
+        for (int i = 0; i < runs.length; i++) {
+            assertTrue(runs[i] >= 1 && runs[i] <= 4);
+            modules += runs[i];
+        }
+        assertEquals((int)Math.round(dim.getWidth() / bean.getModuleWidth()), modules);
+        //Stop pattern ends with a 2-module bar
+        assertTrue(symbol.isBar(runs.length - 1));
+        assertEquals(2, runs[runs.length - 1]);
+    }
+
+    public void testCode39RunLengths() throws Exception {
+        Code39Bean bean = new Code39Bean();
+        RunLengthSymbol symbol = RawBarcodeOutput.createRunLengths(bean, "AB");
+        //Start, 2 characters, stop: 9 elements each, plus 3 intercharacter gaps
+        assertEquals(4 * 9 + 3, symbol.getRunCount());
+        assertEquals(-1, symbol.getRuns()[9]);
+        assertEquals(bean.getIntercharGapWidth(), symbol.getWidth(9), 0.0001);
+
+        try {
+            RawBarcodeOutput.createRunLengths(new RoyalMailCBCBean(), "SN34RD1A");
+            fail("Height-modulated barcodes are not supported");
+        } catch (IllegalArgumentException iae) {
+            //expected
+        }
+    }
+
+    public void testDataMatrixMatrix() throws Exception {
+        DataMatrixBean bean = new DataMatrixBean();
+        ModuleMatrix matrix = RawBarcodeOutput.createModuleMatrix(bean, "Hello World");
+        BarcodeDimension dim = bean.calcDimensions("Hello World");
+        assertEquals((int)Math.round(dim.getWidth() / bean.getModuleWidth()),
+                matrix.getColumns());
+        assertEquals((int)Math.round(dim.getHeight() / bean.getModuleWidth()),
+                matrix.getRows());
+
+        //L-shaped finder pattern and alternating timing pattern
+        for (int i = 0; i < matrix.getRows(); i++) {
+            assertTrue(matrix.get(0, i));
+            assertEquals((i % 2) != 0, matrix.get(matrix.getColumns() - 1, i));
+        }
+        for (int i = 0; i < matrix.getColumns(); i++) {
+            assertTrue(matrix.get(i, matrix.getRows() - 1));
+            assertEquals((i % 2) == 0, matrix.get(i, 0));
+        }
+
+        try {
+            RawBarcodeOutput.createModuleMatrix(new Code128Bean(), "Hello");
+            fail("Linear barcodes don't produce a module matrix");
+        } catch (IllegalArgumentException iae) {
+            //expected
+        }
+    }
+
+    public void testPDF417Matrix() throws Exception {
+        PDF417Bean bean = new PDF417Bean();
+        ModuleMatrix matrix = RawBarcodeOutput.createModuleMatrix(bean, "Hello World");
+        BarcodeDimension dim = bean.calcDimensions("Hello World");
+        assertEquals((int)Math.round(dim.getWidth() / bean.getModuleWidth()),
+                matrix.getColumns());
+        assertEquals(bean.getBarHeight(), matrix.getModuleHeight(), 0.0001);
+        //Every row starts with the start pattern (8 dark modules)
+        for (int y = 0; y < matrix.getRows(); y++) {
+            assertEquals((byte)0xFF, matrix.getBits()[y * matrix.getBytesPerRow()]);
+        }
+    }
+
+}
@@ -18,7 +18,9 @@ package org.krysalis.barcode4j.output.svg;
 import org.krysalis.barcode4j.configuration.DefaultConfiguration;
 import org.krysalis.barcode4j.BarcodeGenerator;
 import org.krysalis.barcode4j.BarcodeUtil;
+import org.krysalis.barcode4j.impl.code39.Code39Bean;
 import org.w3c.dom.DocumentFragment;
+import org.w3c.dom.Element;
 
 import junit.framework.TestCase;
 
@@ -47,4 +49,16 @@ public class DOMSVGOutputTest extends TestCase {
         assertNotNull(frag);
     }
 
-}
\ No newline at end of file
+    public void testOrientation() throws Exception {
+        SVGCanvasProvider svg = new SVGCanvasProvider(false, 90);
+        new Code39Bean().generateBarcode(svg, "123");
+
+        //The coordinates are rotated, no rotated group
+        Element group = (Element)svg.getDOM().getDocumentElement().getFirstChild();
+        assertEquals("", group.getAttribute("transform"));
+        //Only the glyphs are rotated
+        Element text = (Element)group.getElementsByTagName("text").item(0);
+        assertTrue(text.getAttribute("transform").startsWith("rotate(-90 "));
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.thermal;
+
+import java.io.ByteArrayOutputStream;
+
+import junit.framework.TestCase;
+
+import org.krysalis.barcode4j.BarcodeGenerator;
+import org.krysalis.barcode4j.BarcodeUtil;
+import org.krysalis.barcode4j.configuration.DefaultConfiguration;
+import org.krysalis.barcode4j.impl.code128.Code128Bean;
+import org.krysalis.barcode4j.impl.datamatrix.DataMatrixBean;
+import org.krysalis.barcode4j.impl.int2of5.Interleaved2Of5Bean;
+
+/**
+ * Test class for the thermal printer output (ZPL II, ESC/POS).
+ *
+ * @author agent
+ */
+public class ThermalOutputTest extends TestCase {
+
+    public ThermalOutputTest(String name) {
+        super(name);
+    }
+
+    private BarcodeGenerator getGenerator() throws Exception {
+        DefaultConfiguration cfg = new DefaultConfiguration("cfg");
+        cfg.addChild(new DefaultConfiguration("intl2of5"));
+        return BarcodeUtil.getInstance().createBarcodeGenerator(cfg);
+    }
+
+    public void testZPLCompression() throws Exception {
+        byte[] data = new byte[] {
+            0, 0, 0, 0,
+            0, 0, 0, 0,
+            (byte)0xFF, (byte)0xFF, (byte)0xFF, (byte)0xFF,
+            (byte)0xF0, 0x0F, 0x00, 0x01};
+        StringBuffer sb = new StringBuffer();
+        ZPLCanvasProvider.compress(data, 4, 4, sb);
+        //empty row, repeated row, filled row, "F00F0001"
+        assertEquals(",:!FH0FI01", sb.toString());
+
+        //Long runs use the lower-case repeat counts
+        data = new byte[30];
+        data[29] = 1;
+        sb.setLength(0);
+        ZPLCanvasProvider.compress(data, 30, 1, sb);
+        assertEquals("hY01", sb.toString()); //59 zeros followed by "1"
+    }
+
+    public void testZPLGraphicField() throws Exception {
+        BarcodeGenerator gen = getGenerator();
+        ByteArrayOutputStream baout = new ByteArrayOutputStream();
+        ZPLCanvasProvider provider = new ZPLCanvasProvider(baout, 203, 0);
+        gen.generateBarcode(provider, "123");
+        provider.finish();
+
+        String zpl = baout.toString("US-ASCII");
+        assertTrue(zpl.startsWith("^XA\n^FO0,0^GFA,"));
+        assertTrue(zpl.endsWith("^FS\n^XZ\n"));
+    }
+
+    public void testESCPOSRaster() throws Exception {
+        BarcodeGenerator gen = getGenerator();
+        ByteArrayOutputStream baout = new ByteArrayOutputStream();
+        ESCPOSCanvasProvider provider = new ESCPOSCanvasProvider(baout, 203, 0);
+        provider.setMaxBandHeight(50);
+        gen.generateBarcode(provider, "123");
+        provider.finish();
+
+        byte[] data = baout.toByteArray();
+        assertEquals(0x1D, data[0]);
+        assertEquals('v', data[1]);
+        assertEquals('0', data[2]);
+        int bytesPerRow = (data[4] & 0xFF) + ((data[5] & 0xFF) << 8);
+        int rows = (data[6] & 0xFF) + ((data[7] & 0xFF) << 8);
+        assertEquals(50, rows);
+        assertEquals(0x1D, data[8 + bytesPerRow * rows]);
+    }
+
+    public void testNativeCommands() throws Exception {
+        Code128Bean code128 = new Code128Bean();
+        String field = ZPLNativeCommands.createFieldCommands(code128, "AB^12", 203, 0);
+        assertTrue(field.startsWith("^FO"));
+        assertTrue(field.indexOf("^BY2^BCN,120,Y,N,N,A^FH^FDAB_5E12^FS") > 0);
+
+        DataMatrixBean dm = new DataMatrixBean();
+        field = ZPLNativeCommands.createFieldCommands(dm, "Hello", 203, 90);
+        assertTrue(field.indexOf("^BXB,") > 0);
+
+        assertNull(ZPLNativeCommands.createFieldCommands(
+                new Interleaved2Of5Bean(), "123", 203, 0));
+    }
+
+}
@@ -53,6 +53,18 @@ public class Base64InputStreamTest extends TestCase {
         assertEquals("", decode(""));
     }
 
+    /**
+     * Tests bytes above 127, especially 0xFF which must not be mistaken for the end of
+     * the stream.
+     * @throws Exception if an error occurs
+     */
+    public void testHighBytes() throws Exception {
+        for (int mode = MODE_BUF; mode <= MODE_BYTE; mode++) {
+            assertEquals("\u00ff\u00fe\u0080", decode("//6A", mode));
+            assertEquals("\u0000~\u0080\u00ffAB", decode("AH6A/0FC", mode));
+        }
+    }
+
     /**
      * Tests invalid Base64 strings.
      * @throws Exception if an error occurs
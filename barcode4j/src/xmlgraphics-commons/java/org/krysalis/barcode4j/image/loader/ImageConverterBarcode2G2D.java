@@ -28,7 +28,7 @@ import org.krysalis.barcode4j.BarcodeDimension;
 import org.krysalis.barcode4j.BarcodeException;
 import org.krysalis.barcode4j.BarcodeGenerator;
 import org.krysalis.barcode4j.BarcodeUtil;
-import org.krysalis.barcode4j.output.java2d.Java2DCanvasProvider;
+import org.krysalis.barcode4j.output.java2d.Java2DShapeCache;
 import org.krysalis.barcode4j.tools.PageInfo;
 import org.krysalis.barcode4j.tools.VariableUtil;
 
@@ -117,9 +117,10 @@ public class ImageConverterBarcode2G2D extends AbstractImageConverter {
             double bsy = h / bardim.getHeightPlusQuiet(orientation);
             g2d.scale(bsx, bsy);
 
+            //The barcode is painted as a single cached shape as this painter may be
+            //called many times (page re-rendering, zooming)
             g2d.setColor(Color.BLACK);
-            Java2DCanvasProvider canvas = new Java2DCanvasProvider(g2d, orientation);
-            bargen.generateBarcode(canvas, msg);
+            Java2DShapeCache.getInstance().paint(g2d, bargen, msg, orientation);
         }
     }
 